@@ -0,0 +1,214 @@
+package com.igeeksky.xcache.benchmark;
+
+import com.igeeksky.xcache.benchmark.support.*;
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheLoader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 缓存拓扑基准测试
+ * <p>
+ * 覆盖一级（Caffeine）、二级（Caffeine + 远程 String）、三级（Caffeine + 远程 String + 远程 Hash）缓存，
+ * 键分布支持均匀分布与 Zipfian 分布。
+ * <p>
+ * 远程缓存默认使用内存替身 {@link MemoryRemoteStore}（有编解码开销，无网络开销）；
+ * 如需连接真实的 redis-server，请添加参数 {@code -p remote=REDIS}，
+ * 并通过 {@code -Dxcache.benchmark.redis=host:port} 指定地址（默认 127.0.0.1:6379）。
+ * <p>
+ * 一级缓存的最大容量默认小于键数量，以保证读操作有一定比例穿透到远程缓存。
+ * <p>
+ * 运行：{@code java -jar target/benchmarks.jar CacheBenchmark -t 4 -prof gc}
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final String CACHE_NAME = "benchmark";
+
+    /**
+     * 批量操作的键数量
+     */
+    static final int BATCH_SIZE = 16;
+
+    @Param({"ONE", "TWO", "THREE"})
+    public Topology topology;
+
+    @Param({"MEMORY"})
+    public Remote remote;
+
+    @Param({"UNIFORM", "ZIPFIAN"})
+    public Distribution distribution;
+
+    @Param({"100000"})
+    public int keyCount;
+
+    @Param({"10000"})
+    public long firstMaximumSize;
+
+    @Param({"256"})
+    public int payloadSize;
+
+    private String[] keys;
+
+    private BenchValue[] values;
+
+    private CacheEnvironment environment;
+
+    private Cache<String, BenchValue> cache;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.keys = new String[keyCount];
+        this.values = new BenchValue[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "key:" + i;
+            values[i] = BenchValue.create(i, payloadSize);
+        }
+
+        CacheLoader<String, BenchValue> cacheLoader = key -> values[Integer.parseInt(key.substring(4))];
+        this.environment = CacheEnvironment.create(topology, remote, firstMaximumSize, CACHE_NAME, cacheLoader);
+        this.cache = environment.getCache(CACHE_NAME, BenchValue.class);
+
+        // 预热数据：所有键均写入缓存，一级缓存仅保留部分
+        Map<String, BenchValue> batch = HashMap.newHashMap(1024);
+        for (int i = 0; i < keyCount; i++) {
+            batch.put(keys[i], values[i]);
+            if (batch.size() == 1024) {
+                cache.putAll(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            cache.putAll(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        environment.close();
+    }
+
+    /**
+     * 线程私有的键序列
+     * <p>
+     * 键序列及批量操作的键集合均预先生成，避免测量期间计算随机数及创建集合的开销。
+     */
+    @State(Scope.Thread)
+    public static class KeySequence {
+
+        private static final int LENGTH = 1 << 16;
+        private static final int MASK = LENGTH - 1;
+        private static final int BATCH_COUNT = 1024;
+
+        private static final AtomicLong SEED = new AtomicLong(0x5DEECE66DL);
+
+        private String[] keys;
+        private BenchValue[] values;
+
+        private int[] sequence;
+        private int index;
+
+        private Set<String>[] keySets;
+        private Map<String, BenchValue>[] keyValues;
+        private int batchIndex;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setup(CacheBenchmark benchmark) {
+            this.keys = benchmark.keys;
+            this.values = benchmark.values;
+            this.sequence = benchmark.distribution.sequence(benchmark.keyCount, LENGTH, SEED.getAndIncrement());
+
+            this.keySets = new Set[BATCH_COUNT];
+            this.keyValues = new Map[BATCH_COUNT];
+            // Zipfian 分布下同一批次的键可能重复，因此批量操作的实际键数量可能小于 BATCH_SIZE
+            for (int i = 0; i < BATCH_COUNT; i++) {
+                Set<String> keySet = HashSet.newHashSet(BATCH_SIZE);
+                Map<String, BenchValue> keyValue = HashMap.newHashMap(BATCH_SIZE);
+                for (int j = 0; j < BATCH_SIZE; j++) {
+                    int k = sequence[(i * BATCH_SIZE + j) & MASK];
+                    keySet.add(keys[k]);
+                    keyValue.put(keys[k], values[k]);
+                }
+                keySets[i] = keySet;
+                keyValues[i] = keyValue;
+            }
+        }
+
+        int next() {
+            return sequence[index++ & MASK];
+        }
+
+        String nextKey() {
+            return keys[next()];
+        }
+
+        Set<String> nextKeySet() {
+            return keySets[batchIndex++ & (BATCH_COUNT - 1)];
+        }
+
+        Map<String, BenchValue> nextKeyValues() {
+            return keyValues[batchIndex++ & (BATCH_COUNT - 1)];
+        }
+
+    }
+
+    @Benchmark
+    public BenchValue get(KeySequence sequence) {
+        return cache.get(sequence.nextKey());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public Map<String, BenchValue> getAll(KeySequence sequence) {
+        return cache.getAll(sequence.nextKeySet());
+    }
+
+    @Benchmark
+    public void put(KeySequence sequence) {
+        int i = sequence.next();
+        cache.put(keys[i], values[i]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void putAll(KeySequence sequence) {
+        cache.putAll(sequence.nextKeyValues());
+    }
+
+    @Benchmark
+    public BenchValue getOrLoad(KeySequence sequence) {
+        return cache.getOrLoad(sequence.nextKey());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[]{1, 4, 8}) {
+            Options options = new OptionsBuilder()
+                    .include(CacheBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+}
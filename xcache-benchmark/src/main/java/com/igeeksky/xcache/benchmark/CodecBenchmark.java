@@ -0,0 +1,83 @@
+package com.igeeksky.xcache.benchmark;
+
+import com.igeeksky.xcache.benchmark.support.BenchValue;
+import com.igeeksky.xcache.extension.jackson.GenericJacksonCodec;
+import com.igeeksky.xcache.extension.jackson.JacksonCodec;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+import com.igeeksky.xtool.core.lang.codec.JdkCodec;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 编解码基准测试
+ * <p>
+ * 比较 {@link JacksonCodec}、{@link GenericJacksonCodec}（带类型信息）及 {@link JdkCodec} 的编解码耗时，
+ * 同时输出编码后的字节数（{@code encodedSize}）。
+ * <p>
+ * 运行：{@code java -jar target/benchmarks.jar CodecBenchmark -prof gc}
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"jackson", "generic-jackson", "jdk"})
+    public String codecName;
+
+    @Param({"64", "1024"})
+    public int payloadSize;
+
+    private Codec<Object> codec;
+
+    private BenchValue value;
+
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        this.codec = switch (codecName) {
+            case "jackson" -> (Codec<Object>) (Codec<?>) new JacksonCodec<>(BenchValue.class);
+            case "generic-jackson" -> GenericJacksonCodec.getInstance();
+            case "jdk" -> JdkCodec.getInstance();
+            default -> throw new IllegalArgumentException("unknown codec: " + codecName);
+        };
+        this.value = BenchValue.create(1, payloadSize);
+        this.encoded = codec.encode(value);
+        if (!value.equals(codec.decode(encoded))) {
+            throw new IllegalStateException(codecName + " decode result is not equal to the source value");
+        }
+        System.out.println(codecName + " encodedSize: " + encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return codec.decode(encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
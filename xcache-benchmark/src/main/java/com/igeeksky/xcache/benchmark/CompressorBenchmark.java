@@ -0,0 +1,82 @@
+package com.igeeksky.xcache.benchmark;
+
+import com.igeeksky.xcache.benchmark.support.BenchValue;
+import com.igeeksky.xcache.extension.jackson.GenericJacksonCodec;
+import com.igeeksky.xtool.core.lang.compress.Compressor;
+import com.igeeksky.xtool.core.lang.compress.DeflaterCompressor;
+import com.igeeksky.xtool.core.lang.compress.GzipCompressor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 压缩基准测试
+ * <p>
+ * 比较 {@link GzipCompressor} 与 {@link DeflaterCompressor} 的压缩、解压耗时，
+ * 待压缩数据为 {@link GenericJacksonCodec} 编码后的缓存值，同时输出压缩率。
+ * <p>
+ * 运行：{@code java -jar target/benchmarks.jar CompressorBenchmark -prof gc}
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressorBenchmark {
+
+    @Param({"gzip", "deflate"})
+    public String compressorName;
+
+    @Param({"512", "8192"})
+    public int payloadSize;
+
+    private Compressor compressor;
+
+    private byte[] source;
+
+    private byte[] compressed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.compressor = switch (compressorName) {
+            case "gzip" -> GzipCompressor.getInstance();
+            case "deflate" -> DeflaterCompressor.getInstance();
+            default -> throw new IllegalArgumentException("unknown compressor: " + compressorName);
+        };
+        this.source = GenericJacksonCodec.getInstance().encode(BenchValue.create(1, payloadSize));
+        this.compressed = compressor.compress(source);
+        if (!Arrays.equals(source, compressor.decompress(compressed))) {
+            throw new IllegalStateException(compressorName + " decompress result is not equal to the source");
+        }
+        System.out.println(compressorName + " sourceSize: " + source.length + ", compressedSize: " + compressed.length);
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return compressor.compress(source);
+    }
+
+    @Benchmark
+    public byte[] decompress() {
+        return compressor.decompress(compressed);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CompressorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.igeeksky.xcache.benchmark;
+
+import com.igeeksky.xcache.caffeine.CaffeineStoreProvider;
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.core.CacheManagerConfig;
+import com.igeeksky.xcache.core.CacheManagerImpl;
+import com.igeeksky.xcache.core.ComponentManager;
+import com.igeeksky.xcache.core.SingletonSupplier;
+import com.igeeksky.xcache.extension.jackson.JacksonCodecProvider;
+import com.igeeksky.xcache.props.CacheConstants;
+import com.igeeksky.xcache.props.PropsUtil;
+import com.igeeksky.xcache.props.Template;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存（仅一级缓存：Caffeine）读取基准测试
+ * <p>
+ * 使用 {@link GCProfiler} 统计每次操作的内存分配字节数（gc.alloc.rate.norm）。
+ * <p>
+ * 运行：{@code java -jar target/benchmarks.jar LocalReadBenchmark -prof gc}
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocalReadBenchmark {
+
+    private static final String HIT = "hit";
+    private static final String MISS = "miss";
+
+    private Cache<String, String> cache;
+
+    @Setup
+    public void setup() {
+        Template template = PropsUtil.defaultTemplate(CacheConstants.DEFAULT_TEMPLATE_ID);
+        template.getCacheSync().setProvider(CacheConstants.NONE);
+        template.setCacheMetrics(CacheConstants.NONE);
+        template.getSecond().setProvider(CacheConstants.NONE);
+        template.getThird().setProvider(CacheConstants.NONE);
+
+        ComponentManager componentManager = new ComponentManager();
+        componentManager.addCodecProvider(CacheConstants.JACKSON_CODEC, JacksonCodecProvider::getInstance);
+        componentManager.addStoreProvider(CacheConstants.CAFFEINE_STORE,
+                SingletonSupplier.of(() -> new CaffeineStoreProvider(Collections.emptyList(), Collections.emptyList())));
+
+        CacheManagerConfig managerConfig = CacheManagerConfig.builder()
+                .group("benchmark")
+                .componentManager(componentManager)
+                .template(template)
+                .build();
+
+        this.cache = new CacheManagerImpl(managerConfig).getOrCreateCache("local", String.class, String.class);
+        this.cache.put(HIT, "value");
+    }
+
+    @Benchmark
+    public String get() {
+        return cache.get(HIT);
+    }
+
+    @Benchmark
+    public String getMiss() {
+        return cache.get(MISS);
+    }
+
+    @Benchmark
+    public CompletableFuture<String> getAsync() {
+        return cache.getAsync(HIT);
+    }
+
+    @Benchmark
+    public CompletableFuture<String> getAsyncMiss() {
+        return cache.getAsync(MISS);
+    }
+
+    @Benchmark
+    public CompletableFuture<CacheValue<String>> getCacheValueAsync() {
+        return cache.getCacheValueAsync(HIT);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LocalReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
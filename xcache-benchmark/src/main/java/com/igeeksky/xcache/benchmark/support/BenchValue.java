@@ -0,0 +1,114 @@
+package com.igeeksky.xcache.benchmark.support;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 基准测试使用的缓存值
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class BenchValue implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private long id;
+
+    private String name;
+
+    private int age;
+
+    private List<String> tags;
+
+    private String description;
+
+    public BenchValue() {
+    }
+
+    public BenchValue(long id, String name, int age, List<String> tags, String description) {
+        this.id = id;
+        this.name = name;
+        this.age = age;
+        this.tags = tags;
+        this.description = description;
+    }
+
+    /**
+     * 创建缓存值
+     *
+     * @param id          序号
+     * @param payloadSize 描述字段的长度（用于控制序列化后的大小）
+     * @return 缓存值
+     */
+    public static BenchValue create(long id, int payloadSize) {
+        List<String> tags = new ArrayList<>(3);
+        tags.add("tag-" + (id % 7));
+        tags.add("tag-" + (id % 13));
+        tags.add("tag-" + (id % 31));
+        StringBuilder description = new StringBuilder(payloadSize);
+        while (description.length() < payloadSize) {
+            description.append("xcache benchmark value ").append(id).append(' ');
+        }
+        description.setLength(payloadSize);
+        return new BenchValue(id, "user-" + id, (int) (id % 100), tags, description.toString());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof BenchValue that)) return false;
+        return id == that.id && age == that.age && Objects.equals(name, that.name)
+                && Objects.equals(tags, that.tags) && Objects.equals(description, that.description);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, age, tags, description);
+    }
+
+}
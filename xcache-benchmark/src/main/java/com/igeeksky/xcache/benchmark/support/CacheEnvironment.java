@@ -0,0 +1,159 @@
+package com.igeeksky.xcache.benchmark.support;
+
+import com.igeeksky.xcache.caffeine.CaffeineStoreProvider;
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheLoader;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.CacheManagerConfig;
+import com.igeeksky.xcache.core.CacheManagerImpl;
+import com.igeeksky.xcache.core.ComponentManager;
+import com.igeeksky.xcache.core.SingletonSupplier;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+import com.igeeksky.xcache.extension.jackson.JacksonCodecProvider;
+import com.igeeksky.xcache.props.*;
+import com.igeeksky.xcache.redis.store.RedisStoreProvider;
+import com.igeeksky.xredis.lettuce.LettuceOperator;
+import com.igeeksky.xredis.lettuce.LettuceOperatorProxy;
+import com.igeeksky.xredis.lettuce.LettuceStandaloneFactory;
+import com.igeeksky.xredis.lettuce.config.LettuceStandaloneConfig;
+import com.igeeksky.xredis.lettuce.props.LettuceConfigHelper;
+import com.igeeksky.xredis.lettuce.props.LettuceStandalone;
+import com.igeeksky.xtool.core.concurrent.Futures;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.resource.ClientResources;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基准测试的缓存环境
+ * <p>
+ * 根据缓存拓扑及远程缓存类型创建缓存管理者，测试结束后调用 {@link #close()} 释放资源。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class CacheEnvironment implements AutoCloseable {
+
+    private static final String REMOTE_STORE = "remote";
+
+    private static final String REDIS_ADDRESS = System.getProperty("xcache.benchmark.redis", "127.0.0.1:6379");
+
+    private final CacheManagerImpl cacheManager;
+
+    // 未使用 Redis 时为空
+    private final LettuceStandaloneFactory factory;
+
+    // 未使用 Redis 时为空
+    private final LettuceOperator<byte[], byte[]> redisOperator;
+
+    private CacheEnvironment(CacheManagerImpl cacheManager, LettuceStandaloneFactory factory,
+                             LettuceOperator<byte[], byte[]> redisOperator) {
+        this.cacheManager = cacheManager;
+        this.factory = factory;
+        this.redisOperator = redisOperator;
+    }
+
+    /**
+     * 创建缓存环境
+     *
+     * @param topology         缓存拓扑
+     * @param remote           远程缓存类型
+     * @param firstMaximumSize 一级缓存的最大元素数量
+     * @param cacheName        缓存名称
+     * @param cacheLoader      回源函数（可以为空）
+     * @return 缓存环境
+     */
+    public static CacheEnvironment create(Topology topology, Remote remote, long firstMaximumSize,
+                                          String cacheName, CacheLoader<String, ?> cacheLoader) {
+        Template template = PropsUtil.defaultTemplate(CacheConstants.DEFAULT_TEMPLATE_ID);
+        template.getCacheSync().setProvider(CacheConstants.NONE);
+        template.setCacheMetrics(CacheConstants.NONE);
+        template.getFirst().setMaximumSize(firstMaximumSize);
+        template.getFirst().setInitialCapacity((int) Math.min(firstMaximumSize, CacheConstants.DEFAULT_EMBED_INITIAL_CAPACITY));
+
+        StoreProps second = template.getSecond();
+        StoreProps third = template.getThird();
+        second.setProvider(topology != Topology.ONE ? REMOTE_STORE : CacheConstants.NONE);
+        second.setRedisType(RedisType.STRING);
+        third.setProvider(topology == Topology.THREE ? REMOTE_STORE : CacheConstants.NONE);
+        third.setRedisType(RedisType.HASH);
+
+        ComponentManager componentManager = new ComponentManager();
+        componentManager.addCodecProvider(CacheConstants.JACKSON_CODEC, JacksonCodecProvider::getInstance);
+        componentManager.addStoreProvider(CacheConstants.CAFFEINE_STORE,
+                SingletonSupplier.of(() -> new CaffeineStoreProvider(Collections.emptyList(), Collections.emptyList())));
+        if (cacheLoader != null) {
+            componentManager.addCacheLoader(cacheName, () -> cacheLoader);
+        }
+
+        LettuceStandaloneFactory factory = null;
+        LettuceOperator<byte[], byte[]> redisOperator = null;
+        if (topology != Topology.ONE) {
+            StoreProvider storeProvider;
+            if (remote == Remote.REDIS) {
+                factory = createFactory();
+                redisOperator = factory.redisOperator(ByteArrayCodec.INSTANCE);
+                storeProvider = new RedisStoreProvider(new LettuceOperatorProxy(10000, 60000, redisOperator));
+            } else {
+                storeProvider = new MemoryRemoteStoreProvider();
+            }
+            componentManager.addStoreProvider(REMOTE_STORE, SingletonSupplier.of(() -> storeProvider));
+        }
+
+        CacheManagerConfig managerConfig = CacheManagerConfig.builder()
+                .group("benchmark")
+                .componentManager(componentManager)
+                .template(template)
+                .build();
+
+        return new CacheEnvironment(new CacheManagerImpl(managerConfig), factory, redisOperator);
+    }
+
+    private static LettuceStandaloneFactory createFactory() {
+        LettuceStandalone standalone = new LettuceStandalone();
+        standalone.setNode(REDIS_ADDRESS);
+        LettuceStandaloneConfig config = LettuceConfigHelper.createConfig("benchmark", standalone);
+        return new LettuceStandaloneFactory(config, ClientOptions.builder().build(), ClientResources.builder().build());
+    }
+
+    /**
+     * 获取或创建缓存
+     *
+     * @param cacheName 缓存名称
+     * @param valueType 缓存值类型
+     * @param <V>       缓存值类型
+     * @return 缓存对象
+     */
+    public <V> Cache<String, V> getCache(String cacheName, Class<V> valueType) {
+        return cacheManager.getOrCreateCache(cacheName, String.class, valueType);
+    }
+
+    @Override
+    public void close() {
+        cacheManager.shutdown();
+        if (factory != null) {
+            ArrayList<Future<?>> futures = new ArrayList<>(2);
+            futures.add(redisOperator.closeAsync());
+            futures.add(factory.shutdownAsync());
+            Futures.awaitAll(futures, CacheConstants.DEFAULT_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 远程缓存内存替身的 StoreProvider
+     */
+    private static final class MemoryRemoteStoreProvider implements StoreProvider {
+
+        @Override
+        public <V> Store<V> getStore(StoreConfig<V> config) {
+            return new MemoryRemoteStore<>(config);
+        }
+
+    }
+
+}
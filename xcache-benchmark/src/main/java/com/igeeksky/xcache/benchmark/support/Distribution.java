@@ -0,0 +1,81 @@
+package com.igeeksky.xcache.benchmark.support;
+
+import java.util.SplittableRandom;
+
+/**
+ * 键分布
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public enum Distribution {
+
+    /**
+     * 均匀分布：每个键的访问概率相同
+     */
+    UNIFORM {
+        @Override
+        public int[] sequence(int keyCount, int length, long seed) {
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] sequence = new int[length];
+            for (int i = 0; i < length; i++) {
+                sequence[i] = random.nextInt(keyCount);
+            }
+            return sequence;
+        }
+    },
+
+    /**
+     * Zipfian 分布（theta = 0.99）：少量键占据大部分访问，与线上缓存的访问特征接近
+     * <p>
+     * 算法参考：Gray J, et al. Quickly Generating Billion-Record Synthetic Databases. SIGMOD 1994.
+     */
+    ZIPFIAN {
+        @Override
+        public int[] sequence(int keyCount, int length, long seed) {
+            double theta = ZIPFIAN_THETA;
+            double zetan = zeta(keyCount, theta);
+            double zeta2 = zeta(2, theta);
+            double alpha = 1.0 / (1.0 - theta);
+            double eta = (1 - Math.pow(2.0 / keyCount, 1 - theta)) / (1 - zeta2 / zetan);
+
+            SplittableRandom random = new SplittableRandom(seed);
+            int[] sequence = new int[length];
+            for (int i = 0; i < length; i++) {
+                double u = random.nextDouble();
+                double uz = u * zetan;
+                int index;
+                if (uz < 1.0) {
+                    index = 0;
+                } else if (uz < 1.0 + Math.pow(0.5, theta)) {
+                    index = 1;
+                } else {
+                    index = (int) (keyCount * Math.pow(eta * u - eta + 1, alpha));
+                }
+                sequence[i] = Math.min(index, keyCount - 1);
+            }
+            return sequence;
+        }
+    };
+
+    private static final double ZIPFIAN_THETA = 0.99;
+
+    /**
+     * 生成键序号序列（预先生成，避免测量期间计算随机数的开销）
+     *
+     * @param keyCount 键数量
+     * @param length   序列长度
+     * @param seed     随机数种子
+     * @return 键序号序列（取值范围：[0, keyCount)）
+     */
+    public abstract int[] sequence(int keyCount, int length, long seed);
+
+    private static double zeta(long n, double theta) {
+        double sum = 0;
+        for (long i = 1; i <= n; i++) {
+            sum += 1 / Math.pow(i, theta);
+        }
+        return sum;
+    }
+
+}
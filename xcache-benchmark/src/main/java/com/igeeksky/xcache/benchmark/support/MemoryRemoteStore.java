@@ -0,0 +1,117 @@
+package com.igeeksky.xcache.benchmark.support;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.CompletedFutures;
+import com.igeeksky.xcache.core.ExtraStoreConvertor;
+import com.igeeksky.xcache.core.store.StoreConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 远程缓存的内存替身
+ * <p>
+ * 与 Redis 存储相同，缓存值经编解码及压缩后以 {@code byte[]} 存储，但无网络开销，
+ * 用于在没有 redis-server 的环境下测量框架自身及编解码的开销。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class MemoryRemoteStore<V> implements Store<V> {
+
+    private final ConcurrentHashMap<String, byte[]> map = new ConcurrentHashMap<>();
+
+    private final ExtraStoreConvertor<V> convertor;
+
+    public MemoryRemoteStore(StoreConfig<V> config) {
+        this.convertor = new ExtraStoreConvertor<>(config.isEnableNullValue(), config.isEnableCompressValue(),
+                config.getValueCodec(), config.getValueCompressor());
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        return convertor.fromExtraStoreValue(map.get(key));
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        return CompletedFutures.of(this.getCacheValue(key));
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        Map<String, CacheValue<V>> result = HashMap.newHashMap(keys.size());
+        for (String key : keys) {
+            CacheValue<V> cacheValue = this.getCacheValue(key);
+            if (cacheValue != null) {
+                result.put(key, cacheValue);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        return CompletableFuture.completedFuture(this.getAllCacheValues(keys));
+    }
+
+    @Override
+    public void put(String key, V value) {
+        byte[] storeValue = convertor.toExtraStoreValue(value);
+        if (storeValue == null) {
+            map.remove(key);
+        } else {
+            map.put(key, storeValue);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        this.put(key, value);
+        return CompletedFutures.ofNull();
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        keyValues.forEach(this::put);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        this.putAll(keyValues);
+        return CompletedFutures.ofNull();
+    }
+
+    @Override
+    public void remove(String key) {
+        map.remove(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        this.remove(key);
+        return CompletedFutures.ofNull();
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        keys.forEach(map::remove);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        this.removeAll(keys);
+        return CompletedFutures.ofNull();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.igeeksky.xcache.benchmark.support;
+
+/**
+ * 远程缓存类型
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public enum Remote {
+
+    /**
+     * 内存替身（{@link MemoryRemoteStore}）：无网络开销，仅测量框架自身及编解码的开销
+     */
+    MEMORY,
+
+    /**
+     * Redis：连接本地 redis-server，地址可通过系统属性 {@code xcache.benchmark.redis} 指定，默认 127.0.0.1:6379
+     */
+    REDIS
+
+}
@@ -0,0 +1,26 @@
+package com.igeeksky.xcache.benchmark.support;
+
+/**
+ * 缓存拓扑
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public enum Topology {
+
+    /**
+     * 一级缓存：Caffeine（OneLevelCache）
+     */
+    ONE,
+
+    /**
+     * 二级缓存：Caffeine + 远程缓存（TwoLevelCache）
+     */
+    TWO,
+
+    /**
+     * 三级缓存：Caffeine + 远程缓存（String） + 远程缓存（Hash）（ThreeLevelCache）
+     */
+    THREE
+
+}
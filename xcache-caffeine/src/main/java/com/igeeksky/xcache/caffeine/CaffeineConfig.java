@@ -1,19 +1,35 @@
 package com.igeeksky.xcache.caffeine;
 
+import com.igeeksky.xcache.common.CacheConfigException;
 import com.igeeksky.xcache.common.ReferenceType;
 import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xtool.core.lang.StringUtils;
 import com.igeeksky.xtool.core.lang.codec.Codec;
 import com.igeeksky.xtool.core.lang.compress.Compressor;
 
+import java.nio.file.Path;
+import java.util.Map;
+
 
 /**
  * Caffeine 配置项
+ * <p>
+ * 除通用配置项外，还可通过 {@code params} 设置以下非标参数（用于快照）：<br>
+ * {@code snapshot-file}：快照文件路径（默认值：无，即不启用快照；启用快照时，如未开启序列化，则必须配置 value-codec）<br>
+ * {@code snapshot-size}：快照保存的最大键值对数量（默认值：10000）<br>
+ * {@code snapshot-period}：定时保存快照的间隔时长（单位：毫秒，默认值：0，即仅在进程退出时保存）
  *
  * @author Patrick.Lau
  * @since 1.0.0 2024/6/13
  */
 public class CaffeineConfig<V> {
 
+    static final String SNAPSHOT_FILE = "snapshot-file";
+    static final String SNAPSHOT_SIZE = "snapshot-size";
+    static final String SNAPSHOT_PERIOD = "snapshot-period";
+
+    private static final long DEFAULT_SNAPSHOT_SIZE = 10000;
+
     private final String name;
 
     private final int initialCapacity;
@@ -38,10 +54,18 @@ public class CaffeineConfig<V> {
 
     private final boolean enableSerializeValue;
 
+    private final boolean enableWriteTime;
+
     private final Compressor valueCompressor;
 
     private final Codec<V> valueCodec;
 
+    private final Path snapshotFile;
+
+    private final int snapshotSize;
+
+    private final long snapshotPeriod;
+
     public CaffeineConfig(StoreConfig<V> storeConfig) {
         this.name = storeConfig.getName();
         this.initialCapacity = storeConfig.getInitialCapacity();
@@ -55,8 +79,40 @@ public class CaffeineConfig<V> {
         this.enableNullValue = storeConfig.isEnableNullValue();
         this.enableCompressValue = storeConfig.isEnableCompressValue();
         this.enableSerializeValue = storeConfig.isEnableSerializeValue();
+        this.enableWriteTime = storeConfig.isEnableWriteTime();
         this.valueCompressor = storeConfig.getValueCompressor();
         this.valueCodec = storeConfig.getValueCodec();
+
+        Map<String, Object> params = storeConfig.getParams();
+        Object file = (params != null) ? params.get(SNAPSHOT_FILE) : null;
+        String filePath = (file != null) ? StringUtils.trimToNull(file.toString()) : null;
+        this.snapshotFile = (filePath != null) ? Path.of(filePath) : null;
+        this.snapshotSize = (int) Math.min(Integer.MAX_VALUE, getLong(params, SNAPSHOT_SIZE, DEFAULT_SNAPSHOT_SIZE));
+        this.snapshotPeriod = getLong(params, SNAPSHOT_PERIOD, 0);
+        if (snapshotFile != null) {
+            if (!enableSerializeValue && valueCodec == null) {
+                throw new CacheConfigException("Cache:[" + name + "], caffeine snapshot requires value-codec.");
+            }
+            if (snapshotSize <= 0 || snapshotPeriod < 0) {
+                throw new CacheConfigException("Cache:[" + name + "], caffeine snapshot-size must be greater than 0 "
+                        + "and snapshot-period must be greater than or equal to 0.");
+            }
+        }
+    }
+
+    private long getLong(Map<String, Object> params, String key, long defaultValue) {
+        Object value = (params != null) ? params.get(key) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new CacheConfigException("Cache:[" + name + "], caffeine param:[" + key + "] is invalid: " + value);
+        }
     }
 
     public String getName() {
@@ -107,6 +163,10 @@ public class CaffeineConfig<V> {
         return enableSerializeValue;
     }
 
+    public boolean isEnableWriteTime() {
+        return enableWriteTime;
+    }
+
     public Compressor getValueCompressor() {
         return valueCompressor;
     }
@@ -115,4 +175,16 @@ public class CaffeineConfig<V> {
         return valueCodec;
     }
 
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public int getSnapshotSize() {
+        return snapshotSize;
+    }
+
+    public long getSnapshotPeriod() {
+        return snapshotPeriod;
+    }
+
 }
@@ -0,0 +1,337 @@
+package com.igeeksky.xcache.caffeine;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.StampedCacheValue;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Caffeine 快照
+ * <p>
+ * 按 Caffeine 淘汰策略的热度顺序，将最热的 N 个键值对保存到二进制文件；
+ * 应用启动时（缓存对象创建之前）加载快照文件，从而避免冷启动。
+ * <p>
+ * 快照文件格式：{@code [int 魔数][byte 版本][int 数量]{[int 键长度][键][long 过期时间][byte 标志]
+ * [long 写入时间]?[int 值长度][值]?}*[long 校验码]}
+ * <p>
+ * 1. 已开启序列化的缓存，直接保存序列化（及压缩）后的字节数组；否则使用 value-codec 编码。<br>
+ * 2. 保存剩余存活时长，加载时丢弃已过期的键值对，其余键值对按剩余存活时长过期。
+ * 仅设置 expire-after-write 或 expire-after-access 之一时，缓存改用等价的可变过期策略以便恢复剩余存活时长；
+ * 两者均设置时无法为单个键值对设置剩余存活时长，有过期时间的键值对不加载（避免重新计时导致存活时间超出设定值）。<br>
+ * 3. 先写入临时文件再原子替换，避免进程退出时留下不完整的快照。<br>
+ * 4. 定时保存任务与进程退出时的保存任务在 {@link #start} 时注册，在 {@link #close()} 时注销（同时保存一次快照）。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class CaffeineSnapshot<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(CaffeineSnapshot.class);
+
+    private static final int MAGIC = 0x58435331;
+
+    private static final byte VERSION = 1;
+
+    private static final byte FLAG_HAS_VALUE = 1;
+
+    private static final byte FLAG_STAMPED = 2;
+
+    private final String name;
+
+    private final Path file;
+
+    private final int size;
+
+    private final boolean enableSerializeValue;
+
+    private final Codec<V> codec;
+
+    private final Cache<String, CacheValue<Object>> cache;
+
+    private final long period;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 以下字段需持有 lock 才能访问
+    private ScheduledFuture<?> task;
+
+    private Thread hook;
+
+    private boolean closed;
+
+    public CaffeineSnapshot(Cache<String, CacheValue<Object>> cache, CaffeineConfig<V> config) {
+        this.cache = cache;
+        this.name = config.getName();
+        this.file = config.getSnapshotFile();
+        this.size = config.getSnapshotSize();
+        this.period = config.getSnapshotPeriod();
+        this.enableSerializeValue = config.isEnableSerializeValue();
+        this.codec = config.getValueCodec();
+    }
+
+    /**
+     * 加载快照
+     * <p>
+     * 并行解码，然后按热度从低到高的顺序写入缓存（最热的键值对最后写入）。
+     * 快照文件不存在或已损坏时，仅记录日志。
+     */
+    public void load() {
+        List<Entry> entries;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            entries = read(in);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cache:[{}], caffeine snapshot load failed: {}", name, file, e);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<CacheValue<Object>> values = IntStream.range(0, entries.size()).parallel()
+                .mapToObj(i -> this.decode(entries.get(i), now)).toList();
+
+        Optional<Policy.VarExpiration<String, CacheValue<Object>>> varExpiration = cache.policy().expireVariably();
+        int loaded = 0;
+        for (int i = values.size() - 1; i >= 0; i--) {
+            CacheValue<Object> value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            Entry entry = entries.get(i);
+            if (entry.expireAt > 0) {
+                long duration = entry.expireAt - now;
+                // 无法设置剩余存活时长：不加载，避免重新计时
+                if (duration <= 0 || varExpiration.isEmpty()) {
+                    continue;
+                }
+                varExpiration.get().put(entry.key, value, duration, TimeUnit.MILLISECONDS);
+            } else {
+                cache.put(entry.key, value);
+            }
+            loaded++;
+        }
+        log.info("Cache:[{}], caffeine snapshot loaded. entries: {}, elapsed: {}ms", name, loaded,
+                System.currentTimeMillis() - now);
+    }
+
+    /**
+     * 注册定时保存任务（如 {@code snapshot-period} 大于 0 且调度器不为空）及进程退出时保存快照的任务
+     *
+     * @param scheduler 调度器（可以为空）
+     */
+    public void start(ScheduledExecutorService scheduler) {
+        lock.lock();
+        try {
+            if (closed || hook != null) {
+                return;
+            }
+            if (period > 0 && scheduler != null) {
+                task = scheduler.scheduleWithFixedDelay(this::save, period, period, TimeUnit.MILLISECONDS);
+            }
+            hook = Thread.ofPlatform().name("xcache-snapshot-" + name).unstarted(this::save);
+            Runtime.getRuntime().addShutdownHook(hook);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 关闭：取消定时保存任务，注销进程退出时的保存任务，然后保存快照
+     */
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (task != null) {
+                task.cancel(false);
+            }
+            if (hook != null) {
+                try {
+                    Runtime.getRuntime().removeShutdownHook(hook);
+                } catch (IllegalStateException ignored) {
+                    // 进程正在退出，保存任务已在执行或即将执行
+                }
+            }
+            this.save();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 保存快照
+     * <p>
+     * 写入失败仅记录日志。
+     */
+    public void save() {
+        lock.lock();
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                this.write(out, this.hottest());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cache:[{}], caffeine snapshot save failed: {}", name, file, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 最热的 N 个键值对（按热度从高到低排序）
+     * <p>
+     * 未设置容量上限时，按访问时间从近到远排序；未设置访问过期时，按迭代顺序获取。
+     */
+    private Map<String, CacheValue<Object>> hottest() {
+        Policy<String, CacheValue<Object>> policy = cache.policy();
+        Optional<Policy.Eviction<String, CacheValue<Object>>> eviction = policy.eviction();
+        if (eviction.isPresent()) {
+            return eviction.get().hottest(size);
+        }
+        Optional<Policy.FixedExpiration<String, CacheValue<Object>>> access = policy.expireAfterAccess();
+        if (access.isPresent()) {
+            return access.get().youngest(size);
+        }
+        Map<String, CacheValue<Object>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, CacheValue<Object>> entry : cache.asMap().entrySet()) {
+            if (result.size() >= size) {
+                break;
+            }
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void write(OutputStream output, Map<String, CacheValue<Object>> entries) throws IOException {
+        long now = System.currentTimeMillis();
+        CheckedOutputStream checked = new CheckedOutputStream(output, new CRC32C());
+        DataOutputStream out = new DataOutputStream(checked);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(entries.size());
+        for (Map.Entry<String, CacheValue<Object>> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            CacheValue<Object> value = entry.getValue();
+            long remaining = this.remaining(key);
+            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(keyBytes.length);
+            out.write(keyBytes);
+            out.writeLong(remaining == Long.MAX_VALUE ? 0 : now + remaining);
+            byte flags = value.hasValue() ? FLAG_HAS_VALUE : 0;
+            if (value instanceof StampedCacheValue<Object>) {
+                flags |= FLAG_STAMPED;
+            }
+            out.writeByte(flags);
+            if (value instanceof StampedCacheValue<Object> stamped) {
+                out.writeLong(stamped.getWriteTime());
+            }
+            if (value.hasValue()) {
+                byte[] bytes = enableSerializeValue ? (byte[]) value.getValue() : codec.encode((V) value.getValue());
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+        out.flush();
+        new DataOutputStream(output).writeLong(checked.getChecksum().getValue());
+    }
+
+    private List<Entry> read(DataInputStream input) throws IOException {
+        CheckedInputStream checked = new CheckedInputStream(input, new CRC32C());
+        DataInputStream in = new DataInputStream(checked);
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IOException("unknown snapshot format");
+        }
+        int count = in.readInt();
+        List<Entry> entries = new ArrayList<>(Math.min(count, size));
+        for (int i = 0; i < count; i++) {
+            String key = new String(in.readNBytes(in.readInt()), StandardCharsets.UTF_8);
+            long expireAt = in.readLong();
+            byte flags = in.readByte();
+            long writeTime = ((flags & FLAG_STAMPED) != 0) ? in.readLong() : 0;
+            byte[] bytes = ((flags & FLAG_HAS_VALUE) != 0) ? in.readNBytes(in.readInt()) : null;
+            entries.add(new Entry(key, expireAt, flags, writeTime, bytes));
+        }
+        long checksum = checked.getChecksum().getValue();
+        if (input.readLong() != checksum) {
+            throw new IOException("snapshot checksum mismatch");
+        }
+        return entries;
+    }
+
+    private CacheValue<Object> decode(Entry entry, long now) {
+        if (entry.expireAt > 0 && entry.expireAt <= now) {
+            return null;
+        }
+        Object value = null;
+        if (entry.bytes != null) {
+            value = enableSerializeValue ? entry.bytes : codec.decode(entry.bytes);
+        }
+        if ((entry.flags & FLAG_STAMPED) != 0) {
+            return StampedCacheValue.create(value, entry.writeTime);
+        }
+        return (entry.bytes != null) ? CacheValue.create(value) : CacheValue.empty();
+    }
+
+    /**
+     * 剩余存活时长
+     *
+     * @param key 键
+     * @return 剩余存活时长（单位：毫秒）；如未设置过期策略，返回 {@link Long#MAX_VALUE}
+     */
+    private long remaining(String key) {
+        Policy<String, CacheValue<Object>> policy = cache.policy();
+        long remaining = Long.MAX_VALUE;
+        Optional<Policy.VarExpiration<String, CacheValue<Object>>> variable = policy.expireVariably();
+        if (variable.isPresent()) {
+            OptionalLong expiresAfter = variable.get().getExpiresAfter(key, TimeUnit.MILLISECONDS);
+            if (expiresAfter.isPresent()) {
+                remaining = expiresAfter.getAsLong();
+            }
+        }
+        remaining = Math.min(remaining, remaining(policy.expireAfterWrite(), key));
+        return Math.min(remaining, remaining(policy.expireAfterAccess(), key));
+    }
+
+    private static long remaining(Optional<Policy.FixedExpiration<String, CacheValue<Object>>> expiration,
+                                  String key) {
+        if (expiration.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        Policy.FixedExpiration<String, CacheValue<Object>> fixed = expiration.get();
+        OptionalLong age = fixed.ageOf(key, TimeUnit.MILLISECONDS);
+        return fixed.getExpiresAfter(TimeUnit.MILLISECONDS) - (age.isPresent() ? age.getAsLong() : 0);
+    }
+
+    private record Entry(String key, long expireAt, byte flags, long writeTime, byte[] bytes) {
+    }
+
+}
@@ -4,8 +4,8 @@ package com.igeeksky.xcache.caffeine;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.igeeksky.xcache.common.CacheValue;
 import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.CompletedFutures;
 import com.igeeksky.xcache.core.EmbedStoreValueConvertor;
-import com.igeeksky.xtool.core.KeyValue;
 import com.igeeksky.xtool.core.collection.Maps;
 
 import java.util.Collections;
@@ -25,10 +25,19 @@ public class CaffeineStore<V> implements Store<V> {
     private final Cache<String, CacheValue<Object>> store;
     private final EmbedStoreValueConvertor<V> convertor;
 
+    // 快照（未启用快照时为空）
+    private final CaffeineSnapshot<V> snapshot;
+
     public CaffeineStore(Cache<String, CacheValue<Object>> store, CaffeineConfig<V> config) {
+        this(store, config, null);
+    }
+
+    public CaffeineStore(Cache<String, CacheValue<Object>> store, CaffeineConfig<V> config,
+                         CaffeineSnapshot<V> snapshot) {
         this.store = store;
+        this.snapshot = snapshot;
         this.convertor = new EmbedStoreValueConvertor<>(config.isEnableNullValue(),
-                config.isEnableCompressValue(), config.isEnableSerializeValue(),
+                config.isEnableCompressValue(), config.isEnableSerializeValue(), config.isEnableWriteTime(),
                 config.getValueCodec(), config.getValueCompressor());
     }
 
@@ -43,7 +52,11 @@ public class CaffeineStore<V> implements Store<V> {
 
     @Override
     public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
-        return CompletableFuture.completedFuture(key).thenApply(this::getCacheValue);
+        try {
+            return CompletedFutures.of(this.getCacheValue(key));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -64,7 +77,11 @@ public class CaffeineStore<V> implements Store<V> {
 
     @Override
     public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
-        return CompletableFuture.completedFuture(keys).thenApply(this::getAllCacheValues);
+        try {
+            return CompletableFuture.completedFuture(this.getAllCacheValues(keys));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -79,8 +96,12 @@ public class CaffeineStore<V> implements Store<V> {
 
     @Override
     public CompletableFuture<Void> putAsync(String key, V value) {
-        return CompletableFuture.completedFuture(KeyValue.create(key, value))
-                .thenAccept(kv -> this.put(kv.getKey(), kv.getValue()));
+        try {
+            this.put(key, value);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -90,7 +111,12 @@ public class CaffeineStore<V> implements Store<V> {
 
     @Override
     public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
-        return CompletableFuture.completedFuture(keyValues).thenAccept(this::putAll);
+        try {
+            this.putAll(keyValues);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -100,7 +126,12 @@ public class CaffeineStore<V> implements Store<V> {
 
     @Override
     public CompletableFuture<Void> removeAsync(String key) {
-        return CompletableFuture.completedFuture(key).thenAccept(this::remove);
+        try {
+            this.remove(key);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -110,7 +141,12 @@ public class CaffeineStore<V> implements Store<V> {
 
     @Override
     public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
-        return CompletableFuture.completedFuture(keys).thenAccept((this::removeAll));
+        try {
+            this.removeAll(keys);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
     }
 
     @Override
@@ -118,4 +154,14 @@ public class CaffeineStore<V> implements Store<V> {
         store.invalidateAll();
     }
 
+    /**
+     * 关闭：如已启用快照，取消定时保存任务并保存快照
+     */
+    @Override
+    public void close() {
+        if (snapshot != null) {
+            snapshot.close();
+        }
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.igeeksky.xcache.caffeine;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.Weigher;
@@ -17,6 +18,7 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Caffeine 缓存提供者
@@ -31,8 +33,22 @@ public class CaffeineStoreProvider implements StoreProvider {
     private final Map<String, Expiry<String, CacheValue<Object>>> expires = new HashMap<>();
     private final Map<String, Weigher<String, CacheValue<Object>>> weighers = new HashMap<>();
 
+    private final ScheduledExecutorService scheduler;
+
     public CaffeineStoreProvider(List<CaffeineExpiryRegister> expiryRegisters,
                                  List<CaffeineWeigherRegister> weigherRegisters) {
+        this(expiryRegisters, weigherRegisters, null);
+    }
+
+    /**
+     * @param expiryRegisters  自定义过期策略
+     * @param weigherRegisters 自定义权重计算
+     * @param scheduler        调度器（用于定时保存快照，可以为空；为空时仅在进程退出时保存快照）
+     */
+    public CaffeineStoreProvider(List<CaffeineExpiryRegister> expiryRegisters,
+                                 List<CaffeineWeigherRegister> weigherRegisters,
+                                 ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
         expiryRegisters.forEach(register -> {
             Map<String, Expiry<String, CacheValue<Object>>> map = register.getAll();
             map.forEach((name, expiry) -> {
@@ -76,7 +92,13 @@ public class CaffeineStoreProvider implements StoreProvider {
             return createCaffeineStore(config, builder);
         }
 
-        // 1.3. 基于固定时间的驱逐策略
+        // 1.3. 启用快照且仅设置一种固定时间：改用等价的可变过期策略，以便加载快照时恢复剩余存活时长
+        if (config.getSnapshotFile() != null && (expireAfterWrite > 0) != (expireAfterAccess > 0)) {
+            builder.expireAfter(new FixedDurationExpiry<>(expireAfterWrite, expireAfterAccess));
+            return createCaffeineStore(config, builder);
+        }
+
+        // 1.4. 基于固定时间的驱逐策略
         if (expireAfterWrite > 0) {
             builder.expireAfterWrite(Duration.ofMillis(expireAfterWrite));
         }
@@ -145,7 +167,14 @@ public class CaffeineStoreProvider implements StoreProvider {
             }
         }
 
-        return new CaffeineStore<>(builder.build(), config);
+        Cache<String, CacheValue<Object>> cache = builder.build();
+        CaffeineSnapshot<V> snapshot = null;
+        if (config.getSnapshotFile() != null) {
+            snapshot = new CaffeineSnapshot<>(cache, config);
+            snapshot.load();
+            snapshot.start(scheduler);
+        }
+        return new CaffeineStore<>(cache, config, snapshot);
     }
 
 }
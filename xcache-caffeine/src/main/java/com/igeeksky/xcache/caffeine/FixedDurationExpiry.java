@@ -0,0 +1,54 @@
+package com.igeeksky.xcache.caffeine;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.igeeksky.xcache.common.CacheValue;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 固定过期时间策略
+ * <p>
+ * 与 Caffeine 的 {@code expireAfterWrite} 或 {@code expireAfterAccess}（仅设置其中之一）行为一致，
+ * 但作为可变过期策略，可以为每个键值对单独设置剩余存活时长，用于加载快照时恢复剩余存活时长。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+final class FixedDurationExpiry<K, V> implements Expiry<K, CacheValue<V>> {
+
+    // 创建（更新）后的存活时间（单位：nanos）
+    private final long expireAfterWriteNanos;
+
+    // 访问后的存活时间（单位：nanos，0 表示访问不延长存活时间）
+    private final long expireAfterAccessNanos;
+
+    /**
+     * @param expireAfterWrite  写入后存活时长（单位：毫秒）
+     * @param expireAfterAccess 访问后存活时长（单位：毫秒）
+     */
+    FixedDurationExpiry(long expireAfterWrite, long expireAfterAccess) {
+        this.expireAfterAccessNanos = (expireAfterWrite > 0) ? 0 : TimeUnit.MILLISECONDS.toNanos(expireAfterAccess);
+        this.expireAfterWriteNanos = (expireAfterWrite > 0) ? TimeUnit.MILLISECONDS.toNanos(expireAfterWrite)
+                : expireAfterAccessNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(@NonNull K key, @NonNull CacheValue<V> cacheValue, long currentTime) {
+        return expireAfterWriteNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(@NonNull K key, @NonNull CacheValue<V> cacheValue, long currentTime,
+                                  @NonNegative long currentDuration) {
+        return expireAfterWriteNanos;
+    }
+
+    @Override
+    public long expireAfterRead(@NonNull K key, @NonNull CacheValue<V> cacheValue, long currentTime,
+                                @NonNegative long currentDuration) {
+        return (expireAfterAccessNanos > 0) ? expireAfterAccessNanos : currentDuration;
+    }
+
+}
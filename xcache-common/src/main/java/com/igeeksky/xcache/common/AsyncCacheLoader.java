@@ -0,0 +1,95 @@
+package com.igeeksky.xcache.common;
+
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 异步回源取值，用于从非阻塞数据源（如响应式数据库、HTTP 服务）读取数据
+ * <p>
+ * 缓存的异步方法（如 {@code getOrLoadAsync}、{@code getAllOrLoadAsync}）会直接组合此接口返回的
+ * {@link CompletableFuture}，回源过程无需占用线程等待；
+ * 缓存的同步方法则会等待 {@link CompletableFuture} 完成后再返回结果。
+ * <p>
+ * 此接口继承自 {@link CacheLoader}，因此可以通过 {@code ComponentManager} 或 {@code CacheLoaderRegister}
+ * 按与 {@link CacheLoader} 相同的方式注册。
+ *
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+@FunctionalInterface
+public interface AsyncCacheLoader<K, V> extends CacheLoader<K, V> {
+
+    /**
+     * 异步单个回源取值
+     *
+     * @param key 要回源取值的键
+     * @return 如果有值，返回值；如果无值，返回 null（不能返回 null 的 {@link CompletableFuture}）
+     */
+    CompletableFuture<V> loadAsync(K key);
+
+    /**
+     * 异步批量回源取值
+     * <p>
+     * 默认实现：逐个调用 {@link #loadAsync(Object)}，所有结果完成后再合并为键值对集合。
+     *
+     * @param keys 要回源取值的键集
+     * @return 返回键值对集合，不能返回 null
+     */
+    default CompletableFuture<Map<K, V>> loadAllAsync(Set<? extends K> keys) {
+        Map<K, CompletableFuture<V>> futures = HashMap.newHashMap(keys.size());
+        for (K key : keys) {
+            futures.put(key, loadAsync(key));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    Map<K, V> map = HashMap.newHashMap(futures.size());
+                    futures.forEach((key, future) -> {
+                        V value = future.join();
+                        if (value != null) {
+                            map.put(key, value);
+                        }
+                    });
+                    return map;
+                });
+    }
+
+    /**
+     * 单个回源取值（等待 {@link #loadAsync(Object)} 完成）
+     *
+     * @param key 要回源取值的键
+     * @return 如果有值，返回值；如果无值，返回 null
+     */
+    @Override
+    default V load(K key) {
+        return join(loadAsync(key));
+    }
+
+    /**
+     * 批量回源取值（等待 {@link #loadAllAsync(Set)} 完成）
+     *
+     * @param keys 要回源取值的键集
+     * @return 返回键值对集合，不能返回 null
+     */
+    @Override
+    default Map<K, V> loadAll(Set<? extends K> keys) {
+        return join(loadAllAsync(keys));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.igeeksky.xcache.common;
+
+import com.igeeksky.xtool.core.lang.StringUtils;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 异步回调执行方式
+ * <p>
+ * 用于决定异步操作完成后的后续处理（如外部缓存数据的解压与反序列化）在哪个线程执行。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public enum CacheExecutor {
+
+    /**
+     * 直接执行
+     * <p>
+     * 由完成异步操作的线程（如 Redis 客户端的 I/O 线程）直接执行，无线程切换开销，适用于数据较小的场景。
+     */
+    INLINE {
+        @Override
+        public Executor getExecutor() {
+            return Runnable::run;
+        }
+    },
+
+    /**
+     * 平台线程池
+     * <p>
+     * 由共享的平台线程池执行（线程数量为 CPU 核数），适用于需要解压或反序列化较大数据的场景，
+     * 避免阻塞 Redis 客户端的 I/O 线程。
+     */
+    PLATFORM {
+        @Override
+        public Executor getExecutor() {
+            return PlatformHolder.EXECUTOR;
+        }
+    },
+
+    /**
+     * 虚拟线程
+     * <p>
+     * 每个任务由新建的虚拟线程执行，适用于后续处理可能阻塞的场景。
+     */
+    VIRTUAL {
+        @Override
+        public Executor getExecutor() {
+            return VirtualHolder.EXECUTOR;
+        }
+    };
+
+    /**
+     * 获取执行器
+     *
+     * @return {@link Executor} – 执行器
+     */
+    public abstract Executor getExecutor();
+
+    /**
+     * 根据名称获取枚举对象
+     *
+     * @param name 枚举名称
+     * @return {@link CacheExecutor} – 枚举对象
+     * @throws IllegalArgumentException 如果名称无效
+     */
+    public static CacheExecutor of(String name) {
+        String trimmed = StringUtils.trimToNull(name);
+        if (trimmed == null) {
+            throw new IllegalArgumentException("name must not be null or empty.");
+        }
+        return CacheExecutor.valueOf(trimmed.toUpperCase());
+    }
+
+    /**
+     * 平台线程池（首次使用时创建）
+     */
+    private static final class PlatformHolder {
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("xcache-callback-", 0).daemon(true).factory());
+
+    }
+
+    /**
+     * 虚拟线程执行器（首次使用时创建）
+     */
+    private static final class VirtualHolder {
+
+        private static final ExecutorService EXECUTOR = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("virtual-xcache-callback-", 0).factory());
+
+    }
+
+}
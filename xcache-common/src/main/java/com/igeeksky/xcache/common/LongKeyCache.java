@@ -0,0 +1,114 @@
+package com.igeeksky.xcache.common;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 原始 long 类型键的缓存接口
+ * <p>
+ * 读取方法直接使用 long 类型的键，无需装箱，也无需通过 {@code KeyCodec} 编码键；
+ * 批量读取方法使用 long 数组，无需创建原始键与缓存键的映射。
+ * <p>
+ * 其它操作（如写入、删除、异步批量读取等）请通过 {@link #asCache()} 获取的通用缓存对象执行。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public interface LongKeyCache<V> {
+
+    /**
+     * 获取缓存名称
+     *
+     * @return 缓存名称
+     */
+    String getName();
+
+    /**
+     * 获取缓存值的类型
+     *
+     * @return 缓存值的类型
+     */
+    Class<V> getValueType();
+
+    /**
+     * 获取缓存值
+     *
+     * @param key 键
+     * @return 值（返回值为原始值）
+     */
+    V get(long key);
+
+    /**
+     * 获取缓存值（异步）
+     *
+     * @param key 键
+     * @return 值（返回值为原始值）
+     */
+    CompletableFuture<V> getAsync(long key);
+
+    /**
+     * 获取缓存值
+     *
+     * @param key 键
+     * @return 缓存值（如果缓存中无该键，返回 null）
+     */
+    CacheValue<V> getCacheValue(long key);
+
+    /**
+     * 1. 先从缓存取值，如果缓存有命中，返回已缓存的值。<p>
+     * 2. 如果缓存未命中：<p>
+     * 2.1. 有配置 CacheLoader，则通过 cacheLoader 回源取值，取值结果先存入缓存，最后返回该结果；<p>
+     * 2.2. 未配置 CacheLoader，返回 null。
+     * <p>
+     * 注：回源时内部加锁执行，仅回源时才对键装箱。
+     *
+     * @param key 键
+     * @return 值
+     */
+    V getOrLoad(long key);
+
+    /**
+     * 批量获取缓存值
+     *
+     * @param keys 键数组
+     * @return 键值对集合（仅包含缓存命中且值不为空的键）
+     */
+    Map<Long, V> getAll(long[] keys);
+
+    /**
+     * 1. 先从缓存取值，如果缓存命中全部数据，返回缓存数据集。<p>
+     * 2. 如果缓存有未命中数据：<p>
+     * 2.1. 有配置 CacheLoader，则通过 cacheLoader 回源取值，取值结果先存入缓存，最后返回合并结果集：缓存数据集 + 回源取值结果集。<p>
+     * 2.2. 未配置 CacheLoader，返回缓存数据集。
+     * <p>
+     * 注：批量回源取值不加锁
+     *
+     * @param keys 键数组
+     * @return 键值对集合
+     */
+    Map<Long, V> getAllOrLoad(long[] keys);
+
+    /**
+     * 存入缓存
+     *
+     * @param key   键
+     * @param value 值
+     */
+    void put(long key, V value);
+
+    /**
+     * 删除缓存
+     *
+     * @param key 键
+     */
+    void remove(long key);
+
+    /**
+     * 获取对应的通用缓存对象（与当前对象共享同一缓存实例）
+     *
+     * @return 通用缓存对象
+     */
+    Cache<Long, V> asCache();
+
+}
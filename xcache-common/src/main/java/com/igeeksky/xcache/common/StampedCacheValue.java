@@ -0,0 +1,62 @@
+package com.igeeksky.xcache.common;
+
+/**
+ * 携带写入时间及过期时间的缓存值包装类
+ * <p>
+ * 1. 用于软过期（stale-while-revalidate）：根据写入时间判断缓存值是否已过软过期时间。<br>
+ * 2. 用于提前过期（XFetch）：根据过期时间计算剩余存活时间，以概率方式提前回源。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class StampedCacheValue<V> extends CacheValue<V> {
+
+    private final long writeTime;
+
+    private final long expireTime;
+
+    public StampedCacheValue(V value, long writeTime) {
+        this(value, writeTime, 0);
+    }
+
+    public StampedCacheValue(V value, long writeTime, long expireTime) {
+        super(value);
+        this.writeTime = writeTime;
+        this.expireTime = expireTime;
+    }
+
+    /**
+     * 写入时间
+     *
+     * @return 写入时间（毫秒时间戳）
+     */
+    public long getWriteTime() {
+        return writeTime;
+    }
+
+    /**
+     * 过期时间
+     *
+     * @return 过期时间（毫秒时间戳），0 表示未知或永不过期
+     */
+    public long getExpireTime() {
+        return expireTime;
+    }
+
+    public static <V> StampedCacheValue<V> create(V value, long writeTime) {
+        return new StampedCacheValue<>(value, writeTime);
+    }
+
+    public static <V> StampedCacheValue<V> create(V value, long writeTime, long expireTime) {
+        return new StampedCacheValue<>(value, writeTime, expireTime);
+    }
+
+    @Override
+    public String toString() {
+        V value = getValue();
+        String times = "\"writeTime\":" + writeTime + ", \"expireTime\":" + expireTime;
+        return (value == null) ? "{" + times + "}" : "{\"value\":" + value + ", " + times + "}";
+    }
+
+}
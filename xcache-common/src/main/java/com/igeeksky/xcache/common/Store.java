@@ -11,4 +11,12 @@ package com.igeeksky.xcache.common;
  */
 public interface Store<V> extends Base<String, V> {
 
+    /**
+     * 关闭存储，释放存储独占的资源（如定时任务、文件映射等）
+     * <p>
+     * 由 {@code CacheManager#shutdown()} 在各缓存完成关闭任务后调用；默认实现为空操作。
+     */
+    default void close() {
+    }
+
 }
@@ -20,6 +20,38 @@ public abstract class AbstractProps {
 
     private String cacheMetrics;
 
+    private Long staleAfterWrite;
+
+    private Double earlyExpiryBeta;
+
+    private Long hedgeDelay;
+
+    private Double hedgePercentile;
+
+    private Integer writeBehindCapacity;
+
+    private Integer writeBehindBatchSize;
+
+    private Long writeBehindPeriod;
+
+    private Integer promotionThreshold;
+
+    private String decodeExecutor;
+
+    private Long hotKeyThreshold;
+
+    private Long hotKeyPinTtl;
+
+    private Integer hotKeyCapacity;
+
+    private Double breakerFailureRate;
+
+    private Long breakerSlowCall;
+
+    private Long breakerOpenDuration;
+
+    private Integer breakerMinCalls;
+
     private SyncProps cacheSync = new SyncProps();
 
     private LockProps cacheLock = new LockProps();
@@ -127,6 +159,433 @@ public abstract class AbstractProps {
         this.cacheMetrics = cacheMetrics;
     }
 
+    /**
+     * 软过期时间
+     * <p>
+     * 默认值：0 单位：毫秒 <br>
+     * {@link CacheConstants#DEFAULT_STALE_AFTER_WRITE}
+     * <p>
+     * 如果配置值大于 0，则启用软过期（stale-while-revalidate）：<br>
+     * 缓存值写入时记录写入时间，读取时如发现写入时长已超过此配置值，依然直接返回缓存值，
+     * 同时由缓存内部的 {@code CacheLoader} 在后台回源刷新（同一个键同时仅有一个刷新任务）。
+     * <p>
+     * <b>注意：</b><p>
+     * 1、此配置值应小于各级缓存的 {@code expire-after-write}。<br>
+     * 2、启用后，外部缓存的值会附加写入时间，因此共用同一外部缓存的所有应用实例需保持一致的配置。<br>
+     * 3、缓存内部无 {@code CacheLoader} 时，仅 {@code getOrLoad(key, cacheLoader)} 方法会触发后台刷新。
+     *
+     * @return {@link Long} – 软过期时间
+     */
+    public Long getStaleAfterWrite() {
+        return staleAfterWrite;
+    }
+
+    /**
+     * 设置 软过期时间
+     *
+     * @param staleAfterWrite 软过期时间
+     */
+    public void setStaleAfterWrite(Long staleAfterWrite) {
+        this.staleAfterWrite = staleAfterWrite;
+    }
+
+    /**
+     * 提前过期因子
+     * <p>
+     * 默认值：0 <br>
+     * {@link CacheConstants#DEFAULT_EARLY_EXPIRY_BETA}
+     * <p>
+     * 如果配置值大于 0，则启用概率提前过期（XFetch）：<br>
+     * 外部缓存的值写入时记录过期时间，读取时根据回源耗时 δ 及剩余存活时间，以概率方式提前在后台回源刷新，
+     * 即当 {@code now - δ * beta * ln(random) >= expireTime} 时刷新。
+     * 越接近过期时间，刷新概率越高，从而避免大量请求在缓存过期瞬间同时回源。
+     * <p>
+     * 通常配置为 1.0；大于 1.0 更倾向于提前刷新，小于 1.0 则更倾向于延后刷新。
+     * <p>
+     * <b>注意：</b><p>
+     * 1、仅对设定了 {@code expire-after-write} 的外部缓存值有效。<br>
+     * 2、启用后，外部缓存的值会附加写入时间及过期时间，因此共用同一外部缓存的所有应用实例需保持一致的配置。<br>
+     * 3、缓存内部无 {@code CacheLoader} 时，仅 {@code getOrLoad(key, cacheLoader)} 方法会触发后台刷新。
+     *
+     * @return {@link Double} – 提前过期因子
+     */
+    public Double getEarlyExpiryBeta() {
+        return earlyExpiryBeta;
+    }
+
+    /**
+     * 设置 提前过期因子
+     *
+     * @param earlyExpiryBeta 提前过期因子
+     */
+    public void setEarlyExpiryBeta(Double earlyExpiryBeta) {
+        this.earlyExpiryBeta = earlyExpiryBeta;
+    }
+
+    /**
+     * 对冲读取延迟阈值
+     * <p>
+     * 默认值：0 单位：毫秒 <br>
+     * {@link CacheConstants#DEFAULT_HEDGE_DELAY}
+     * <p>
+     * 如果配置值大于 0，则启用对冲读取（仅适用于异步读取）：<br>
+     * 读取二级缓存超过此时长仍未返回时，额外发起对冲读取（两级缓存：再次读取二级缓存；三级缓存：读取三级缓存），
+     * 并采用先返回的结果，另一个读取则被取消。
+     * <p>
+     * 如同时配置了 {@code hedge-percentile}，则此配置值为延迟阈值的下限。
+     *
+     * @return {@link Long} – 对冲读取延迟阈值
+     */
+    public Long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * 设置 对冲读取延迟阈值
+     *
+     * @param hedgeDelay 对冲读取延迟阈值
+     */
+    public void setHedgeDelay(Long hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * 对冲读取延迟百分位
+     * <p>
+     * 默认值：0 <br>
+     * {@link CacheConstants#DEFAULT_HEDGE_PERCENTILE}
+     * <p>
+     * 如果配置值大于 0 且小于 100，则根据二级缓存最近的读取耗时计算此百分位的耗时，作为对冲读取的延迟阈值。
+     * 例如：配置为 95，则延迟阈值为最近读取耗时的 p95。
+     * <p>
+     * 采样数量不足时，使用 {@code hedge-delay} 作为延迟阈值（如 {@code hedge-delay} 小于等于 0，则暂不对冲）。
+     *
+     * @return {@link Double} – 对冲读取延迟百分位
+     */
+    public Double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    /**
+     * 设置 对冲读取延迟百分位
+     *
+     * @param hedgePercentile 对冲读取延迟百分位
+     */
+    public void setHedgePercentile(Double hedgePercentile) {
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    /**
+     * 写回缓冲区容量
+     * <p>
+     * 默认值：0 <br>
+     * {@link CacheConstants#DEFAULT_WRITE_BEHIND_CAPACITY}
+     * <p>
+     * 如果配置值大于 0，则两级缓存启用写回模式：<br>
+     * 写入及删除操作先更新一级缓存，二级缓存的操作则记入缓冲区（同一个键仅保留最后一次操作），再由后台批量写入。
+     * 缓冲区中尚未写入完成的键数量达到此配置值时，调用线程需等待批量写入完成（背压）。
+     * <p>
+     * <b>注意：</b><p>
+     * 1、仅适用于两级缓存。<br>
+     * 2、缓存数据同步消息在批量写入二级缓存成功之后发送。<br>
+     * 3、应用异常退出时，缓冲区中尚未写入的操作将会丢失；正常关闭时，{@code CacheManager} 会批量写入缓冲区中的全部操作。
+     *
+     * @return {@link Integer} – 写回缓冲区容量
+     */
+    public Integer getWriteBehindCapacity() {
+        return writeBehindCapacity;
+    }
+
+    /**
+     * 设置 写回缓冲区容量
+     *
+     * @param writeBehindCapacity 写回缓冲区容量
+     */
+    public void setWriteBehindCapacity(Integer writeBehindCapacity) {
+        this.writeBehindCapacity = writeBehindCapacity;
+    }
+
+    /**
+     * 写回单批次最大键数量
+     * <p>
+     * 默认值：256 <br>
+     * {@link CacheConstants#DEFAULT_WRITE_BEHIND_BATCH_SIZE}
+     * <p>
+     * 缓冲区中待写入的键数量达到此配置值时，立即批量写入二级缓存。
+     *
+     * @return {@link Integer} – 写回单批次最大键数量
+     */
+    public Integer getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    /**
+     * 设置 写回单批次最大键数量
+     *
+     * @param writeBehindBatchSize 写回单批次最大键数量
+     */
+    public void setWriteBehindBatchSize(Integer writeBehindBatchSize) {
+        this.writeBehindBatchSize = writeBehindBatchSize;
+    }
+
+    /**
+     * 写回最大延迟时长
+     * <p>
+     * 默认值：100 单位：毫秒 <br>
+     * {@link CacheConstants#DEFAULT_WRITE_BEHIND_PERIOD}
+     * <p>
+     * 首个待写入的键记入缓冲区之后，最多等待此时长即批量写入二级缓存。
+     *
+     * @return {@link Long} – 写回最大延迟时长
+     */
+    public Long getWriteBehindPeriod() {
+        return writeBehindPeriod;
+    }
+
+    /**
+     * 设置 写回最大延迟时长
+     *
+     * @param writeBehindPeriod 写回最大延迟时长
+     */
+    public void setWriteBehindPeriod(Long writeBehindPeriod) {
+        this.writeBehindPeriod = writeBehindPeriod;
+    }
+
+    /**
+     * 一级缓存回填准入阈值
+     * <p>
+     * 默认值：1 <br>
+     * {@link CacheConstants#DEFAULT_PROMOTION_THRESHOLD}
+     * <p>
+     * 从下级缓存读取到数据时，仅当该键最近的估算访问次数达到此配置值时，才回填到一级缓存，
+     * 以避免仅访问一次的数据挤占一级缓存容量，从而在相同容量下提高一级缓存的命中率。
+     * <p>
+     * 访问次数采用 Count-Min Sketch 估算，计数器数量及统计窗口根据一级缓存的 {@code maximum-size} 确定。
+     * <p>
+     * 如果配置值小于等于 1，则不启用（每次读取均回填）；最大有效值为 15。
+     *
+     * @return {@link Integer} – 一级缓存回填准入阈值
+     */
+    public Integer getPromotionThreshold() {
+        return promotionThreshold;
+    }
+
+    /**
+     * 设置 一级缓存回填准入阈值
+     *
+     * @param promotionThreshold 一级缓存回填准入阈值
+     */
+    public void setPromotionThreshold(Integer promotionThreshold) {
+        this.promotionThreshold = promotionThreshold;
+    }
+
+    /**
+     * 外部缓存数据解码执行方式
+     * <p>
+     * 默认值：INLINE <br>
+     * {@link CacheConstants#DEFAULT_DECODE_EXECUTOR}
+     * <p>
+     * 可选值：<br>
+     * INLINE：由 Redis 客户端的 I/O 线程直接解压和反序列化；<br>
+     * PLATFORM：由共享的平台线程池解压和反序列化；<br>
+     * VIRTUAL：由虚拟线程解压和反序列化。
+     * <p>
+     * 如果缓存值较大（如较大的 JSON 数据或启用了压缩），建议配置为 PLATFORM，以避免阻塞 Redis 客户端的 I/O 线程。
+     *
+     * @return {@link String} – 外部缓存数据解码执行方式
+     * @see com.igeeksky.xcache.common.CacheExecutor
+     */
+    public String getDecodeExecutor() {
+        return decodeExecutor;
+    }
+
+    /**
+     * 设置 外部缓存数据解码执行方式
+     *
+     * @param decodeExecutor 外部缓存数据解码执行方式
+     * @see com.igeeksky.xcache.common.CacheExecutor
+     */
+    public void setDecodeExecutor(String decodeExecutor) {
+        this.decodeExecutor = decodeExecutor;
+    }
+
+    /**
+     * 热点键阈值
+     * <p>
+     * 默认值：0 单位：次/秒 <br>
+     * {@link CacheConstants#DEFAULT_HOT_KEY_THRESHOLD}
+     * <p>
+     * 如果配置值大于 0，则启用热点键探测：<br>
+     * 采用 SpaceSaving 算法统计每秒读取次数最多的键，读取频率达到此配置值的键即为热点键。
+     * 热点键的值将保存到进程内的短期缓存，后续读取直接返回该值，从而避免大量请求集中访问同一个 Redis 节点。
+     * 即使未配置一级缓存，也同样有效。
+     * <p>
+     * 探测到的热点键会通过 {@code CacheMetricsMonitor} 输出到缓存指标信息。
+     * <p>
+     * <b>注意：</b><p>
+     * 1、本地更新及缓存同步消息会立即使短期缓存失效；其它情况下，热点键的值最多延迟 {@code hot-key-pin-ttl} 更新。<br>
+     * 2、启用后，每次读取均需更新统计信息，因此建议仅对外部缓存读取频繁的缓存启用。
+     *
+     * @return {@link Long} – 热点键阈值
+     */
+    public Long getHotKeyThreshold() {
+        return hotKeyThreshold;
+    }
+
+    /**
+     * 设置 热点键阈值
+     *
+     * @param hotKeyThreshold 热点键阈值
+     */
+    public void setHotKeyThreshold(Long hotKeyThreshold) {
+        this.hotKeyThreshold = hotKeyThreshold;
+    }
+
+    /**
+     * 热点键短期缓存存活时间
+     * <p>
+     * 默认值：1000 单位：毫秒 <br>
+     * {@link CacheConstants#DEFAULT_HOT_KEY_PIN_TTL}
+     * <p>
+     * 热点键的值保存到短期缓存后，超过此时长则重新从缓存读取（如依然是热点键，则再次保存）。
+     *
+     * @return {@link Long} – 热点键短期缓存存活时间
+     */
+    public Long getHotKeyPinTtl() {
+        return hotKeyPinTtl;
+    }
+
+    /**
+     * 设置 热点键短期缓存存活时间
+     *
+     * @param hotKeyPinTtl 热点键短期缓存存活时间
+     */
+    public void setHotKeyPinTtl(Long hotKeyPinTtl) {
+        this.hotKeyPinTtl = hotKeyPinTtl;
+    }
+
+    /**
+     * 热点键统计容量
+     * <p>
+     * 默认值：64 <br>
+     * {@link CacheConstants#DEFAULT_HOT_KEY_CAPACITY}
+     * <p>
+     * SpaceSaving 算法的计数器数量，同时也是热点键的最大数量。
+     *
+     * @return {@link Integer} – 热点键统计容量
+     */
+    public Integer getHotKeyCapacity() {
+        return hotKeyCapacity;
+    }
+
+    /**
+     * 设置 热点键统计容量
+     *
+     * @param hotKeyCapacity 热点键统计容量
+     */
+    public void setHotKeyCapacity(Integer hotKeyCapacity) {
+        this.hotKeyCapacity = hotKeyCapacity;
+    }
+
+    /**
+     * 熔断失败率阈值
+     * <p>
+     * 默认值：0 <br>
+     * {@link CacheConstants#DEFAULT_BREAKER_FAILURE_RATE}
+     * <p>
+     * 如果配置值大于 0，则二级缓存及三级缓存启用熔断：<br>
+     * 统计窗口（10 秒）内调用次数不小于 {@code breaker-min-calls}，且失败（含慢调用）比例达到此配置值时，熔断器打开。
+     * <p>
+     * 熔断器打开期间，读取视为未命中，写入直接跳过（记录被跳过写入的键），仅使用一级缓存及数据源；
+     * 经过 {@code breaker-open-duration} 后进入半开状态，允许少量探测调用，探测均成功则关闭熔断器，
+     * 并删除下级缓存中被跳过写入的键（同时发送缓存同步消息），以免读取到旧值。
+     * <p>
+     * 取值范围：[0, 1]，小于等于 0 表示不启用。
+     *
+     * @return {@link Double} – 熔断失败率阈值
+     */
+    public Double getBreakerFailureRate() {
+        return breakerFailureRate;
+    }
+
+    /**
+     * 设置 熔断失败率阈值
+     *
+     * @param breakerFailureRate 熔断失败率阈值
+     */
+    public void setBreakerFailureRate(Double breakerFailureRate) {
+        this.breakerFailureRate = breakerFailureRate;
+    }
+
+    /**
+     * 慢调用阈值
+     * <p>
+     * 默认值：0 单位：毫秒 <br>
+     * {@link CacheConstants#DEFAULT_BREAKER_SLOW_CALL}
+     * <p>
+     * 调用耗时达到此配置值视为失败；小于等于 0 表示仅统计异常。
+     *
+     * @return {@link Long} – 慢调用阈值
+     */
+    public Long getBreakerSlowCall() {
+        return breakerSlowCall;
+    }
+
+    /**
+     * 设置 慢调用阈值
+     *
+     * @param breakerSlowCall 慢调用阈值
+     */
+    public void setBreakerSlowCall(Long breakerSlowCall) {
+        this.breakerSlowCall = breakerSlowCall;
+    }
+
+    /**
+     * 熔断持续时间
+     * <p>
+     * 默认值：5000 单位：毫秒 <br>
+     * {@link CacheConstants#DEFAULT_BREAKER_OPEN_DURATION}
+     * <p>
+     * 熔断器打开后，经过此时长进入半开状态。
+     *
+     * @return {@link Long} – 熔断持续时间
+     */
+    public Long getBreakerOpenDuration() {
+        return breakerOpenDuration;
+    }
+
+    /**
+     * 设置 熔断持续时间
+     *
+     * @param breakerOpenDuration 熔断持续时间
+     */
+    public void setBreakerOpenDuration(Long breakerOpenDuration) {
+        this.breakerOpenDuration = breakerOpenDuration;
+    }
+
+    /**
+     * 熔断最小调用次数
+     * <p>
+     * 默认值：20 <br>
+     * {@link CacheConstants#DEFAULT_BREAKER_MIN_CALLS}
+     * <p>
+     * 统计窗口内调用次数小于此配置值时，不计算失败率。
+     *
+     * @return {@link Integer} – 熔断最小调用次数
+     */
+    public Integer getBreakerMinCalls() {
+        return breakerMinCalls;
+    }
+
+    /**
+     * 设置 熔断最小调用次数
+     *
+     * @param breakerMinCalls 熔断最小调用次数
+     */
+    public void setBreakerMinCalls(Integer breakerMinCalls) {
+        this.breakerMinCalls = breakerMinCalls;
+    }
+
     /**
      * 缓存刷新配置
      * <p>
@@ -2,6 +2,7 @@ package com.igeeksky.xcache.props;
 
 
 import com.igeeksky.xcache.common.ReferenceType;
+import com.igeeksky.xcache.common.CacheExecutor;
 import com.igeeksky.xcache.common.ShutdownBehavior;
 
 import java.nio.charset.Charset;
@@ -23,6 +24,8 @@ public interface CacheConstants {
 
     // 默认组件注册 ID
     String CAFFEINE_STORE = "caffeine";
+    String OFFHEAP_STORE = "offheap";
+    String MMAP_STORE = "mmap";
     String JDK_CODEC = "jdk";
     String JACKSON_CODEC = "jackson";
     String JACKSON_SPRING_CODEC = "jackson-spring";
@@ -36,6 +39,22 @@ public interface CacheConstants {
     String DEFAULT_TEMPLATE_ID = "t0";
     String DEFAULT_CHARSET_NAME = "UTF-8";
     Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    long DEFAULT_STALE_AFTER_WRITE = 0;
+    double DEFAULT_EARLY_EXPIRY_BETA = 0;
+    long DEFAULT_HEDGE_DELAY = 0;
+    double DEFAULT_HEDGE_PERCENTILE = 0;
+    int DEFAULT_WRITE_BEHIND_CAPACITY = 0;
+    int DEFAULT_WRITE_BEHIND_BATCH_SIZE = 256;
+    long DEFAULT_WRITE_BEHIND_PERIOD = 100;
+    int DEFAULT_PROMOTION_THRESHOLD = 1;
+    CacheExecutor DEFAULT_DECODE_EXECUTOR = CacheExecutor.INLINE;
+    long DEFAULT_HOT_KEY_THRESHOLD = 0;
+    long DEFAULT_HOT_KEY_PIN_TTL = 1000;
+    int DEFAULT_HOT_KEY_CAPACITY = 64;
+    double DEFAULT_BREAKER_FAILURE_RATE = 0;
+    long DEFAULT_BREAKER_SLOW_CALL = 0;
+    long DEFAULT_BREAKER_OPEN_DURATION = 5000;
+    int DEFAULT_BREAKER_MIN_CALLS = 20;
 
     // 内嵌缓存默认配置 start
     String DEFAULT_EMBED_STORE_PROVIDER = CAFFEINE_STORE;
@@ -62,6 +81,8 @@ public interface CacheConstants {
     boolean DEFAULT_EXTRA_ENABLE_RANDOM_TTL = true;
     boolean DEFAULT_EXTRA_ENABLE_NULL_VALUE = true;
     int DEFAULT_EXTRA_DATA_SLOT_SIZE = 1;
+    int DEFAULT_EXTRA_BATCH_GET_SIZE = 0;
+    long DEFAULT_EXTRA_BATCH_GET_WINDOW = 500;
     // 外部缓存默认配置 end
 
 
@@ -88,6 +109,10 @@ public interface CacheConstants {
 
     String DEFAULT_SYNC_PROVIDER = NONE;
     long DEFAULT_SYNC_MAX_LEN = 10000;
+    long DEFAULT_SYNC_BATCH_DELAY = 0;
+    int DEFAULT_SYNC_BATCH_SIZE = 1000;
+    int DEFAULT_SYNC_UPDATE_MAX_SIZE = 0;
+    String DEFAULT_SYNC_VALUE_CODEC = JACKSON_CODEC;
 
     String DEFAULT_METRICS_PROVIDER = LOG_CACHE_METRICS;
     long DEFAULT_METRICS_INTERVAL = 60000;
@@ -73,6 +73,86 @@ public class PropsUtil {
             to.setCacheMetrics(cacheStat);
         }
 
+        Long staleAfterWrite = from.getStaleAfterWrite();
+        if (staleAfterWrite != null) {
+            to.setStaleAfterWrite(staleAfterWrite);
+        }
+
+        Double earlyExpiryBeta = from.getEarlyExpiryBeta();
+        if (earlyExpiryBeta != null) {
+            to.setEarlyExpiryBeta(earlyExpiryBeta);
+        }
+
+        Long hedgeDelay = from.getHedgeDelay();
+        if (hedgeDelay != null) {
+            to.setHedgeDelay(hedgeDelay);
+        }
+
+        Double hedgePercentile = from.getHedgePercentile();
+        if (hedgePercentile != null) {
+            to.setHedgePercentile(hedgePercentile);
+        }
+
+        Integer writeBehindCapacity = from.getWriteBehindCapacity();
+        if (writeBehindCapacity != null) {
+            to.setWriteBehindCapacity(writeBehindCapacity);
+        }
+
+        Integer writeBehindBatchSize = from.getWriteBehindBatchSize();
+        if (writeBehindBatchSize != null) {
+            to.setWriteBehindBatchSize(writeBehindBatchSize);
+        }
+
+        Long writeBehindPeriod = from.getWriteBehindPeriod();
+        if (writeBehindPeriod != null) {
+            to.setWriteBehindPeriod(writeBehindPeriod);
+        }
+
+        Integer promotionThreshold = from.getPromotionThreshold();
+        if (promotionThreshold != null) {
+            to.setPromotionThreshold(promotionThreshold);
+        }
+
+        String decodeExecutor = StringUtils.trimToNull(from.getDecodeExecutor());
+        if (decodeExecutor != null) {
+            to.setDecodeExecutor(decodeExecutor);
+        }
+
+        Long hotKeyThreshold = from.getHotKeyThreshold();
+        if (hotKeyThreshold != null) {
+            to.setHotKeyThreshold(hotKeyThreshold);
+        }
+
+        Long hotKeyPinTtl = from.getHotKeyPinTtl();
+        if (hotKeyPinTtl != null) {
+            to.setHotKeyPinTtl(hotKeyPinTtl);
+        }
+
+        Integer hotKeyCapacity = from.getHotKeyCapacity();
+        if (hotKeyCapacity != null) {
+            to.setHotKeyCapacity(hotKeyCapacity);
+        }
+
+        Double breakerFailureRate = from.getBreakerFailureRate();
+        if (breakerFailureRate != null) {
+            to.setBreakerFailureRate(breakerFailureRate);
+        }
+
+        Long breakerSlowCall = from.getBreakerSlowCall();
+        if (breakerSlowCall != null) {
+            to.setBreakerSlowCall(breakerSlowCall);
+        }
+
+        Long breakerOpenDuration = from.getBreakerOpenDuration();
+        if (breakerOpenDuration != null) {
+            to.setBreakerOpenDuration(breakerOpenDuration);
+        }
+
+        Integer breakerMinCalls = from.getBreakerMinCalls();
+        if (breakerMinCalls != null) {
+            to.setBreakerMinCalls(breakerMinCalls);
+        }
+
         replaceProps(from.getCacheLock(), to.getCacheLock());
         replaceProps(from.getCacheSync(), to.getCacheSync());
         replaceProps(from.getCacheRefresh(), to.getCacheRefresh());
@@ -141,6 +221,28 @@ public class PropsUtil {
             to.setMaxLen(maxLen);
         }
 
+        Long batchDelay = from.getBatchDelay();
+        if (batchDelay != null) {
+            to.setBatchDelay(batchDelay);
+        }
+
+        Integer batchSize = from.getBatchSize();
+        if (batchSize != null) {
+            to.setBatchSize(batchSize);
+        }
+
+        Integer updateMaxSize = from.getUpdateMaxSize();
+        if (updateMaxSize != null) {
+            to.setUpdateMaxSize(updateMaxSize);
+        }
+
+        to.setUpdateKeys(from.getUpdateKeys());
+
+        String valueCodec = StringUtils.trimToNull(from.getValueCodec());
+        if (valueCodec != null) {
+            to.setValueCodec(valueCodec);
+        }
+
         String provider = StringUtils.trimToNull(from.getProvider());
         if (provider != null) {
             to.setProvider(provider);
@@ -227,6 +329,16 @@ public class PropsUtil {
             to.setDataSlotSize(dataSlotSize);
         }
 
+        Integer batchGetSize = from.getBatchGetSize();
+        if (batchGetSize != null) {
+            to.setBatchGetSize(batchGetSize);
+        }
+
+        Long batchGetWindow = from.getBatchGetWindow();
+        if (batchGetWindow != null) {
+            to.setBatchGetWindow(batchGetWindow);
+        }
+
         Integer initialCapacity = from.getInitialCapacity();
         if (initialCapacity != null) {
             to.setInitialCapacity(initialCapacity);
@@ -322,6 +434,22 @@ public class PropsUtil {
         props.setCharset(CacheConstants.DEFAULT_CHARSET_NAME);
         props.setKeyCodec(CacheConstants.DEFAULT_KEY_CODEC_PROVIDER);
         props.setCacheMetrics(CacheConstants.DEFAULT_METRICS_PROVIDER);
+        props.setStaleAfterWrite(CacheConstants.DEFAULT_STALE_AFTER_WRITE);
+        props.setEarlyExpiryBeta(CacheConstants.DEFAULT_EARLY_EXPIRY_BETA);
+        props.setHedgeDelay(CacheConstants.DEFAULT_HEDGE_DELAY);
+        props.setHedgePercentile(CacheConstants.DEFAULT_HEDGE_PERCENTILE);
+        props.setWriteBehindCapacity(CacheConstants.DEFAULT_WRITE_BEHIND_CAPACITY);
+        props.setWriteBehindBatchSize(CacheConstants.DEFAULT_WRITE_BEHIND_BATCH_SIZE);
+        props.setWriteBehindPeriod(CacheConstants.DEFAULT_WRITE_BEHIND_PERIOD);
+        props.setPromotionThreshold(CacheConstants.DEFAULT_PROMOTION_THRESHOLD);
+        props.setDecodeExecutor(CacheConstants.DEFAULT_DECODE_EXECUTOR.name());
+        props.setHotKeyThreshold(CacheConstants.DEFAULT_HOT_KEY_THRESHOLD);
+        props.setHotKeyPinTtl(CacheConstants.DEFAULT_HOT_KEY_PIN_TTL);
+        props.setHotKeyCapacity(CacheConstants.DEFAULT_HOT_KEY_CAPACITY);
+        props.setBreakerFailureRate(CacheConstants.DEFAULT_BREAKER_FAILURE_RATE);
+        props.setBreakerSlowCall(CacheConstants.DEFAULT_BREAKER_SLOW_CALL);
+        props.setBreakerOpenDuration(CacheConstants.DEFAULT_BREAKER_OPEN_DURATION);
+        props.setBreakerMinCalls(CacheConstants.DEFAULT_BREAKER_MIN_CALLS);
 
         props.setCacheLock(defaultLockProps());
         props.setCacheSync(defaultSyncProps());
@@ -377,6 +505,10 @@ public class PropsUtil {
         props.setFirst(Boolean.TRUE);
         props.setSecond(Boolean.FALSE);
         props.setMaxLen(CacheConstants.DEFAULT_SYNC_MAX_LEN);
+        props.setBatchDelay(CacheConstants.DEFAULT_SYNC_BATCH_DELAY);
+        props.setBatchSize(CacheConstants.DEFAULT_SYNC_BATCH_SIZE);
+        props.setUpdateMaxSize(CacheConstants.DEFAULT_SYNC_UPDATE_MAX_SIZE);
+        props.setValueCodec(CacheConstants.DEFAULT_SYNC_VALUE_CODEC);
         props.setProvider(CacheConstants.DEFAULT_SYNC_PROVIDER);
         props.setEnableGroupPrefix(CacheConstants.DEFAULT_ENABLE_GROUP_PREFIX);
         return props;
@@ -393,6 +525,8 @@ public class PropsUtil {
 
         props.setRedisType(RedisType.STRING);
         props.setDataSlotSize(CacheConstants.DEFAULT_EXTRA_DATA_SLOT_SIZE);
+        props.setBatchGetSize(CacheConstants.DEFAULT_EXTRA_BATCH_GET_SIZE);
+        props.setBatchGetWindow(CacheConstants.DEFAULT_EXTRA_BATCH_GET_WINDOW);
 
         props.setInitialCapacity(CacheConstants.DEFAULT_EMBED_INITIAL_CAPACITY);
         props.setMaximumSize(CacheConstants.DEFAULT_EMBED_MAXIMUM_SIZE);
@@ -426,6 +560,8 @@ public class PropsUtil {
 
         props.setRedisType(RedisType.STRING);
         props.setDataSlotSize(CacheConstants.DEFAULT_EXTRA_DATA_SLOT_SIZE);
+        props.setBatchGetSize(CacheConstants.DEFAULT_EXTRA_BATCH_GET_SIZE);
+        props.setBatchGetWindow(CacheConstants.DEFAULT_EXTRA_BATCH_GET_WINDOW);
 
         props.setInitialCapacity(CacheConstants.DEFAULT_EMBED_INITIAL_CAPACITY);
         props.setMaximumSize(CacheConstants.DEFAULT_EMBED_MAXIMUM_SIZE);
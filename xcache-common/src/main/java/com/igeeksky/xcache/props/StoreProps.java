@@ -50,6 +50,10 @@ public class StoreProps {
 
     private Integer dataSlotSize;
 
+    private Integer batchGetSize;
+
+    private Long batchGetWindow;
+
     private final Map<String, Object> params = new HashMap<>();
 
     /**
@@ -142,6 +146,62 @@ public class StoreProps {
         this.dataSlotSize = dataSlotSize;
     }
 
+    /**
+     * 合并查询的最大键数量
+     * <p>
+     * 默认值：0 <br>
+     * {@link CacheConstants#DEFAULT_EXTRA_BATCH_GET_SIZE}
+     * <p>
+     * 当配置值小于等于 1 时，不启用合并查询。<br>
+     * 当配置值大于 1 时，将在 {@code batch-get-window} 时间窗口内收集并发的单键异步查询，
+     * 然后合并为一次批量查询（如 Redis 的 MGET），再将结果分发给各个调用者。<br>
+     * 时间窗口内收集的键数量达到此配置值时，立即执行批量查询。
+     * <p>
+     * <b>注意：</b><p>
+     * 1、仅对异步单键查询有效，同步查询不受影响。<br>
+     * 2、启用后每次单键异步查询最多会增加 {@code batch-get-window} 的延迟。<br>
+     * 3、适用于外部缓存，内嵌缓存无需启用。
+     *
+     * @return {@link Integer} - 合并查询的最大键数量
+     */
+    public Integer getBatchGetSize() {
+        return batchGetSize;
+    }
+
+    /**
+     * 设置 合并查询的最大键数量
+     *
+     * @param batchGetSize 合并查询的最大键数量
+     */
+    public void setBatchGetSize(Integer batchGetSize) {
+        this.batchGetSize = batchGetSize;
+    }
+
+    /**
+     * 合并查询的时间窗口
+     * <p>
+     * 默认值：500 单位：微秒 <br>
+     * {@link CacheConstants#DEFAULT_EXTRA_BATCH_GET_WINDOW}
+     * <p>
+     * 首个单键异步查询到达后，等待此时长以收集更多的查询，然后合并为一次批量查询。
+     * <p>
+     * 仅当 {@code batch-get-size} 大于 1 时，此配置才有效。
+     *
+     * @return {@link Long} - 合并查询的时间窗口
+     */
+    public Long getBatchGetWindow() {
+        return batchGetWindow;
+    }
+
+    /**
+     * 设置 合并查询的时间窗口
+     *
+     * @param batchGetWindow 合并查询的时间窗口
+     */
+    public void setBatchGetWindow(Long batchGetWindow) {
+        this.batchGetWindow = batchGetWindow;
+    }
+
     /**
      * 初始容量
      * <p>
@@ -3,7 +3,9 @@ package com.igeeksky.xcache.props;
 import com.igeeksky.xtool.core.json.SimpleJSON;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 数据更新同步配置
@@ -25,6 +27,16 @@ public class SyncProps {
 
     private Long maxLen;
 
+    private Long batchDelay;
+
+    private Integer batchSize;
+
+    private Integer updateMaxSize;
+
+    private final Set<String> updateKeys = new LinkedHashSet<>();
+
+    private String valueCodec;
+
     private String provider;
 
     private Boolean enableGroupPrefix;
@@ -133,6 +145,128 @@ public class SyncProps {
         this.maxLen = maxLen;
     }
 
+    /**
+     * 同步消息合并发送的最大延迟
+     * <p>
+     * 默认值：0（不合并，每次写操作后立即发送消息）
+     * <p>
+     * 大于 0 时，写操作产生的失效键先缓冲并去重，延迟指定时长（或缓冲键数量达到 batchSize）后合并为一条消息发送，
+     * 以减少消息数量；代价是其它节点删除本地缓存的时间最多推迟此时长。<br>
+     * 合并发送需 CacheSyncProvider 提供调度器，否则仍逐条发送。
+     *
+     * @return {@link Long} – 同步消息合并发送的最大延迟（单位：毫秒）
+     */
+    public Long getBatchDelay() {
+        return batchDelay;
+    }
+
+    /**
+     * 设置 同步消息合并发送的最大延迟
+     *
+     * @param batchDelay 同步消息合并发送的最大延迟（单位：毫秒）
+     */
+    public void setBatchDelay(Long batchDelay) {
+        this.batchDelay = batchDelay;
+    }
+
+    /**
+     * 单条同步消息的最大键数量
+     * <p>
+     * 默认值：1000
+     * <p>
+     * 合并发送时，缓冲键数量达到此值即立即发送；
+     * 批量写操作的键数量超过此值时，拆分为多条消息发送，避免单条消息过大。
+     *
+     * @return {@link Integer} – 单条同步消息的最大键数量
+     */
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 设置 单条同步消息的最大键数量
+     *
+     * @param batchSize 单条同步消息的最大键数量
+     */
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 更新消息携带值的最大字节数
+     * <p>
+     * 默认值：0（写操作后仅发送失效消息）
+     * <p>
+     * 大于 0 时，写操作后将新值序列化，序列化后的字节数不超过此值则发送携带新值的更新消息，
+     * 其它节点直接将新值写入一级缓存，而非删除，以避免写入后所有节点同时回源读取（适用于读多写少的小对象，如配置项）。<br>
+     * 代价是每次写操作均需额外序列化一次新值。
+     * <p>
+     * 注意：同一个键如有多个节点并发写入，接收方写入的值取决于消息顺序，可能与共享缓存中的值不一致（直至过期）；
+     * 因此更新消息适用于写入不频繁或仅有单一写入方的键。
+     *
+     * @return {@link Integer} – 更新消息携带值的最大字节数
+     */
+    public Integer getUpdateMaxSize() {
+        return updateMaxSize;
+    }
+
+    /**
+     * 设置 更新消息携带值的最大字节数
+     *
+     * @param updateMaxSize 更新消息携带值的最大字节数
+     */
+    public void setUpdateMaxSize(Integer updateMaxSize) {
+        this.updateMaxSize = updateMaxSize;
+    }
+
+    /**
+     * 发送更新消息的热点键
+     * <p>
+     * 默认值：空
+     * <p>
+     * 这些键写入后总是发送携带新值的更新消息（不受 updateMaxSize 限制）。<br>
+     * 键须为经 keyCodec 转换后的 String 形式（与存储键相同）。
+     *
+     * @return {@link Set} – 发送更新消息的热点键
+     */
+    public Set<String> getUpdateKeys() {
+        return updateKeys;
+    }
+
+    /**
+     * 设置 发送更新消息的热点键
+     *
+     * @param updateKeys 发送更新消息的热点键
+     */
+    public void setUpdateKeys(Set<String> updateKeys) {
+        if (updateKeys != null) {
+            this.updateKeys.addAll(updateKeys);
+        }
+    }
+
+    /**
+     * 更新消息的值编解码器 ID
+     * <p>
+     * 默认值：jackson <br>
+     * {@link CacheConstants#DEFAULT_SYNC_VALUE_CODEC}
+     * <p>
+     * 仅当 updateMaxSize 大于 0 或 updateKeys 不为空时使用，所有节点须配置相同的编解码器。
+     *
+     * @return {@link String} – 更新消息的值编解码器 ID
+     */
+    public String getValueCodec() {
+        return valueCodec;
+    }
+
+    /**
+     * 设置 更新消息的值编解码器 ID
+     *
+     * @param valueCodec 更新消息的值编解码器 ID
+     */
+    public void setValueCodec(String valueCodec) {
+        this.valueCodec = valueCodec;
+    }
+
     /**
      * CacheSyncProviderId
      * <p>
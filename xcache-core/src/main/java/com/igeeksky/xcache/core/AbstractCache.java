@@ -1,9 +1,12 @@
 package com.igeeksky.xcache.core;
 
+import com.igeeksky.xcache.common.AsyncCacheLoader;
 import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheExecutor;
 import com.igeeksky.xcache.common.CacheLoader;
 import com.igeeksky.xcache.common.CacheValue;
 import com.igeeksky.xcache.common.ContainsPredicate;
+import com.igeeksky.xcache.common.StampedCacheValue;
 import com.igeeksky.xcache.extension.lock.LockService;
 import com.igeeksky.xcache.extension.metrics.CacheMetricsMonitor;
 import com.igeeksky.xcache.extension.refresh.CacheRefresh;
@@ -11,9 +14,16 @@ import com.igeeksky.xcache.extension.refresh.CacheRefreshProxy;
 import com.igeeksky.xtool.core.collection.CollectionUtils;
 import com.igeeksky.xtool.core.collection.Maps;
 import com.igeeksky.xtool.core.lang.codec.KeyCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.Lock;
 
 /**
@@ -26,6 +36,8 @@ import java.util.concurrent.locks.Lock;
  */
 public abstract class AbstractCache<K, V> implements Cache<K, V> {
 
+    private static final Logger log = LoggerFactory.getLogger(AbstractCache.class);
+
     private final String name;
     private final Class<K> keyType;
     private final Class<V> valueType;
@@ -38,6 +50,24 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
     private final LockService lockService;
     private final ContainsPredicate<K> containsPredicate;
 
+    // 软过期时间（小于等于 0 表示不启用）
+    private final long staleAfterWrite;
+
+    // 提前过期因子（小于等于 0 表示不启用）
+    private final double earlyExpiryBeta;
+
+    // 软过期及提前过期的后台回源执行器
+    private final Executor revalidateExecutor;
+
+    // 回源耗时的指数加权移动平均值（单位：纳秒），用于计算提前过期概率
+    private volatile long loadNanos;
+
+    // 进行中的回源任务（键为 storeKey），用于合并同一缓存键的并发异步回源及批量回源
+    private final ConcurrentMap<String, CompletableFuture<V>> loadings = new ConcurrentHashMap<>();
+
+    // 热点键探测（为空表示不启用）
+    private final HotKeyDetector<V> hotKeys;
+
     // 错误信息公共模板
     private final String error;
 
@@ -45,6 +75,10 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         this.name = config.getName();
         this.keyType = config.getKeyType();
         this.valueType = config.getValueType();
+        this.staleAfterWrite = config.getStaleAfterWrite();
+        this.earlyExpiryBeta = config.getEarlyExpiryBeta();
+        this.revalidateExecutor = (this.staleAfterWrite > 0 || this.earlyExpiryBeta > 0)
+                ? revalidateExecutor(config.getDecodeExecutor()) : null;
         this.error = "Cache:[" + this.name + "], %s";
 
         this.keyCodec = extend.getKeyCodec();
@@ -52,6 +86,8 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
 
         this.lockService = extend.getLockService();
         this.containsPredicate = extend.getContainsPredicate();
+        this.hotKeys = (config.getHotKeyThreshold() > 0)
+                ? new HotKeyDetector<>(config, extend.getBackfillGuard(), this.metricsMonitor) : null;
         this.setCacheRefresh(extend.getCacheRefresh(), extend.getCacheLoader());
     }
 
@@ -80,7 +116,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
 
         // 如果断言执行发现数据源不存在数据，则存入空值
         if (!this.containsPredicate.test(key)) {
-            this.doPutAsync(storeKey, null);
+            this.invalidatePinned(this.doPutAsync(storeKey, null), storeKey);
             return;
         }
 
@@ -92,7 +128,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                 try {
                     // 调用缓存加载器加载数据，并将结果存入缓存，并记录统计信息
                     V value = this.cacheLoader.load(key);
-                    this.doPutAsync(storeKey, value);
+                    this.invalidatePinned(this.doPutAsync(storeKey, value), storeKey);
                     if (value != null) {
                         this.metricsMonitor.incHitLoads(1);
                     } else {
@@ -131,19 +167,26 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
 
     @Override
     public CompletableFuture<V> getAsync(K key) {
-        return this.getCacheValueAsync(key).thenApply(AbstractCache::fromCacheValue);
+        return toValueAsync(this.getCacheValueAsync(key));
     }
 
     @Override
     public CacheValue<V> getCacheValue(K key) {
-        return this.doGet(this.toStoreKey(key));
+        String storeKey = this.toStoreKey(key);
+        CacheValue<V> cacheValue = this.read(storeKey);
+        this.revalidate(key, storeKey, cacheValue, this.cacheLoader);
+        return cacheValue;
     }
 
     @Override
     public CompletableFuture<CacheValue<V>> getCacheValueAsync(K key) {
-        return CompletableFuture.completedFuture(key)
-                .thenApply(this::toStoreKey)
-                .thenCompose(this::doGetAsync);
+        String storeKey;
+        try {
+            storeKey = this.toStoreKey(key);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return this.revalidateAsync(key, storeKey, this.readAsync(storeKey), this.cacheLoader);
     }
 
     @Override
@@ -166,14 +209,12 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
     public V getOrLoad(K key, CacheLoader<K, V> cacheLoader) {
         requireNonNull(cacheLoader, error, "cacheLoader must not be null");
         String storeKey = this.toStoreKey(key);
-        CacheValue<V> cacheValue = this.doGet(storeKey);
+        CacheValue<V> cacheValue = this.read(storeKey);
         if (cacheValue != null) {
+            this.revalidate(key, storeKey, cacheValue, cacheLoader);
             return cacheValue.getValue();
         }
-        if (this.containsPredicate.test(key)) {
-            return this.load(key, storeKey, cacheLoader);
-        }
-        return null;
+        return this.loadIfPresent(key, storeKey, cacheLoader);
     }
 
     @Override
@@ -182,19 +223,239 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
             String errorMsg = String.format(error, "cacheLoader must not be null.");
             return CompletableFuture.failedFuture(new IllegalArgumentException(errorMsg));
         }
-        return CompletableFuture.completedFuture(key)
-                .thenApply(this::toStoreKey)
-                .thenCompose(storeKey -> this.doGetAsync(storeKey)
-                        .thenApply(cacheValue -> {
-                            if (cacheValue != null) {
-                                return cacheValue.getValue();
-                            }
-                            if (this.containsPredicate.test(key)) {
-                                return this.load(key, storeKey, cacheLoader);
-                            }
-                            return null;
-                        })
-                );
+        String storeKey;
+        try {
+            storeKey = this.toStoreKey(key);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<CacheValue<V>> future = this.readAsync(storeKey);
+        // 读取已完成（如本地缓存），直接处理结果，无需创建中间对象
+        if (CompletedFutures.isSucceeded(future)) {
+            return this.getOrLoadAsync(key, storeKey, future.getNow(null), cacheLoader);
+        }
+        return future.thenCompose(cacheValue -> this.getOrLoadAsync(key, storeKey, cacheValue, cacheLoader));
+    }
+
+    private CompletableFuture<V> getOrLoadAsync(K key, String storeKey, CacheValue<V> cacheValue,
+                                                CacheLoader<K, V> cacheLoader) {
+        if (cacheValue != null) {
+            this.revalidate(key, storeKey, cacheValue, cacheLoader);
+            return CompletedFutures.of(cacheValue.getValue());
+        }
+        if (this.containsPredicate.test(key)) {
+            return this.loadAsync(key, storeKey, cacheLoader);
+        }
+        return CompletedFutures.ofNull();
+    }
+
+    /**
+     * 异步读取完成后，执行软过期及提前过期检查
+     * <p>
+     * 如读取已完成（如本地缓存），则直接检查并返回原对象，无需创建新的 {@link CompletableFuture}。
+     *
+     * @param key         键（为空则需刷新时再由缓存键解码）
+     * @param storeKey    缓存键
+     * @param future      异步读取结果
+     * @param cacheLoader 回源函数（为空则不刷新）
+     * @return 缓存值
+     */
+    private CompletableFuture<CacheValue<V>> revalidateAsync(K key, String storeKey,
+                                                             CompletableFuture<CacheValue<V>> future,
+                                                             CacheLoader<K, V> cacheLoader) {
+        if (CompletedFutures.isSucceeded(future)) {
+            this.revalidate(key, storeKey, future.getNow(null), cacheLoader);
+            return future;
+        }
+        return future.thenApply(cacheValue -> {
+            this.revalidate(key, storeKey, cacheValue, cacheLoader);
+            return cacheValue;
+        });
+    }
+
+    /**
+     * 软过期及提前过期检查
+     * <p>
+     * 如缓存值的写入时长已超过软过期时间，或按概率判定为提前过期，且该键当前没有进行中的回源任务，
+     * 则在后台回源并刷新缓存。
+     * <p>
+     * 调用者依然直接使用当前的缓存值，无需等待回源完成。
+     * <p>
+     * 后台回源由 decodeExecutor 对应的线程池执行（INLINE 时使用 PLATFORM 线程池）。
+     *
+     * @param key         键（为空则需刷新时再由缓存键解码）
+     * @param storeKey    缓存键
+     * @param cacheValue  缓存值
+     * @param cacheLoader 回源函数（为空则不刷新）
+     */
+    private void revalidate(K key, String storeKey, CacheValue<V> cacheValue, CacheLoader<K, V> cacheLoader) {
+        if ((this.staleAfterWrite <= 0 && this.earlyExpiryBeta <= 0) || cacheLoader == null) {
+            return;
+        }
+        if (!(cacheValue instanceof StampedCacheValue<V> stamped)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!this.isStale(stamped, now) && !this.isEarlyExpired(stamped, now)) {
+            return;
+        }
+        if (this.loadings.containsKey(storeKey)) {
+            return;
+        }
+        CompletableFuture.supplyAsync(() -> {
+                    K k = (key != null) ? key : this.fromStoreKey(storeKey);
+                    return this.loadAsync(k, storeKey, cacheLoader);
+                }, this.revalidateExecutor)
+                .thenCompose(future -> future)
+                .whenComplete((value, t) -> {
+                    if (t != null) {
+                        log.error("Cache:[{}], key:[{}], cache value revalidate has error. {}",
+                                this.name, storeKey, t.getMessage(), t);
+                    }
+                });
+    }
+
+    /**
+     * 后台回源执行器
+     * <p>
+     * 后台回源不能在调用者线程执行，因此 INLINE 时改用 PLATFORM 线程池。
+     *
+     * @param decodeExecutor 外部缓存数据解码执行方式
+     * @return 后台回源执行器
+     */
+    private static Executor revalidateExecutor(CacheExecutor decodeExecutor) {
+        CacheExecutor executor = (decodeExecutor == CacheExecutor.INLINE) ? CacheExecutor.PLATFORM : decodeExecutor;
+        return executor.getExecutor();
+    }
+
+    private boolean isStale(StampedCacheValue<V> stamped, long now) {
+        return this.staleAfterWrite > 0 && now - stamped.getWriteTime() >= this.staleAfterWrite;
+    }
+
+    /**
+     * 提前过期判断（XFetch）
+     * <p>
+     * 当 {@code now - δ * beta * ln(random) >= expireTime} 时判定为提前过期，其中 δ 为回源耗时的移动平均值。
+     *
+     * @param stamped 缓存值
+     * @param now     当前时间
+     * @return {@code true} – 提前过期；{@code false} – 未过期
+     */
+    private boolean isEarlyExpired(StampedCacheValue<V> stamped, long now) {
+        long expireTime = stamped.getExpireTime();
+        long delta = this.loadNanos;
+        if (this.earlyExpiryBeta <= 0 || expireTime <= 0 || delta <= 0) {
+            return false;
+        }
+        // random ∈ (0, 1]，ln(random) ≤ 0
+        double random = 1.0 - ThreadLocalRandom.current().nextDouble();
+        double gap = (delta / 1000000.0) * this.earlyExpiryBeta * -Math.log(random);
+        return now + gap >= expireTime;
+    }
+
+    /**
+     * 记录回源耗时（指数加权移动平均）
+     *
+     * @param startNanos 回源开始时间（纳秒）
+     */
+    private void recordLoadTime(long startNanos) {
+        long sample = System.nanoTime() - startNanos;
+        long old = this.loadNanos;
+        this.loadNanos = (old <= 0) ? sample : old + ((sample - old) >> 3);
+    }
+
+    /**
+     * 异步回源取值
+     * <p>
+     * 同一缓存键的并发回源请求共享同一个 {@link CompletableFuture}：
+     * 仅首个请求调用 cacheLoader 并将结果存入缓存，其余请求等待该结果，无需阻塞线程获取锁。
+     * <p>
+     * 回源结果存入缓存后，才会移除进行中的回源任务，以避免存入缓存之前的后续请求重复回源。
+     *
+     * @param key         键
+     * @param storeKey    缓存键
+     * @param cacheLoader 回源函数
+     * @return 回源结果
+     */
+    private CompletableFuture<V> loadAsync(K key, String storeKey, CacheLoader<K, V> cacheLoader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = this.loadings.putIfAbsent(storeKey, future);
+        if (existing != null) {
+            // 返回副本，避免调用者取消任务影响其它等待者
+            return existing.copy();
+        }
+        long start = System.nanoTime();
+        invokeLoader(key, cacheLoader)
+                .whenComplete((value, t) -> this.recordLoadTime(start))
+                .thenCompose(value -> this.doPutAndRefreshAsync(storeKey, value).thenApply(ignored -> value))
+                .whenComplete((value, t) -> {
+                    this.loadings.remove(storeKey, future);
+                    if (t != null) {
+                        future.completeExceptionally(t);
+                    } else {
+                        future.complete(value);
+                    }
+                });
+        return future.copy();
+    }
+
+    /**
+     * 调用回源函数
+     * <p>
+     * 如果是 {@link AsyncCacheLoader}，直接组合其返回的 {@link CompletableFuture}；否则同步调用并包装结果。
+     *
+     * @param key         键
+     * @param cacheLoader 回源函数
+     * @param <K>         键类型
+     * @param <V>         值类型
+     * @return 回源结果
+     */
+    private static <K, V> CompletableFuture<V> invokeLoader(K key, CacheLoader<K, V> cacheLoader) {
+        try {
+            if (cacheLoader instanceof AsyncCacheLoader<K, V> asyncLoader) {
+                return asyncLoader.loadAsync(key);
+            }
+            return CompletableFuture.completedFuture(cacheLoader.load(key));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 批量调用回源函数
+     * <p>
+     * 如果是 {@link AsyncCacheLoader}，直接组合其返回的 {@link CompletableFuture}；否则同步调用并包装结果。
+     *
+     * @param keys        键集
+     * @param cacheLoader 回源函数
+     * @param <K>         键类型
+     * @param <V>         值类型
+     * @return 回源结果
+     */
+    private static <K, V> CompletableFuture<Map<K, V>> invokeLoaderAll(Set<K> keys, CacheLoader<K, V> cacheLoader) {
+        try {
+            if (cacheLoader instanceof AsyncCacheLoader<K, V> asyncLoader) {
+                return asyncLoader.loadAllAsync(keys);
+            }
+            return CompletableFuture.completedFuture(cacheLoader.loadAll(keys));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 缓存未命中时，如数据源可能存在该键，则加锁回源取值
+     *
+     * @param key         键
+     * @param storeKey    缓存键
+     * @param cacheLoader 回源函数
+     * @return 回源结果
+     */
+    V loadIfPresent(K key, String storeKey, CacheLoader<K, V> cacheLoader) {
+        if (this.containsPredicate.test(key)) {
+            return this.load(key, storeKey, cacheLoader);
+        }
+        return null;
     }
 
     private V load(K key, String storeKey, CacheLoader<K, V> cacheLoader) {
@@ -206,7 +467,9 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                 if (cacheValue != null) {
                     return cacheValue.getValue();
                 }
+                long start = System.nanoTime();
                 V value = cacheLoader.load(key);
+                this.recordLoadTime(start);
                 this.doPutAndRefresh(storeKey, value);
                 return value;
             } finally {
@@ -223,7 +486,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         if (Maps.isEmpty(keyMapping)) {
             return Collections.emptyMap();
         }
-        return toKeyCacheValues(keyMapping, this.doGetAll(Collections.unmodifiableSet(keyMapping.keySet())));
+        return toKeyCacheValues(keyMapping, this.readAll(Collections.unmodifiableSet(keyMapping.keySet())));
     }
 
     @Override
@@ -234,7 +497,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                     if (Maps.isEmpty(keyMapping)) {
                         return CompletableFuture.completedFuture(Collections.emptyMap());
                     }
-                    return this.doGetAllAsync(Collections.unmodifiableSet(keyMapping.keySet()))
+                    return this.readAllAsync(Collections.unmodifiableSet(keyMapping.keySet()))
                             .thenApply(cacheValues -> toKeyCacheValues(keyMapping, cacheValues));
                 });
     }
@@ -245,7 +508,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         if (Maps.isEmpty(keyMapping)) {
             return Collections.emptyMap();
         }
-        Map<String, CacheValue<V>> cacheValues = this.doGetAll(Collections.unmodifiableSet(keyMapping.keySet()));
+        Map<String, CacheValue<V>> cacheValues = this.readAll(Collections.unmodifiableSet(keyMapping.keySet()));
         return fromKeyCacheValues(keyMapping, cacheValues, cacheValues.size());
     }
 
@@ -257,7 +520,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                     if (Maps.isEmpty(keyMapping)) {
                         return CompletableFuture.completedFuture(Collections.emptyMap());
                     }
-                    return this.doGetAllAsync(Collections.unmodifiableSet(keyMapping.keySet()))
+                    return this.readAllAsync(Collections.unmodifiableSet(keyMapping.keySet()))
                             .thenApply(cacheValues -> fromKeyCacheValues(keyMapping, cacheValues, cacheValues.size()));
                 });
     }
@@ -285,7 +548,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         if (Maps.isEmpty(keyMapping)) {
             return Collections.emptyMap();
         }
-        Map<String, CacheValue<V>> cacheValues = this.doGetAll(Collections.unmodifiableSet(keyMapping.keySet()));
+        Map<String, CacheValue<V>> cacheValues = this.readAll(Collections.unmodifiableSet(keyMapping.keySet()));
         Map<K, V> result = fromKeyCacheValues(keyMapping, cacheValues, keyMapping.size());
         return this.loadAndConvert(result, keyMapping, cacheLoader);
     }
@@ -302,9 +565,9 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                     if (Maps.isEmpty(keyMapping)) {
                         return CompletableFuture.completedFuture(Collections.emptyMap());
                     }
-                    return this.doGetAllAsync(Collections.unmodifiableSet(keyMapping.keySet()))
+                    return this.readAllAsync(Collections.unmodifiableSet(keyMapping.keySet()))
                             .thenApply(cacheValues -> fromKeyCacheValues(keyMapping, cacheValues, keyMapping.size()))
-                            .thenApply(result -> this.loadAndConvert(result, keyMapping, cacheLoader));
+                            .thenCompose(result -> this.loadAndConvertAsync(result, keyMapping, cacheLoader));
                 });
     }
 
@@ -313,6 +576,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         String storeKey = this.toStoreKey(key);
         this.cacheRefresh.onPut(storeKey);
         this.doPut(storeKey, value);
+        this.invalidatePinned(storeKey);
     }
 
     @Override
@@ -321,7 +585,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                 .thenApply(this::toStoreKey)
                 .thenCompose(storeKey -> {
                     this.cacheRefresh.onPut(storeKey);
-                    return this.doPutAsync(storeKey, value);
+                    return this.invalidatePinned(this.doPutAsync(storeKey, value), storeKey);
                 });
     }
 
@@ -333,6 +597,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         }
         this.cacheRefresh.onPutAll(kvs.keySet());
         this.doPutAll(kvs);
+        this.invalidatePinned(kvs.keySet());
     }
 
     @Override
@@ -344,7 +609,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                         return CompletableFuture.completedFuture(null);
                     }
                     this.cacheRefresh.onPutAll(kvs.keySet());
-                    return this.doPutAllAsync(kvs);
+                    return this.invalidatePinned(this.doPutAllAsync(kvs), kvs.keySet());
                 });
     }
 
@@ -353,6 +618,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         String storeKey = this.toStoreKey(key);
         this.cacheRefresh.onRemove(storeKey);
         this.doRemove(storeKey);
+        this.invalidatePinned(storeKey);
     }
 
     @Override
@@ -361,7 +627,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                 .thenApply(this::toStoreKey)
                 .thenCompose(storeKey -> {
                     this.cacheRefresh.onRemove(storeKey);
-                    return this.doRemoveAsync(storeKey);
+                    return this.invalidatePinned(this.doRemoveAsync(storeKey), storeKey);
                 });
     }
 
@@ -372,6 +638,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
             return;
         }
         this.doRemoveAll(storeKeys);
+        this.invalidatePinned(storeKeys);
         this.cacheRefresh.onRemoveAll(storeKeys);
     }
 
@@ -384,7 +651,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                         return CompletableFuture.completedFuture(null);
                     }
                     this.cacheRefresh.onRemoveAll(ks);
-                    return this.doRemoveAllAsync(ks);
+                    return this.invalidatePinned(this.doRemoveAllAsync(ks), ks);
                 });
     }
 
@@ -407,17 +674,154 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         return keyMapping;
     }
 
-    private Map<K, V> loadAndConvert(Map<K, V> result, Map<String, K> keyMapping, CacheLoader<K, V> cacheLoader) {
+    /**
+     * 批量回源取值，并将回源结果存入结果集
+     *
+     * @param result      结果集（已包含缓存命中的值）
+     * @param keyMapping  缓存未命中的键映射（键为缓存键，值为原始键）
+     * @param cacheLoader 回源函数
+     * @return 结果集
+     */
+    Map<K, V> loadAndConvert(Map<K, V> result, Map<String, K> keyMapping, CacheLoader<K, V> cacheLoader) {
         // 1. 如果缓存已命中全部数据，直接返回缓存结果集
         if (keyMapping.isEmpty()) {
             return result;
         }
-        // 2. 回源取值
+        // 2. 登记回源任务：其它请求正在回源的键，等待其结果；其余键由当前请求回源
+        Map<K, CompletableFuture<V>> waitings = new HashMap<>();
+        Map<String, CompletableFuture<V>> owned = this.registerLoadings(keyMapping, waitings);
+        if (!keyMapping.isEmpty()) {
+            Map<K, V> loaded = null;
+            try {
+                // 3. 回源取值
+                loaded = this.loadAll(keyMapping, cacheLoader);
+                // 4. 回源取值结果存入最终结果集
+                Map<String, V> toCache = HashMap.newHashMap(keyMapping.size());
+                int hitLoads = mergeLoaded(result, keyMapping, loaded, toCache);
+                // 5. 缓存回源取值结果
+                this.doPutAndRefresh(toCache, hitLoads);
+            } catch (Throwable e) {
+                this.completeLoadings(owned, keyMapping, null, e);
+                throw e;
+            }
+            this.completeLoadings(owned, keyMapping, loaded, null);
+        }
+        // 6. 等待其它请求的回源结果
+        waitings.forEach((key, future) -> {
+            V value = join(future);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        // 7. 返回最终结果集
+        return result;
+    }
+
+    private CompletableFuture<Map<K, V>> loadAndConvertAsync(Map<K, V> result, Map<String, K> keyMapping,
+                                                             CacheLoader<K, V> cacheLoader) {
+        // 1. 如果缓存已命中全部数据，直接返回缓存结果集
+        if (keyMapping.isEmpty()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        // 2. 登记回源任务：其它请求正在回源的键，等待其结果；其余键由当前请求回源
+        Map<K, CompletableFuture<V>> waitings = new HashMap<>();
+        Map<String, CompletableFuture<V>> owned = this.registerLoadings(keyMapping, waitings);
+        CompletableFuture<Map<K, V>> loading;
+        if (keyMapping.isEmpty()) {
+            loading = CompletableFuture.completedFuture(result);
+        } else {
+            // 3. 回源取值
+            loading = this.loadAllAsync(keyMapping, cacheLoader)
+                    .thenCompose(loaded -> {
+                        // 4. 回源取值结果存入最终结果集
+                        Map<String, V> toCache = HashMap.newHashMap(keyMapping.size());
+                        int hitLoads = mergeLoaded(result, keyMapping, loaded, toCache);
+                        // 5. 缓存回源取值结果
+                        return this.doPutAndRefreshAsync(toCache, hitLoads).thenApply(ignored -> loaded);
+                    })
+                    .whenComplete((loaded, t) -> this.completeLoadings(owned, keyMapping, loaded, t))
+                    .thenApply(loaded -> result);
+        }
+        if (waitings.isEmpty()) {
+            return loading;
+        }
+        // 6. 等待其它请求的回源结果，并返回最终结果集
+        CompletableFuture<?>[] futures = waitings.values().toArray(new CompletableFuture<?>[0]);
+        return loading.thenCompose(ignored -> CompletableFuture.allOf(futures))
+                .thenApply(ignored -> {
+                    waitings.forEach((key, future) -> {
+                        V value = future.join();
+                        if (value != null) {
+                            result.put(key, value);
+                        }
+                    });
+                    return result;
+                });
+    }
+
+    /**
+     * 登记批量回源任务
+     * <p>
+     * 如果某个键已有其它请求正在回源，则将该键从 keyMapping 中移除，并将其回源任务存入 waitings；
+     * 否则为该键登记新的回源任务，由当前请求负责回源。
+     *
+     * @param keyMapping 未命中缓存的键映射（缓存键 - 原始键），执行后仅保留由当前请求回源的键
+     * @param waitings   其它请求正在回源的键及其回源任务
+     * @return 当前请求登记的回源任务（缓存键 - 回源任务）
+     */
+    private Map<String, CompletableFuture<V>> registerLoadings(Map<String, K> keyMapping,
+                                                               Map<K, CompletableFuture<V>> waitings) {
+        Map<String, CompletableFuture<V>> owned = HashMap.newHashMap(keyMapping.size());
+        Iterator<Map.Entry<String, K>> iterator = keyMapping.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, K> entry = iterator.next();
+            String storeKey = entry.getKey();
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = this.loadings.putIfAbsent(storeKey, future);
+            if (existing != null) {
+                waitings.put(entry.getValue(), existing);
+                iterator.remove();
+            } else {
+                owned.put(storeKey, future);
+            }
+        }
+        return owned;
+    }
+
+    /**
+     * 完成当前请求登记的批量回源任务，并将其从进行中的回源任务中移除
+     *
+     * @param owned      当前请求登记的回源任务（缓存键 - 回源任务）
+     * @param keyMapping 由当前请求回源的键映射（缓存键 - 原始键）
+     * @param loaded     回源取值结果（回源失败时为 null）
+     * @param t          回源异常（回源成功时为 null）
+     */
+    private void completeLoadings(Map<String, CompletableFuture<V>> owned, Map<String, K> keyMapping,
+                                  Map<K, V> loaded, Throwable t) {
+        owned.forEach((storeKey, future) -> {
+            this.loadings.remove(storeKey, future);
+            if (t != null) {
+                future.completeExceptionally(t);
+            } else {
+                future.complete(loaded.get(keyMapping.get(storeKey)));
+            }
+        });
+    }
+
+    /**
+     * 回源取值结果存入最终结果集及待缓存数据集
+     *
+     * @param result     最终结果集
+     * @param keyMapping 未命中缓存的键映射（缓存键 - 原始键）
+     * @param loaded     回源取值结果
+     * @param toCache    待缓存数据集（无值的键将缓存空值）
+     * @param <K>        键类型
+     * @param <V>        值类型
+     * @return 回源命中数量
+     */
+    private static <K, V> int mergeLoaded(Map<K, V> result, Map<String, K> keyMapping, Map<K, V> loaded,
+                                          Map<String, V> toCache) {
         int hitLoads = 0;
-        Map<K, V> loaded = this.loadAll(keyMapping, cacheLoader);
-        // 3. 用于将回源取值结果存入缓存
-        Map<String, V> toCache = HashMap.newHashMap(keyMapping.size());
-        // 4. 回源取值结果存入最终结果集
         for (Map.Entry<String, K> entry : keyMapping.entrySet()) {
             String storeKey = entry.getKey();
             K key = entry.getValue();
@@ -428,23 +832,39 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
                 ++hitLoads;
             }
         }
-        // 5. 缓存回源取值结果
-        this.doPutAndRefresh(toCache, hitLoads);
-        // 6. 返回最终结果集
-        return result;
+        return hitLoads;
     }
 
     private Map<K, V> loadAll(Map<String, K> keyMapping, CacheLoader<K, V> cacheLoader) {
+        Set<K> keys = this.filterKeys(keyMapping);
+        if (keys.isEmpty()) {
+            return HashMap.newHashMap(0);
+        }
+        return cacheLoader.loadAll(keys);
+    }
+
+    private CompletableFuture<Map<K, V>> loadAllAsync(Map<String, K> keyMapping, CacheLoader<K, V> cacheLoader) {
+        Set<K> keys = this.filterKeys(keyMapping);
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(HashMap.newHashMap(0));
+        }
+        return invokeLoaderAll(keys, cacheLoader);
+    }
+
+    /**
+     * 根据 containsPredicate 过滤数据源中不存在的键
+     *
+     * @param keyMapping 键映射（缓存键 - 原始键）
+     * @return 需要回源取值的键集
+     */
+    private Set<K> filterKeys(Map<String, K> keyMapping) {
         Set<K> keys = HashSet.newHashSet(keyMapping.size());
         keyMapping.forEach((storeKey, key) -> {
             if (containsPredicate.test(key)) {
                 keys.add(key);
             }
         });
-        if (keys.isEmpty()) {
-            return HashMap.newHashMap(0);
-        }
-        return cacheLoader.loadAll(keys);
+        return keys;
     }
 
     /**
@@ -461,6 +881,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         this.cacheRefresh.onPutAll(keyValues.keySet());
         // 2. 回源取值结果存入缓存
         this.doPutAll(keyValues);
+        this.invalidatePinned(keyValues.keySet());
         // 3. 记录回源成功/失败次数
         this.metricsMonitor.incHitLoads(hitLoads);
         this.metricsMonitor.incMissLoads(totalLoads - hitLoads);
@@ -477,11 +898,247 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
     private void doPutAndRefresh(String storeKey, V value) {
         this.cacheRefresh.onPut(storeKey);
         this.doPut(storeKey, value);
+        this.invalidatePinned(storeKey);
+        if (value != null) {
+            this.metricsMonitor.incHitLoads(1);
+        } else {
+            this.metricsMonitor.incMissLoads(1);
+        }
+    }
+
+    /**
+     * 1.执行刷新逻辑 <br>
+     * 2.数据异步存入缓存 <br>
+     * 3.记录统计信息
+     *
+     * @param keyValues 回源取值结果集
+     * @param hitLoads  回源命中数量
+     * @return 数据存入缓存的异步结果
+     */
+    private CompletableFuture<Void> doPutAndRefreshAsync(Map<String, V> keyValues, int hitLoads) {
+        int totalLoads = keyValues.size();
+        this.cacheRefresh.onPutAll(keyValues.keySet());
+        this.metricsMonitor.incHitLoads(hitLoads);
+        this.metricsMonitor.incMissLoads(totalLoads - hitLoads);
+        return this.invalidatePinned(this.doPutAllAsync(keyValues), keyValues.keySet());
+    }
+
+    /**
+     * 1.执行刷新逻辑 <br>
+     * 2.数据异步存入缓存 <br>
+     * 3.记录统计信息
+     *
+     * @param storeKey 缓存键
+     * @param value    缓存值
+     * @return 数据存入缓存的异步结果
+     */
+    private CompletableFuture<Void> doPutAndRefreshAsync(String storeKey, V value) {
+        this.cacheRefresh.onPut(storeKey);
         if (value != null) {
             this.metricsMonitor.incHitLoads(1);
         } else {
             this.metricsMonitor.incMissLoads(1);
         }
+        return this.invalidatePinned(this.doPutAsync(storeKey, value), storeKey);
+    }
+
+    /**
+     * 根据缓存键读取缓存值（调用者已完成键的转换，原始键仅在需刷新时才解码）
+     *
+     * @param storeKey 缓存键
+     * @return 缓存值
+     */
+    CacheValue<V> getCacheValueByStoreKey(String storeKey) {
+        CacheValue<V> cacheValue = this.read(storeKey);
+        this.revalidate(null, storeKey, cacheValue, this.cacheLoader);
+        return cacheValue;
+    }
+
+    /**
+     * 根据缓存键读取缓存值（异步）
+     *
+     * @param storeKey 缓存键
+     * @return 缓存值
+     */
+    CompletableFuture<CacheValue<V>> getCacheValueByStoreKeyAsync(String storeKey) {
+        return this.revalidateAsync(null, storeKey, this.readAsync(storeKey), this.cacheLoader);
+    }
+
+    /**
+     * 根据缓存键集合批量读取缓存值
+     *
+     * @param unmodifiableKeys 缓存键集合（不可修改）
+     * @return 缓存值集合
+     */
+    Map<String, CacheValue<V>> getAllCacheValuesByStoreKeys(Set<String> unmodifiableKeys) {
+        return this.readAll(unmodifiableKeys);
+    }
+
+    CacheLoader<K, V> getCacheLoader() {
+        return this.cacheLoader;
+    }
+
+    /**
+     * 读取缓存（如启用热点键探测，热点键优先从短期缓存获取）
+     *
+     * @param storeKey 缓存键
+     * @return 缓存值
+     */
+    private CacheValue<V> read(String storeKey) {
+        if (this.hotKeys == null) {
+            return this.doGet(storeKey);
+        }
+        CacheValue<V> pinned = this.hotKeys.getPinned(storeKey);
+        if (pinned != null) {
+            return pinned;
+        }
+        long snapshot = this.hotKeys.snapshot();
+        CacheValue<V> cacheValue = this.doGet(storeKey);
+        this.hotKeys.record(storeKey, cacheValue, snapshot);
+        return cacheValue;
+    }
+
+    /**
+     * 异步读取缓存（如启用热点键探测，热点键优先从短期缓存获取）
+     *
+     * @param storeKey 缓存键
+     * @return 缓存值
+     */
+    private CompletableFuture<CacheValue<V>> readAsync(String storeKey) {
+        if (this.hotKeys == null) {
+            return this.doGetAsync(storeKey);
+        }
+        CacheValue<V> pinned = this.hotKeys.getPinned(storeKey);
+        if (pinned != null) {
+            return CompletableFuture.completedFuture(pinned);
+        }
+        long snapshot = this.hotKeys.snapshot();
+        CompletableFuture<CacheValue<V>> future = this.doGetAsync(storeKey);
+        if (CompletedFutures.isSucceeded(future)) {
+            this.hotKeys.record(storeKey, future.getNow(null), snapshot);
+            return future;
+        }
+        return future.thenApply(cacheValue -> {
+            this.hotKeys.record(storeKey, cacheValue, snapshot);
+            return cacheValue;
+        });
+    }
+
+    /**
+     * 批量读取缓存（如启用热点键探测，热点键优先从短期缓存获取）
+     *
+     * @param unmodifiableKeys 缓存键集合（不可修改）
+     * @return 缓存值集合
+     */
+    private Map<String, CacheValue<V>> readAll(Set<String> unmodifiableKeys) {
+        if (this.hotKeys == null) {
+            return this.doGetAll(unmodifiableKeys);
+        }
+        Map<String, CacheValue<V>> pinned = this.hotKeys.getAllPinned(unmodifiableKeys);
+        Set<String> keys = unpinnedKeys(unmodifiableKeys, pinned);
+        if (keys.isEmpty()) {
+            return pinned;
+        }
+        long snapshot = this.hotKeys.snapshot();
+        Map<String, CacheValue<V>> cacheValues = this.doGetAll(keys);
+        this.hotKeys.recordAll(keys, cacheValues, snapshot);
+        return mergePinned(pinned, cacheValues);
+    }
+
+    /**
+     * 异步批量读取缓存（如启用热点键探测，热点键优先从短期缓存获取）
+     *
+     * @param unmodifiableKeys 缓存键集合（不可修改）
+     * @return 缓存值集合
+     */
+    private CompletableFuture<Map<String, CacheValue<V>>> readAllAsync(Set<String> unmodifiableKeys) {
+        if (this.hotKeys == null) {
+            return this.doGetAllAsync(unmodifiableKeys);
+        }
+        Map<String, CacheValue<V>> pinned = this.hotKeys.getAllPinned(unmodifiableKeys);
+        Set<String> keys = unpinnedKeys(unmodifiableKeys, pinned);
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(pinned);
+        }
+        long snapshot = this.hotKeys.snapshot();
+        return this.doGetAllAsync(keys).thenApply(cacheValues -> {
+            this.hotKeys.recordAll(keys, cacheValues, snapshot);
+            return mergePinned(pinned, cacheValues);
+        });
+    }
+
+    private static Set<String> unpinnedKeys(Set<String> unmodifiableKeys, Map<String, ?> pinned) {
+        if (pinned.isEmpty()) {
+            return unmodifiableKeys;
+        }
+        Set<String> keys = HashSet.newHashSet(unmodifiableKeys.size() - pinned.size());
+        for (String key : unmodifiableKeys) {
+            if (!pinned.containsKey(key)) {
+                keys.add(key);
+            }
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    private static <V> Map<String, CacheValue<V>> mergePinned(Map<String, CacheValue<V>> pinned,
+                                                              Map<String, CacheValue<V>> cacheValues) {
+        if (pinned.isEmpty()) {
+            return cacheValues;
+        }
+        Map<String, CacheValue<V>> result = HashMap.newHashMap(pinned.size() + cacheValues.size());
+        result.putAll(cacheValues);
+        result.putAll(pinned);
+        return result;
+    }
+
+    /**
+     * 缓存写入完成后，使热点键的短期缓存失效
+     *
+     * @param storeKey 缓存键
+     */
+    private void invalidatePinned(String storeKey) {
+        if (this.hotKeys != null) {
+            this.hotKeys.invalidate(storeKey);
+        }
+    }
+
+    /**
+     * 缓存写入完成后，使热点键的短期缓存失效
+     *
+     * @param storeKeys 缓存键集合
+     */
+    private void invalidatePinned(Collection<String> storeKeys) {
+        if (this.hotKeys != null) {
+            this.hotKeys.invalidateAll(storeKeys);
+        }
+    }
+
+    /**
+     * 异步写入完成后，使热点键的短期缓存失效
+     *
+     * @param future   缓存写入的异步结果
+     * @param storeKey 缓存键
+     * @return 缓存写入的异步结果
+     */
+    private CompletableFuture<Void> invalidatePinned(CompletableFuture<Void> future, String storeKey) {
+        if (this.hotKeys == null) {
+            return future;
+        }
+        return future.whenComplete((vod, t) -> this.hotKeys.invalidate(storeKey));
+    }
+
+    /**
+     * 异步写入完成后，使热点键的短期缓存失效
+     *
+     * @param future    缓存写入的异步结果
+     * @param storeKeys 缓存键集合
+     * @return 缓存写入的异步结果
+     */
+    private CompletableFuture<Void> invalidatePinned(CompletableFuture<Void> future, Collection<String> storeKeys) {
+        if (this.hotKeys == null) {
+            return future;
+        }
+        return future.whenComplete((vod, t) -> this.hotKeys.invalidateAll(storeKeys));
     }
 
     private Map<String, V> toStoreKeyValues(Map<? extends K, ? extends V> keyValues) {
@@ -506,7 +1163,7 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         return storeKeys;
     }
 
-    private String toStoreKey(K key) {
+    String toStoreKey(K key) {
         requireNonNull(key, error, "key must not be null.");
         String storeKey = this.keyCodec.encode(key);
         if (storeKey == null) {
@@ -556,10 +1213,42 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
         return result;
     }
 
+    /**
+     * 等待异步任务完成并返回结果（如异步任务执行异常，则抛出其原始的运行时异常）
+     *
+     * @param future 异步任务
+     * @param <T>    结果类型
+     * @return 异步任务结果
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     private static <V> V fromCacheValue(CacheValue<V> cacheValue) {
         return (cacheValue != null) ? cacheValue.getValue() : null;
     }
 
+    /**
+     * 异步缓存值转换为异步原始值（如读取已完成，则直接转换，无需创建中间对象）
+     *
+     * @param future 异步缓存值
+     * @param <V>    值类型
+     * @return 异步原始值
+     */
+    static <V> CompletableFuture<V> toValueAsync(CompletableFuture<CacheValue<V>> future) {
+        if (CompletedFutures.isSucceeded(future)) {
+            return CompletedFutures.of(fromCacheValue(future.getNow(null)));
+        }
+        return future.thenApply(AbstractCache::fromCacheValue);
+    }
+
     private static void requireNonNull(Object obj, String format, String tips) {
         if (obj == null) {
             throw new IllegalArgumentException(String.format(format, tips));
@@ -603,4 +1292,15 @@ public abstract class AbstractCache<K, V> implements Cache<K, V> {
 
     protected abstract CompletableFuture<Void> doRemoveAllAsync(Set<String> keys);
 
+    /**
+     * 关闭缓存（由 {@link CacheManager#shutdown()} 调用）
+     * <p>
+     * 默认无需处理；如有缓冲区等尚未完成的任务，子类可重写此方法。
+     *
+     * @return 关闭任务
+     */
+    protected CompletableFuture<Void> shutdownAsync() {
+        return CompletableFuture.completedFuture(null);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,276 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 回填守卫
+ * <p>
+ * 用于避免将下级缓存读取到的旧值回填到上级缓存：<br>
+ * 读取下级缓存之前获取序号快照；回填时，如该键在快照之后有写入或失效操作（本地写入或接收到缓存同步消息），则放弃回填。
+ * <p>
+ * 键按哈希值映射到固定数量的槽，每个槽记录最后一次写入或失效操作的序号；
+ * 不同键映射到同一个槽时，仅会导致多放弃一些回填，而不会导致回填旧值。
+ * <p>
+ * 检查与回填并非原子操作，因此回填之后会再次检查，如已有新的写入或失效操作，则删除刚回填的值。
+ * <p>
+ * 写入或删除操作须在修改每一级缓存之前都记录一次：如仅在开始时记录，读取者可能在此之后获取快照，
+ * 并在下级缓存修改完成之前读到旧值，其回填检查将无法发现此次操作。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class BackfillGuard {
+
+    private static final int SLOTS = 1 << 12;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicLongArray stamps = new AtomicLongArray(SLOTS);
+
+    // 最后一次清空操作的序号
+    private volatile long clearStamp;
+
+    /**
+     * 获取序号快照（读取下级缓存之前调用）
+     *
+     * @return 序号快照
+     */
+    public long snapshot() {
+        return sequence.get();
+    }
+
+    /**
+     * 记录写入或失效操作（应在修改上级缓存之前调用）
+     *
+     * @param key 缓存键
+     */
+    public void invalidate(String key) {
+        long stamp = sequence.incrementAndGet();
+        stamps.accumulateAndGet(indexOf(key), stamp, Math::max);
+    }
+
+    /**
+     * 记录批量写入或失效操作（应在修改上级缓存之前调用）
+     *
+     * @param keys 缓存键集
+     */
+    public void invalidateAll(Collection<? extends String> keys) {
+        long stamp = sequence.incrementAndGet();
+        for (String key : keys) {
+            stamps.accumulateAndGet(indexOf(key), stamp, Math::max);
+        }
+    }
+
+    /**
+     * 记录清空操作（应在清空上级缓存之前调用）
+     */
+    public void invalidateAll() {
+        clearStamp = sequence.incrementAndGet();
+    }
+
+    /**
+     * 快照之后，键是否有写入或失效操作
+     *
+     * @param key      缓存键
+     * @param snapshot 序号快照
+     * @return {@code true} – 有写入或失效操作，不应回填；{@code false} – 无写入或失效操作
+     */
+    public boolean isStale(String key, long snapshot) {
+        return clearStamp > snapshot || stamps.get(indexOf(key)) > snapshot;
+    }
+
+    /**
+     * 回填单个键值
+     *
+     * @param store    上级缓存
+     * @param key      缓存键
+     * @param value    缓存值
+     * @param snapshot 读取下级缓存之前的序号快照
+     * @param <V>      缓存值类型
+     */
+    public <V> void backfill(Store<V> store, String key, V value, long snapshot) {
+        if (this.isStale(key, snapshot)) {
+            return;
+        }
+        store.put(key, value);
+        if (this.isStale(key, snapshot)) {
+            store.remove(key);
+        }
+    }
+
+    /**
+     * 异步回填单个键值
+     *
+     * @param store    上级缓存
+     * @param key      缓存键
+     * @param value    缓存值
+     * @param snapshot 读取下级缓存之前的序号快照
+     * @param <V>      缓存值类型
+     * @return 回填任务
+     */
+    public <V> CompletableFuture<Void> backfillAsync(Store<V> store, String key, V value, long snapshot) {
+        if (this.isStale(key, snapshot)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return store.putAsync(key, value)
+                .thenCompose(vod -> {
+                    if (this.isStale(key, snapshot)) {
+                        return store.removeAsync(key);
+                    }
+                    return CompletableFuture.completedFuture(null);
+                });
+    }
+
+    /**
+     * 异步回填多个键值
+     *
+     * @param store     上级缓存
+     * @param keyValues 缓存键值对
+     * @param snapshot  读取下级缓存之前的序号快照
+     * @param <V>       缓存值类型
+     * @return 回填任务
+     */
+    public <V> CompletableFuture<Void> backfillAllAsync(Store<V> store, Map<String, V> keyValues, long snapshot) {
+        keyValues.keySet().removeIf(key -> this.isStale(key, snapshot));
+        if (keyValues.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return store.putAllAsync(keyValues)
+                .thenCompose(vod -> {
+                    Set<String> staleKeys = null;
+                    for (String key : keyValues.keySet()) {
+                        if (this.isStale(key, snapshot)) {
+                            if (staleKeys == null) {
+                                staleKeys = new HashSet<>();
+                            }
+                            staleKeys.add(key);
+                        }
+                    }
+                    if (staleKeys != null) {
+                        return store.removeAllAsync(staleKeys);
+                    }
+                    return CompletableFuture.completedFuture(null);
+                });
+    }
+
+    /**
+     * 包装存储：写入、删除及清空之前，先记录写入或失效操作
+     * <p>
+     * 用于缓存同步消息监听器，使接收到的失效消息能够阻止旧值回填。
+     *
+     * @param store 存储
+     * @param <V>   缓存值类型
+     * @return 包装后的存储（如 store 为空，则返回空）
+     */
+    public <V> Store<V> wrap(Store<V> store) {
+        return (store != null) ? new GuardedStore<>(store, this) : null;
+    }
+
+    private static int indexOf(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & (SLOTS - 1);
+    }
+
+    /**
+     * 写入、删除及清空之前，先记录写入或失效操作的存储
+     *
+     * @param <V> 缓存值类型
+     */
+    private static final class GuardedStore<V> implements Store<V> {
+
+        private final Store<V> store;
+
+        private final BackfillGuard guard;
+
+        private GuardedStore(Store<V> store, BackfillGuard guard) {
+            this.store = store;
+            this.guard = guard;
+        }
+
+        @Override
+        public CacheValue<V> getCacheValue(String key) {
+            return store.getCacheValue(key);
+        }
+
+        @Override
+        public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+            return store.getCacheValueAsync(key);
+        }
+
+        @Override
+        public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+            return store.getAllCacheValues(keys);
+        }
+
+        @Override
+        public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+            return store.getAllCacheValuesAsync(keys);
+        }
+
+        @Override
+        public void put(String key, V value) {
+            guard.invalidate(key);
+            store.put(key, value);
+        }
+
+        @Override
+        public CompletableFuture<Void> putAsync(String key, V value) {
+            guard.invalidate(key);
+            return store.putAsync(key, value);
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends V> keyValues) {
+            guard.invalidateAll(keyValues.keySet());
+            store.putAll(keyValues);
+        }
+
+        @Override
+        public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+            guard.invalidateAll(keyValues.keySet());
+            return store.putAllAsync(keyValues);
+        }
+
+        @Override
+        public void remove(String key) {
+            guard.invalidate(key);
+            store.remove(key);
+        }
+
+        @Override
+        public CompletableFuture<Void> removeAsync(String key) {
+            guard.invalidate(key);
+            return store.removeAsync(key);
+        }
+
+        @Override
+        public void removeAll(Set<? extends String> keys) {
+            guard.invalidateAll(keys);
+            store.removeAll(keys);
+        }
+
+        @Override
+        public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+            guard.invalidateAll(keys);
+            return store.removeAllAsync(keys);
+        }
+
+        @Override
+        public void clear() {
+            guard.invalidateAll();
+            store.clear();
+        }
+
+    }
+
+}
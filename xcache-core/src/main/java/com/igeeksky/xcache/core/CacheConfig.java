@@ -1,5 +1,7 @@
 package com.igeeksky.xcache.core;
 
+import com.igeeksky.xcache.common.CacheExecutor;
+import com.igeeksky.xcache.props.CacheConstants;
 import com.igeeksky.xtool.core.lang.Assert;
 import com.igeeksky.xtool.core.lang.StringUtils;
 
@@ -46,6 +48,96 @@ public class CacheConfig<K, V> {
      */
     private final Class<V> valueType;
 
+    /**
+     * 软过期时间（单位：毫秒，小于等于 0 表示不启用）
+     */
+    private final long staleAfterWrite;
+
+    /**
+     * 提前过期因子（小于等于 0 表示不启用）
+     */
+    private final double earlyExpiryBeta;
+
+    /**
+     * 对冲读取延迟阈值（单位：毫秒，小于等于 0 表示不启用固定阈值）
+     */
+    private final long hedgeDelay;
+
+    /**
+     * 对冲读取延迟百分位（小于等于 0 或大于等于 100 表示不启用百分位阈值）
+     */
+    private final double hedgePercentile;
+
+    /**
+     * 写回缓冲区容量（小于等于 0 表示不启用写回模式）
+     */
+    private final int writeBehindCapacity;
+
+    /**
+     * 写回单批次最大键数量
+     */
+    private final int writeBehindBatchSize;
+
+    /**
+     * 写回最大延迟时长（单位：毫秒）
+     */
+    private final long writeBehindPeriod;
+
+    /**
+     * 写回模式下二级缓存是否允许缓存空值
+     */
+    private final boolean writeBehindNullValue;
+
+    /**
+     * 一级缓存回填准入阈值（小于等于 1 表示不启用）
+     */
+    private final int promotionThreshold;
+
+    /**
+     * 一级缓存最大容量（用于确定回填准入计数器数量）
+     */
+    private final long promotionCapacity;
+
+    /**
+     * 外部缓存数据解码执行方式
+     */
+    private final CacheExecutor decodeExecutor;
+
+    /**
+     * 热点键阈值（单位：次/秒，小于等于 0 表示不启用）
+     */
+    private final long hotKeyThreshold;
+
+    /**
+     * 热点键短期缓存存活时间（单位：毫秒）
+     */
+    private final long hotKeyPinTtl;
+
+    /**
+     * 热点键统计容量
+     */
+    private final int hotKeyCapacity;
+
+    /**
+     * 熔断失败率阈值（小于等于 0 表示不启用）
+     */
+    private final double breakerFailureRate;
+
+    /**
+     * 慢调用阈值（单位：毫秒，小于等于 0 表示仅统计异常）
+     */
+    private final long breakerSlowCall;
+
+    /**
+     * 熔断持续时间（单位：毫秒）
+     */
+    private final long breakerOpenDuration;
+
+    /**
+     * 熔断最小调用次数
+     */
+    private final int breakerMinCalls;
+
     public CacheConfig(Builder<K, V> builder) {
         this.sid = builder.sid;
         this.name = builder.name;
@@ -53,6 +145,24 @@ public class CacheConfig<K, V> {
         this.charset = builder.charset;
         this.keyType = builder.keyType;
         this.valueType = builder.valueType;
+        this.staleAfterWrite = builder.staleAfterWrite;
+        this.earlyExpiryBeta = builder.earlyExpiryBeta;
+        this.hedgeDelay = builder.hedgeDelay;
+        this.hedgePercentile = builder.hedgePercentile;
+        this.writeBehindCapacity = builder.writeBehindCapacity;
+        this.writeBehindBatchSize = builder.writeBehindBatchSize;
+        this.writeBehindPeriod = builder.writeBehindPeriod;
+        this.writeBehindNullValue = builder.writeBehindNullValue;
+        this.promotionThreshold = builder.promotionThreshold;
+        this.promotionCapacity = builder.promotionCapacity;
+        this.decodeExecutor = builder.decodeExecutor;
+        this.hotKeyThreshold = builder.hotKeyThreshold;
+        this.hotKeyPinTtl = builder.hotKeyPinTtl;
+        this.hotKeyCapacity = builder.hotKeyCapacity;
+        this.breakerFailureRate = builder.breakerFailureRate;
+        this.breakerSlowCall = builder.breakerSlowCall;
+        this.breakerOpenDuration = builder.breakerOpenDuration;
+        this.breakerMinCalls = builder.breakerMinCalls;
     }
 
     public String getName() {
@@ -79,6 +189,78 @@ public class CacheConfig<K, V> {
         return valueType;
     }
 
+    public long getStaleAfterWrite() {
+        return staleAfterWrite;
+    }
+
+    public double getEarlyExpiryBeta() {
+        return earlyExpiryBeta;
+    }
+
+    public long getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public int getWriteBehindCapacity() {
+        return writeBehindCapacity;
+    }
+
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+
+    public long getWriteBehindPeriod() {
+        return writeBehindPeriod;
+    }
+
+    public boolean isWriteBehindNullValue() {
+        return writeBehindNullValue;
+    }
+
+    public int getPromotionThreshold() {
+        return promotionThreshold;
+    }
+
+    public long getPromotionCapacity() {
+        return promotionCapacity;
+    }
+
+    public CacheExecutor getDecodeExecutor() {
+        return decodeExecutor;
+    }
+
+    public long getHotKeyThreshold() {
+        return hotKeyThreshold;
+    }
+
+    public long getHotKeyPinTtl() {
+        return hotKeyPinTtl;
+    }
+
+    public int getHotKeyCapacity() {
+        return hotKeyCapacity;
+    }
+
+    public double getBreakerFailureRate() {
+        return breakerFailureRate;
+    }
+
+    public long getBreakerSlowCall() {
+        return breakerSlowCall;
+    }
+
+    public long getBreakerOpenDuration() {
+        return breakerOpenDuration;
+    }
+
+    public int getBreakerMinCalls() {
+        return breakerMinCalls;
+    }
+
     public static <K, V> Builder<K, V> builder(Class<K> keyType, Class<V> valueType) {
         return new Builder<>(keyType, valueType);
     }
@@ -97,6 +279,42 @@ public class CacheConfig<K, V> {
 
         private final Class<V> valueType;
 
+        private long staleAfterWrite;
+
+        private double earlyExpiryBeta;
+
+        private long hedgeDelay;
+
+        private double hedgePercentile;
+
+        private int writeBehindCapacity;
+
+        private int writeBehindBatchSize = CacheConstants.DEFAULT_WRITE_BEHIND_BATCH_SIZE;
+
+        private long writeBehindPeriod = CacheConstants.DEFAULT_WRITE_BEHIND_PERIOD;
+
+        private boolean writeBehindNullValue = CacheConstants.DEFAULT_EXTRA_ENABLE_NULL_VALUE;
+
+        private int promotionThreshold = CacheConstants.DEFAULT_PROMOTION_THRESHOLD;
+
+        private long promotionCapacity = CacheConstants.DEFAULT_EMBED_MAXIMUM_SIZE;
+
+        private CacheExecutor decodeExecutor = CacheConstants.DEFAULT_DECODE_EXECUTOR;
+
+        private long hotKeyThreshold;
+
+        private long hotKeyPinTtl = CacheConstants.DEFAULT_HOT_KEY_PIN_TTL;
+
+        private int hotKeyCapacity = CacheConstants.DEFAULT_HOT_KEY_CAPACITY;
+
+        private double breakerFailureRate;
+
+        private long breakerSlowCall;
+
+        private long breakerOpenDuration = CacheConstants.DEFAULT_BREAKER_OPEN_DURATION;
+
+        private int breakerMinCalls = CacheConstants.DEFAULT_BREAKER_MIN_CALLS;
+
         private Builder(Class<K> keyType, Class<V> valueType) {
             this.keyType = keyType;
             this.valueType = valueType;
@@ -132,6 +350,123 @@ public class CacheConfig<K, V> {
             return this;
         }
 
+        public Builder<K, V> staleAfterWrite(Long staleAfterWrite) {
+            this.staleAfterWrite = (staleAfterWrite != null) ? staleAfterWrite : 0;
+            return this;
+        }
+
+        public Builder<K, V> earlyExpiryBeta(Double earlyExpiryBeta) {
+            this.earlyExpiryBeta = (earlyExpiryBeta != null) ? earlyExpiryBeta : 0;
+            return this;
+        }
+
+        public Builder<K, V> hedgeDelay(Long hedgeDelay) {
+            this.hedgeDelay = (hedgeDelay != null) ? hedgeDelay : 0;
+            return this;
+        }
+
+        public Builder<K, V> hedgePercentile(Double hedgePercentile) {
+            this.hedgePercentile = (hedgePercentile != null) ? hedgePercentile : 0;
+            return this;
+        }
+
+        public Builder<K, V> writeBehindCapacity(Integer writeBehindCapacity) {
+            this.writeBehindCapacity = (writeBehindCapacity != null) ? writeBehindCapacity : 0;
+            return this;
+        }
+
+        public Builder<K, V> writeBehindBatchSize(Integer writeBehindBatchSize) {
+            if (writeBehindBatchSize != null) {
+                this.writeBehindBatchSize = writeBehindBatchSize;
+            }
+            return this;
+        }
+
+        public Builder<K, V> writeBehindPeriod(Long writeBehindPeriod) {
+            if (writeBehindPeriod != null) {
+                this.writeBehindPeriod = writeBehindPeriod;
+            }
+            return this;
+        }
+
+        public Builder<K, V> writeBehindNullValue(Boolean writeBehindNullValue) {
+            if (writeBehindNullValue != null) {
+                this.writeBehindNullValue = writeBehindNullValue;
+            }
+            return this;
+        }
+
+        public Builder<K, V> promotionThreshold(Integer promotionThreshold) {
+            if (promotionThreshold != null) {
+                this.promotionThreshold = promotionThreshold;
+            }
+            return this;
+        }
+
+        public Builder<K, V> promotionCapacity(Long promotionCapacity) {
+            if (promotionCapacity != null && promotionCapacity > 0) {
+                this.promotionCapacity = promotionCapacity;
+            }
+            return this;
+        }
+
+        public Builder<K, V> decodeExecutor(CacheExecutor decodeExecutor) {
+            if (decodeExecutor != null) {
+                this.decodeExecutor = decodeExecutor;
+            }
+            return this;
+        }
+
+        public Builder<K, V> hotKeyThreshold(Long hotKeyThreshold) {
+            if (hotKeyThreshold != null) {
+                this.hotKeyThreshold = hotKeyThreshold;
+            }
+            return this;
+        }
+
+        public Builder<K, V> hotKeyPinTtl(Long hotKeyPinTtl) {
+            if (hotKeyPinTtl != null && hotKeyPinTtl > 0) {
+                this.hotKeyPinTtl = hotKeyPinTtl;
+            }
+            return this;
+        }
+
+        public Builder<K, V> hotKeyCapacity(Integer hotKeyCapacity) {
+            if (hotKeyCapacity != null && hotKeyCapacity > 0) {
+                this.hotKeyCapacity = hotKeyCapacity;
+            }
+            return this;
+        }
+
+        public Builder<K, V> breakerFailureRate(Double breakerFailureRate) {
+            if (breakerFailureRate != null) {
+                Assert.isTrue(breakerFailureRate <= 1, () -> "breakerFailureRate:[" + breakerFailureRate + "] must be less than or equal to 1");
+                this.breakerFailureRate = breakerFailureRate;
+            }
+            return this;
+        }
+
+        public Builder<K, V> breakerSlowCall(Long breakerSlowCall) {
+            if (breakerSlowCall != null) {
+                this.breakerSlowCall = breakerSlowCall;
+            }
+            return this;
+        }
+
+        public Builder<K, V> breakerOpenDuration(Long breakerOpenDuration) {
+            if (breakerOpenDuration != null && breakerOpenDuration > 0) {
+                this.breakerOpenDuration = breakerOpenDuration;
+            }
+            return this;
+        }
+
+        public Builder<K, V> breakerMinCalls(Integer breakerMinCalls) {
+            if (breakerMinCalls != null && breakerMinCalls > 0) {
+                this.breakerMinCalls = breakerMinCalls;
+            }
+            return this;
+        }
+
         public CacheConfig<K, V> build() {
             Assert.notNull(sid, "sid must not be null");
             Assert.notNull(name, "name must not be null");
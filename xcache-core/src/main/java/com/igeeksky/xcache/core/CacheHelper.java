@@ -2,6 +2,9 @@ package com.igeeksky.xcache.core;
 
 import com.igeeksky.xcache.common.CacheValue;
 import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.AdmissionStore;
+import com.igeeksky.xcache.core.store.CircuitBreakerStore;
+import com.igeeksky.xcache.props.StoreLevel;
 import com.igeeksky.xtool.core.collection.Maps;
 
 import java.util.Collections;
@@ -23,6 +26,44 @@ public final class CacheHelper {
     private CacheHelper() {
     }
 
+    /**
+     * 创建用于回填一级缓存的存储
+     * <p>
+     * 如回填准入阈值大于 1，返回带准入过滤的存储；否则直接返回一级缓存。
+     *
+     * @param firstStore 一级缓存
+     * @param config     缓存配置
+     * @param <V>        缓存值类型
+     * @return 用于回填一级缓存的存储
+     */
+    public static <V> Store<V> promotionStore(Store<V> firstStore, CacheConfig<?, V> config) {
+        if (config.getPromotionThreshold() <= 1) {
+            return firstStore;
+        }
+        return new AdmissionStore<>(firstStore, config.getPromotionCapacity(), config.getPromotionThreshold());
+    }
+
+    /**
+     * 创建熔断存储
+     * <p>
+     * 如熔断失败率阈值大于 0，返回带熔断的存储；否则直接返回原存储。
+     *
+     * @param store    下级缓存（二级缓存或三级缓存）
+     * @param level    缓存级别
+     * @param config   缓存配置
+     * @param listener 熔断恢复监听器
+     * @param <V>      缓存值类型
+     * @return 下级缓存
+     */
+    public static <V> Store<V> breakerStore(Store<V> store, StoreLevel level, CacheConfig<?, V> config,
+                                            CircuitBreakerStore.RecoveryListener listener) {
+        if (config.getBreakerFailureRate() <= 0) {
+            return store;
+        }
+        return new CircuitBreakerStore<>(config.getName(), store, level, config.getBreakerFailureRate(),
+                config.getBreakerSlowCall(), config.getBreakerOpenDuration(), config.getBreakerMinCalls(), listener);
+    }
+
     /**
      * 移除已命中的 key
      *
@@ -51,12 +92,15 @@ public final class CacheHelper {
      * @param firstAll   一级缓存数据
      * @param secondAll  二级缓存数据
      * @param firstStore 一级缓存
+     * @param guard      回填守卫
+     * @param snapshot   读取二级缓存之前的序号快照
      * @param <V>        缓存值类型
      * @return 结果集
      */
     public static <V> Map<String, CacheValue<V>> mergeResult(Map<String, CacheValue<V>> firstAll,
                                                              Map<String, CacheValue<V>> secondAll,
-                                                             Store<V> firstStore) {
+                                                             Store<V> firstStore,
+                                                             BackfillGuard guard, long snapshot) {
         int size = 0;
         if (firstAll != null) size += firstAll.size();
         if (secondAll != null) size += secondAll.size();
@@ -66,7 +110,7 @@ public final class CacheHelper {
         addToResult(finalResult, firstAll);
         Map<String, V> saveToLower = addToResultAndCollect(finalResult, secondAll);
         if (Maps.isNotEmpty(saveToLower)) {
-            firstStore.putAllAsync(saveToLower);
+            guard.backfillAllAsync(firstStore, saveToLower, snapshot);
         }
         return finalResult;
     }
@@ -84,6 +128,8 @@ public final class CacheHelper {
      * @param thirdAll    三级缓存数据
      * @param firstStore  一级缓存
      * @param secondStore 二级缓存
+     * @param guard       回填守卫
+     * @param snapshot    读取二级缓存之前的序号快照
      * @param <V>         缓存值类型
      * @return 结果集
      */
@@ -91,7 +137,8 @@ public final class CacheHelper {
                                                              Map<String, CacheValue<V>> secondAll,
                                                              Map<String, CacheValue<V>> thirdAll,
                                                              Store<V> firstStore,
-                                                             Store<V> secondStore) {
+                                                             Store<V> secondStore,
+                                                             BackfillGuard guard, long snapshot) {
         int size = 0;
         if (firstAll != null) size += firstAll.size();
         if (secondAll != null) size += secondAll.size();
@@ -103,8 +150,8 @@ public final class CacheHelper {
         addToResult(finalResult, secondAll);
         Map<String, V> saveToLower = addToResultAndCollect(finalResult, thirdAll);
         if (Maps.isNotEmpty(saveToLower)) {
-            secondStore.putAllAsync(saveToLower)
-                    .thenCompose(ignored -> firstStore.putAllAsync(saveToLower));
+            guard.backfillAllAsync(secondStore, new HashMap<>(saveToLower), snapshot)
+                    .thenCompose(ignored -> guard.backfillAllAsync(firstStore, saveToLower, snapshot));
         }
         return finalResult;
     }
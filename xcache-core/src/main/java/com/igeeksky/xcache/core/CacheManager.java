@@ -1,6 +1,7 @@
 package com.igeeksky.xcache.core;
 
 import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.LongKeyCache;
 
 import java.util.Collection;
 
@@ -27,6 +28,19 @@ public interface CacheManager {
      */
     <K, V> Cache<K, V> getOrCreateCache(String cacheName, Class<K> keyType, Class<V> valueType);
 
+    /**
+     * 获取或创建指定名称的原始 long 类型键的缓存
+     * <p>
+     * 与 {@code getOrCreateCache(cacheName, Long.class, valueType)} 共享同一缓存实例，
+     * 但读取方法直接使用 long 类型的键，无需装箱及调用键编解码器。
+     *
+     * @param cacheName 缓存名称，用于唯一标识一个缓存
+     * @param valueType 缓存值类型
+     * @param <V>       泛型参数，表示值的类型
+     * @return 返回已存在或新创建的缓存对象
+     */
+    <V> LongKeyCache<V> getOrCreateLongKeyCache(String cacheName, Class<V> valueType);
+
     /**
      * 获取所有缓存对象
      *
@@ -41,4 +55,16 @@ public interface CacheManager {
      */
     Collection<String> getAllCacheNames();
 
+    /**
+     * 关闭缓存管理者
+     * <p>
+     * 等待各缓存尚未完成的任务（如写回缓冲区中的操作）完成，最大等待时长为
+     * {@link com.igeeksky.xcache.props.CacheConstants#DEFAULT_SHUTDOWN_TIMEOUT}，
+     * 然后发送各数据同步监视器缓冲中的消息（{@code CacheSyncMonitor#flush()}），再关闭各存储（{@link com.igeeksky.xcache.common.Store#close()}，如保存快照、解除文件映射）。
+     * <p>
+     * 默认实现为空操作，以兼容已有的自定义实现。
+     */
+    default void shutdown() {
+    }
+
 }
\ No newline at end of file
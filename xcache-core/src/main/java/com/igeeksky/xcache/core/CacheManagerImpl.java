@@ -1,6 +1,7 @@
 package com.igeeksky.xcache.core;
 
 import com.igeeksky.xcache.common.*;
+import com.igeeksky.xcache.core.store.BatchGetStore;
 import com.igeeksky.xcache.core.store.StoreConfig;
 import com.igeeksky.xcache.core.store.StoreProvider;
 import com.igeeksky.xcache.extension.codec.CodecConfig;
@@ -19,17 +20,18 @@ import com.igeeksky.xcache.extension.sync.CacheSyncProvider;
 import com.igeeksky.xcache.extension.sync.SyncConfig;
 import com.igeeksky.xcache.extension.sync.SyncMessageListener;
 import com.igeeksky.xcache.props.*;
+import com.igeeksky.xtool.core.concurrent.Futures;
 import com.igeeksky.xtool.core.lang.StringUtils;
 import com.igeeksky.xtool.core.lang.codec.Codec;
 import com.igeeksky.xtool.core.lang.codec.KeyCodec;
 import com.igeeksky.xtool.core.lang.compress.Compressor;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
@@ -51,6 +53,14 @@ public class CacheManagerImpl implements CacheManager {
 
     private final ConcurrentMap<String, Cache<?, ?>> cached = new ConcurrentHashMap<>();
 
+    private final ConcurrentMap<String, LongKeyCache<?>> longKeyCached = new ConcurrentHashMap<>();
+
+    // 由 StoreProvider 创建的存储（关闭时释放资源）
+    private final List<Store<?>> stores = new CopyOnWriteArrayList<>();
+
+    // 由 CacheSyncProvider 创建的数据同步监视器（关闭时发送缓冲中的消息）
+    private final List<CacheSyncMonitor> syncMonitors = new CopyOnWriteArrayList<>();
+
     public CacheManagerImpl(CacheManagerConfig managerConfig) {
         this.group = managerConfig.getApp();
         this.componentManager = managerConfig.getComponentManager();
@@ -72,6 +82,15 @@ public class CacheManagerImpl implements CacheManager {
         return (Cache<K, V>) cached.computeIfAbsent(name, nameKey -> createCache(nameKey, keyType, valueType));
     }
 
+    @Override
+    public <V> LongKeyCache<V> getOrCreateLongKeyCache(String cacheName, Class<V> valueType) {
+        String name = StringUtils.trimToNull(cacheName);
+        requireNonNull(valueType, () -> "valueType must not be null");
+        requireNonNull(name, () -> "cacheName must not be null or empty");
+        return (LongKeyCache<V>) longKeyCached.computeIfAbsent(name,
+                nameKey -> new LongKeyCacheImpl<>(this.getOrCreateCache(nameKey, Long.class, valueType)));
+    }
+
     private <K, V> Cache<K, V> createCache(String name, Class<K> keyType, Class<V> valueType) {
         // 1. 获取配置
         CacheProps cacheProps = this.getOrCreateCacheProps(name);
@@ -83,9 +102,11 @@ public class CacheManagerImpl implements CacheManager {
         ContainsPredicate<K> predicate = componentManager.getContainsPredicate(name);
 
         Store<V>[] stores = new Store[3];
-        stores[0] = this.getStore(cacheProps.getFirst(), cacheConfig);
-        stores[1] = this.getStore(cacheProps.getSecond(), cacheConfig);
-        stores[2] = this.getStore(cacheProps.getThird(), cacheConfig);
+        // 启用更新消息时，一级缓存记录写入时间，以便接收方判断消息中的值是否比本地值更旧
+        boolean stamped = isSyncUpdate(cacheProps.getCacheSync());
+        stores[0] = this.getStore(cacheProps.getFirst(), cacheConfig, stamped);
+        stores[1] = this.getStore(cacheProps.getSecond(), cacheConfig, false);
+        stores[2] = this.getStore(cacheProps.getThird(), cacheConfig, false);
 
         if (CacheBuilder.count(stores) == 0) {
             return new NoOpCache<>(cacheConfig, cacheLoader, predicate);
@@ -103,7 +124,10 @@ public class CacheManagerImpl implements CacheManager {
         MetricsConfig metricsConfig = this.buildMetricsConfig(cacheProps.getCacheMetrics(), cacheConfig);
         CacheMetricsMonitor statMonitor = this.getMetricsMonitor(metricsConfig);
 
-        SyncConfig<V> syncConfig = this.buildSyncConfig(cacheProps.getCacheSync(), stores, cacheConfig);
+        // 缓存同步消息监听器删除数据之前，先记录失效操作，以避免旧值回填
+        BackfillGuard backfillGuard = new BackfillGuard();
+        SyncConfig<V> syncConfig = this.buildSyncConfig(cacheProps.getCacheSync(), cacheProps.getSecond(), stores,
+                backfillGuard, cacheConfig);
         CacheSyncMonitor syncMonitor = this.getSyncMonitor(syncConfig, stores);
 
         ExtendConfig.Builder<K, V> extendBuilder = ExtendConfig.builder();
@@ -114,6 +138,7 @@ public class CacheManagerImpl implements CacheManager {
                 .syncMonitor(syncMonitor)
                 .containsPredicate(predicate)
                 .cacheRefresh(cacheRefresh)
+                .backfillGuard(backfillGuard)
                 .build();
 
         return CacheBuilder.builder(cacheConfig)
@@ -165,10 +190,28 @@ public class CacheManagerImpl implements CacheManager {
                 .name(cacheProps.getName())
                 .group(this.group)
                 .charset(cacheProps.getCharset())
+                .staleAfterWrite(cacheProps.getStaleAfterWrite())
+                .earlyExpiryBeta(cacheProps.getEarlyExpiryBeta())
+                .hedgeDelay(cacheProps.getHedgeDelay())
+                .hedgePercentile(cacheProps.getHedgePercentile())
+                .writeBehindCapacity(cacheProps.getWriteBehindCapacity())
+                .writeBehindBatchSize(cacheProps.getWriteBehindBatchSize())
+                .writeBehindPeriod(cacheProps.getWriteBehindPeriod())
+                .writeBehindNullValue(cacheProps.getSecond().getEnableNullValue())
+                .promotionThreshold(cacheProps.getPromotionThreshold())
+                .promotionCapacity(cacheProps.getFirst().getMaximumSize())
+                .decodeExecutor(CacheExecutor.of(cacheProps.getDecodeExecutor()))
+                .hotKeyThreshold(cacheProps.getHotKeyThreshold())
+                .hotKeyPinTtl(cacheProps.getHotKeyPinTtl())
+                .hotKeyCapacity(cacheProps.getHotKeyCapacity())
+                .breakerFailureRate(cacheProps.getBreakerFailureRate())
+                .breakerSlowCall(cacheProps.getBreakerSlowCall())
+                .breakerOpenDuration(cacheProps.getBreakerOpenDuration())
+                .breakerMinCalls(cacheProps.getBreakerMinCalls())
                 .build();
     }
 
-    private <K, V> Store<V> getStore(StoreProps storeProps, CacheConfig<K, V> cacheConfig) {
+    private <K, V> Store<V> getStore(StoreProps storeProps, CacheConfig<K, V> cacheConfig, boolean stamped) {
         String beanId = storeProps.getProvider();
         if (beanId == null || Objects.equals(CacheConstants.NONE, StringUtils.toUpperCase(beanId))) {
             return null;
@@ -192,6 +235,8 @@ public class CacheManagerImpl implements CacheManager {
                 .enableGroupPrefix(storeProps.getEnableGroupPrefix())
                 .redisType(storeProps.getRedisType())
                 .dataSlotSize(storeProps.getDataSlotSize())
+                .enableWriteTime(stamped || cacheConfig.getStaleAfterWrite() > 0 || cacheConfig.getEarlyExpiryBeta() > 0)
+                .decodeExecutor(cacheConfig.getDecodeExecutor())
                 .valueCodec(this.getValueCodec(storeProps.getValueCodec(), cacheConfig))
                 .valueCompressor(this.getCompressor(storeProps.getValueCompressor()))
                 .params(storeProps.getParams())
@@ -202,6 +247,15 @@ public class CacheManagerImpl implements CacheManager {
 
         Store<V> store = storeProvider.getStore(storeConfig);
         requireNonNull(store, () -> "Cache:[" + name + "], Unable to get store from beanId:[" + beanId + "].");
+        this.stores.add(store);
+
+        // 合并查询：批次最大键数量大于 1 时启用
+        Integer batchGetSize = storeProps.getBatchGetSize();
+        if (batchGetSize != null && batchGetSize > 1) {
+            Long window = storeProps.getBatchGetWindow();
+            long batchGetWindow = (window != null) ? window : CacheConstants.DEFAULT_EXTRA_BATCH_GET_WINDOW;
+            return new BatchGetStore<>(store, batchGetSize, batchGetWindow);
+        }
 
         return store;
     }
@@ -371,8 +425,17 @@ public class CacheManagerImpl implements CacheManager {
         return provider.getMonitor(config);
     }
 
-    private <K, V> SyncConfig<V> buildSyncConfig(SyncProps props, Store<V>[] stores, CacheConfig<K, V> config) {
-        return SyncConfig.builder(stores[0], stores[1])
+    private <K, V> SyncConfig<V> buildSyncConfig(SyncProps props, StoreProps secondProps, Store<V>[] stores,
+                                                 BackfillGuard backfillGuard, CacheConfig<K, V> config) {
+        // 仅当启用更新消息时才需值编解码器
+        Integer updateMaxSize = props.getUpdateMaxSize();
+        boolean update = isSyncUpdate(props);
+        Codec<V> valueCodec = update ? this.getValueCodec(props.getValueCodec(), config) : null;
+        if (update && valueCodec == null) {
+            throw new CacheConfigException("Cache:[" + config.getName() + "], cache-sync: if update-max-size greater than 0 or update-keys is not empty, value-codec must not be none");
+        }
+
+        return SyncConfig.builder(backfillGuard.wrap(stores[0]), backfillGuard.wrap(stores[1]))
                 .group(config.getGroup())
                 .name(config.getName())
                 .sid(config.getSid())
@@ -381,11 +444,28 @@ public class CacheManagerImpl implements CacheManager {
                 .second(props.getSecond())
                 .provider(props.getProvider())
                 .maxLen(props.getMaxLen())
+                .batchDelay(props.getBatchDelay())
+                .batchSize(props.getBatchSize())
+                .updateMaxSize(updateMaxSize)
+                .updateKeys(props.getUpdateKeys())
+                .valueCodec(valueCodec)
                 .enableGroupPrefix(props.getEnableGroupPrefix())
+                .redisType(secondProps.getRedisType())
                 .params(props.getParams())
                 .build();
     }
 
+    /**
+     * 是否启用更新消息
+     *
+     * @param props 缓存数据同步配置
+     * @return 如果更新消息携带值的最大字节数大于 0，或热点键不为空，返回 true；否则返回 false
+     */
+    private static boolean isSyncUpdate(SyncProps props) {
+        Integer updateMaxSize = props.getUpdateMaxSize();
+        return (updateMaxSize != null && updateMaxSize > 0) || !props.getUpdateKeys().isEmpty();
+    }
+
     private <V> CacheSyncMonitor getSyncMonitor(SyncConfig<V> config, Store<V>[] stores) {
         String beanId = config.getProvider();
         if (beanId == null || Objects.equals(CacheConstants.NONE, StringUtils.toUpperCase(beanId))) {
@@ -404,14 +484,19 @@ public class CacheManagerImpl implements CacheManager {
             }
         }
 
+        if (config.getBatchDelay() < 0 || config.getBatchSize() <= 0) {
+            throw new CacheConfigException("Cache:[" + config.getName() + "], cache-sync: batch-delay must be greater than or equal to 0 and batch-size must be greater than 0");
+        }
+
         CacheSyncProvider provider = componentManager.getSyncProvider(beanId);
         requireNonNull(provider, () -> "CacheSyncProvider:[" + beanId + "] is undefined");
 
-        provider.register(config.getChannel(), config.getCharset(), new SyncMessageListener<>(config));
+        provider.register(config, new SyncMessageListener<>(config));
 
         CacheSyncMonitor monitor = provider.getMonitor(config);
         requireNonNull(monitor, () -> "Unable to get monitor from provider:[" + beanId + "].");
 
+        this.syncMonitors.add(monitor);
         return monitor;
     }
 
@@ -425,6 +510,34 @@ public class CacheManagerImpl implements CacheManager {
         return Collections.unmodifiableCollection(cached.keySet());
     }
 
+    @Override
+    public void shutdown() {
+        ArrayList<Future<?>> futures = new ArrayList<>(cached.size());
+        cached.forEach((name, cache) -> {
+            if (cache instanceof AbstractCache<?, ?> abstractCache) {
+                try {
+                    futures.add(abstractCache.shutdownAsync());
+                } catch (Exception ignored) {
+                }
+            }
+        });
+        Futures.awaitAll(futures, CacheConstants.DEFAULT_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        // 写回缓冲区写入后会产生数据同步消息，因此在关闭任务完成后再发送缓冲中的消息（消息发布者随后由其提供者关闭）
+        for (CacheSyncMonitor monitor : syncMonitors) {
+            try {
+                monitor.flush();
+            } catch (Exception ignored) {
+            }
+        }
+        // 写回缓冲区等关闭任务完成后，再关闭存储
+        for (Store<?> store : stores) {
+            try {
+                store.close();
+            } catch (Exception ignored) {
+            }
+        }
+    }
+
     private static void requireNonNull(Object obj, Supplier<String> errMsg) {
         if (obj == null) {
             throw new CacheConfigException(errMsg.get());
@@ -0,0 +1,81 @@
+package com.igeeksky.xcache.core;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 已完成的 {@link CompletableFuture} 工具类
+ * <p>
+ * 本地存储（如 Caffeine）的异步方法实际是同步执行，直接返回已完成的 {@link CompletableFuture}，
+ * 避免 {@code completedFuture(key).thenApply(...)} 等链式调用创建多余的中间对象。
+ * 结果为空时，返回共享的常量对象，无需创建新对象。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class CompletedFutures {
+
+    private static final CompletableFuture<?> NULL = new NullFuture<>();
+
+    /**
+     * 私有构造方法，禁止实例化
+     */
+    private CompletedFutures() {
+    }
+
+    /**
+     * 获取结果为空的共享常量
+     *
+     * @param <T> 结果类型
+     * @return 结果为空的已完成的 {@link CompletableFuture}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<T> ofNull() {
+        return (CompletableFuture<T>) NULL;
+    }
+
+    /**
+     * 获取已完成的 {@link CompletableFuture}
+     *
+     * @param value 结果
+     * @param <T>   结果类型
+     * @return 结果为空时返回共享常量，否则返回新创建的已完成的 {@link CompletableFuture}
+     */
+    public static <T> CompletableFuture<T> of(T value) {
+        return (value == null) ? ofNull() : CompletableFuture.completedFuture(value);
+    }
+
+    /**
+     * 判断异步任务是否已正常完成
+     *
+     * @param future 异步任务
+     * @return {@code true} – 已正常完成，可通过 {@code future.getNow(null)} 直接获取结果；
+     * {@code false} – 尚未完成或异常完成
+     */
+    public static boolean isSucceeded(CompletableFuture<?> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
+    /**
+     * 结果为空的已完成的 {@link CompletableFuture}
+     * <p>
+     * 共享常量禁止强制修改结果。
+     */
+    private static final class NullFuture<T> extends CompletableFuture<T> {
+
+        private NullFuture() {
+            super.complete(null);
+        }
+
+        @Override
+        public void obtrudeValue(T value) {
+            throw new UnsupportedOperationException("shared completed future is immutable");
+        }
+
+        @Override
+        public void obtrudeException(Throwable ex) {
+            throw new UnsupportedOperationException("shared completed future is immutable");
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.igeeksky.xcache.core;
 
 import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.StampedCacheValue;
 import com.igeeksky.xtool.core.lang.codec.Codec;
 import com.igeeksky.xtool.core.lang.compress.Compressor;
 
@@ -15,15 +16,23 @@ public class EmbedStoreValueConvertor<V> {
     private final boolean enableNullValue;
     private final boolean enableCompressValue;
     private final boolean enableSerializeValue;
+    private final boolean enableWriteTime;
 
     private final Codec<V> codec;
     private final Compressor compressor;
 
     public EmbedStoreValueConvertor(boolean enableNullValue, boolean enableCompressValue,
                                     boolean enableSerializeValue, Codec<V> codec, Compressor compressor) {
+        this(enableNullValue, enableCompressValue, enableSerializeValue, false, codec, compressor);
+    }
+
+    public EmbedStoreValueConvertor(boolean enableNullValue, boolean enableCompressValue,
+                                    boolean enableSerializeValue, boolean enableWriteTime,
+                                    Codec<V> codec, Compressor compressor) {
         this.enableNullValue = enableNullValue;
         this.enableCompressValue = enableCompressValue;
         this.enableSerializeValue = enableSerializeValue;
+        this.enableWriteTime = enableWriteTime;
         this.compressor = compressor;
         this.codec = codec;
     }
@@ -31,18 +40,22 @@ public class EmbedStoreValueConvertor<V> {
     public CacheValue<Object> toStoreValue(V value) {
         if (null == value) {
             if (enableNullValue) {
-                return CacheValue.empty();
+                return enableWriteTime ? StampedCacheValue.create(null, System.currentTimeMillis()) : CacheValue.empty();
             }
             return null;
         }
+        Object innerValue = value;
         if (enableSerializeValue) {
-            byte[] innerValue = codec.encode(value);
+            byte[] bytes = codec.encode(value);
             if (enableCompressValue) {
-                innerValue = compressor.compress(innerValue);
+                bytes = compressor.compress(bytes);
             }
-            return CacheValue.create(innerValue);
+            innerValue = bytes;
         }
-        return CacheValue.create(value);
+        if (enableWriteTime) {
+            return StampedCacheValue.create(innerValue, System.currentTimeMillis());
+        }
+        return CacheValue.create(innerValue);
     }
 
     @SuppressWarnings("unchecked")
@@ -61,7 +74,11 @@ public class EmbedStoreValueConvertor<V> {
             if (enableCompressValue) {
                 innerValue = compressor.decompress(innerValue);
             }
-            return CacheValue.create(codec.decode(innerValue));
+            V value = codec.decode(innerValue);
+            if (storeValue instanceof StampedCacheValue<Object> stamped) {
+                return StampedCacheValue.create(value, stamped.getWriteTime());
+            }
+            return CacheValue.create(value);
         }
         return (CacheValue<V>) storeValue;
     }
@@ -37,6 +37,8 @@ public class ExtendConfig<K, V> {
 
     private final ContainsPredicate<K> containsPredicate;
 
+    private final BackfillGuard backfillGuard;
+
     public ExtendConfig(Builder<K, V> builder) {
         this.keyCodec = builder.keyCodec;
         this.lockService = builder.lockService;
@@ -45,6 +47,7 @@ public class ExtendConfig<K, V> {
         this.cacheLoader = builder.cacheLoader;
         this.cacheRefresh = builder.cacheRefresh;
         this.containsPredicate = builder.containsPredicate;
+        this.backfillGuard = (builder.backfillGuard != null) ? builder.backfillGuard : new BackfillGuard();
     }
 
     public static <K, V> Builder<K, V> builder() {
@@ -123,6 +126,15 @@ public class ExtendConfig<K, V> {
         return containsPredicate;
     }
 
+    /**
+     * 回填守卫，用于避免将下级缓存的旧值回填到上级缓存
+     *
+     * @return 如果有配置，返回配置的回填守卫；否则返回新建的回填守卫
+     */
+    public BackfillGuard getBackfillGuard() {
+        return backfillGuard;
+    }
+
     public static class Builder<K, V> {
 
         private KeyCodec<K> keyCodec;
@@ -139,6 +151,8 @@ public class ExtendConfig<K, V> {
 
         private ContainsPredicate<K> containsPredicate;
 
+        private BackfillGuard backfillGuard;
+
         private Builder() {
         }
 
@@ -177,6 +191,11 @@ public class ExtendConfig<K, V> {
             return this;
         }
 
+        public Builder<K, V> backfillGuard(BackfillGuard backfillGuard) {
+            this.backfillGuard = backfillGuard;
+            return this;
+        }
+
         public ExtendConfig<K, V> build() {
             Assert.notNull(this.keyCodec, "keyCodec must not be null");
             Assert.notNull(this.lockService, "cacheLock must not be null");
@@ -2,6 +2,7 @@ package com.igeeksky.xcache.core;
 
 import com.igeeksky.xcache.NullValue;
 import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.StampedCacheValue;
 import com.igeeksky.xtool.core.lang.codec.Codec;
 import com.igeeksky.xtool.core.lang.compress.Compressor;
 
@@ -9,16 +10,46 @@ import java.util.Arrays;
 
 /**
  * 外部缓存键值转换器
+ * <p>
+ * 如启用写入时间，存储值格式为：{@code [4 字节魔数][1 字节版本][8 字节写入时间][8 字节过期时间][值]}；
+ * 读取时如魔数不匹配，则视为未附加写入时间的值；如魔数匹配但版本未知（由更新的版本写入），则视为未命中。
+ * <p>
+ * 无论是否启用写入时间，读取时均会识别并去除头部，因此滚动升级时应按以下顺序操作：<br>
+ * 1. 所有节点升级至当前版本，保持 stale-after-write 和 early-expiry-beta 未启用；<br>
+ * 2. 所有节点升级完成后，再启用 stale-after-write 或 early-expiry-beta。<br>
+ * 回退时顺序相反：先关闭这两项配置，待附加写入时间的缓存值全部过期（或清空缓存）后，再回退版本。
  *
  * @author Patrick.Lau
  * @since 1.0.0 2024/9/18
  */
 public class ExtraStoreConvertor<V> {
 
+    /**
+     * 写入时间头部魔数
+     */
+    private static final byte[] WRITE_TIME_MAGIC = {(byte) 0xFE, (byte) 0xCA, 'X', 'C'};
+
+    /**
+     * 写入时间头部版本
+     */
+    private static final byte WRITE_TIME_VERSION = 1;
+
+    /**
+     * 写入时间头部长度
+     */
+    private static final int WRITE_TIME_HEADER_LENGTH = WRITE_TIME_MAGIC.length + 1 + 16;
+
+    /**
+     * 写入时间偏移量
+     */
+    private static final int WRITE_TIME_OFFSET = WRITE_TIME_MAGIC.length + 1;
+
     private final boolean enableNullValue;
 
     private final boolean enableCompressValue;
 
+    private final boolean enableWriteTime;
+
     private final Codec<V> codec;
     private final Compressor compressor;
 
@@ -26,8 +57,14 @@ public class ExtraStoreConvertor<V> {
 
     public ExtraStoreConvertor(boolean enableNullValue, boolean enableCompressValue,
                                Codec<V> codec, Compressor compressor) {
+        this(enableNullValue, enableCompressValue, false, codec, compressor);
+    }
+
+    public ExtraStoreConvertor(boolean enableNullValue, boolean enableCompressValue, boolean enableWriteTime,
+                               Codec<V> codec, Compressor compressor) {
         this.enableCompressValue = enableCompressValue;
         this.enableNullValue = enableNullValue;
+        this.enableWriteTime = enableWriteTime;
         this.codec = codec;
         this.compressor = compressor;
         this.null_bytes = enableCompressValue ? this.compressor.compress(NullValue.INSTANCE_BYTES) :
@@ -35,19 +72,30 @@ public class ExtraStoreConvertor<V> {
     }
 
     public byte[] toExtraStoreValue(V value) {
+        return toExtraStoreValue(value, 0);
+    }
+
+    /**
+     * 缓存值转换为存储值
+     *
+     * @param value 缓存值
+     * @param ttl   存活时间（毫秒），用于计算过期时间；小于等于 0 表示未知或永不过期
+     * @return 存储值
+     */
+    public byte[] toExtraStoreValue(V value, long ttl) {
         if (null == value) {
             if (enableNullValue) {
-                return null_bytes;
+                return enableWriteTime ? writeTime(null_bytes, ttl) : null_bytes;
             }
             return null;
         }
 
         byte[] storeValue = codec.encode(value);
         if (enableCompressValue) {
-            return compressor.compress(storeValue);
+            storeValue = compressor.compress(storeValue);
         }
 
-        return storeValue;
+        return enableWriteTime ? writeTime(storeValue, ttl) : storeValue;
     }
 
     public CacheValue<V> fromExtraStoreValue(byte[] storeValue) {
@@ -55,9 +103,22 @@ public class ExtraStoreConvertor<V> {
             return null;
         }
 
+        long writeTime = -1, expireTime = 0;
+        if (hasWriteTime(storeValue)) {
+            if (storeValue[WRITE_TIME_MAGIC.length] != WRITE_TIME_VERSION) {
+                // 由更新的版本写入，无法解析，视为未命中
+                return null;
+            }
+            if (enableWriteTime) {
+                writeTime = readLong(storeValue, WRITE_TIME_OFFSET);
+                expireTime = readLong(storeValue, WRITE_TIME_OFFSET + 8);
+            }
+            storeValue = Arrays.copyOfRange(storeValue, WRITE_TIME_HEADER_LENGTH, storeValue.length);
+        }
+
         if (Arrays.equals(null_bytes, storeValue)) {
             if (enableNullValue) {
-                return CacheValue.empty();
+                return (writeTime >= 0) ? StampedCacheValue.create(null, writeTime, expireTime) : CacheValue.empty();
             }
             return null;
         }
@@ -66,7 +127,40 @@ public class ExtraStoreConvertor<V> {
             storeValue = compressor.decompress(storeValue);
         }
 
-        return CacheValue.create(codec.decode(storeValue));
+        V value = codec.decode(storeValue);
+        return (writeTime >= 0) ? StampedCacheValue.create(value, writeTime, expireTime) : CacheValue.create(value);
+    }
+
+    private static byte[] writeTime(byte[] storeValue, long ttl) {
+        long writeTime = System.currentTimeMillis();
+        long expireTime = (ttl > 0) ? writeTime + ttl : 0;
+        byte[] bytes = new byte[WRITE_TIME_HEADER_LENGTH + storeValue.length];
+        System.arraycopy(WRITE_TIME_MAGIC, 0, bytes, 0, WRITE_TIME_MAGIC.length);
+        bytes[WRITE_TIME_MAGIC.length] = WRITE_TIME_VERSION;
+        writeLong(bytes, WRITE_TIME_OFFSET, writeTime);
+        writeLong(bytes, WRITE_TIME_OFFSET + 8, expireTime);
+        System.arraycopy(storeValue, 0, bytes, WRITE_TIME_HEADER_LENGTH, storeValue.length);
+        return bytes;
+    }
+
+    private static boolean hasWriteTime(byte[] storeValue) {
+        return storeValue.length >= WRITE_TIME_HEADER_LENGTH
+                && Arrays.equals(storeValue, 0, WRITE_TIME_MAGIC.length, WRITE_TIME_MAGIC, 0, WRITE_TIME_MAGIC.length);
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = offset + 7; i >= offset; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xFF);
+        }
+        return value;
     }
 
 }
@@ -0,0 +1,198 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.extension.metrics.CacheMetricsMonitor;
+import com.igeeksky.xcache.props.StoreLevel;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 对冲读取策略
+ * <p>
+ * 原始读取超过延迟阈值仍未返回时，额外发起对冲读取，并采用先返回的可接受结果，另一个读取则被取消。
+ * <p>
+ * 延迟阈值可以是固定值，也可以根据原始读取最近的耗时按百分位计算（固定值作为下限）。
+ * 因对冲读取胜出而被取消的原始读取，按其被取消时的耗时（不小于当时的延迟阈值）记录，
+ * 以避免只统计快速返回的读取，导致百分位阈值偏低。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class HedgePolicy {
+
+    /**
+     * 采样窗口大小（必须为 2 的幂）
+     */
+    private static final int WINDOW = 256;
+
+    /**
+     * 每采样多少次重新计算一次百分位阈值
+     */
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final StoreLevel level;
+
+    private final CacheMetricsMonitor metricsMonitor;
+
+    private final long fixedDelayNanos;
+
+    private final double percentile;
+
+    private final AtomicLongArray samples;
+
+    private final AtomicInteger sampleCount = new AtomicInteger();
+
+    // 根据百分位计算的延迟阈值（单位：纳秒，0 表示采样数量不足）
+    private volatile long percentileDelayNanos;
+
+    /**
+     * 对冲读取策略
+     *
+     * @param level           被对冲的缓存级别
+     * @param metricsMonitor  缓存指标监控
+     * @param hedgeDelay      延迟阈值（单位：毫秒，小于等于 0 表示不启用固定阈值）
+     * @param hedgePercentile 延迟百分位（小于等于 0 或大于等于 100 表示不启用百分位阈值）
+     */
+    public HedgePolicy(StoreLevel level, CacheMetricsMonitor metricsMonitor, long hedgeDelay, double hedgePercentile) {
+        this.level = level;
+        this.metricsMonitor = metricsMonitor;
+        this.fixedDelayNanos = Math.max(0, TimeUnit.MILLISECONDS.toNanos(hedgeDelay));
+        this.percentile = (hedgePercentile > 0 && hedgePercentile < 100) ? hedgePercentile : 0;
+        this.samples = (this.percentile > 0) ? new AtomicLongArray(WINDOW) : null;
+    }
+
+    /**
+     * 是否启用对冲读取
+     *
+     * @return {@code true} – 启用；{@code false} – 不启用
+     */
+    public boolean isEnabled() {
+        return this.fixedDelayNanos > 0 || this.percentile > 0;
+    }
+
+    /**
+     * 对冲读取
+     * <p>
+     * 1. 原始读取在延迟阈值内返回，则直接采用其结果，不发起对冲读取。<br>
+     * 2. 否则发起对冲读取，采用先返回的可接受结果，并取消另一个读取。<br>
+     * 3. 如两者均无可接受结果，优先采用正常返回的对冲读取结果，其次采用原始读取结果。
+     *
+     * @param primary 原始读取
+     * @param hedge   对冲读取
+     * @param accept  结果是否可接受（不可接受时等待另一个读取的结果）
+     * @param <T>     结果类型
+     * @return 读取结果
+     */
+    public <T> CompletableFuture<T> read(Supplier<CompletableFuture<T>> primary, Supplier<CompletableFuture<T>> hedge,
+                                         Predicate<? super T> accept) {
+        long start = System.nanoTime();
+        CompletableFuture<T> first = primary.get();
+        long delay = this.delayNanos();
+        if (this.samples != null) {
+            // 被取消的原始读取，其实际耗时至少为取消时的耗时，且不小于延迟阈值
+            first.whenComplete((value, t) -> {
+                long elapsed = System.nanoTime() - start;
+                this.record((t instanceof CancellationException) ? Math.max(elapsed, delay) : elapsed);
+            });
+        }
+
+        if (delay <= 0 || first.isDone()) {
+            return first;
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean hedged = new AtomicBoolean(false);
+        CompletableFuture<CompletableFuture<T>> second = new CompletableFuture<>();
+
+        first.whenComplete((value, t) -> {
+            if (t == null && (accept.test(value) || !hedged.get())) {
+                if (result.complete(value)) {
+                    second.thenAccept(f -> f.cancel(false));
+                }
+                return;
+            }
+            // 原始读取无可接受结果：如已发起对冲读取，则等待对冲读取结果
+            if (!hedged.compareAndSet(false, true)) {
+                second.thenAccept(f -> f.whenComplete((hv, ht) -> {
+                    if (ht == null) {
+                        result.complete(hv);
+                    } else if (t == null) {
+                        result.complete(value);
+                    } else {
+                        result.completeExceptionally(t);
+                    }
+                }));
+                return;
+            }
+            if (t == null) {
+                result.complete(value);
+            } else {
+                result.completeExceptionally(t);
+            }
+        });
+
+        CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || !hedged.compareAndSet(false, true)) {
+                return;
+            }
+            this.metricsMonitor.incHedges(this.level, 1);
+            CompletableFuture<T> future;
+            try {
+                future = hedge.get();
+            } catch (Throwable e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            second.complete(future);
+            future.whenComplete((value, t) -> {
+                if (t == null && accept.test(value) && result.complete(value)) {
+                    this.metricsMonitor.incHedgeWins(this.level, 1);
+                    first.cancel(false);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * 当前延迟阈值
+     *
+     * @return 延迟阈值（单位：纳秒），小于等于 0 表示不对冲
+     */
+    long delayNanos() {
+        if (this.percentile > 0) {
+            long computed = this.percentileDelayNanos;
+            if (computed > 0) {
+                return Math.max(computed, this.fixedDelayNanos);
+            }
+        }
+        return this.fixedDelayNanos;
+    }
+
+    /**
+     * 记录原始读取耗时，并定期重新计算百分位阈值
+     *
+     * @param nanos 读取耗时（单位：纳秒）
+     */
+    private void record(long nanos) {
+        int count = this.sampleCount.getAndIncrement();
+        this.samples.set(count & (WINDOW - 1), nanos);
+        int total = count + 1;
+        if (total >= WINDOW && total % RECOMPUTE_INTERVAL == 0) {
+            long[] sorted = new long[WINDOW];
+            for (int i = 0; i < WINDOW; i++) {
+                sorted[i] = this.samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(this.percentile / 100 * WINDOW) - 1;
+            this.percentileDelayNanos = sorted[Math.max(0, Math.min(WINDOW - 1, index))];
+        }
+    }
+
+}
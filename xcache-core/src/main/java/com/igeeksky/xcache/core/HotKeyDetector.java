@@ -0,0 +1,441 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.extension.metrics.CacheMetricsMonitor;
+import com.igeeksky.xcache.extension.metrics.HotKey;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 热点键探测
+ * <p>
+ * 采用 SpaceSaving 算法，以 1 秒为统计窗口，统计读取次数最多的 N 个键（N 为统计容量）；
+ * 窗口结束时，每秒读取次数（扣除 SpaceSaving 的误差上限）达到阈值的键即为热点键。
+ * <p>
+ * 读取记录先写入按线程分段的缓冲区（仅持有所在分段的锁），分段写满或统计窗口结束时再汇总到 SpaceSaving 计数器，
+ * 避免所有读取竞争同一个锁；如其它线程正在汇总，写满的分段将丢弃新的记录。
+ * 丢弃仅降低统计精度：热点键的读取占多数，依然会被探测到。
+ * <p>
+ * 热点键从缓存读取到值后，将值保存到短期缓存；存活时间内的读取直接返回该值，无需访问缓存。
+ * 短期缓存的读取次数同样计入统计，因此热点键持续被访问时，存活时间结束后会再次读取缓存并保存新值。
+ * <p>
+ * 短期缓存借助 {@link BackfillGuard} 判断有效性：保存之前（读取缓存之前获取快照）或之后，
+ * 如该键有写入或失效操作（本地写入或接收到缓存同步消息），则值无效。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class HotKeyDetector<V> {
+
+    private static final long WINDOW = 1000;
+
+    // 读取记录缓冲区的分段数量（2 的幂，不小于 CPU 核数，最大 64）
+    private static final int STRIPES = Math.min(64,
+            Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    // 每个分段的容量
+    private static final int BUFFER_SIZE = 64;
+
+    private final long window;
+
+    private final long threshold;
+
+    private final long pinTtl;
+
+    private final int capacity;
+
+    private final BackfillGuard guard;
+
+    private final CacheMetricsMonitor metricsMonitor;
+
+    private final ReadBuffer[] buffers = new ReadBuffer[STRIPES];
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 以下字段需持有 lock 才能访问
+    private final Map<String, Counter> counters;
+
+    // 按 count 排序的最小堆
+    private final Counter[] heap;
+
+    private int size;
+
+    // 仅在持有 lock 时修改；读取时无需持有 lock（用于判断统计窗口是否结束）
+    private volatile long windowStart = System.currentTimeMillis();
+
+    private volatile Set<String> hotKeys = Collections.emptySet();
+
+    private final ConcurrentMap<String, Pin<V>> pins = new ConcurrentHashMap<>();
+
+    /**
+     * 热点键探测
+     *
+     * @param config         缓存配置
+     * @param guard          回填守卫
+     * @param metricsMonitor 缓存指标监控（用于输出热点键）
+     */
+    public HotKeyDetector(CacheConfig<?, V> config, BackfillGuard guard, CacheMetricsMonitor metricsMonitor) {
+        this(config, guard, metricsMonitor, WINDOW);
+    }
+
+    /**
+     * 热点键探测（可指定统计窗口，用于测试）
+     *
+     * @param config         缓存配置
+     * @param guard          回填守卫
+     * @param metricsMonitor 缓存指标监控（用于输出热点键）
+     * @param window         统计窗口（毫秒）
+     */
+    HotKeyDetector(CacheConfig<?, V> config, BackfillGuard guard, CacheMetricsMonitor metricsMonitor, long window) {
+        this.window = window;
+        this.threshold = config.getHotKeyThreshold();
+        this.pinTtl = config.getHotKeyPinTtl();
+        this.capacity = config.getHotKeyCapacity();
+        this.guard = guard;
+        this.metricsMonitor = metricsMonitor;
+        this.counters = HashMap.newHashMap(capacity);
+        this.heap = new Counter[capacity];
+        for (int i = 0; i < STRIPES; i++) {
+            this.buffers[i] = new ReadBuffer();
+        }
+    }
+
+    /**
+     * 获取序号快照（读取缓存之前调用）
+     *
+     * @return 序号快照
+     */
+    public long snapshot() {
+        return guard.snapshot();
+    }
+
+    /**
+     * 从短期缓存获取值
+     *
+     * @param key 缓存键
+     * @return 缓存值（如该键未保存到短期缓存，或已过期，或已失效，返回 null）
+     */
+    public CacheValue<V> getPinned(String key) {
+        Pin<V> pin = pins.get(key);
+        if (pin == null) {
+            return null;
+        }
+        if (pin.expireAt <= System.currentTimeMillis() || guard.isStale(key, pin.stamp)) {
+            pins.remove(key, pin);
+            return null;
+        }
+        pin.hits.increment();
+        return pin.value;
+    }
+
+    /**
+     * 从短期缓存批量获取值
+     *
+     * @param keys 缓存键集
+     * @return 已保存到短期缓存且有效的键值对
+     */
+    public Map<String, CacheValue<V>> getAllPinned(Set<String> keys) {
+        if (pins.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, CacheValue<V>> result = new HashMap<>();
+        for (String key : keys) {
+            CacheValue<V> value = this.getPinned(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 记录读取，如为热点键且值有效，则保存到短期缓存
+     *
+     * @param key      缓存键
+     * @param value    从缓存读取到的值
+     * @param snapshot 读取缓存之前的序号快照
+     */
+    public void record(String key, CacheValue<V> value, long snapshot) {
+        long now = System.currentTimeMillis();
+        boolean full = buffers[stripe()].add(key);
+        if (full || now - windowStart >= window) {
+            this.drain(now);
+        }
+        this.pin(key, value, snapshot, now);
+    }
+
+    /**
+     * 批量记录读取，如为热点键且值有效，则保存到短期缓存
+     *
+     * @param keys     缓存键集
+     * @param values   从缓存读取到的键值对
+     * @param snapshot 读取缓存之前的序号快照
+     */
+    public void recordAll(Set<String> keys, Map<String, CacheValue<V>> values, long snapshot) {
+        long now = System.currentTimeMillis();
+        ReadBuffer buffer = buffers[stripe()];
+        boolean drained = false;
+        for (String key : keys) {
+            if (buffer.add(key)) {
+                // 缓冲区已满：汇总后继续添加；如其它线程正在汇总，则丢弃剩余的记录
+                if (!this.drain(now)) {
+                    break;
+                }
+                drained = true;
+            }
+        }
+        if (!drained && now - windowStart >= window) {
+            this.drain(now);
+        }
+        if (values != null) {
+            values.forEach((key, value) -> this.pin(key, value, snapshot, now));
+        }
+    }
+
+    /**
+     * 记录写入或失效操作（应在缓存写入完成之后调用）
+     *
+     * @param key 缓存键
+     */
+    public void invalidate(String key) {
+        guard.invalidate(key);
+        pins.remove(key);
+    }
+
+    /**
+     * 记录批量写入或失效操作（应在缓存写入完成之后调用）
+     *
+     * @param keys 缓存键集
+     */
+    public void invalidateAll(Collection<? extends String> keys) {
+        guard.invalidateAll(keys);
+        if (!pins.isEmpty()) {
+            keys.forEach(pins::remove);
+        }
+    }
+
+    /**
+     * 汇总各分段的读取记录，如统计窗口已结束，则计算热点键
+     * <p>
+     * 如其它线程正在汇总，则直接返回。
+     *
+     * @param now 当前时间
+     * @return 是否已汇总（其它线程正在汇总，返回 false）
+     */
+    private boolean drain(long now) {
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            for (ReadBuffer buffer : buffers) {
+                buffer.drainTo(this::increment);
+            }
+            this.roll(now);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static int stripe() {
+        int h = Long.hashCode(Thread.currentThread().threadId());
+        h ^= (h >>> 16);
+        return h & (STRIPES - 1);
+    }
+
+    private void pin(String key, CacheValue<V> value, long snapshot, long now) {
+        if (value == null || !hotKeys.contains(key) || guard.isStale(key, snapshot)) {
+            return;
+        }
+        pins.put(key, new Pin<>(value, now + pinTtl, snapshot, new LongAdder()));
+    }
+
+    private void increment(String key) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+            this.siftDown(counter.index);
+            return;
+        }
+        if (size < capacity) {
+            counter = new Counter(key, size);
+            heap[size++] = counter;
+            counters.put(key, counter);
+            this.siftUp(counter.index);
+            return;
+        }
+        // 计数器已满，替换计数最小的键，并将其计数作为新键的误差上限
+        Counter min = heap[0];
+        counters.remove(min.key);
+        min.key = key;
+        min.error = min.count;
+        min.count++;
+        counters.put(key, min);
+        this.siftDown(0);
+    }
+
+    /**
+     * 统计窗口结束：计算热点键，重置计数器
+     */
+    private void roll(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < window) {
+            return;
+        }
+        Map<String, Long> reads = HashMap.newHashMap(size + pins.size());
+        for (int i = 0; i < size; i++) {
+            Counter counter = heap[i];
+            reads.put(counter.key, counter.count - counter.error);
+        }
+        pins.forEach((key, pin) -> reads.merge(key, pin.hits.sumThenReset(), Long::sum));
+
+        List<HotKey> detected = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        reads.forEach((key, count) -> {
+            long qps = count * 1000 / elapsed;
+            if (qps >= threshold) {
+                detected.add(new HotKey(key, qps));
+                keys.add(key);
+            }
+        });
+        this.hotKeys = keys;
+        pins.entrySet().removeIf(entry -> !keys.contains(entry.getKey()) && entry.getValue().expireAt <= now);
+
+        counters.clear();
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        windowStart = now;
+
+        if (!detected.isEmpty()) {
+            metricsMonitor.recordHotKeys(detected);
+        }
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            this.place(heap[parent], index);
+            index = parent;
+        }
+        this.place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && heap[right].count < heap[child].count) {
+                child = right;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            this.place(heap[child], index);
+            index = child;
+        }
+        this.place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.index = index;
+    }
+
+    /**
+     * 读取记录缓冲区（单个分段）
+     */
+    private static final class ReadBuffer {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final String[] keys = new String[BUFFER_SIZE];
+
+        private int size;
+
+        /**
+         * 添加读取记录（缓冲区已满则丢弃）
+         *
+         * @param key 缓存键
+         * @return 缓冲区是否已满
+         */
+        private boolean add(String key) {
+            lock.lock();
+            try {
+                if (size < BUFFER_SIZE) {
+                    keys[size++] = key;
+                }
+                return size == BUFFER_SIZE;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 取出所有读取记录
+         *
+         * @param consumer 读取记录的处理函数（释放分段的锁之后执行）
+         */
+        private void drainTo(Consumer<String> consumer) {
+            String[] drained;
+            lock.lock();
+            try {
+                if (size == 0) {
+                    return;
+                }
+                drained = Arrays.copyOf(keys, size);
+                Arrays.fill(keys, 0, size, null);
+                size = 0;
+            } finally {
+                lock.unlock();
+            }
+            for (String key : drained) {
+                consumer.accept(key);
+            }
+        }
+
+    }
+
+    /**
+     * SpaceSaving 计数器
+     */
+    private static final class Counter {
+
+        private String key;
+
+        private long count = 1;
+
+        private long error;
+
+        private int index;
+
+        private Counter(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+    }
+
+    /**
+     * 短期缓存的值
+     *
+     * @param value    缓存值
+     * @param expireAt 过期时间
+     * @param stamp    读取缓存之前的序号快照
+     * @param hits     读取次数（当前统计窗口）
+     */
+    private record Pin<V>(CacheValue<V> value, long expireAt, long stamp, LongAdder hits) {
+    }
+
+}
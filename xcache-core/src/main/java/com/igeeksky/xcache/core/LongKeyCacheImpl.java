@@ -0,0 +1,188 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheLoader;
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.LongKeyCache;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 原始 long 类型键的缓存实现
+ * <p>
+ * 如缓存的键编码结果与 {@link Long#toString(long)} 一致（如 Jackson 键编解码器），
+ * 则直接将键转换为缓存键并读取缓存，无需装箱及调用键编解码器；否则，装箱后调用通用缓存对象。
+ * <p>
+ * 注：缓存层（{@code Store}）的键类型为 String，因此每次读取仍需创建一个缓存键字符串。
+ *
+ * @param <V> 值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class LongKeyCacheImpl<V> implements LongKeyCache<V> {
+
+    // 用于判断键编码结果是否与 Long.toString 一致的样本
+    private static final long[] SAMPLES = {0L, 1L, -1L, 1234567890123456789L, Long.MIN_VALUE, Long.MAX_VALUE};
+
+    private final Cache<Long, V> cache;
+
+    // 可直接使用缓存键读取的缓存对象（为空表示只能通过通用缓存对象读取）
+    private final AbstractCache<Long, V> direct;
+
+    public LongKeyCacheImpl(Cache<Long, V> cache) {
+        this.cache = cache;
+        this.direct = (cache instanceof AbstractCache<Long, V> abstractCache && isDecimal(abstractCache))
+                ? abstractCache : null;
+    }
+
+    /**
+     * 判断缓存的键编码结果是否与 {@link Long#toString(long)} 一致
+     *
+     * @param cache 缓存对象
+     * @return {@code true} – 一致；{@code false} – 不一致
+     */
+    private static boolean isDecimal(AbstractCache<Long, ?> cache) {
+        try {
+            for (long sample : SAMPLES) {
+                if (!Long.toString(sample).equals(cache.toStoreKey(sample))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return cache.getName();
+    }
+
+    @Override
+    public Class<V> getValueType() {
+        return cache.getValueType();
+    }
+
+    @Override
+    public V get(long key) {
+        if (direct == null) {
+            return cache.get(key);
+        }
+        return fromCacheValue(direct.getCacheValueByStoreKey(Long.toString(key)));
+    }
+
+    @Override
+    public CompletableFuture<V> getAsync(long key) {
+        if (direct == null) {
+            return cache.getAsync(key);
+        }
+        return AbstractCache.toValueAsync(direct.getCacheValueByStoreKeyAsync(Long.toString(key)));
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(long key) {
+        if (direct == null) {
+            return cache.getCacheValue(key);
+        }
+        return direct.getCacheValueByStoreKey(Long.toString(key));
+    }
+
+    @Override
+    public V getOrLoad(long key) {
+        if (direct == null) {
+            return cache.getOrLoad(key);
+        }
+        String storeKey = Long.toString(key);
+        CacheValue<V> cacheValue = direct.getCacheValueByStoreKey(storeKey);
+        if (cacheValue != null) {
+            return cacheValue.getValue();
+        }
+        CacheLoader<Long, V> cacheLoader = direct.getCacheLoader();
+        if (cacheLoader == null) {
+            return null;
+        }
+        return direct.loadIfPresent(key, storeKey, cacheLoader);
+    }
+
+    @Override
+    public Map<Long, V> getAll(long[] keys) {
+        return this.getAll(keys, false);
+    }
+
+    @Override
+    public Map<Long, V> getAllOrLoad(long[] keys) {
+        return this.getAll(keys, true);
+    }
+
+    private Map<Long, V> getAll(long[] keys, boolean load) {
+        requireNonNull(keys);
+        if (keys.length == 0) {
+            return Collections.emptyMap();
+        }
+        if (direct == null) {
+            Set<Long> set = HashSet.newHashSet(keys.length);
+            for (long key : keys) {
+                set.add(key);
+            }
+            return load ? cache.getAllOrLoad(set) : cache.getAll(set);
+        }
+
+        String[] storeKeys = new String[keys.length];
+        Set<String> set = HashSet.newHashSet(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            storeKeys[i] = Long.toString(keys[i]);
+            set.add(storeKeys[i]);
+        }
+        Map<String, CacheValue<V>> cacheValues = direct.getAllCacheValuesByStoreKeys(Collections.unmodifiableSet(set));
+
+        CacheLoader<Long, V> cacheLoader = load ? direct.getCacheLoader() : null;
+        Map<Long, V> result = HashMap.newHashMap(cacheLoader != null ? set.size() : cacheValues.size());
+        Map<String, Long> keyMapping = (cacheLoader != null) ? new HashMap<>() : null;
+        for (int i = 0; i < keys.length; i++) {
+            CacheValue<V> cacheValue = cacheValues.get(storeKeys[i]);
+            if (cacheValue == null) {
+                if (keyMapping != null) {
+                    keyMapping.put(storeKeys[i], keys[i]);
+                }
+            } else if (cacheValue.hasValue()) {
+                result.put(keys[i], cacheValue.getValue());
+            }
+        }
+        if (keyMapping == null) {
+            return result;
+        }
+        return direct.loadAndConvert(result, keyMapping, cacheLoader);
+    }
+
+    @Override
+    public void put(long key, V value) {
+        cache.put(key, value);
+    }
+
+    @Override
+    public void remove(long key) {
+        cache.remove(key);
+    }
+
+    @Override
+    public Cache<Long, V> asCache() {
+        return cache;
+    }
+
+    private void requireNonNull(long[] keys) {
+        if (keys == null) {
+            throw new IllegalArgumentException("Cache:[" + cache.getName() + "], keys must not be null.");
+        }
+    }
+
+    private static <V> V fromCacheValue(CacheValue<V> cacheValue) {
+        return (cacheValue != null) ? cacheValue.getValue() : null;
+    }
+
+}
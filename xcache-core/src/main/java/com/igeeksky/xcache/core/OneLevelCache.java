@@ -22,8 +22,11 @@ public class OneLevelCache<K, V> extends AbstractCache<K, V> {
 
     private final Store<V> store;
 
+    private final BackfillGuard guard;
+
     public OneLevelCache(CacheConfig<K, V> config, ExtendConfig<K, V> extend, Store<V>[] stores) {
         super(config, extend);
+        this.guard = extend.getBackfillGuard();
         this.store = getStore(stores, extend.getMetricsMonitor());
     }
 
@@ -105,6 +108,8 @@ public class OneLevelCache<K, V> extends AbstractCache<K, V> {
     @Override
     public void clear() {
         store.clear();
+        // 使热点键的短期缓存失效
+        guard.invalidateAll();
     }
 
 }
\ No newline at end of file
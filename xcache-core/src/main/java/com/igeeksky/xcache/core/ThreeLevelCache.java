@@ -26,15 +26,52 @@ public class ThreeLevelCache<K, V> extends AbstractCache<K, V> {
     private final CacheSyncMonitor syncMonitor;
     @SuppressWarnings("unchecked")
     private final Store<V>[] stores = new Store[LENGTH];
+    private final HedgePolicy hedgePolicy;
+    // 用于将下级缓存数据回填到一级缓存（如启用准入过滤，则仅回填访问频率达到阈值的数据）
+    private final Store<V> promotion;
+    // 回填守卫：读取下级缓存之后如有新的写入或失效操作，则放弃回填
+    private final BackfillGuard guard;
 
     public ThreeLevelCache(CacheConfig<K, V> config, ExtendConfig<K, V> extend, Store<V>[] stores) {
         super(config, extend);
         this.syncMonitor = extend.getSyncMonitor();
+        this.guard = extend.getBackfillGuard();
         CacheMetricsMonitor statMonitor = extend.getMetricsMonitor();
         StoreLevel[] levels = StoreLevel.values();
         for (int i = 0; i < LENGTH; i++) {
-            this.stores[i] = new StoreProxy<>(stores[i], levels[i], statMonitor);
+            Store<V> store = (i > 0) ? CacheHelper.breakerStore(stores[i], levels[i], config, this::recover) : stores[i];
+            this.stores[i] = new StoreProxy<>(store, levels[i], statMonitor);
         }
+        this.promotion = CacheHelper.promotionStore(this.stores[0], config);
+        this.hedgePolicy = new HedgePolicy(StoreLevel.SECOND, statMonitor,
+                config.getHedgeDelay(), config.getHedgePercentile());
+    }
+
+    /**
+     * 下级缓存熔断恢复：删除熔断期间被跳过写入的键（该级缓存可能是旧值），
+     * 同时删除上级缓存中的这些键并发送缓存同步消息（熔断期间可能遗漏了其它实例的缓存同步消息）
+     * <p>
+     * 如需清空缓存，则仅清空发生熔断的缓存的上级缓存：发生熔断的缓存为多个实例共享，不能因单个实例的熔断而清空，
+     * 也不发送清空缓存的同步消息（其它实例的本地缓存并未遗漏本实例的同步消息）；
+     * 发生熔断的缓存中可能残留的旧值依赖其过期时间淘汰。
+     *
+     * @param level 缓存级别
+     * @param keys  熔断期间被跳过写入的键
+     * @param all   是否需清空缓存
+     */
+    private void recover(StoreLevel level, Set<String> keys, boolean all) {
+        if (all) {
+            for (int i = level.ordinal() - 1; i >= 0; i--) {
+                guard.invalidateAll();
+                stores[i].clear();
+            }
+            return;
+        }
+        for (int i = level.ordinal(); i >= 0; i--) {
+            guard.invalidateAll(keys);
+            stores[i].removeAll(keys);
+        }
+        syncMonitor.afterRemoveAll(keys);
     }
 
     @Override
@@ -48,44 +85,109 @@ public class ThreeLevelCache<K, V> extends AbstractCache<K, V> {
         if (cacheValue != null) {
             return cacheValue;
         }
+        long snapshot = guard.snapshot();
         cacheValue = stores[1].getCacheValue(key);
         if (cacheValue != null) {
-            stores[0].put(key, cacheValue.getValue());
+            guard.backfill(promotion, key, cacheValue.getValue(), snapshot);
             return cacheValue;
         }
         cacheValue = stores[2].getCacheValue(key);
         if (cacheValue != null) {
-            stores[1].put(key, cacheValue.getValue());
-            stores[0].put(key, cacheValue.getValue());
+            guard.backfill(stores[1], key, cacheValue.getValue(), snapshot);
+            guard.backfill(promotion, key, cacheValue.getValue(), snapshot);
         }
         return cacheValue;
     }
 
     @Override
     protected CompletableFuture<CacheValue<V>> doGetAsync(String storeKey) {
-        return stores[0].getCacheValueAsync(storeKey)
+        CompletableFuture<CacheValue<V>> future = stores[0].getCacheValueAsync(storeKey);
+        // 一级缓存已命中，直接返回（本地缓存的读取是同步完成的）
+        if (CompletedFutures.isSucceeded(future) && future.getNow(null) != null) {
+            return future;
+        }
+        return future
                 .thenCompose(firstValue -> {
                     if (firstValue != null) {
                         return CompletableFuture.completedFuture(firstValue);
                     }
+                    long snapshot = guard.snapshot();
+                    if (this.hedgePolicy.isEnabled()) {
+                        return this.hedgedGetAsync(storeKey, snapshot);
+                    }
                     return stores[1].getCacheValueAsync(storeKey)
                             .thenCompose(secondValue -> {
                                 if (secondValue != null) {
-                                    stores[0].putAsync(storeKey, secondValue.getValue());
+                                    guard.backfillAsync(promotion, storeKey, secondValue.getValue(), snapshot);
                                     return CompletableFuture.completedFuture(secondValue);
                                 }
-                                return stores[2].getCacheValueAsync(storeKey)
-                                        .whenComplete((thirdValue, t) -> {
-                                            if (t == null && thirdValue != null) {
-                                                V value = thirdValue.getValue();
-                                                stores[1].putAsync(storeKey, value)
-                                                        .thenCompose(vod -> stores[0].putAsync(storeKey, value));
-                                            }
-                                        });
+                                return this.getThirdAsync(storeKey, snapshot);
                             });
                 });
     }
 
+    /**
+     * 对冲读取二级缓存和三级缓存
+     * <p>
+     * 二级缓存读取超过延迟阈值仍未返回时，同时读取三级缓存，并采用先返回的非空结果。
+     *
+     * @param storeKey 缓存键
+     * @param snapshot 读取下级缓存之前的序号快照
+     * @return 缓存值
+     */
+    private CompletableFuture<CacheValue<V>> hedgedGetAsync(String storeKey, long snapshot) {
+        return this.hedgePolicy.read(
+                        () -> stores[1].getCacheValueAsync(storeKey).thenApply(v -> new LevelValue<>(StoreLevel.SECOND, v)),
+                        () -> stores[2].getCacheValueAsync(storeKey).thenApply(v -> new LevelValue<>(StoreLevel.THIRD, v)),
+                        levelValue -> levelValue.cacheValue() != null)
+                .thenCompose(levelValue -> {
+                    CacheValue<V> cacheValue = levelValue.cacheValue();
+                    if (levelValue.level() == StoreLevel.SECOND) {
+                        if (cacheValue != null) {
+                            guard.backfillAsync(promotion, storeKey, cacheValue.getValue(), snapshot);
+                            return CompletableFuture.completedFuture(cacheValue);
+                        }
+                        // 二级缓存未命中，且未能取得三级缓存的结果
+                        return this.getThirdAsync(storeKey, snapshot);
+                    }
+                    if (cacheValue != null) {
+                        this.backfillThirdAsync(storeKey, cacheValue.getValue(), snapshot);
+                    }
+                    return CompletableFuture.completedFuture(cacheValue);
+                });
+    }
+
+    private CompletableFuture<CacheValue<V>> getThirdAsync(String storeKey, long snapshot) {
+        return stores[2].getCacheValueAsync(storeKey)
+                .whenComplete((thirdValue, t) -> {
+                    if (t == null && thirdValue != null) {
+                        this.backfillThirdAsync(storeKey, thirdValue.getValue(), snapshot);
+                    }
+                });
+    }
+
+    /**
+     * 将三级缓存数据回填到二级缓存和一级缓存
+     *
+     * @param storeKey 缓存键
+     * @param value    缓存值
+     * @param snapshot 读取下级缓存之前的序号快照
+     */
+    private void backfillThirdAsync(String storeKey, V value, long snapshot) {
+        guard.backfillAsync(stores[1], storeKey, value, snapshot)
+                .thenCompose(vod -> guard.backfillAsync(promotion, storeKey, value, snapshot));
+    }
+
+    /**
+     * 对冲读取结果
+     *
+     * @param level      结果来源的缓存级别
+     * @param cacheValue 缓存值
+     * @param <V>        缓存值类型
+     */
+    private record LevelValue<V>(StoreLevel level, CacheValue<V> cacheValue) {
+    }
+
     @Override
     protected Map<String, CacheValue<V>> doGetAll(Set<String> keys) {
         Set<String> cloneKeys = new HashSet<>(keys);
@@ -94,13 +196,14 @@ public class ThreeLevelCache<K, V> extends AbstractCache<K, V> {
         if (cloneKeys.isEmpty()) {
             return firstAll;
         }
+        long snapshot = guard.snapshot();
         Map<String, CacheValue<V>> secondAll = stores[1].getAllCacheValues(cloneKeys);
         CacheHelper.removeHitKeys(cloneKeys, secondAll);
         if (cloneKeys.isEmpty()) {
-            return CacheHelper.mergeResult(firstAll, secondAll, stores[0]);
+            return CacheHelper.mergeResult(firstAll, secondAll, promotion, guard, snapshot);
         }
         Map<String, CacheValue<V>> thirdAll = stores[2].getAllCacheValues(cloneKeys);
-        return CacheHelper.mergeResult(firstAll, secondAll, thirdAll, stores[0], stores[1]);
+        return CacheHelper.mergeResult(firstAll, secondAll, thirdAll, promotion, stores[1], guard, snapshot);
     }
 
     @Override
@@ -112,72 +215,104 @@ public class ThreeLevelCache<K, V> extends AbstractCache<K, V> {
                     if (cloneKeys.isEmpty()) {
                         return CompletableFuture.completedFuture(firstAll);
                     }
+                    long snapshot = guard.snapshot();
                     return stores[1].getAllCacheValuesAsync(cloneKeys)
                             .thenCompose(secondAll -> {
                                 CacheHelper.removeHitKeys(cloneKeys, secondAll);
                                 if (cloneKeys.isEmpty()) {
-                                    Map<String, CacheValue<V>> result = CacheHelper.mergeResult(firstAll, secondAll, stores[0]);
+                                    Map<String, CacheValue<V>> result = CacheHelper.mergeResult(firstAll, secondAll, promotion, guard, snapshot);
                                     return CompletableFuture.completedFuture(result);
                                 }
                                 return stores[2].getAllCacheValuesAsync(cloneKeys)
-                                        .thenApply(thirdAll -> CacheHelper.mergeResult(firstAll, secondAll, thirdAll, stores[0], stores[1]));
+                                        .thenApply(thirdAll -> CacheHelper.mergeResult(firstAll, secondAll, thirdAll, promotion, stores[1], guard, snapshot));
                             });
                 });
     }
 
     @Override
     protected void doPut(String key, V value) {
+        guard.invalidate(key);
         stores[2].put(key, value);
+        // 下级缓存写入期间，读取者可能已获取快照并读到旧值：写入上级缓存之前再次记录，使其放弃回填
+        guard.invalidate(key);
         stores[1].put(key, value);
+        guard.invalidate(key);
         stores[0].put(key, value);
-        syncMonitor.afterPut(key);
+        syncMonitor.afterPut(key, value);
     }
 
     @Override
     protected CompletableFuture<Void> doPutAsync(String key, V value) {
+        guard.invalidate(key);
         return stores[2].putAsync(key, value)
-                .thenCompose(ignored -> stores[1].putAsync(key, value))
-                .thenCompose(ignored -> stores[0].putAsync(key, value))
+                .thenCompose(ignored -> {
+                    guard.invalidate(key);
+                    return stores[1].putAsync(key, value);
+                })
+                .thenCompose(ignored -> {
+                    guard.invalidate(key);
+                    return stores[0].putAsync(key, value);
+                })
                 .whenComplete((ignored, throwable) -> {
                     if (throwable == null) {
-                        syncMonitor.afterPut(key);
+                        syncMonitor.afterPut(key, value);
                     }
                 });
     }
 
     @Override
     protected void doPutAll(Map<String, ? extends V> keyValues) {
+        guard.invalidateAll(keyValues.keySet());
         stores[2].putAll(keyValues);
+        guard.invalidateAll(keyValues.keySet());
         stores[1].putAll(keyValues);
+        guard.invalidateAll(keyValues.keySet());
         stores[0].putAll(keyValues);
-        syncMonitor.afterPutAll(keyValues.keySet());
+        syncMonitor.afterPutAll(keyValues);
     }
 
     @Override
     protected CompletableFuture<Void> doPutAllAsync(Map<String, ? extends V> keyValues) {
+        guard.invalidateAll(keyValues.keySet());
         return stores[2].putAllAsync(keyValues)
-                .thenCompose(ignored -> stores[1].putAllAsync(keyValues))
-                .thenCompose(ignored -> stores[0].putAllAsync(keyValues))
+                .thenCompose(ignored -> {
+                    guard.invalidateAll(keyValues.keySet());
+                    return stores[1].putAllAsync(keyValues);
+                })
+                .thenCompose(ignored -> {
+                    guard.invalidateAll(keyValues.keySet());
+                    return stores[0].putAllAsync(keyValues);
+                })
                 .whenComplete((ignored, throwable) -> {
                     if (throwable == null) {
-                        syncMonitor.afterPutAll(keyValues.keySet());
+                        syncMonitor.afterPutAll(keyValues);
                     }
                 });
     }
 
     @Override
     protected void doRemove(String key) {
+        guard.invalidate(key);
         stores[2].remove(key);
+        guard.invalidate(key);
         stores[1].remove(key);
+        guard.invalidate(key);
         stores[0].remove(key);
         syncMonitor.afterRemove(key);
     }
 
     @Override
     protected CompletableFuture<Void> doRemoveAsync(String key) {
+        guard.invalidate(key);
         return stores[2].removeAsync(key)
-                .thenCompose(ignored -> stores[1].removeAsync(key))
-                .thenCompose(ignored -> stores[0].removeAsync(key))
+                .thenCompose(ignored -> {
+                    guard.invalidate(key);
+                    return stores[1].removeAsync(key);
+                })
+                .thenCompose(ignored -> {
+                    guard.invalidate(key);
+                    return stores[0].removeAsync(key);
+                })
                 .whenComplete((ignored, throwable) -> {
                     if (throwable == null) {
                         syncMonitor.afterRemove(key);
@@ -187,17 +322,27 @@ public class ThreeLevelCache<K, V> extends AbstractCache<K, V> {
 
     @Override
     protected void doRemoveAll(Set<String> keys) {
+        guard.invalidateAll(keys);
         stores[2].removeAll(keys);
+        guard.invalidateAll(keys);
         stores[1].removeAll(keys);
+        guard.invalidateAll(keys);
         stores[0].removeAll(keys);
         syncMonitor.afterRemoveAll(keys);
     }
 
     @Override
     protected CompletableFuture<Void> doRemoveAllAsync(Set<String> keys) {
+        guard.invalidateAll(keys);
         return stores[2].removeAllAsync(keys)
-                .thenCompose(ignored -> stores[1].removeAllAsync(keys))
-                .thenCompose(ignored -> stores[0].removeAllAsync(keys))
+                .thenCompose(ignored -> {
+                    guard.invalidateAll(keys);
+                    return stores[1].removeAllAsync(keys);
+                })
+                .thenCompose(ignored -> {
+                    guard.invalidateAll(keys);
+                    return stores[0].removeAllAsync(keys);
+                })
                 .whenComplete((ignored, throwable) -> {
                     if (throwable == null) {
                         syncMonitor.afterRemoveAll(keys);
@@ -207,8 +352,11 @@ public class ThreeLevelCache<K, V> extends AbstractCache<K, V> {
 
     @Override
     public void clear() {
+        guard.invalidateAll();
         stores[2].clear();
+        guard.invalidateAll();
         stores[1].clear();
+        guard.invalidateAll();
         stores[0].clear();
         syncMonitor.afterClear();
     }
@@ -2,7 +2,9 @@ package com.igeeksky.xcache.core;
 
 import com.igeeksky.xcache.common.CacheValue;
 import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.CircuitBreakerStore;
 import com.igeeksky.xcache.core.store.StoreProxy;
+import com.igeeksky.xcache.core.store.WriteBehindStore;
 import com.igeeksky.xcache.extension.metrics.CacheMetricsMonitor;
 import com.igeeksky.xcache.extension.sync.CacheSyncMonitor;
 import com.igeeksky.xcache.props.StoreLevel;
@@ -27,27 +29,78 @@ public class TwoLevelCache<K, V> extends AbstractCache<K, V> {
 
     private final Store<V> second;
 
+    // 用于将二级缓存数据回填到一级缓存（如启用准入过滤，则仅回填访问频率达到阈值的数据）
+    private final Store<V> promotion;
+
     private final CacheSyncMonitor syncMonitor;
 
+    private final HedgePolicy hedgePolicy;
+
+    // 回填守卫：读取二级缓存之后如有新的写入或失效操作，则放弃回填
+    private final BackfillGuard guard;
+
+    // 写回存储（为空表示不启用写回模式）
+    private final WriteBehindStore<V> writeBehind;
+
     public TwoLevelCache(CacheConfig<K, V> config, ExtendConfig<K, V> extend, Store<V>[] stores) {
         super(config, extend);
         this.syncMonitor = extend.getSyncMonitor();
+        this.guard = extend.getBackfillGuard();
         AtomicInteger index = new AtomicInteger(0);
-        this.first = getStore(stores, index, extend.getMetricsMonitor());
-        this.second = getStore(stores, index, extend.getMetricsMonitor());
+        this.first = getStore(stores, index, extend.getMetricsMonitor(), null, null);
+        this.promotion = CacheHelper.promotionStore(this.first, config);
+        StoreProxy<V> secondProxy = getStore(stores, index, extend.getMetricsMonitor(), config, this::recover);
+        if (config.getWriteBehindCapacity() > 0) {
+            this.writeBehind = new WriteBehindStore<>(config.getName(), secondProxy, config.getWriteBehindCapacity(),
+                    config.getWriteBehindBatchSize(), config.getWriteBehindPeriod(), config.isWriteBehindNullValue(),
+                    this::afterFlush, this::afterFlushFailed);
+            this.second = this.writeBehind;
+        } else {
+            this.writeBehind = null;
+            this.second = secondProxy;
+        }
+        this.hedgePolicy = new HedgePolicy(secondProxy.getLevel(), extend.getMetricsMonitor(),
+                config.getHedgeDelay(), config.getHedgePercentile());
     }
 
-    private static <V> Store<V> getStore(Store<V>[] stores, AtomicInteger index, CacheMetricsMonitor statMonitor) {
+    private static <V> StoreProxy<V> getStore(Store<V>[] stores, AtomicInteger index, CacheMetricsMonitor statMonitor,
+                                              CacheConfig<?, V> config, CircuitBreakerStore.RecoveryListener listener) {
         StoreLevel[] levels = StoreLevel.values();
         while (index.get() < stores.length) {
             int i = index.getAndIncrement();
             if (stores[i] != null) {
-                return new StoreProxy<>(stores[i], levels[i], statMonitor);
+                Store<V> store = (config != null) ? CacheHelper.breakerStore(stores[i], levels[i], config, listener) : stores[i];
+                return new StoreProxy<>(store, levels[i], statMonitor);
             }
         }
         return null;
     }
 
+    /**
+     * 二级缓存熔断恢复：删除熔断期间被跳过写入的键（二级缓存可能是旧值），
+     * 同时删除一级缓存中的这些键并发送缓存同步消息（熔断期间可能遗漏了其它实例的缓存同步消息）
+     * <p>
+     * 如需清空缓存，则仅清空本实例的一级缓存：二级缓存为多个实例共享，不能因单个实例的熔断而清空，
+     * 也不发送清空缓存的同步消息（其它实例的一级缓存并未遗漏本实例的同步消息）；
+     * 二级缓存中可能残留的旧值依赖其过期时间淘汰。
+     *
+     * @param level 缓存级别
+     * @param keys  熔断期间被跳过写入的键
+     * @param all   是否需清空缓存
+     */
+    private void recover(StoreLevel level, Set<String> keys, boolean all) {
+        if (all) {
+            guard.invalidateAll();
+            first.clear();
+            return;
+        }
+        guard.invalidateAll(keys);
+        second.removeAll(keys);
+        guard.invalidateAll(keys);
+        first.removeAll(keys);
+        syncMonitor.afterRemoveAll(keys);
+    }
+
     @Override
     protected boolean contains(String key) {
         return second.getCacheValue(key) != null;
@@ -60,9 +113,10 @@ public class TwoLevelCache<K, V> extends AbstractCache<K, V> {
             return cacheValue;
         }
 
+        long snapshot = guard.snapshot();
         cacheValue = second.getCacheValue(key);
         if (cacheValue != null) {
-            first.put(key, cacheValue.getValue());
+            guard.backfill(promotion, key, cacheValue.getValue(), snapshot);
         }
 
         return cacheValue;
@@ -70,20 +124,45 @@ public class TwoLevelCache<K, V> extends AbstractCache<K, V> {
 
     @Override
     protected CompletableFuture<CacheValue<V>> doGetAsync(String storeKey) {
-        return first.getCacheValueAsync(storeKey)
+        CompletableFuture<CacheValue<V>> future = first.getCacheValueAsync(storeKey);
+        // 一级缓存已命中，直接返回（本地缓存的读取是同步完成的）
+        if (CompletedFutures.isSucceeded(future) && future.getNow(null) != null) {
+            return future;
+        }
+        return future
                 .thenCompose(firstValue -> {
                     if (firstValue != null) {
                         return CompletableFuture.completedFuture(firstValue);
                     }
-                    return second.getCacheValueAsync(storeKey)
+                    long snapshot = guard.snapshot();
+                    return this.getSecondAsync(storeKey)
                             .whenComplete((secondValue, t) -> {
                                 if (secondValue != null) {
-                                    first.putAsync(storeKey, secondValue.getValue());
+                                    guard.backfillAsync(promotion, storeKey, secondValue.getValue(), snapshot);
                                 }
                             });
                 });
     }
 
+    /**
+     * 读取二级缓存
+     * <p>
+     * 如启用对冲读取，二级缓存读取超过延迟阈值仍未返回时，再次读取二级缓存，并采用先返回的结果。
+     * <p>
+     * 注意：两级缓存没有下一级缓存可供对冲，再次读取使用的是同一存储（同一连接），
+     * 因此这只是一次带延迟的重试：可以规避单次请求丢失或偶发阻塞，但无法规避节点或连接整体变慢。
+     *
+     * @param storeKey 缓存键
+     * @return 二级缓存值
+     */
+    private CompletableFuture<CacheValue<V>> getSecondAsync(String storeKey) {
+        if (!this.hedgePolicy.isEnabled()) {
+            return second.getCacheValueAsync(storeKey);
+        }
+        return this.hedgePolicy.read(() -> second.getCacheValueAsync(storeKey),
+                () -> second.getCacheValueAsync(storeKey), secondValue -> true);
+    }
+
     @Override
     protected Map<String, CacheValue<V>> doGetAll(Set<String> keys) {
         // 复制键集
@@ -96,8 +175,9 @@ public class TwoLevelCache<K, V> extends AbstractCache<K, V> {
             return firstAll;
         }
         // 从二级缓存查询数据，并添加到最终结果集
+        long snapshot = guard.snapshot();
         Map<String, CacheValue<V>> secondAll = second.getAllCacheValues(cloneKeys);
-        return CacheHelper.mergeResult(firstAll, secondAll, first);
+        return CacheHelper.mergeResult(firstAll, secondAll, promotion, guard, snapshot);
     }
 
     @Override
@@ -109,86 +189,189 @@ public class TwoLevelCache<K, V> extends AbstractCache<K, V> {
                     if (cloneKeys.isEmpty()) {
                         return CompletableFuture.completedFuture(firstAll);
                     }
+                    long snapshot = guard.snapshot();
                     return second.getAllCacheValuesAsync(cloneKeys)
-                            .thenApply((secondAll) -> CacheHelper.mergeResult(firstAll, secondAll, first));
+                            .thenApply((secondAll) -> CacheHelper.mergeResult(firstAll, secondAll, promotion, guard, snapshot));
                 });
     }
 
+    /**
+     * 写回模式：批量写入二级缓存成功后，发送缓存数据同步消息
+     * <p>
+     * 与直接写入相同，已写入的键值对按更新消息发送（如启用），其它节点可直接更新一级缓存。
+     *
+     * @param putKeyValues 已写入的键值对
+     * @param removeKeys   已删除的键集
+     */
+    private void afterFlush(Map<String, V> putKeyValues, Set<String> removeKeys) {
+        if (!putKeyValues.isEmpty()) {
+            syncMonitor.afterPutAll(putKeyValues);
+        }
+        if (!removeKeys.isEmpty()) {
+            syncMonitor.afterRemoveAll(removeKeys);
+        }
+    }
+
+    /**
+     * 写回模式：多次重试依然无法写入二级缓存，则使这些键失效
+     * <p>
+     * 删除本地一级缓存中未能持久化的值，并通知其它节点删除一级缓存，
+     * 以避免各节点继续使用与二级缓存不一致的数据（二级缓存中的旧值由写回存储尝试删除）。
+     *
+     * @param keys 已放弃写入的键集
+     */
+    private void afterFlushFailed(Set<String> keys) {
+        guard.invalidateAll(keys);
+        first.removeAll(keys);
+        syncMonitor.afterRemoveAll(keys);
+    }
+
+    @Override
+    protected CompletableFuture<Void> shutdownAsync() {
+        if (writeBehind == null) {
+            return super.shutdownAsync();
+        }
+        return writeBehind.closeAsync();
+    }
+
     @Override
     protected void doPut(String key, V value) {
+        guard.invalidate(key);
+        if (writeBehind != null) {
+            first.put(key, value);
+            writeBehind.put(key, value);
+            return;
+        }
         second.put(key, value);
+        // 二级缓存写入期间，读取者可能已获取快照并读到旧值：写入一级缓存之前再次记录，使其放弃回填
+        guard.invalidate(key);
         first.put(key, value);
-        syncMonitor.afterPut(key);
+        syncMonitor.afterPut(key, value);
     }
 
     @Override
     protected CompletableFuture<Void> doPutAsync(String key, V value) {
+        guard.invalidate(key);
+        if (writeBehind != null) {
+            return first.putAsync(key, value)
+                    .thenCompose(vod -> writeBehind.putAsync(key, value));
+        }
         return second.putAsync(key, value)
-                .thenCompose(vod -> first.putAsync(key, value))
+                .thenCompose(vod -> {
+                    guard.invalidate(key);
+                    return first.putAsync(key, value);
+                })
                 .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
-                        syncMonitor.afterPut(key);
+                        syncMonitor.afterPut(key, value);
                     }
                 });
     }
 
     @Override
     protected void doPutAll(Map<String, ? extends V> keyValues) {
+        guard.invalidateAll(keyValues.keySet());
+        if (writeBehind != null) {
+            first.putAll(keyValues);
+            writeBehind.putAll(keyValues);
+            return;
+        }
         second.putAll(keyValues);
+        guard.invalidateAll(keyValues.keySet());
         first.putAll(keyValues);
-        syncMonitor.afterPutAll(keyValues.keySet());
+        syncMonitor.afterPutAll(keyValues);
     }
 
     @Override
     protected CompletableFuture<Void> doPutAllAsync(Map<String, ? extends V> keyValues) {
+        guard.invalidateAll(keyValues.keySet());
+        if (writeBehind != null) {
+            return first.putAllAsync(keyValues)
+                    .thenCompose(vod -> writeBehind.putAllAsync(keyValues));
+        }
         return second.putAllAsync(keyValues)
                 .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
-                        syncMonitor.afterPutAll(keyValues.keySet());
+                        syncMonitor.afterPutAll(keyValues);
                     }
                 })
-                .thenCompose(vod -> first.putAllAsync(keyValues));
+                .thenCompose(vod -> {
+                    guard.invalidateAll(keyValues.keySet());
+                    return first.putAllAsync(keyValues);
+                });
     }
 
     @Override
     protected void doRemove(String key) {
+        guard.invalidate(key);
+        if (writeBehind != null) {
+            first.remove(key);
+            writeBehind.remove(key);
+            return;
+        }
         second.remove(key);
+        guard.invalidate(key);
         first.remove(key);
         syncMonitor.afterRemove(key);
     }
 
     @Override
     protected CompletableFuture<Void> doRemoveAsync(String key) {
+        guard.invalidate(key);
+        if (writeBehind != null) {
+            return first.removeAsync(key)
+                    .thenCompose(vod -> writeBehind.removeAsync(key));
+        }
         return second.removeAsync(key)
                 .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
                         syncMonitor.afterRemove(key);
                     }
                 })
-                .thenCompose(vod -> first.removeAsync(key));
+                .thenCompose(vod -> {
+                    guard.invalidate(key);
+                    return first.removeAsync(key);
+                });
     }
 
     @Override
     protected void doRemoveAll(Set<String> keys) {
+        guard.invalidateAll(keys);
+        if (writeBehind != null) {
+            first.removeAll(keys);
+            writeBehind.removeAll(keys);
+            return;
+        }
         second.removeAll(keys);
+        guard.invalidateAll(keys);
         first.removeAll(keys);
         syncMonitor.afterRemoveAll(keys);
     }
 
     @Override
     protected CompletableFuture<Void> doRemoveAllAsync(Set<String> keys) {
+        guard.invalidateAll(keys);
+        if (writeBehind != null) {
+            return first.removeAllAsync(keys)
+                    .thenCompose(vod -> writeBehind.removeAllAsync(keys));
+        }
         return second.removeAllAsync(keys)
                 .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
                         syncMonitor.afterRemoveAll(keys);
                     }
                 })
-                .thenCompose(vod -> first.removeAllAsync(keys));
+                .thenCompose(vod -> {
+                    guard.invalidateAll(keys);
+                    return first.removeAllAsync(keys);
+                });
     }
 
     @Override
     public void clear() {
+        guard.invalidateAll();
         second.clear();
+        guard.invalidateAll();
         first.clear();
         syncMonitor.afterClear();
     }
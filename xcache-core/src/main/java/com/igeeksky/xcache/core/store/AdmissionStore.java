@@ -0,0 +1,135 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 准入过滤存储
+ * <p>
+ * 用于将下级缓存的数据回填到一级缓存：仅当键的估算访问频率达到 {@code threshold} 时才写入，
+ * 以避免仅访问一次的数据挤占一级缓存容量。
+ * <p>
+ * 仅过滤写入操作，其它操作均直接调用被代理的存储。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class AdmissionStore<V> implements Store<V> {
+
+    private final Store<V> store;
+
+    private final FrequencySketch sketch;
+
+    private final int threshold;
+
+    /**
+     * 准入过滤存储
+     *
+     * @param store     被代理的存储
+     * @param capacity  被代理的存储的最大容量（用于确定计数器数量）
+     * @param threshold 准入阈值（估算访问频率达到此值才写入，最大值为 15）
+     */
+    public AdmissionStore(Store<V> store, long capacity, int threshold) {
+        this.store = store;
+        this.sketch = new FrequencySketch(capacity);
+        this.threshold = Math.min(threshold, 15);
+    }
+
+    private boolean admit(String key) {
+        return sketch.increment(key) >= threshold;
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        return store.getCacheValue(key);
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        return store.getCacheValueAsync(key);
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        return store.getAllCacheValues(keys);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        return store.getAllCacheValuesAsync(keys);
+    }
+
+    @Override
+    public void put(String key, V value) {
+        if (this.admit(key)) {
+            store.put(key, value);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        if (this.admit(key)) {
+            return store.putAsync(key, value);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        Map<String, V> admitted = this.filter(keyValues);
+        if (!admitted.isEmpty()) {
+            store.putAll(admitted);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        Map<String, V> admitted = this.filter(keyValues);
+        if (!admitted.isEmpty()) {
+            return store.putAllAsync(admitted);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private Map<String, V> filter(Map<? extends String, ? extends V> keyValues) {
+        Map<String, V> admitted = HashMap.newHashMap(keyValues.size());
+        keyValues.forEach((key, value) -> {
+            if (this.admit(key)) {
+                admitted.put(key, value);
+            }
+        });
+        return admitted;
+    }
+
+    @Override
+    public void remove(String key) {
+        store.remove(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        return store.removeAsync(key);
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        store.removeAll(keys);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        return store.removeAllAsync(keys);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 合并查询存储
+ * <p>
+ * 收集时间窗口内并发的单键异步查询，合并为一次批量查询，再将结果分发给各个调用者，以减少网络往返次数。
+ * <p>
+ * 当首个查询到达时开启新批次，并在 {@code window} 时长后执行批量查询；
+ * 如批次内的键数量达到 {@code batchSize}，则立即执行批量查询。
+ * <p>
+ * 同一批次内的重复键仅查询一次；其它操作均直接调用被代理的存储。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class BatchGetStore<V> implements Store<V> {
+
+    private final Store<V> store;
+
+    private final int batchSize;
+
+    private final Executor delayedExecutor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 当前批次（缓存键 - 查询任务），需持有 lock 才能访问
+     */
+    private Map<String, CompletableFuture<CacheValue<V>>> batch;
+
+    /**
+     * 合并查询存储
+     *
+     * @param store     被代理的存储
+     * @param batchSize 单批次最大键数量
+     * @param window    时间窗口（单位：微秒）
+     */
+    public BatchGetStore(Store<V> store, int batchSize, long window) {
+        this.store = store;
+        this.batchSize = batchSize;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(Math.max(0, window), TimeUnit.MICROSECONDS);
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        return store.getCacheValue(key);
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        CompletableFuture<CacheValue<V>> future;
+        Map<String, CompletableFuture<CacheValue<V>>> full = null;
+        Map<String, CompletableFuture<CacheValue<V>>> created = null;
+        lock.lock();
+        try {
+            if (batch == null) {
+                batch = new LinkedHashMap<>();
+                created = batch;
+            }
+            future = batch.get(key);
+            if (future != null) {
+                return future.copy();
+            }
+            future = new CompletableFuture<>();
+            batch.put(key, future);
+            if (batch.size() >= batchSize) {
+                full = batch;
+                batch = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full != null) {
+            this.dispatch(full);
+        } else if (created != null) {
+            Map<String, CompletableFuture<CacheValue<V>>> expected = created;
+            delayedExecutor.execute(() -> this.flush(expected));
+        }
+        // 每个调用者均得到独立的副本，避免调用者取消或完成任务影响同一批次的其它调用者
+        return future.copy();
+    }
+
+    /**
+     * 时间窗口结束，如批次尚未执行，则执行批量查询
+     *
+     * @param expected 开启时间窗口时的批次
+     */
+    private void flush(Map<String, CompletableFuture<CacheValue<V>>> expected) {
+        lock.lock();
+        try {
+            if (batch != expected) {
+                // 已因数量达到阈值而执行
+                return;
+            }
+            batch = null;
+        } finally {
+            lock.unlock();
+        }
+        this.dispatch(expected);
+    }
+
+    /**
+     * 执行批量查询，并将结果分发给各个调用者
+     *
+     * @param futures 批次（缓存键 - 查询任务）
+     */
+    private void dispatch(Map<String, CompletableFuture<CacheValue<V>>> futures) {
+        CompletableFuture<Map<String, CacheValue<V>>> result;
+        try {
+            result = store.getAllCacheValuesAsync(Collections.unmodifiableSet(futures.keySet()));
+        } catch (Throwable e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((cacheValues, throwable) -> futures.forEach((key, future) -> {
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(cacheValues.get(key));
+            }
+        }));
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        return store.getAllCacheValues(keys);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        return store.getAllCacheValuesAsync(keys);
+    }
+
+    @Override
+    public void put(String key, V value) {
+        store.put(key, value);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        return store.putAsync(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        store.putAll(keyValues);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        return store.putAllAsync(keyValues);
+    }
+
+    @Override
+    public void remove(String key) {
+        store.remove(key);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        return store.removeAsync(key);
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        store.removeAll(keys);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        return store.removeAllAsync(keys);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+}
@@ -0,0 +1,473 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.CompletedFutures;
+import com.igeeksky.xcache.props.StoreLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 熔断存储
+ * <p>
+ * 统计被代理存储的调用结果（异常或耗时达到慢调用阈值均视为失败），失败率达到阈值时熔断：<br>
+ * 1. 熔断期间，读取直接视为未命中，写入直接跳过，并记录被跳过写入的键；<br>
+ * 2. 熔断持续时间结束后进入半开状态，仅允许少量探测调用，其余调用依然按熔断处理；<br>
+ * 3. 探测调用均成功则关闭熔断器，并通知 {@link RecoveryListener} 处理被跳过写入的键；任一探测调用失败则再次熔断。
+ * <p>
+ * 每次状态切换均创建新的 {@link Phase}，调用结果仅计入发出该调用时的阶段：
+ * 如调用完成时已切换到其它阶段（如熔断前发出的慢调用在半开状态下才完成），则忽略该结果。
+ * <p>
+ * 从而将外部缓存的短时故障转变为命中率下降，而非大量线程阻塞等待超时。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class CircuitBreakerStore<V> implements Store<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreakerStore.class);
+
+    // 统计窗口时长（单位：毫秒）
+    private static final long WINDOW = 10000;
+
+    // 半开状态的探测调用次数
+    private static final int PROBES = 3;
+
+    // 记录被跳过写入的键的最大数量（超出则恢复时清空上级缓存）
+    private static final int MAX_SKIPPED = 100000;
+
+    private final String name;
+
+    private final Store<V> store;
+
+    private final StoreLevel level;
+
+    private final double failureRate;
+
+    private final long slowCallNanos;
+
+    private final long openDuration;
+
+    private final int minCalls;
+
+    private final RecoveryListener listener;
+
+    private final AtomicReference<Phase> phase = new AtomicReference<>(new Phase(State.CLOSED, 0));
+
+    private volatile Window window = new Window(System.currentTimeMillis());
+
+    // 熔断期间被跳过写入的键
+    private final Set<String> skipped = ConcurrentHashMap.newKeySet();
+
+    // 熔断期间是否跳过了清空操作，或被跳过写入的键的数量超出上限
+    private final AtomicBoolean skippedAll = new AtomicBoolean();
+
+    /**
+     * 熔断存储
+     *
+     * @param name         缓存名称
+     * @param store        被代理的存储
+     * @param level        缓存级别
+     * @param failureRate  失败率阈值，取值范围 (0, 1]
+     * @param slowCall     慢调用阈值（单位：毫秒，小于等于 0 表示仅统计异常）
+     * @param openDuration 熔断持续时间（单位：毫秒）
+     * @param minCalls     最小调用次数（统计窗口内调用次数小于此值时不计算失败率）
+     * @param listener     熔断恢复监听器
+     */
+    public CircuitBreakerStore(String name, Store<V> store, StoreLevel level, double failureRate, long slowCall,
+                               long openDuration, int minCalls, RecoveryListener listener) {
+        this.name = name;
+        this.store = store;
+        this.level = level;
+        this.failureRate = failureRate;
+        this.slowCallNanos = (slowCall > 0) ? TimeUnit.MILLISECONDS.toNanos(slowCall) : 0;
+        this.openDuration = openDuration;
+        this.minCalls = minCalls;
+        this.listener = listener;
+    }
+
+    /**
+     * 熔断器是否处于关闭状态
+     *
+     * @return {@code true} 关闭（正常调用）；{@code false} 打开或半开
+     */
+    public boolean isClosed() {
+        return phase.get().state == State.CLOSED;
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        return this.call(() -> store.getCacheValue(key), null);
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        return this.callAsync(() -> store.getCacheValueAsync(key), null);
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        return this.call(() -> store.getAllCacheValues(keys), Collections.emptyMap());
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        return this.callAsync(() -> store.getAllCacheValuesAsync(keys), Collections.emptyMap());
+    }
+
+    @Override
+    public void put(String key, V value) {
+        Phase current = this.acquire();
+        if (current != null) {
+            this.call(current, () -> {
+                store.put(key, value);
+                return null;
+            });
+        } else {
+            this.skip(key);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        Phase current = this.acquire();
+        if (current != null) {
+            return this.callAsync(current, () -> store.putAsync(key, value));
+        }
+        this.skip(key);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        Phase current = this.acquire();
+        if (current != null) {
+            this.call(current, () -> {
+                store.putAll(keyValues);
+                return null;
+            });
+        } else {
+            this.skipAll(keyValues.keySet());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        Phase current = this.acquire();
+        if (current != null) {
+            return this.callAsync(current, () -> store.putAllAsync(keyValues));
+        }
+        this.skipAll(keyValues.keySet());
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void remove(String key) {
+        Phase current = this.acquire();
+        if (current != null) {
+            this.call(current, () -> {
+                store.remove(key);
+                return null;
+            });
+        } else {
+            this.skip(key);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        Phase current = this.acquire();
+        if (current != null) {
+            return this.callAsync(current, () -> store.removeAsync(key));
+        }
+        this.skip(key);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        Phase current = this.acquire();
+        if (current != null) {
+            this.call(current, () -> {
+                store.removeAll(keys);
+                return null;
+            });
+        } else {
+            this.skipAll(keys);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        Phase current = this.acquire();
+        if (current != null) {
+            return this.callAsync(current, () -> store.removeAllAsync(keys));
+        }
+        this.skipAll(keys);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void clear() {
+        Phase current = this.acquire();
+        if (current != null) {
+            this.call(current, () -> {
+                store.clear();
+                return null;
+            });
+        } else {
+            this.skippedAll.set(true);
+        }
+    }
+
+    /**
+     * 读取操作：如熔断则返回 fallback
+     */
+    private <T> T call(Supplier<T> supplier, T fallback) {
+        Phase current = this.acquire();
+        if (current == null) {
+            return fallback;
+        }
+        return this.call(current, supplier);
+    }
+
+    /**
+     * 异步读取操作：如熔断则返回 fallback
+     */
+    private <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> supplier, T fallback) {
+        Phase current = this.acquire();
+        if (current == null) {
+            return CompletedFutures.of(fallback);
+        }
+        return this.callAsync(current, supplier);
+    }
+
+    private <T> T call(Phase issued, Supplier<T> supplier) {
+        long start = System.nanoTime();
+        T result;
+        try {
+            result = supplier.get();
+        } catch (RuntimeException e) {
+            this.onComplete(issued, start, true);
+            throw e;
+        }
+        this.onComplete(issued, start, false);
+        return result;
+    }
+
+    private <T> CompletableFuture<T> callAsync(Phase issued, Supplier<CompletableFuture<T>> supplier) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = supplier.get();
+        } catch (RuntimeException e) {
+            this.onComplete(issued, start, true);
+            throw e;
+        }
+        return future.whenComplete((result, t) -> this.onComplete(issued, start, t != null));
+    }
+
+    /**
+     * 判断是否允许调用
+     *
+     * @return 允许调用则返回当前阶段（用于记录调用结果）；熔断则返回 {@code null}
+     */
+    private Phase acquire() {
+        Phase current = phase.get();
+        if (current.state == State.OPEN) {
+            long now = System.currentTimeMillis();
+            if (now - current.since < openDuration) {
+                return null;
+            }
+            if (phase.compareAndSet(current, new Phase(State.HALF_OPEN, now))) {
+                log.info("Cache:[{}], {} store circuit breaker half-open, probing.", name, level);
+            }
+            current = phase.get();
+        }
+        if (current.state == State.CLOSED) {
+            return current;
+        }
+        if (current.state == State.OPEN) {
+            return null;
+        }
+        return (current.probes.incrementAndGet() <= PROBES) ? current : null;
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param issued 发出调用时的阶段
+     * @param start  调用开始时间（单位：纳秒）
+     * @param failed 是否发生异常
+     */
+    private void onComplete(Phase issued, long start, boolean failed) {
+        // 调用完成时已切换到其它阶段：该结果不能反映当前阶段的状况，忽略
+        if (phase.get() != issued) {
+            return;
+        }
+        if (!failed && slowCallNanos > 0) {
+            failed = (System.nanoTime() - start) >= slowCallNanos;
+        }
+        if (issued.state == State.HALF_OPEN) {
+            if (failed) {
+                this.trip(issued);
+            } else if (issued.successes.incrementAndGet() >= PROBES && this.close(issued)) {
+                log.info("Cache:[{}], {} store circuit breaker closed.", name, level);
+                this.recover();
+            }
+            return;
+        }
+        Window w = this.window(System.currentTimeMillis());
+        w.calls.increment();
+        if (failed) {
+            w.failures.increment();
+            long calls = w.calls.sum();
+            if (calls >= minCalls && w.failures.sum() >= failureRate * calls) {
+                this.trip(issued);
+            }
+        }
+    }
+
+    private Window window(long now) {
+        Window w = this.window;
+        if (now - w.start < WINDOW) {
+            return w;
+        }
+        Window next = new Window(now);
+        this.window = next;
+        return next;
+    }
+
+    private boolean close(Phase expected) {
+        // 先重置统计窗口，再切换状态（半开状态不使用统计窗口）
+        long now = System.currentTimeMillis();
+        this.window = new Window(now);
+        return phase.compareAndSet(expected, new Phase(State.CLOSED, now));
+    }
+
+    private void trip(Phase expected) {
+        if (phase.compareAndSet(expected, new Phase(State.OPEN, System.currentTimeMillis()))) {
+            log.warn("Cache:[{}], {} store circuit breaker opened, reads will miss and writes will be skipped for {}ms.",
+                    name, level, openDuration);
+        }
+    }
+
+    private void skip(String key) {
+        if (skipped.size() >= MAX_SKIPPED) {
+            skippedAll.set(true);
+            return;
+        }
+        skipped.add(key);
+    }
+
+    private void skipAll(Collection<? extends String> keys) {
+        if (skipped.size() + keys.size() > MAX_SKIPPED) {
+            skippedAll.set(true);
+            return;
+        }
+        skipped.addAll(keys);
+    }
+
+    /**
+     * 熔断恢复：异步通知监听器处理被跳过写入的键（避免在 I/O 线程执行同步调用）
+     */
+    private void recover() {
+        boolean all = skippedAll.getAndSet(false);
+        Set<String> keys = new HashSet<>();
+        Iterator<String> iterator = skipped.iterator();
+        while (iterator.hasNext()) {
+            keys.add(iterator.next());
+            iterator.remove();
+        }
+        if (!all && keys.isEmpty()) {
+            return;
+        }
+        CompletableFuture.runAsync(() -> listener.onRecover(level, keys, all))
+                .whenComplete((vod, t) -> {
+                    if (t != null) {
+                        // 处理失败：重新记录，等待下一次恢复时再处理
+                        log.error("Cache:[{}], {} store circuit breaker recovery failed. {}", name, level, t.getMessage(), t);
+                        if (all) {
+                            skippedAll.set(true);
+                        }
+                        this.skipAll(keys);
+                    }
+                });
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * 熔断器阶段：每次状态切换均创建新的对象
+     */
+    private static final class Phase {
+
+        private final State state;
+
+        // 进入该阶段的时间（单位：毫秒）
+        private final long since;
+
+        // 半开状态已发出的探测调用次数
+        private final AtomicInteger probes = new AtomicInteger();
+
+        // 半开状态已成功的探测调用次数
+        private final AtomicInteger successes = new AtomicInteger();
+
+        private Phase(State state, long since) {
+            this.state = state;
+            this.since = since;
+        }
+
+    }
+
+    /**
+     * 统计窗口
+     */
+    private static final class Window {
+
+        private final long start;
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+    }
+
+    /**
+     * 熔断恢复监听器
+     */
+    @FunctionalInterface
+    public interface RecoveryListener {
+
+        /**
+         * 熔断器关闭后，处理熔断期间被跳过写入的键
+         * <p>
+         * 被跳过写入的键，该级缓存可能保存的是旧值，因此需删除；
+         * 熔断期间可能遗漏了其它实例发送的缓存同步消息，因此上级缓存中的这些键也需删除。
+         *
+         * @param level 缓存级别
+         * @param keys  被跳过写入的键
+         * @param all   是否需清空缓存（熔断期间跳过了清空操作，或被跳过写入的键数量超出上限）
+         */
+        void onRecover(StoreLevel level, Set<String> keys, boolean all);
+
+    }
+
+}
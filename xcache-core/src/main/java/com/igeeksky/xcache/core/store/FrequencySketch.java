@@ -0,0 +1,132 @@
+package com.igeeksky.xcache.core.store;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 访问频率估算（Count-Min Sketch）
+ * <p>
+ * 每个 long 包含 16 个 4 位计数器（最大值为 15），每个键对应 4 个计数器，以其中的最小值作为估算频率。
+ * <p>
+ * 累计增加次数达到采样数量（10 倍宽度）时，所有计数器减半，从而使估算频率反映最近一段时间的访问情况。
+ * <p>
+ * 无锁实现：计数器通过 CAS 增加，减半由达到采样数量的单个线程执行。
+ * 并发增加与减半交错时，可能丢失少量计数，对估算频率的影响可忽略。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class FrequencySketch {
+
+    private static final long[] SEED = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAX_WIDTH = 1 << 24;
+
+    private final AtomicLongArray table;
+
+    private final int tableMask;
+
+    private final int sampleSize;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * 访问频率估算
+     *
+     * @param capacity 预期的缓存容量（用于确定计数器数量）
+     */
+    public FrequencySketch(long capacity) {
+        int width = ceilingPowerOfTwo((int) Math.max(64, Math.min(capacity, MAX_WIDTH)));
+        this.table = new AtomicLongArray(width);
+        this.tableMask = width - 1;
+        this.sampleSize = 10 * width;
+    }
+
+    /**
+     * 增加访问次数，并返回增加后的估算频率
+     *
+     * @param key 键
+     * @return 估算频率（最大值为 15）
+     */
+    public int increment(String key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = (start + i) << 2;
+            int count;
+            for (; ; ) {
+                long value = table.get(index);
+                count = (int) ((value >>> offset) & 0xFL);
+                if (count >= 15) {
+                    break;
+                }
+                if (table.weakCompareAndSetVolatile(index, value, value + (1L << offset))) {
+                    count++;
+                    added = true;
+                    break;
+                }
+            }
+            frequency = Math.min(frequency, count);
+        }
+        if (added && size.incrementAndGet() >= sampleSize) {
+            this.tryReset();
+        }
+        return frequency;
+    }
+
+    /**
+     * 获取估算频率（不增加访问次数）
+     *
+     * @param key 键
+     * @return 估算频率（最大值为 15）
+     */
+    public int frequency(String key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int offset = (start + i) << 2;
+            int count = (int) ((table.get(indexOf(hash, i)) >>> offset) & 0xFL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 所有计数器减半
+     * <p>
+     * 仅成功将累计次数减半的线程执行，其它同时达到采样数量的线程直接返回。
+     */
+    private void tryReset() {
+        int current = size.get();
+        if (current < sampleSize || !size.compareAndSet(current, current >>> 1)) {
+            return;
+        }
+        for (int i = 0, length = table.length(); i < length; i++) {
+            table.getAndUpdate(i, value -> (value >>> 1) & RESET_MASK);
+        }
+    }
+
+    private int indexOf(int item, int i) {
+        long hash = (item + SEED[i]) * SEED[i];
+        hash += (hash >>> 32);
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.igeeksky.xcache.core.store;
 
+import com.igeeksky.xcache.common.CacheExecutor;
 import com.igeeksky.xcache.common.ReferenceType;
 import com.igeeksky.xcache.props.RedisType;
 import com.igeeksky.xtool.core.lang.codec.Codec;
@@ -64,6 +65,12 @@ public class StoreConfig<V> {
     // embed
     private final boolean enableSerializeValue;
 
+    // embed & extra
+    private final boolean enableWriteTime;
+
+    // 外部缓存数据解码执行方式
+    private final CacheExecutor decodeExecutor;
+
     // embed & extra
     private final Compressor valueCompressor;
 
@@ -97,6 +104,8 @@ public class StoreConfig<V> {
         this.enableNullValue = builder.enableNullValue;
         this.enableCompressValue = builder.enableCompressValue;
         this.enableSerializeValue = builder.enableSerializeValue;
+        this.enableWriteTime = builder.enableWriteTime;
+        this.decodeExecutor = builder.decodeExecutor;
         this.valueCompressor = builder.valueCompressor;
         this.valueCodec = builder.valueCodec;
         this.redisType = builder.redisType;
@@ -172,6 +181,24 @@ public class StoreConfig<V> {
         return enableSerializeValue;
     }
 
+    /**
+     * 是否记录写入时间（用于软过期）
+     *
+     * @return {@code true} 缓存值附加写入时间；{@code false} 不附加写入时间
+     */
+    public boolean isEnableWriteTime() {
+        return enableWriteTime;
+    }
+
+    /**
+     * 外部缓存数据解码执行方式
+     *
+     * @return {@link CacheExecutor} – 解压和反序列化在哪个线程执行
+     */
+    public CacheExecutor getDecodeExecutor() {
+        return decodeExecutor;
+    }
+
     public Compressor getValueCompressor() {
         return valueCompressor;
     }
@@ -233,6 +260,10 @@ public class StoreConfig<V> {
 
         private boolean enableSerializeValue;
 
+        private boolean enableWriteTime;
+
+        private CacheExecutor decodeExecutor = CacheExecutor.INLINE;
+
         private Compressor valueCompressor;
 
         private Codec<V> valueCodec;
@@ -317,6 +348,18 @@ public class StoreConfig<V> {
             return this;
         }
 
+        public Builder<V> enableWriteTime(boolean enableWriteTime) {
+            this.enableWriteTime = enableWriteTime;
+            return this;
+        }
+
+        public Builder<V> decodeExecutor(CacheExecutor decodeExecutor) {
+            if (decodeExecutor != null) {
+                this.decodeExecutor = decodeExecutor;
+            }
+            return this;
+        }
+
         public Builder<V> valueCodec(Codec<V> valueCodec) {
             this.valueCodec = valueCodec;
             this.enableSerializeValue = (valueCodec != null);
@@ -2,6 +2,7 @@ package com.igeeksky.xcache.core.store;
 
 import com.igeeksky.xcache.common.CacheValue;
 import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.CompletedFutures;
 import com.igeeksky.xcache.extension.metrics.CacheMetricsMonitor;
 import com.igeeksky.xcache.props.StoreLevel;
 
@@ -13,6 +14,9 @@ import java.util.concurrent.CompletableFuture;
  * 缓存代理类
  * <p>
  * 用于处理缓存的读写操作，并记录缓存命中率等指标
+ * <p>
+ * 指标记录开销极小，因此由完成异步操作的线程直接执行，避免每次操作都切换到公共线程池。
+ * 如异步读取已完成（如本地存储），则直接记录指标并返回原对象，无需创建新的 {@link CompletableFuture}。
  *
  * @param <V> 缓存值类型
  * @author Patrick.Lau
@@ -33,52 +37,71 @@ public class StoreProxy<V> implements Store<V> {
         this.metricsMonitor.setCounter(level);
     }
 
+    /**
+     * 缓存级别
+     *
+     * @return 缓存级别
+     */
+    public StoreLevel getLevel() {
+        return level;
+    }
+
     @Override
     public CacheValue<V> getCacheValue(String key) {
         CacheValue<V> cacheValue = store.getCacheValue(key);
-        if (cacheValue != null) {
-            metricsMonitor.incHits(level, 1L);
-        } else {
-            metricsMonitor.incMisses(level, 1L);
-        }
+        this.recordGet(cacheValue);
         return cacheValue;
     }
 
     @Override
     public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
-        return store.getCacheValueAsync(key)
-                .whenCompleteAsync((cacheValue, throwable) -> {
-                    if (throwable == null) {
-                        if (cacheValue != null) {
-                            metricsMonitor.incHits(level, 1L);
-                        } else {
-                            metricsMonitor.incMisses(level, 1L);
-                        }
-                    }
-                });
+        CompletableFuture<CacheValue<V>> future = store.getCacheValueAsync(key);
+        if (CompletedFutures.isSucceeded(future)) {
+            this.recordGet(future.getNow(null));
+            return future;
+        }
+        return future.whenComplete((cacheValue, throwable) -> {
+            if (throwable == null) {
+                this.recordGet(cacheValue);
+            }
+        });
+    }
+
+    private void recordGet(CacheValue<V> cacheValue) {
+        if (cacheValue != null) {
+            metricsMonitor.incHits(level, 1L);
+        } else {
+            metricsMonitor.incMisses(level, 1L);
+        }
     }
 
     @Override
     public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
         int total = keys.size();
         Map<String, CacheValue<V>> result = store.getAllCacheValues(keys);
-        int hits = result.size();
-        metricsMonitor.incHits(level, hits);
-        metricsMonitor.incMisses(level, total - hits);
+        this.recordGetAll(total, result);
         return result;
     }
 
     @Override
     public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
         int total = keys.size();
-        return store.getAllCacheValuesAsync(keys)
-                .whenCompleteAsync((result, throwable) -> {
-                    if (throwable == null) {
-                        int hits = result.size();
-                        metricsMonitor.incHits(level, hits);
-                        metricsMonitor.incMisses(level, total - hits);
-                    }
-                });
+        CompletableFuture<Map<String, CacheValue<V>>> future = store.getAllCacheValuesAsync(keys);
+        if (CompletedFutures.isSucceeded(future)) {
+            this.recordGetAll(total, future.getNow(null));
+            return future;
+        }
+        return future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                this.recordGetAll(total, result);
+            }
+        });
+    }
+
+    private void recordGetAll(int total, Map<String, CacheValue<V>> result) {
+        int hits = result.size();
+        metricsMonitor.incHits(level, hits);
+        metricsMonitor.incMisses(level, total - hits);
     }
 
     @Override
@@ -90,7 +113,7 @@ public class StoreProxy<V> implements Store<V> {
     @Override
     public CompletableFuture<Void> putAsync(String key, V value) {
         return this.store.putAsync(key, value)
-                .whenCompleteAsync((vod, throwable) -> {
+                .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
                         metricsMonitor.incPuts(level, 1L);
                     }
@@ -108,7 +131,7 @@ public class StoreProxy<V> implements Store<V> {
     public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
         int size = keyValues.size();
         return store.putAllAsync(keyValues)
-                .whenCompleteAsync((vod, throwable) -> {
+                .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
                         metricsMonitor.incPuts(level, size);
                     }
@@ -124,7 +147,7 @@ public class StoreProxy<V> implements Store<V> {
     @Override
     public CompletableFuture<Void> removeAsync(String key) {
         return store.removeAsync(key)
-                .whenCompleteAsync((vod, throwable) -> {
+                .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
                         metricsMonitor.incRemovals(level, 1L);
                     }
@@ -142,7 +165,7 @@ public class StoreProxy<V> implements Store<V> {
     public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
         int size = keys.size();
         return store.removeAllAsync(keys)
-                .whenCompleteAsync((vod, throwable) -> {
+                .whenComplete((vod, throwable) -> {
                     if (throwable == null) {
                         metricsMonitor.incRemovals(level, size);
                     }
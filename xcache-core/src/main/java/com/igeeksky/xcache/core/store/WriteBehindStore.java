@@ -0,0 +1,555 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xtool.core.collection.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 写回存储
+ * <p>
+ * 写入及删除操作先记入缓冲区（同一个键仅保留最后一次操作），再由后台批量写入被代理的存储，以避免调用线程等待网络往返。
+ * <p>
+ * 1. 缓冲区中待写入的键数量达到 {@code batchSize}，或距首个待写入的键已过 {@code period} 时长，则批量写入。<br>
+ * 2. 缓冲区（含正在写入的键）数量达到 {@code capacity} 时，调用线程需等待批量写入完成（背压）；
+ * 缓冲区已满时写入新的键，异步方法的调用线程同样需等待，以保证缓冲区数量不超过 {@code capacity}。<br>
+ * 3. 读取时优先从缓冲区获取尚未写入的值，以保证读取到最新写入的数据。<br>
+ * 4. 批量写入失败时，间隔 {@code period} 时长后重试（已被后续操作覆盖的键不再重试）；
+ * 共尝试 {@value #MAX_ATTEMPTS} 次后依然失败，则放弃写入，尝试删除被代理的存储中的旧值，并通知调用者使这些键失效。<br>
+ * 5. 关闭后，不再缓冲，所有操作直接调用被代理的存储。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class WriteBehindStore<V> implements Store<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindStore.class);
+
+    /**
+     * 单批次最大尝试写入次数
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    private final String name;
+
+    private final Store<V> store;
+
+    private final int capacity;
+
+    private final int batchSize;
+
+    private final boolean enableNullValue;
+
+    private final Executor delayedExecutor;
+
+    private final BiConsumer<Map<String, V>, Set<String>> flushListener;
+
+    private final Consumer<Set<String>> failureListener;
+
+    /**
+     * 尚未写入完成的操作（缓存键 - 最后一次操作），包括正在写入的操作
+     */
+    private final ConcurrentMap<String, Pending<V>> pending = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 待写入的缓存键，需持有 lock 才能访问
+     */
+    private Set<String> dirty;
+
+    /**
+     * 正在执行的批量写入任务，需持有 lock 才能访问
+     */
+    private CompletableFuture<Void> inflight = CompletableFuture.completedFuture(null);
+
+    private volatile boolean closed = false;
+
+    /**
+     * 写回存储
+     *
+     * @param name          缓存名称
+     * @param store         被代理的存储
+     * @param capacity      缓冲区容量
+     * @param batchSize     单批次最大键数量
+     * @param period          最大延迟时长（单位：毫秒），同时也是写入失败后的重试间隔
+     * @param enableNullValue 被代理的存储是否允许缓存空值（决定缓冲区中的空值读取时视为命中还是未命中）
+     * @param flushListener   批量写入成功后的回调（参数一：已写入的键值对；参数二：已删除的键集）
+     * @param failureListener 多次重试依然写入失败，放弃写入后的回调（参数：已放弃写入的键集）
+     */
+    public WriteBehindStore(String name, Store<V> store, int capacity, int batchSize, long period,
+                            boolean enableNullValue, BiConsumer<Map<String, V>, Set<String>> flushListener,
+                            Consumer<Set<String>> failureListener) {
+        this.name = name;
+        this.store = store;
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, Math.min(batchSize, capacity));
+        this.enableNullValue = enableNullValue;
+        this.flushListener = flushListener;
+        this.failureListener = failureListener;
+        this.delayedExecutor = CompletableFuture.delayedExecutor(Math.max(0, period), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        Pending<V> p = pending.get(key);
+        if (p != null) {
+            return p.toCacheValue(enableNullValue);
+        }
+        return store.getCacheValue(key);
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        Pending<V> p = pending.get(key);
+        if (p != null) {
+            return CompletableFuture.completedFuture(p.toCacheValue(enableNullValue));
+        }
+        return store.getCacheValueAsync(key);
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        Map<String, CacheValue<V>> buffered = HashMap.newHashMap(0);
+        Set<String> remains = this.readPending(keys, buffered);
+        if (remains.isEmpty()) {
+            return buffered;
+        }
+        return merge(buffered, store.getAllCacheValues(remains));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        Map<String, CacheValue<V>> buffered = HashMap.newHashMap(0);
+        Set<String> remains = this.readPending(keys, buffered);
+        if (remains.isEmpty()) {
+            return CompletableFuture.completedFuture(buffered);
+        }
+        return store.getAllCacheValuesAsync(remains).thenApply(stored -> merge(buffered, stored));
+    }
+
+    private Set<String> readPending(Set<? extends String> keys, Map<String, CacheValue<V>> buffered) {
+        Set<String> remains = HashSet.newHashSet(keys.size());
+        for (String key : keys) {
+            Pending<V> p = pending.get(key);
+            if (p != null) {
+                CacheValue<V> cacheValue = p.toCacheValue(enableNullValue);
+                if (cacheValue != null) {
+                    buffered.put(key, cacheValue);
+                }
+            } else {
+                remains.add(key);
+            }
+        }
+        return remains;
+    }
+
+    private static <V> Map<String, CacheValue<V>> merge(Map<String, CacheValue<V>> buffered,
+                                                        Map<String, CacheValue<V>> stored) {
+        if (buffered.isEmpty()) {
+            return stored;
+        }
+        if (Maps.isNotEmpty(stored)) {
+            buffered.putAll(stored);
+        }
+        return buffered;
+    }
+
+    @Override
+    public void put(String key, V value) {
+        if (closed) {
+            store.put(key, value);
+            return;
+        }
+        this.enqueue(key, new Pending<>(value, false)).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        if (closed) {
+            return store.putAsync(key, value);
+        }
+        return this.enqueue(key, new Pending<>(value, false));
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        if (closed) {
+            store.putAll(keyValues);
+            return;
+        }
+        this.putAllAsync(keyValues).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        if (closed) {
+            return store.putAllAsync(keyValues);
+        }
+        CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+        for (Map.Entry<? extends String, ? extends V> entry : keyValues.entrySet()) {
+            CompletableFuture<Void> f = this.enqueue(entry.getKey(), new Pending<>(entry.getValue(), false));
+            if (!f.isDone()) {
+                future = f;
+            }
+        }
+        return future;
+    }
+
+    @Override
+    public void remove(String key) {
+        if (closed) {
+            store.remove(key);
+            return;
+        }
+        this.enqueue(key, Pending.removal()).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        if (closed) {
+            return store.removeAsync(key);
+        }
+        return this.enqueue(key, Pending.removal());
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        if (closed) {
+            store.removeAll(keys);
+            return;
+        }
+        this.removeAllAsync(keys).join();
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        if (closed) {
+            return store.removeAllAsync(keys);
+        }
+        CompletableFuture<Void> future = CompletableFuture.completedFuture(null);
+        for (String key : keys) {
+            CompletableFuture<Void> f = this.enqueue(key, Pending.removal());
+            if (!f.isDone()) {
+                future = f;
+            }
+        }
+        return future;
+    }
+
+    /**
+     * 清空缓存：丢弃缓冲区中尚未写入的操作，然后清空被代理的存储
+     */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            dirty = null;
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        store.clear();
+    }
+
+    /**
+     * 记入缓冲区
+     *
+     * @param key 缓存键
+     * @param op  操作
+     * @return 缓冲区未满时返回已完成的 Future；否则返回批量写入任务，调用者需等待其完成（背压）
+     */
+    private CompletableFuture<Void> enqueue(String key, Pending<V> op) {
+        Set<String> full = null;
+        Set<String> created = null;
+        boolean overflow;
+        lock.lock();
+        try {
+            // 缓冲区已满且为新的键：先等待批量写入完成，再记入缓冲区
+            while (pending.size() >= capacity && !pending.containsKey(key)) {
+                Set<String> keys = dirty;
+                dirty = null;
+                lock.unlock();
+                try {
+                    ((keys != null) ? this.dispatch(keys) : this.inflight()).join();
+                } finally {
+                    lock.lock();
+                }
+            }
+            pending.put(key, op);
+            if (dirty == null) {
+                dirty = new LinkedHashSet<>();
+                created = dirty;
+            }
+            dirty.add(key);
+            overflow = pending.size() >= capacity;
+            if (overflow || dirty.size() >= batchSize) {
+                full = dirty;
+                dirty = null;
+                created = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (full != null) {
+            CompletableFuture<Void> future = this.dispatch(full);
+            if (overflow) {
+                // 背压：等待本批次及之前的批量写入任务完成
+                return future;
+            }
+        } else if (created != null) {
+            Set<String> expected = created;
+            delayedExecutor.execute(() -> this.flush(expected));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * 最大延迟时长结束，如批次尚未写入，则执行批量写入
+     *
+     * @param expected 开启延迟时的批次
+     */
+    private void flush(Set<String> expected) {
+        lock.lock();
+        try {
+            if (dirty != expected) {
+                // 已因数量达到阈值而写入
+                return;
+            }
+            dirty = null;
+        } finally {
+            lock.unlock();
+        }
+        this.dispatch(expected);
+    }
+
+    /**
+     * 批量写入缓冲区中的全部操作
+     *
+     * @return 全部批量写入任务
+     */
+    public CompletableFuture<Void> flushAll() {
+        Set<String> keys;
+        lock.lock();
+        try {
+            keys = dirty;
+            dirty = null;
+        } finally {
+            lock.unlock();
+        }
+        return (keys != null) ? this.dispatch(keys) : this.inflight();
+    }
+
+    /**
+     * 关闭：不再缓冲后续操作，并批量写入缓冲区中的全部操作
+     *
+     * @return 全部批量写入任务
+     */
+    public CompletableFuture<Void> closeAsync() {
+        closed = true;
+        return this.flushAll();
+    }
+
+    private CompletableFuture<Void> inflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 执行批量写入
+     *
+     * @param keys 待写入的缓存键
+     * @return 本批次及之前的全部批量写入任务
+     */
+    private CompletableFuture<Void> dispatch(Set<String> keys) {
+        Map<String, Pending<V>> ops = HashMap.newHashMap(keys.size());
+        for (String key : keys) {
+            Pending<V> op = pending.get(key);
+            if (op != null) {
+                ops.put(key, op);
+            }
+        }
+
+        CompletableFuture<Void> future = this.write(ops, 1);
+
+        lock.lock();
+        try {
+            inflight = CompletableFuture.allOf(inflight, future);
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 批量写入（含失败重试）
+     * <p>
+     * 写入失败后间隔 period 时长重试，仅重试未被后续操作覆盖的键；
+     * 达到最大尝试次数依然失败，则放弃写入并通知 failureListener。
+     *
+     * @param ops     待写入的操作（缓存键 - 操作）
+     * @param attempt 当前尝试次数（从 1 开始）
+     * @return 批量写入任务（不会异常完成）
+     */
+    private CompletableFuture<Void> write(Map<String, Pending<V>> ops, int attempt) {
+        Map<String, V> putKeyValues = HashMap.newHashMap(ops.size());
+        Set<String> removeKeys = HashSet.newHashSet(ops.size());
+        ops.forEach((key, op) -> {
+            if (op.removal) {
+                removeKeys.add(key);
+            } else {
+                putKeyValues.put(key, op.value);
+            }
+        });
+
+        CompletableFuture<Void> putFuture = putKeyValues.isEmpty() ? CompletableFuture.completedFuture(null) :
+                this.call(() -> store.putAllAsync(putKeyValues));
+        CompletableFuture<Void> removeFuture = removeKeys.isEmpty() ? CompletableFuture.completedFuture(null) :
+                this.call(() -> store.removeAllAsync(removeKeys));
+
+        return CompletableFuture.allOf(putFuture, removeFuture)
+                .handle((vod, t) -> t)
+                .thenCompose(t -> {
+                    if (t == null) {
+                        // 仅移除未被后续操作覆盖的键
+                        ops.forEach(pending::remove);
+                        this.notifyFlushed(putKeyValues, removeKeys);
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    Map<String, Pending<V>> remains = this.notSuperseded(ops);
+                    if (remains.isEmpty()) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    if (attempt < MAX_ATTEMPTS) {
+                        log.warn("Cache:[{}], write-behind flush has error, attempt: {}/{}, will retry. {}",
+                                name, attempt, MAX_ATTEMPTS, t.getMessage());
+                        return CompletableFuture.runAsync(() -> {
+                        }, delayedExecutor).thenCompose(ignored -> this.write(this.notSuperseded(remains), attempt + 1));
+                    }
+                    log.error("Cache:[{}], write-behind flush has error, attempt: {}/{}, give up. {}",
+                            name, attempt, MAX_ATTEMPTS, t.getMessage(), t);
+                    remains.forEach(pending::remove);
+                    this.notifyFailed(remains.keySet());
+                    this.invalidate(remains.keySet());
+                    return CompletableFuture.completedFuture(null);
+                });
+    }
+
+    /**
+     * 过滤已被后续操作覆盖的键（后续操作由其所在批次写入）
+     *
+     * @param ops 操作（缓存键 - 操作）
+     * @return 未被后续操作覆盖的操作
+     */
+    private Map<String, Pending<V>> notSuperseded(Map<String, Pending<V>> ops) {
+        Map<String, Pending<V>> remains = HashMap.newHashMap(ops.size());
+        ops.forEach((key, op) -> {
+            if (pending.get(key) == op) {
+                remains.put(key, op);
+            }
+        });
+        return remains;
+    }
+
+    private CompletableFuture<Void> call(Supplier<CompletableFuture<Void>> supplier) {
+        try {
+            return supplier.get();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 放弃写入后，尝试删除被代理的存储中的旧值（尽力而为，失败仅记录日志）
+     *
+     * @param keys 已放弃写入的键集
+     */
+    private void invalidate(Set<String> keys) {
+        this.call(() -> store.removeAllAsync(keys)).whenComplete((vod, t) -> {
+            if (t != null) {
+                log.error("Cache:[{}], write-behind invalidate has error. {}", name, t.getMessage());
+            }
+        });
+    }
+
+    private void notifyFlushed(Map<String, V> putKeyValues, Set<String> removeKeys) {
+        if (flushListener == null) {
+            return;
+        }
+        try {
+            flushListener.accept(putKeyValues, removeKeys);
+        } catch (Throwable e) {
+            log.error("Cache:[{}], write-behind flush listener has error. {}", name, e.getMessage(), e);
+        }
+    }
+
+    private void notifyFailed(Set<String> keys) {
+        if (failureListener == null) {
+            return;
+        }
+        try {
+            failureListener.accept(keys);
+        } catch (Throwable e) {
+            log.error("Cache:[{}], write-behind failure listener has error. {}", name, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 尚未写入完成的操作
+     * <p>
+     * 未重写 equals 方法，以对象标识作为判断依据，确保批量写入完成后仅移除本批次写入的操作
+     *
+     * @param <V> 缓存值类型
+     */
+    private static final class Pending<V> {
+
+        private final V value;
+
+        private final boolean removal;
+
+        private Pending(V value, boolean removal) {
+            this.value = value;
+            this.removal = removal;
+        }
+
+        private static <V> Pending<V> removal() {
+            return new Pending<>(null, true);
+        }
+
+        /**
+         * 转换为读取结果：删除操作视为未命中；空值则取决于被代理的存储是否允许缓存空值
+         *
+         * @param enableNullValue 被代理的存储是否允许缓存空值
+         * @return 缓存值
+         */
+        private CacheValue<V> toCacheValue(boolean enableNullValue) {
+            if (removal) {
+                return null;
+            }
+            if (value == null) {
+                return enableNullValue ? CacheValue.empty() : null;
+            }
+            return CacheValue.create(value);
+        }
+
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.igeeksky.xcache.extension.bloom;
+
+import com.igeeksky.xcache.common.ContainsPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 布隆过滤器断言抽象类
+ * <p>
+ * 首次调用 {@link #test(Object)} 或 {@link #put(Object)} 时启动后台构建任务（也可主动调用 {@link #start()}），
+ * 从而避免在子类构造完成之前启动任务。
+ * <p>
+ * 首次构建完成之前，{@link #test(Object)} 总是返回 true（与 {@code AlwaysTrueContainsPredicate} 一致），
+ * 避免误判数据源不存在；构建完成之后，返回 false 表示数据源一定不存在该键。
+ * <p>
+ * 重建在后台执行：先构建新的位数组，完成后再替换旧的位数组，重建期间不影响判断。
+ * 重建期间通过 {@link #put(Object)} 添加的键，会同时写入新旧位数组。
+ *
+ * @param <K> 键类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public abstract class AbstractBloomContainsPredicate<K> implements ContainsPredicate<K> {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractBloomContainsPredicate.class);
+
+    private final String name;
+
+    private final Charset charset;
+
+    private final BloomHasher hasher;
+
+    private final KeysLoader<K> keysLoader;
+
+    private final Function<? super K, String> keyMapper;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor executor;
+
+    private final long rebuildPeriod;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile Future<?> rebuildFuture;
+
+    protected AbstractBloomContainsPredicate(BloomConfig<K> config) {
+        this.name = config.getName();
+        this.charset = config.getCharset();
+        this.keysLoader = config.getKeysLoader();
+        this.keyMapper = config.getKeyMapper();
+        this.scheduler = config.getScheduler();
+        this.executor = config.getExecutor();
+        this.rebuildPeriod = config.getRebuildPeriod();
+        this.hasher = new BloomHasher(config.getExpectedInsertions(), config.getFalsePositiveProbability());
+    }
+
+    /**
+     * 启动后台构建任务
+     * <p>
+     * 首次调用 {@link #test(Object)} 或 {@link #put(Object)} 时自动调用；已启动或已停止则直接返回。
+     */
+    public final void start() {
+        if (started.get() || !started.compareAndSet(false, true)) {
+            return;
+        }
+        if (scheduler == null) {
+            this.rebuildFuture = CompletableFuture.runAsync(this::rebuild, executor);
+        } else if (rebuildPeriod > 0) {
+            this.rebuildFuture = scheduler.scheduleWithFixedDelay(this::rebuild, 0, rebuildPeriod, TimeUnit.MILLISECONDS);
+        } else {
+            this.rebuildFuture = scheduler.submit(this::rebuild);
+        }
+    }
+
+    @Override
+    public boolean test(K key) {
+        this.start();
+        return this.mightContain(this.offsets(key));
+    }
+
+    /**
+     * 添加键
+     * <p>
+     * 数据源新增数据后，应调用此方法，否则重建之前该键会被判定为不存在。
+     *
+     * @param key 键
+     */
+    public void put(K key) {
+        this.start();
+        this.doPut(this.offsets(key));
+    }
+
+    /**
+     * 立即重建
+     * <p>
+     * 如已有重建任务正在执行，则直接返回。
+     */
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            long count = this.doRebuild(keysLoader);
+            if (count >= 0) {
+                log.info("ContainsPredicate:[{}], bloom filter rebuilt. keys: {}, bits: {}, hashes: {}, elapsed: {}ms",
+                        name, count, hasher.getNumBits(), hasher.getNumHashes(), System.currentTimeMillis() - start);
+            }
+        } catch (Throwable e) {
+            log.error("ContainsPredicate:[{}], bloom filter rebuild failed. {}", name, e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 停止周期重建任务
+     */
+    public void shutdown() {
+        started.set(true);
+        Future<?> future = this.rebuildFuture;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * 计算键在位数组中的位置
+     *
+     * @param key 键
+     * @return 位置数组
+     */
+    protected long[] offsets(K key) {
+        return hasher.offsets(keyMapper.apply(key).getBytes(charset));
+    }
+
+    protected final String getName() {
+        return name;
+    }
+
+    protected final BloomHasher getHasher() {
+        return hasher;
+    }
+
+    /**
+     * 判断位数组中的指定位置是否均为 1
+     *
+     * @param offsets 位置数组
+     * @return 如均为 1 或尚未构建完成，返回 true；否则返回 false
+     */
+    protected abstract boolean mightContain(long[] offsets);
+
+    /**
+     * 将位数组中的指定位置设为 1
+     *
+     * @param offsets 位置数组
+     */
+    protected abstract void doPut(long[] offsets);
+
+    /**
+     * 构建新的位数组并替换旧的位数组
+     *
+     * @param keysLoader 数据源键加载器
+     * @return 添加的键数量；如本次未执行重建（如其它应用实例正在重建），返回 -1
+     */
+    protected abstract long doRebuild(KeysLoader<K> keysLoader);
+
+}
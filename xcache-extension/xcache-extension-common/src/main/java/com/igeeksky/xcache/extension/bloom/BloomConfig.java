@@ -0,0 +1,229 @@
+package com.igeeksky.xcache.extension.bloom;
+
+import com.igeeksky.xcache.common.CacheExecutor;
+import com.igeeksky.xtool.core.lang.Assert;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * 布隆过滤器配置
+ *
+ * @param <K> 键类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class BloomConfig<K> {
+
+    private final String name;
+
+    private final long expectedInsertions;
+
+    private final double falsePositiveProbability;
+
+    private final long rebuildPeriod;
+
+    private final Charset charset;
+
+    private final KeysLoader<K> keysLoader;
+
+    private final Function<? super K, String> keyMapper;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor executor;
+
+    private BloomConfig(Builder<K> builder) {
+        this.name = builder.name;
+        this.expectedInsertions = builder.expectedInsertions;
+        this.falsePositiveProbability = builder.falsePositiveProbability;
+        this.rebuildPeriod = builder.rebuildPeriod;
+        this.charset = builder.charset;
+        this.keysLoader = builder.keysLoader;
+        this.keyMapper = builder.keyMapper;
+        this.scheduler = builder.scheduler;
+        this.executor = builder.executor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    public long getRebuildPeriod() {
+        return rebuildPeriod;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public KeysLoader<K> getKeysLoader() {
+        return keysLoader;
+    }
+
+    public Function<? super K, String> getKeyMapper() {
+        return keyMapper;
+    }
+
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public static <K> Builder<K> builder(KeysLoader<K> keysLoader) {
+        return new Builder<>(keysLoader);
+    }
+
+    public static class Builder<K> {
+
+        private String name;
+
+        private long expectedInsertions = 1000000;
+
+        private double falsePositiveProbability = 0.01;
+
+        private long rebuildPeriod;
+
+        private Charset charset = StandardCharsets.UTF_8;
+
+        private final KeysLoader<K> keysLoader;
+
+        private Function<? super K, String> keyMapper = String::valueOf;
+
+        private ScheduledExecutorService scheduler;
+
+        private Executor executor = CacheExecutor.VIRTUAL.getExecutor();
+
+        private Builder(KeysLoader<K> keysLoader) {
+            Assert.notNull(keysLoader, "keysLoader must not be null");
+            this.keysLoader = keysLoader;
+        }
+
+        /**
+         * 过滤器名称
+         * <p>
+         * 用于日志；Redis 布隆过滤器还将以此作为 key 的组成部分，因此共享同一过滤器的应用实例需使用相同名称。
+         *
+         * @param name 过滤器名称
+         * @return {@code this}
+         */
+        public Builder<K> name(String name) {
+            Assert.hasText(name, "name must not be empty");
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * 预期元素数量
+         * <p>
+         * 默认值：1000000
+         *
+         * @param expectedInsertions 预期元素数量
+         * @return {@code this}
+         */
+        public Builder<K> expectedInsertions(long expectedInsertions) {
+            Assert.isTrue(expectedInsertions > 0, () -> "expectedInsertions:[" + expectedInsertions + "] must be greater than 0");
+            this.expectedInsertions = expectedInsertions;
+            return this;
+        }
+
+        /**
+         * 预期误判率
+         * <p>
+         * 默认值：0.01
+         *
+         * @param falsePositiveProbability 预期误判率，取值范围 (0, 1)
+         * @return {@code this}
+         */
+        public Builder<K> falsePositiveProbability(double falsePositiveProbability) {
+            Assert.isTrue(falsePositiveProbability > 0 && falsePositiveProbability < 1,
+                    () -> "falsePositiveProbability:[" + falsePositiveProbability + "] must be in (0, 1)");
+            this.falsePositiveProbability = falsePositiveProbability;
+            return this;
+        }
+
+        /**
+         * 重建周期（单位：毫秒）
+         * <p>
+         * 默认值：0，仅在创建时构建一次
+         * <p>
+         * 数据源删除的键只有重建后才会从过滤器中移除，新增的键可通过 {@code put} 方法及时添加。
+         *
+         * @param rebuildPeriod 重建周期
+         * @return {@code this}
+         */
+        public Builder<K> rebuildPeriod(long rebuildPeriod) {
+            Assert.isTrue(rebuildPeriod >= 0, () -> "rebuildPeriod:[" + rebuildPeriod + "] must be greater than or equal to 0");
+            this.rebuildPeriod = rebuildPeriod;
+            return this;
+        }
+
+        public Builder<K> charset(Charset charset) {
+            Assert.notNull(charset, "charset must not be null");
+            this.charset = charset;
+            return this;
+        }
+
+        /**
+         * 键转换函数（将键转换为字符串，然后计算哈希值）
+         * <p>
+         * 默认值：{@link String#valueOf(Object)}
+         *
+         * @param keyMapper 键转换函数
+         * @return {@code this}
+         */
+        public Builder<K> keyMapper(Function<? super K, String> keyMapper) {
+            Assert.notNull(keyMapper, "keyMapper must not be null");
+            this.keyMapper = keyMapper;
+            return this;
+        }
+
+        /**
+         * 重建任务调度器
+         * <p>
+         * 如未设置，则使用 {@link #executor(Executor)} 构建一次，不再周期重建。
+         *
+         * @param scheduler 调度器
+         * @return {@code this}
+         */
+        public Builder<K> scheduler(ScheduledExecutorService scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        /**
+         * 构建任务执行器（未设置调度器时，用于执行一次性的构建任务）
+         * <p>
+         * 默认值：{@link CacheExecutor#VIRTUAL}（加载数据源的键通常为阻塞操作，且耗时较长，不宜占用共享的平台线程池）
+         *
+         * @param executor 执行器
+         * @return {@code this}
+         */
+        public Builder<K> executor(Executor executor) {
+            Assert.notNull(executor, "executor must not be null");
+            this.executor = executor;
+            return this;
+        }
+
+        public BloomConfig<K> build() {
+            Assert.notNull(name, "name must not be null");
+            return new BloomConfig<>(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.igeeksky.xcache.extension.bloom;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 布隆过滤器哈希函数
+ * <p>
+ * 根据预期元素数量 n 和误判率 p 计算位数组长度 m 与哈希函数个数 k：<br>
+ * {@code m = -n * ln(p) / (ln2)^2}，{@code k = m / n * ln2}
+ * <p>
+ * 使用 MurmurHash3（x64_128）计算两个 64 位哈希值 h1、h2，
+ * 再以 {@code h1 + i * h2} 模拟 k 个哈希函数（Kirsch-Mitzenmacher）。
+ * <p>
+ * 同一配置下，不同应用实例计算得到的位置相同，因此可用于多实例共享的 Redis 位图。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class BloomHasher {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final long numBits;
+
+    private final int numHashes;
+
+    /**
+     * 布隆过滤器哈希函数
+     *
+     * @param expectedInsertions       预期元素数量
+     * @param falsePositiveProbability 预期误判率
+     */
+    public BloomHasher(long expectedInsertions, double falsePositiveProbability) {
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        // 向上取整为 64 的倍数，以便按 long 分段存储
+        this.numBits = Math.max(64, (bits + 63) & ~63L);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * ln2));
+    }
+
+    /**
+     * 位数组长度
+     *
+     * @return 位数组长度
+     */
+    public long getNumBits() {
+        return numBits;
+    }
+
+    /**
+     * 哈希函数个数
+     *
+     * @return 哈希函数个数
+     */
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    /**
+     * 计算元素在位数组中的 k 个位置
+     *
+     * @param bytes 元素
+     * @return 位置数组
+     */
+    public long[] offsets(byte[] bytes) {
+        long[] hash = murmur3(bytes);
+        long h1 = hash[0];
+        long h2 = hash[1];
+        long[] offsets = new long[numHashes];
+        long combined = h1;
+        for (int i = 0; i < numHashes; i++) {
+            offsets[i] = (combined & Long.MAX_VALUE) % numBits;
+            combined += h2;
+        }
+        return offsets;
+    }
+
+    // 尾部字节处理依赖 switch 贯穿（与 MurmurHash3 参考实现一致）
+    @SuppressWarnings("fallthrough")
+    private static long[] murmur3(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        int length = bytes.length;
+        long h1 = 0;
+        long h2 = 0;
+        while (buffer.remaining() >= 16) {
+            long k1 = buffer.getLong();
+            long k2 = buffer.getLong();
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0;
+        long k2 = 0;
+        int offset = buffer.position();
+        switch (length - offset) {
+            case 15: k2 ^= (long) (bytes[offset + 14] & 0xff) << 48;
+            case 14: k2 ^= (long) (bytes[offset + 13] & 0xff) << 40;
+            case 13: k2 ^= (long) (bytes[offset + 12] & 0xff) << 32;
+            case 12: k2 ^= (long) (bytes[offset + 11] & 0xff) << 24;
+            case 11: k2 ^= (long) (bytes[offset + 10] & 0xff) << 16;
+            case 10: k2 ^= (long) (bytes[offset + 9] & 0xff) << 8;
+            case 9: k2 ^= bytes[offset + 8] & 0xff;
+                h2 ^= mixK2(k2);
+            case 8: k1 ^= (long) (bytes[offset + 7] & 0xff) << 56;
+            case 7: k1 ^= (long) (bytes[offset + 6] & 0xff) << 48;
+            case 6: k1 ^= (long) (bytes[offset + 5] & 0xff) << 40;
+            case 5: k1 ^= (long) (bytes[offset + 4] & 0xff) << 32;
+            case 4: k1 ^= (long) (bytes[offset + 3] & 0xff) << 24;
+            case 3: k1 ^= (long) (bytes[offset + 2] & 0xff) << 16;
+            case 2: k1 ^= (long) (bytes[offset + 1] & 0xff) << 8;
+            case 1: k1 ^= bytes[offset] & 0xff;
+                h1 ^= mixK1(k1);
+            default:
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix64(h1);
+        h2 = fmix64(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[]{h1, h2};
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.igeeksky.xcache.extension.bloom;
+
+import java.util.function.Consumer;
+
+/**
+ * 数据源键加载器
+ * <p>
+ * 用于重建布隆过滤器：读取数据源中的所有键，并逐个传递给 consumer。
+ * <p>
+ * 逐个传递而非返回集合，实现类可以分页或流式读取，无需一次性将所有键载入内存。
+ *
+ * @param <K> 键类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+@FunctionalInterface
+public interface KeysLoader<K> {
+
+    /**
+     * 读取数据源中的所有键
+     *
+     * @param consumer 键消费者
+     */
+    void loadAll(Consumer<? super K> consumer);
+
+}
@@ -0,0 +1,95 @@
+package com.igeeksky.xcache.extension.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 本地布隆过滤器断言
+ * <p>
+ * 位数组使用 {@link AtomicLongArray} 存储，读写均无锁。
+ *
+ * @param <K> 键类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class LocalBloomContainsPredicate<K> extends AbstractBloomContainsPredicate<K> {
+
+    private final int words;
+
+    // 当前位数组（为空表示尚未构建完成）
+    private volatile AtomicLongArray bits;
+
+    // 正在构建的位数组（为空表示当前未在重建）
+    private volatile AtomicLongArray building;
+
+    // getHasher 为父类的 final 方法，仅读取父类字段；后台构建任务延迟到首次调用时启动，不会读取未初始化的字段
+    @SuppressWarnings("this-escape")
+    public LocalBloomContainsPredicate(BloomConfig<K> config) {
+        super(config);
+        long numWords = this.getHasher().getNumBits() >>> 6;
+        if (numWords > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("ContainsPredicate:[" + config.getName() + "], bloom filter too large: "
+                    + this.getHasher().getNumBits() + " bits");
+        }
+        this.words = (int) numWords;
+    }
+
+    @Override
+    protected boolean mightContain(long[] offsets) {
+        AtomicLongArray current = this.bits;
+        if (current == null) {
+            return true;
+        }
+        for (long offset : offsets) {
+            if ((current.get((int) (offset >>> 6)) & (1L << offset)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doPut(long[] offsets) {
+        // 先写入正在构建的位数组：如读取到 building 为空，则重建尚未开始，新增的键一定能被重建读取到
+        AtomicLongArray next = this.building;
+        if (next != null) {
+            set(next, offsets);
+        }
+        AtomicLongArray current = this.bits;
+        if (current != null) {
+            set(current, offsets);
+        }
+    }
+
+    @Override
+    protected long doRebuild(KeysLoader<K> keysLoader) {
+        AtomicLongArray next = new AtomicLongArray(words);
+        this.building = next;
+        long[] count = new long[1];
+        try {
+            keysLoader.loadAll(key -> {
+                set(next, this.offsets(key));
+                count[0]++;
+            });
+            this.bits = next;
+        } finally {
+            this.building = null;
+        }
+        return count[0];
+    }
+
+    private static void set(AtomicLongArray array, long[] offsets) {
+        for (long offset : offsets) {
+            int index = (int) (offset >>> 6);
+            long mask = 1L << offset;
+            long word = array.get(index);
+            while ((word & mask) == 0) {
+                long witness = array.compareAndExchange(index, word, word | mask);
+                if (witness == word) {
+                    break;
+                }
+                word = witness;
+            }
+        }
+    }
+
+}
@@ -23,6 +23,10 @@ public class CacheMetrics {
 
     private long clears;
 
+    private long hedges;
+
+    private long hedgeWins;
+
     private Float hitPercentage;
 
     public CacheMetrics() {
@@ -68,6 +72,22 @@ public class CacheMetrics {
         this.clears = clears;
     }
 
+    public long getHedges() {
+        return hedges;
+    }
+
+    public void setHedges(long hedges) {
+        this.hedges = hedges;
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins;
+    }
+
+    public void setHedgeWins(long hedgeWins) {
+        this.hedgeWins = hedgeWins;
+    }
+
     public void setHitPercentage(Float hitPercentage) {
         this.hitPercentage = hitPercentage;
     }
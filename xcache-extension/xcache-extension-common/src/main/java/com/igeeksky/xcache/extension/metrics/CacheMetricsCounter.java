@@ -15,6 +15,8 @@ public class CacheMetricsCounter {
     private final AtomicLong puts = new AtomicLong();
     private final AtomicLong removals = new AtomicLong();
     private final AtomicLong clears = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
 
     public CacheMetricsCounter() {
     }
@@ -39,6 +41,14 @@ public class CacheMetricsCounter {
         return clears.get();
     }
 
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
     public void incHits(long times) {
         hits.addAndGet(times);
     }
@@ -59,4 +69,12 @@ public class CacheMetricsCounter {
         clears.incrementAndGet();
     }
 
+    public void incHedges(long times) {
+        hedges.addAndGet(times);
+    }
+
+    public void incHedgeWins(long times) {
+        hedgeWins.addAndGet(times);
+    }
+
 }
@@ -2,6 +2,8 @@ package com.igeeksky.xcache.extension.metrics;
 
 import com.igeeksky.xtool.core.json.SimpleJSON;
 
+import java.util.List;
+
 /**
  * 缓存统计消息
  * <p>
@@ -21,6 +23,7 @@ public class CacheMetricsMessage {
     private CacheMetrics first;
     private CacheMetrics second;
     private CacheMetrics third;
+    private List<HotKey> hotKeys;
 
     public CacheMetricsMessage() {
     }
@@ -94,6 +97,19 @@ public class CacheMetricsMessage {
         this.third = third;
     }
 
+    /**
+     * 热点键（按每秒读取次数降序排列）
+     *
+     * @return 热点键（如未启用热点键探测，或统计周期内无热点键，返回 null）
+     */
+    public List<HotKey> getHotKeys() {
+        return hotKeys;
+    }
+
+    public void setHotKeys(List<HotKey> hotKeys) {
+        this.hotKeys = hotKeys;
+    }
+
     @Override
     public String toString() {
         return SimpleJSON.toJSONString(this);
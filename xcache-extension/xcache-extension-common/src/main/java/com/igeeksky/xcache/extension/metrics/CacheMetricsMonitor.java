@@ -2,6 +2,8 @@ package com.igeeksky.xcache.extension.metrics;
 
 import com.igeeksky.xcache.props.StoreLevel;
 
+import java.util.List;
+
 /**
  * 缓存指标监控
  *
@@ -56,6 +58,44 @@ public interface CacheMetricsMonitor {
      */
     void incRemovals(StoreLevel level, long times);
 
+    /**
+     * 增加对冲读取次数
+     * <p>
+     * 原始读取超过延迟阈值仍未返回，因而额外发起对冲读取的次数
+     * <p>
+     * 默认实现为空操作，以兼容已有的自定义实现。
+     *
+     * @param level 被对冲的缓存级别
+     * @param times 对冲读取次数
+     */
+    default void incHedges(StoreLevel level, long times) {
+    }
+
+    /**
+     * 增加对冲读取胜出次数
+     * <p>
+     * 对冲读取先于原始读取返回结果的次数；原始读取胜出次数 = 对冲读取次数 - 对冲读取胜出次数
+     * <p>
+     * 默认实现为空操作，以兼容已有的自定义实现。
+     *
+     * @param level 被对冲的缓存级别
+     * @param times 对冲读取胜出次数
+     */
+    default void incHedgeWins(StoreLevel level, long times) {
+    }
+
+    /**
+     * 记录热点键
+     * <p>
+     * 同一统计周期内多次记录同一个键时，保留最大的每秒读取次数
+     * <p>
+     * 默认实现为空操作，以兼容已有的自定义实现。
+     *
+     * @param hotKeys 热点键
+     */
+    default void recordHotKeys(List<HotKey> hotKeys) {
+    }
+
     /**
      * 增加缓存清空次数
      *
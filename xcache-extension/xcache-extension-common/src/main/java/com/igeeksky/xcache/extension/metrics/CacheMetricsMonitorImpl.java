@@ -2,6 +2,11 @@ package com.igeeksky.xcache.extension.metrics;
 
 import com.igeeksky.xcache.props.StoreLevel;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -18,6 +23,7 @@ public class CacheMetricsMonitorImpl implements CacheMetricsMonitor {
 
     private final AtomicLong hitLoads = new AtomicLong();
     private final AtomicLong missLoads = new AtomicLong();
+    private final Map<String, Long> hotKeys = new ConcurrentHashMap<>();
     private AtomicReference<CacheMetricsCounter> noop = null;
     private AtomicReference<CacheMetricsCounter> first = null;
     private AtomicReference<CacheMetricsCounter> second = null;
@@ -70,6 +76,27 @@ public class CacheMetricsMonitorImpl implements CacheMetricsMonitor {
         }
     }
 
+    @Override
+    public void incHedges(StoreLevel level, long times) {
+        if (times > 0) {
+            getCounter(level).incHedges(times);
+        }
+    }
+
+    @Override
+    public void incHedgeWins(StoreLevel level, long times) {
+        if (times > 0) {
+            getCounter(level).incHedgeWins(times);
+        }
+    }
+
+    @Override
+    public void recordHotKeys(List<HotKey> hotKeys) {
+        for (HotKey hotKey : hotKeys) {
+            this.hotKeys.merge(hotKey.getKey(), hotKey.getQps(), Math::max);
+        }
+    }
+
     @Override
     public void incClears(StoreLevel level) {
         getCounter(level).incClears();
@@ -85,6 +112,7 @@ public class CacheMetricsMonitorImpl implements CacheMetricsMonitor {
         CacheMetricsMessage message = new CacheMetricsMessage(name, group);
         message.setHitLoads(this.hitLoads.getAndSet(0));
         message.setMissLoads(this.missLoads.getAndSet(0));
+        message.setHotKeys(this.collectHotKeys());
 
         if (noop != null) {
             CacheMetricsCounter counter = noop.getAndSet(new CacheMetricsCounter());
@@ -109,6 +137,21 @@ public class CacheMetricsMonitorImpl implements CacheMetricsMonitor {
         return message;
     }
 
+    private List<HotKey> collectHotKeys() {
+        if (hotKeys.isEmpty()) {
+            return null;
+        }
+        List<HotKey> result = new ArrayList<>(hotKeys.size());
+        for (String key : hotKeys.keySet()) {
+            Long qps = hotKeys.remove(key);
+            if (qps != null) {
+                result.add(new HotKey(key, qps));
+            }
+        }
+        result.sort(Comparator.comparingLong(HotKey::getQps).reversed());
+        return result;
+    }
+
     private CacheMetrics convert(CacheMetricsCounter counter) {
         CacheMetrics stat = new CacheMetrics();
         stat.setHits(counter.getHits());
@@ -116,6 +159,8 @@ public class CacheMetricsMonitorImpl implements CacheMetricsMonitor {
         stat.setPuts(counter.getPuts());
         stat.setRemovals(counter.getRemovals());
         stat.setClears(counter.getClears());
+        stat.setHedges(counter.getHedges());
+        stat.setHedgeWins(counter.getHedgeWins());
         return stat;
     }
 
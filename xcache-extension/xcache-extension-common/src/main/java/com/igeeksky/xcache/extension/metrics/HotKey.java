@@ -0,0 +1,56 @@
+package com.igeeksky.xcache.extension.metrics;
+
+import com.igeeksky.xtool.core.json.SimpleJSON;
+
+/**
+ * 热点键
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class HotKey {
+
+    private String key;
+
+    private long qps;
+
+    public HotKey() {
+    }
+
+    public HotKey(String key, long qps) {
+        this.key = key;
+        this.qps = qps;
+    }
+
+    /**
+     * 缓存键
+     *
+     * @return {@link String} – 缓存键
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 每秒读取次数（统计周期内的最大值）
+     *
+     * @return {@code long} – 每秒读取次数
+     */
+    public long getQps() {
+        return qps;
+    }
+
+    public void setQps(long qps) {
+        this.qps = qps;
+    }
+
+    @Override
+    public String toString() {
+        return SimpleJSON.toJSONString(this);
+    }
+
+}
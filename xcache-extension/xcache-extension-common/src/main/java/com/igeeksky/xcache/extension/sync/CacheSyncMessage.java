@@ -5,6 +5,7 @@ import com.igeeksky.xtool.core.json.SimpleJSON;
 import java.io.Serial;
 import java.io.Serializable;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -21,6 +22,11 @@ public class CacheSyncMessage implements Serializable {
     public static final int TYPE_REMOVE = 0;
     public static final int TYPE_CLEAR = 1;
 
+    /**
+     * 更新：消息携带序列化后的新值，接收方直接写入本地缓存（而非删除）
+     */
+    public static final int TYPE_UPDATE = 2;
+
     /**
      * service id
      */
@@ -31,8 +37,28 @@ public class CacheSyncMessage implements Serializable {
      */
     private int type;
 
+    /**
+     * 发布者序号
+     * <p>
+     * 同一发布者（sid）在同一通道上发送的消息，序号从 1 开始连续递增；0 表示未编号（不检测丢失）。
+     */
+    private long seq;
+
     private Set<String> keys;
 
+    /**
+     * 键及序列化后的值（仅用于 {@link #TYPE_UPDATE}）
+     */
+    @SuppressWarnings("serial") // 发送方与编解码器创建的均为 HashMap（可序列化）
+    private Map<String, byte[]> values;
+
+    /**
+     * 写入时间（毫秒时间戳，仅用于 {@link #TYPE_UPDATE}；0 表示未知）
+     * <p>
+     * 接收方据此判断消息携带的新值是否比本地缓存的值更旧。
+     */
+    private long time;
+
     public CacheSyncMessage() {
     }
 
@@ -54,6 +80,17 @@ public class CacheSyncMessage implements Serializable {
         this.keys = keys;
     }
 
+    public CacheSyncMessage(String sid, Map<String, byte[]> values) {
+        this(sid, values, 0);
+    }
+
+    public CacheSyncMessage(String sid, Map<String, byte[]> values, long time) {
+        this.sid = sid;
+        this.type = TYPE_UPDATE;
+        this.values = values;
+        this.time = time;
+    }
+
     public String getSid() {
         return sid;
     }
@@ -70,6 +107,14 @@ public class CacheSyncMessage implements Serializable {
         this.type = type;
     }
 
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
     public Set<String> getKeys() {
         return keys;
     }
@@ -78,6 +123,22 @@ public class CacheSyncMessage implements Serializable {
         this.keys = keys;
     }
 
+    public Map<String, byte[]> getValues() {
+        return values;
+    }
+
+    public void setValues(Map<String, byte[]> values) {
+        this.values = values;
+    }
+
+    public long getTime() {
+        return time;
+    }
+
+    public void setTime(long time) {
+        this.time = time;
+    }
+
     @Override
     public String toString() {
         return SimpleJSON.toJSONString(this);
@@ -1,5 +1,6 @@
 package com.igeeksky.xcache.extension.sync;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -17,6 +18,19 @@ public interface CacheSyncMonitor {
      */
     void afterPut(String key);
 
+    /**
+     * 监听缓存数据单个存储事件（携带新值）
+     * <p>
+     * 默认实现忽略新值，仅发送失效消息。
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @param <V>   缓存值类型
+     */
+    default <V> void afterPut(String key, V value) {
+        this.afterPut(key);
+    }
+
     /**
      * 监听缓存数据批量存储事件
      *
@@ -24,6 +38,18 @@ public interface CacheSyncMonitor {
      */
     void afterPutAll(Set<String> keys);
 
+    /**
+     * 监听缓存数据批量存储事件（携带新值）
+     * <p>
+     * 默认实现忽略新值，仅发送失效消息。
+     *
+     * @param keyValues 缓存键值对
+     * @param <V>       缓存值类型
+     */
+    default <V> void afterPutAll(Map<String, ? extends V> keyValues) {
+        this.afterPutAll(keyValues.keySet());
+    }
+
     /**
      * 监听缓存数据单个逐出事件
      *
@@ -43,4 +69,12 @@ public interface CacheSyncMonitor {
      */
     void afterClear();
 
+    /**
+     * 立即发送缓冲中尚未发送的消息
+     * <p>
+     * 关闭缓存管理器时调用（须在消息发布者关闭之前），避免延迟合并发送的消息丢失。
+     */
+    default void flush() {
+    }
+
 }
@@ -2,28 +2,112 @@ package com.igeeksky.xcache.extension.sync;
 
 
 import com.igeeksky.xcache.common.MessagePublisher;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * 监听并发送缓存数据更新事件
+ * <p>
+ * 如配置了 batchDelay 且提供了调度器，则失效键先缓冲并去重，
+ * 延迟 batchDelay 毫秒或缓冲键数量达到 batchSize 后合并为一条消息发送；
+ * 否则每次写操作后立即发送消息。
+ * <p>
+ * 无论是否合并，键数量超过 batchSize 的消息均拆分为多条发送。
+ * <p>
+ * 如启用更新消息，则写入的键在 updateKeys 中，或新值序列化后不超过 updateMaxSize，
+ * 立即发送携带新值及写入时间的更新消息（不合并）；其余键仍发送失效消息。
+ * 缓冲中同名的失效键依然发送：并发的删除操作可能晚于写入操作，接收方删除本地缓存总是安全的。
+ * <p>
+ * 每条消息均附带连续递增的发布者序号，接收方据此检测消息丢失。
  *
  * @author Patrick.Lau
  * @since 0.0.4 2023-09-11
  */
 public class CacheSyncMonitorImpl implements CacheSyncMonitor {
 
+    private static final Logger log = LoggerFactory.getLogger(CacheSyncMonitorImpl.class);
+
     private final String sid;
     private final MessagePublisher<CacheSyncMessage> publisher;
 
+    private final int batchSize;
+    private final long batchDelay;
+    private final ScheduledExecutorService scheduler;
+
+    private final int updateMaxSize;
+    private final Set<String> updateKeys;
+
+    /**
+     * 更新消息的值编解码器（未启用更新消息时为空）
+     */
+    private final Codec<Object> valueCodec;
+
+    /**
+     * 是否合并发送
+     */
+    private final boolean batching;
+
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * 待发送的失效键（由 lock 保护）
+     */
+    private Set<String> buffer = new HashSet<>();
+
+    /**
+     * 是否已提交延迟发送任务（由 lock 保护）
+     */
+    private boolean scheduled;
+
+    /**
+     * 保证序号分配与消息发布的顺序一致
+     */
+    private final Lock publishLock = new ReentrantLock();
+
+    /**
+     * 最近一条消息的发布者序号（由 publishLock 保护）
+     */
+    private long seq;
+
     /**
      * 是否启用数据同步
      */
     private boolean enabled = false;
 
     public CacheSyncMonitorImpl(SyncConfig<?> config, MessagePublisher<CacheSyncMessage> publisher) {
+        this(config, publisher, null);
+    }
+
+    /**
+     * 创建缓存数据同步监控器
+     *
+     * @param config    缓存数据同步配置
+     * @param publisher 消息发布者
+     * @param scheduler 调度器（用于合并发送，为空则不合并）
+     */
+    @SuppressWarnings("unchecked")
+    public CacheSyncMonitorImpl(SyncConfig<?> config, MessagePublisher<CacheSyncMessage> publisher,
+                                ScheduledExecutorService scheduler) {
         this.sid = config.getSid();
         this.publisher = publisher;
+        this.batchSize = (config.getBatchSize() > 0) ? config.getBatchSize() : Integer.MAX_VALUE;
+        this.batchDelay = config.getBatchDelay();
+        this.scheduler = scheduler;
+        this.batching = scheduler != null && batchDelay > 0;
+        this.updateMaxSize = config.getUpdateMaxSize();
+        this.updateKeys = config.getUpdateKeys();
+        this.valueCodec = config.isUpdateEnabled() ? (Codec<Object>) config.getValueCodec() : null;
         boolean first = config.getFirst();
         boolean second = config.getSecond();
         if (first || second) {
@@ -37,40 +121,254 @@ public class CacheSyncMonitorImpl implements CacheSyncMonitor {
     @Override
     public void afterPut(String key) {
         if (enabled) {
-            sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, key));
+            remove(key);
+        }
+    }
+
+    @Override
+    public <V> void afterPut(String key, V value) {
+        if (enabled) {
+            byte[] bytes = this.encodeValue(key, value);
+            if (bytes == null) {
+                remove(key);
+                return;
+            }
+            Map<String, byte[]> values = HashMap.newHashMap(1);
+            values.put(key, bytes);
+            this.update(values, System.currentTimeMillis());
         }
     }
 
     @Override
     public void afterPutAll(Set<String> keys) {
         if (enabled) {
-            sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, keys));
+            removeAll(keys);
+        }
+    }
+
+    @Override
+    public <V> void afterPutAll(Map<String, ? extends V> keyValues) {
+        if (!enabled) {
+            return;
+        }
+        if (valueCodec == null) {
+            removeAll(keyValues.keySet());
+            return;
+        }
+        long time = System.currentTimeMillis();
+        Map<String, byte[]> values = new HashMap<>();
+        Set<String> keys = new HashSet<>();
+        keyValues.forEach((key, value) -> {
+            byte[] bytes = this.encodeValue(key, value);
+            if (bytes != null) {
+                values.put(key, bytes);
+            } else {
+                keys.add(key);
+            }
+        });
+        if (!values.isEmpty()) {
+            this.update(values, time);
+        }
+        if (!keys.isEmpty()) {
+            removeAll(keys);
         }
     }
 
     @Override
     public void afterRemove(String key) {
         if (enabled) {
-            sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, key));
+            remove(key);
         }
     }
 
     @Override
     public void afterRemoveAll(Set<String> keys) {
         if (enabled) {
-            sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, keys));
+            removeAll(keys);
         }
     }
 
     @Override
     public void afterClear() {
         if (enabled) {
+            if (batching) {
+                // 清空消息覆盖所有待发送的失效键
+                lock.lock();
+                try {
+                    buffer = new HashSet<>();
+                } finally {
+                    lock.unlock();
+                }
+            }
             sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_CLEAR));
         }
     }
 
+    /**
+     * 序列化新值
+     *
+     * @param key   缓存键
+     * @param value 缓存值
+     * @return 序列化后的值（未启用更新消息，或值为空，或超过 updateMaxSize 且不是 updateKeys 中的键，返回 {@code null}）
+     */
+    private byte[] encodeValue(String key, Object value) {
+        if (valueCodec == null || value == null) {
+            return null;
+        }
+        boolean hot = updateKeys.contains(key);
+        if (!hot && updateMaxSize <= 0) {
+            return null;
+        }
+        try {
+            byte[] bytes = valueCodec.encode(value);
+            if (bytes != null && (hot || bytes.length <= updateMaxSize)) {
+                return bytes;
+            }
+        } catch (Throwable e) {
+            log.error("CacheSyncMonitor: encode value has error, fallback to remove. key: {}, {}", key, e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * 发送更新消息
+     *
+     * @param values 键及序列化后的值
+     * @param time   写入时间（本地缓存写入之后获取，因此不早于本地缓存值的写入时间）
+     */
+    private void update(Map<String, byte[]> values, long time) {
+        if (values.size() <= batchSize) {
+            sendMessage(new CacheSyncMessage(sid, values, time));
+            return;
+        }
+        Map<String, byte[]> chunk = HashMap.newHashMap(batchSize);
+        for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+            chunk.put(entry.getKey(), entry.getValue());
+            if (chunk.size() == batchSize) {
+                sendMessage(new CacheSyncMessage(sid, chunk, time));
+                chunk = HashMap.newHashMap(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sendMessage(new CacheSyncMessage(sid, chunk, time));
+        }
+    }
+
+    private void remove(String key) {
+        if (!batching) {
+            sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, key));
+            return;
+        }
+        Set<String> drained;
+        lock.lock();
+        try {
+            buffer.add(key);
+            drained = drainIfFull();
+        } finally {
+            lock.unlock();
+        }
+        if (drained != null) {
+            sendRemove(drained);
+        }
+    }
+
+    private void removeAll(Set<String> keys) {
+        // 键数量已达到单条消息上限，缓冲无意义，直接（拆分）发送
+        if (!batching || keys.size() >= batchSize) {
+            sendRemove(keys);
+            return;
+        }
+        Set<String> drained;
+        lock.lock();
+        try {
+            buffer.addAll(keys);
+            drained = drainIfFull();
+        } finally {
+            lock.unlock();
+        }
+        if (drained != null) {
+            sendRemove(drained);
+        }
+    }
+
+    /**
+     * 缓冲键数量达到上限则取出全部缓冲键；否则确保已提交延迟发送任务
+     * <p>
+     * 须在持有锁的情况下调用
+     *
+     * @return 待发送的失效键（未达到上限返回 {@code null}）
+     */
+    private Set<String> drainIfFull() {
+        if (buffer.size() >= batchSize) {
+            Set<String> drained = buffer;
+            buffer = new HashSet<>();
+            return drained;
+        }
+        if (!scheduled) {
+            try {
+                scheduler.schedule(this::flush, batchDelay, TimeUnit.MILLISECONDS);
+                scheduled = true;
+            } catch (RejectedExecutionException e) {
+                // 调度器已关闭：立即发送
+                Set<String> drained = buffer;
+                buffer = new HashSet<>();
+                return drained;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void flush() {
+        if (!batching) {
+            return;
+        }
+        Set<String> drained;
+        lock.lock();
+        try {
+            drained = buffer;
+            buffer = new HashSet<>();
+            scheduled = false;
+        } finally {
+            lock.unlock();
+        }
+        if (!drained.isEmpty()) {
+            try {
+                sendRemove(drained);
+            } catch (Throwable e) {
+                log.error("CacheSyncMonitor: flush sync message has error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void sendRemove(Set<String> keys) {
+        if (keys.size() <= batchSize) {
+            sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, keys));
+            return;
+        }
+        Set<String> chunk = HashSet.newHashSet(batchSize);
+        for (String key : keys) {
+            chunk.add(key);
+            if (chunk.size() == batchSize) {
+                sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, chunk));
+                chunk = HashSet.newHashSet(batchSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            sendMessage(new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, chunk));
+        }
+    }
+
     private void sendMessage(CacheSyncMessage message) {
-        publisher.publish(message);
+        // 序号分配与发布须原子执行，否则并发发送时消息在队列中的顺序可能与序号顺序不一致，导致接收方误判丢失。
+        // 发布失败的消息同样占用序号，接收方会检测到丢失并清空本地缓存。
+        publishLock.lock();
+        try {
+            message.setSeq(++seq);
+            publisher.publish(message);
+        } finally {
+            publishLock.unlock();
+        }
     }
 
-}
\ No newline at end of file
+}
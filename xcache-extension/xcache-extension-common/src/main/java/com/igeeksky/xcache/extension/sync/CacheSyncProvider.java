@@ -18,6 +18,20 @@ public interface CacheSyncProvider {
      */
     <V> void register(String channel, Charset charset, SyncMessageListener<V> consumer);
 
+    /**
+     * 注册缓存数据同步消费者
+     * <p>
+     * 默认使用配置中的通道及字符集调用 {@link #register(String, Charset, SyncMessageListener)}；
+     * 需要根据缓存名称等信息订阅消息的实现类（如基于 Redis 客户端缓存的实现）可覆盖此方法。
+     *
+     * @param config   缓存数据同步配置
+     * @param consumer 消费者
+     * @param <V>      缓存值类型
+     */
+    default <V> void register(SyncConfig<V> config, SyncMessageListener<V> consumer) {
+        this.register(config.getChannel(), config.getCharset(), consumer);
+    }
+
     /**
      * 获取缓存数据同步监控器
      *
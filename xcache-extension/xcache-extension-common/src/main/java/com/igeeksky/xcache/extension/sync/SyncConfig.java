@@ -2,10 +2,14 @@ package com.igeeksky.xcache.extension.sync;
 
 
 import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.props.RedisType;
+import com.igeeksky.xtool.core.lang.codec.Codec;
 
 import java.nio.charset.Charset;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 数据同步配置
@@ -16,7 +20,10 @@ import java.util.Map;
  */
 public class SyncConfig<V> {
 
-    private static final String PREFIX = "sync:";
+    /**
+     * 通道名称前缀：通道名称为此前缀与缓存键前缀（不含末尾的 {@code ":"}）的拼接
+     */
+    public static final String CHANNEL_PREFIX = "sync:";
 
     private final String sid;
 
@@ -28,6 +35,16 @@ public class SyncConfig<V> {
 
     private final long maxLen;
 
+    private final long batchDelay;
+
+    private final int batchSize;
+
+    private final int updateMaxSize;
+
+    private final Set<String> updateKeys;
+
+    private final Codec<V> valueCodec;
+
     private final String provider;
 
     private final Charset charset;
@@ -42,6 +59,8 @@ public class SyncConfig<V> {
 
     private final Store<V> secondStore;
 
+    private final RedisType redisType;
+
     private final Map<String, Object> params;
 
     public SyncConfig(Builder<V> builder) {
@@ -49,6 +68,11 @@ public class SyncConfig<V> {
         this.name = builder.name;
         this.group = builder.group;
         this.maxLen = builder.maxLen;
+        this.batchDelay = builder.batchDelay;
+        this.batchSize = builder.batchSize;
+        this.updateMaxSize = builder.updateMaxSize;
+        this.updateKeys = builder.updateKeys;
+        this.valueCodec = builder.valueCodec;
         this.charset = builder.charset;
         this.provider = builder.provider;
         this.enableGroupPrefix = builder.enableGroupPrefix;
@@ -56,11 +80,12 @@ public class SyncConfig<V> {
         this.second = builder.second;
         this.firstStore = builder.firstStore;
         this.secondStore = builder.secondStore;
+        this.redisType = builder.redisType;
         this.params = builder.params;
         if (this.enableGroupPrefix) {
-            this.channel = PREFIX + this.group + ":" + this.name;
+            this.channel = CHANNEL_PREFIX + this.group + ":" + this.name;
         } else {
-            this.channel = PREFIX + this.name;
+            this.channel = CHANNEL_PREFIX + this.name;
         }
     }
 
@@ -84,6 +109,40 @@ public class SyncConfig<V> {
         return maxLen;
     }
 
+    public long getBatchDelay() {
+        return batchDelay;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getUpdateMaxSize() {
+        return updateMaxSize;
+    }
+
+    public Set<String> getUpdateKeys() {
+        return updateKeys;
+    }
+
+    /**
+     * 更新消息的值编解码器
+     *
+     * @return {@link Codec} – 值编解码器（未启用更新消息时为空）
+     */
+    public Codec<V> getValueCodec() {
+        return valueCodec;
+    }
+
+    /**
+     * 是否启用携带新值的更新消息
+     *
+     * @return {@code boolean} – 是否启用更新消息
+     */
+    public boolean isUpdateEnabled() {
+        return valueCodec != null && (updateMaxSize > 0 || !updateKeys.isEmpty());
+    }
+
     public String getProvider() {
         return provider;
     }
@@ -112,6 +171,15 @@ public class SyncConfig<V> {
         return secondStore;
     }
 
+    /**
+     * 二级缓存的 Redis 数据类型
+     *
+     * @return {@link RedisType} – 二级缓存的 Redis 数据类型（未配置时为空）
+     */
+    public RedisType getRedisType() {
+        return redisType;
+    }
+
     public Map<String, Object> getParams() {
         return params;
     }
@@ -125,6 +193,11 @@ public class SyncConfig<V> {
         private String name;
         private String group;
         private long maxLen;
+        private long batchDelay;
+        private int batchSize;
+        private int updateMaxSize;
+        private final Set<String> updateKeys = new HashSet<>();
+        private Codec<V> valueCodec;
         private String provider;
         private Charset charset;
         private boolean enableGroupPrefix;
@@ -132,6 +205,7 @@ public class SyncConfig<V> {
         private boolean second;
         private final Store<V> firstStore;
         private final Store<V> secondStore;
+        private RedisType redisType;
         private final Map<String, Object> params = new HashMap<>();
 
         private Builder(Store<V> firstStore, Store<V> secondStore) {
@@ -159,6 +233,35 @@ public class SyncConfig<V> {
             return this;
         }
 
+        public Builder<V> batchDelay(long batchDelay) {
+            this.batchDelay = batchDelay;
+            return this;
+        }
+
+        public Builder<V> batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder<V> updateMaxSize(Integer updateMaxSize) {
+            if (updateMaxSize != null) {
+                this.updateMaxSize = updateMaxSize;
+            }
+            return this;
+        }
+
+        public Builder<V> updateKeys(Set<String> updateKeys) {
+            if (updateKeys != null) {
+                this.updateKeys.addAll(updateKeys);
+            }
+            return this;
+        }
+
+        public Builder<V> valueCodec(Codec<V> valueCodec) {
+            this.valueCodec = valueCodec;
+            return this;
+        }
+
         public Builder<V> provider(String provider) {
             this.provider = provider;
             return this;
@@ -191,6 +294,11 @@ public class SyncConfig<V> {
             return this;
         }
 
+        public Builder<V> redisType(RedisType redisType) {
+            this.redisType = redisType;
+            return this;
+        }
+
         public SyncConfig<V> build() {
             return new SyncConfig<>(this);
         }
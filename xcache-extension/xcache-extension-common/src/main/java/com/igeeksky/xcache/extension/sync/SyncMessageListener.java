@@ -1,17 +1,41 @@
 package com.igeeksky.xcache.extension.sync;
 
+import com.igeeksky.xcache.common.CacheValue;
 import com.igeeksky.xcache.common.MessageListener;
+import com.igeeksky.xcache.common.StampedCacheValue;
 import com.igeeksky.xcache.common.Store;
 import com.igeeksky.xtool.core.collection.CollectionUtils;
+import com.igeeksky.xtool.core.collection.Maps;
+import com.igeeksky.xtool.core.lang.codec.Codec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * <P>监听缓存广播消息</P>
  * 根据不同 event，删除本地缓存中 key 对应的 value，或清空本地缓存的所有数据。
+ * <p>
+ * 接收到更新消息时，将新值直接写入一级缓存（二级缓存仍删除）；
+ * 如未启用更新消息（无值编解码器）或新值反序列化失败，则删除。
+ * <p>
+ * 如一级缓存记录了写入时间，且本地值的写入时间晚于更新消息的写入时间，则删除而不写入：
+ * 本地值可能是更新的值（如并发写入，或多个发布者的消息乱序到达），也可能来自稍早的同步消息（其写入时间为接收时间），
+ * 无法确定两者先后时删除本地缓存总是安全的，下次读取时从下级缓存回填。该判断依赖各节点时钟大致同步。
+ * <p>
+ * 删除消息总是执行：删除本地缓存不会导致数据不一致。
+ * <p>
+ * 根据发布者序号检测消息丢失（如消费过慢导致消息被裁剪，或消费出错暂停期间消息被裁剪，又或者发布失败）：
+ * 如某发布者的序号不连续，则清空本地缓存（仅限当前缓存），并记录警告日志。
  *
  * @author Patrick.Lau
  * @since 0.0.4 2023-09-11
@@ -20,19 +44,47 @@ public class SyncMessageListener<V> implements MessageListener<CacheSyncMessage>
 
     private static final Logger log = LoggerFactory.getLogger(SyncMessageListener.class);
 
+    /**
+     * 记录序号的最大发布者数量（超出则淘汰最久未收到消息的发布者）
+     */
+    private static final int MAX_PUBLISHERS = 1024;
+
     private final String sid;
 
+    private final String name;
+
     private final Store<V> firstStore;
     private final Store<V> secondStore;
 
+    private final Codec<V> valueCodec;
+
     private final boolean enabled;
     private final boolean firstEnabled;
     private final boolean secondEnabled;
 
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * 各发布者最近一条消息的序号（由 lock 保护）
+     */
+    private final Map<String, Long> sequences = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_PUBLISHERS;
+        }
+    };
+
+    /**
+     * 检测到消息丢失的次数
+     */
+    private final LongAdder gaps = new LongAdder();
+
     public SyncMessageListener(SyncConfig<V> config) {
         this.sid = config.getSid();
+        this.name = config.getName();
         this.firstStore = config.getFirstStore();
         this.secondStore = config.getSecondStore();
+        this.valueCodec = config.getValueCodec();
         this.firstEnabled = isEnabled(firstStore, config.getFirst());
         this.secondEnabled = isEnabled(secondStore, config.getSecond());
         this.enabled = firstEnabled || secondEnabled;
@@ -50,6 +102,12 @@ public class SyncMessageListener<V> implements MessageListener<CacheSyncMessage>
             return;
         }
 
+        if (this.hasGap(sourceId, message.getSeq())) {
+            gaps.increment();
+            if (firstEnabled) firstStore.clear();
+            if (secondEnabled) secondStore.clear();
+        }
+
         int type = message.getType();
         if (CacheSyncMessage.TYPE_REMOVE == type) {
             Set<String> keys = message.getKeys();
@@ -64,6 +122,19 @@ public class SyncMessageListener<V> implements MessageListener<CacheSyncMessage>
             return;
         }
 
+        if (CacheSyncMessage.TYPE_UPDATE == type) {
+            Map<String, byte[]> values = message.getValues();
+            if (Maps.isNotEmpty(values)) {
+                if (secondEnabled) {
+                    secondStore.removeAll(values.keySet());
+                }
+                if (firstEnabled) {
+                    this.update(values, message.getTime());
+                }
+            }
+            return;
+        }
+
         if (CacheSyncMessage.TYPE_CLEAR == type) {
             if (firstEnabled) firstStore.clear();
             if (secondEnabled) secondStore.clear();
@@ -73,6 +144,98 @@ public class SyncMessageListener<V> implements MessageListener<CacheSyncMessage>
         log.error("onMessage: unknown message type: {}", type);
     }
 
+    /**
+     * 检测消息是否丢失
+     *
+     * @param sourceId 发布者 ID
+     * @param seq      发布者序号
+     * @return {@code boolean} – 如该发布者的序号不连续，返回 {@code true}
+     */
+    private boolean hasGap(String sourceId, long seq) {
+        if (sourceId == null || seq <= 0) {
+            return false;
+        }
+        Long last;
+        lock.lock();
+        try {
+            last = sequences.get(sourceId);
+            // 重复消息（如重试）不回退序号；序号为 1 则视为发布者重置
+            if (last == null || seq > last || seq == 1) {
+                sequences.put(sourceId, seq);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (last == null || seq <= last + 1) {
+            return false;
+        }
+        log.warn("Cache:[{}], sync message gap detected, publisher:[{}], expected seq: {}, actual seq: {}, {} messages lost, local cache will be cleared.",
+                name, sourceId, last + 1, seq, seq - last - 1);
+        return true;
+    }
+
+    /**
+     * 获取检测到消息丢失的次数
+     *
+     * @return {@code long} – 检测到消息丢失的次数
+     */
+    public long getGaps() {
+        return gaps.sum();
+    }
+
+    private void update(Map<String, byte[]> values, long time) {
+        if (valueCodec == null) {
+            firstStore.removeAll(values.keySet());
+            return;
+        }
+        Set<String> newer = this.newerKeys(values.keySet(), time);
+        Map<String, V> keyValues = HashMap.newHashMap(values.size());
+        for (Map.Entry<String, byte[]> entry : values.entrySet()) {
+            String key = entry.getKey();
+            if (newer.contains(key)) {
+                firstStore.remove(key);
+                continue;
+            }
+            try {
+                V value = valueCodec.decode(entry.getValue());
+                if (value != null) {
+                    keyValues.put(key, value);
+                    continue;
+                }
+            } catch (Throwable e) {
+                log.error("onMessage: decode value has error, fallback to remove. key: {}, {}", key, e.getMessage(), e);
+            }
+            firstStore.remove(key);
+        }
+        if (!keyValues.isEmpty()) {
+            firstStore.putAll(keyValues);
+        }
+    }
+
+    /**
+     * 获取一级缓存中写入时间晚于消息写入时间的键
+     *
+     * @param keys 消息中的键
+     * @param time 消息的写入时间（0 表示未知）
+     * @return 本地值的写入时间晚于消息写入时间的键（消息未携带写入时间，或一级缓存未记录写入时间，返回空集）
+     */
+    private Set<String> newerKeys(Set<String> keys, long time) {
+        if (time <= 0) {
+            return Collections.emptySet();
+        }
+        Set<String> newer = null;
+        Map<String, CacheValue<V>> locals = firstStore.getAllCacheValues(keys);
+        for (Map.Entry<String, CacheValue<V>> entry : locals.entrySet()) {
+            if (entry.getValue() instanceof StampedCacheValue<V> stamped && stamped.getWriteTime() > time) {
+                if (newer == null) {
+                    newer = new HashSet<>();
+                }
+                newer.add(entry.getKey());
+            }
+        }
+        return (newer != null) ? newer : Collections.emptySet();
+    }
+
     private static <V> boolean isEnabled(Store<V> store, boolean enabled) {
         return store != null && enabled;
     }
@@ -0,0 +1,184 @@
+package com.igeeksky.xcache.mmap;
+
+import com.igeeksky.xcache.common.CacheConfigException;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xtool.core.lang.StringUtils;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+import com.igeeksky.xtool.core.lang.compress.Compressor;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * 文件映射缓存配置项
+ * <p>
+ * 除通用配置项外，还可通过 {@code params} 设置以下非标参数：<br>
+ * {@code dir}：数据文件目录（默认值：{@code ${java.io.tmpdir}/xcache/{group}/{name}}；
+ * 如需在应用重启后恢复数据，应配置为不会被清理的目录）<br>
+ * {@code segment-size}：单个数据文件大小（单位：字节，默认值：67108864，即 64 MiB；单个键值对不能超过此大小）<br>
+ * {@code max-disk}：数据文件总大小上限（单位：字节，默认值：1073741824，即 1 GiB；超出时删除最早的数据文件）<br>
+ * {@code compact-threshold}：数据文件中的失效数据占比达到此值时执行压缩（默认值：0.5）
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class MmapConfig<V> {
+
+    static final String DIR = "dir";
+    static final String SEGMENT_SIZE = "segment-size";
+    static final String MAX_DISK = "max-disk";
+    static final String COMPACT_THRESHOLD = "compact-threshold";
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final long DEFAULT_MAX_DISK = 1024L * 1024 * 1024;
+    private static final double DEFAULT_COMPACT_THRESHOLD = 0.5;
+    private static final int MIN_SEGMENT_SIZE = 64 * 1024;
+
+    private final String name;
+
+    private final Charset charset;
+
+    private final long expireAfterWrite;
+
+    private final boolean enableRandomTtl;
+
+    private final boolean enableNullValue;
+
+    private final boolean enableCompressValue;
+
+    private final boolean enableWriteTime;
+
+    private final Codec<V> valueCodec;
+
+    private final Compressor valueCompressor;
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    private final long maxDisk;
+
+    private final double compactThreshold;
+
+    public MmapConfig(StoreConfig<V> storeConfig) {
+        this.name = storeConfig.getName();
+        this.charset = storeConfig.getCharset();
+        this.expireAfterWrite = storeConfig.getExpireAfterWrite();
+        this.enableRandomTtl = storeConfig.isEnableRandomTtl();
+        this.enableNullValue = storeConfig.isEnableNullValue();
+        this.enableCompressValue = storeConfig.isEnableCompressValue();
+        this.enableWriteTime = storeConfig.isEnableWriteTime();
+        this.valueCodec = storeConfig.getValueCodec();
+        this.valueCompressor = storeConfig.getValueCompressor();
+        if (this.valueCodec == null) {
+            throw new CacheConfigException("Cache:[" + name + "], mmap store requires value-codec.");
+        }
+
+        Map<String, Object> params = storeConfig.getParams();
+        Object dirValue = (params != null) ? params.get(DIR) : null;
+        String dirPath = (dirValue != null) ? StringUtils.trimToNull(dirValue.toString()) : null;
+        this.dir = (dirPath != null) ? Path.of(dirPath) :
+                Path.of(System.getProperty("java.io.tmpdir"), "xcache", storeConfig.getGroup(), name);
+
+        long size = getLong(params, SEGMENT_SIZE, DEFAULT_SEGMENT_SIZE);
+        if (size < MIN_SEGMENT_SIZE || size > Integer.MAX_VALUE) {
+            throw new CacheConfigException("Cache:[" + name + "], mmap segment-size must be between "
+                    + MIN_SEGMENT_SIZE + " and " + Integer.MAX_VALUE);
+        }
+        this.segmentSize = (int) size;
+
+        this.maxDisk = getLong(params, MAX_DISK, DEFAULT_MAX_DISK);
+        if (maxDisk < 2L * segmentSize) {
+            throw new CacheConfigException("Cache:[" + name + "], mmap max-disk must be >= 2 * segment-size.");
+        }
+
+        this.compactThreshold = getDouble(params, COMPACT_THRESHOLD, DEFAULT_COMPACT_THRESHOLD);
+        if (compactThreshold <= 0 || compactThreshold > 1) {
+            throw new CacheConfigException("Cache:[" + name + "], mmap compact-threshold must be in (0, 1].");
+        }
+    }
+
+    private long getLong(Map<String, Object> params, String key, long defaultValue) {
+        Object value = (params != null) ? params.get(key) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new CacheConfigException("Cache:[" + name + "], mmap param:[" + key + "] is invalid: " + value);
+        }
+    }
+
+    private double getDouble(Map<String, Object> params, String key, double defaultValue) {
+        Object value = (params != null) ? params.get(key) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new CacheConfigException("Cache:[" + name + "], mmap param:[" + key + "] is invalid: " + value);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public boolean isEnableRandomTtl() {
+        return enableRandomTtl;
+    }
+
+    public boolean isEnableNullValue() {
+        return enableNullValue;
+    }
+
+    public boolean isEnableCompressValue() {
+        return enableCompressValue;
+    }
+
+    public boolean isEnableWriteTime() {
+        return enableWriteTime;
+    }
+
+    public Codec<V> getValueCodec() {
+        return valueCodec;
+    }
+
+    public Compressor getValueCompressor() {
+        return valueCompressor;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public long getMaxDisk() {
+        return maxDisk;
+    }
+
+    public double getCompactThreshold() {
+        return compactThreshold;
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.igeeksky.xcache.mmap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * 数据文件（仅追加写入）
+ * <p>
+ * 文件创建时即按固定大小映射到内存，记录依次追加，格式如下：<br>
+ * {@code [int 记录长度][int 校验码][byte 类型][long 过期时间][int 键长度][键][值]}
+ * <p>
+ * 记录长度包含记录头，校验码覆盖类型至值的所有字节。
+ * 恢复数据时，遇到长度非法或校验码不匹配的记录即视为文件末尾（未写完的记录）。
+ * <p>
+ * 删除文件前先解除内存映射（否则映射会保留到 GC 回收该缓冲区为止，期间磁盘空间无法释放，且 Windows 下无法删除文件），
+ * 解除映射后再访问该文件会导致进程崩溃，因此由 {@link MmapStore} 保证删除后不再访问。
+ * <p>
+ * 非线程安全，由 {@link MmapStore} 负责加锁。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+final class MmapSegment {
+
+    static final byte TYPE_PUT = 1;
+    static final byte TYPE_DELETE = 2;
+
+    static final int HEADER_SIZE = 21;
+
+    private static final int SIZE_OFFSET = 0;
+    private static final int CRC_OFFSET = 4;
+    private static final int TYPE_OFFSET = 8;
+    private static final int EXPIRE_OFFSET = 9;
+    private static final int KEY_LENGTH_OFFSET = 17;
+
+    private static final Logger log = LoggerFactory.getLogger(MmapSegment.class);
+
+    private static final byte[] ZEROS = new byte[4096];
+
+    /**
+     * 解除内存映射的方法（{@code sun.misc.Unsafe#invokeCleaner}），如当前运行环境不支持，则为空
+     */
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private final long id;
+
+    private final Path path;
+
+    private final int capacity;
+
+    private final MappedByteBuffer buffer;
+
+    private int position;
+
+    private long garbage;
+
+    private boolean unmapped;
+
+    private MmapSegment(long id, Path path, int capacity, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.capacity = capacity;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 打开（或创建）数据文件
+     *
+     * @param id       文件序号
+     * @param path     文件路径
+     * @param capacity 文件大小
+     * @return {@link MmapSegment} – 数据文件
+     * @throws IOException 文件读写异常
+     */
+    static MmapSegment open(long id, Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 映射建立后即与通道无关，关闭通道不影响读写
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            return new MmapSegment(id, path, capacity, buffer);
+        }
+    }
+
+    /**
+     * 追加记录
+     *
+     * @param type     记录类型
+     * @param expireAt 过期时间（0 表示不过期）
+     * @param key      键
+     * @param value    值（删除记录为空数组）
+     * @return 记录的起始位置；如剩余空间不足，返回 -1
+     */
+    int append(byte type, long expireAt, byte[] key, byte[] value) {
+        int size = HEADER_SIZE + key.length + value.length;
+        if (size > capacity - position) {
+            return -1;
+        }
+        int offset = position;
+        buffer.put(offset + TYPE_OFFSET, type);
+        buffer.putLong(offset + EXPIRE_OFFSET, expireAt);
+        buffer.putInt(offset + KEY_LENGTH_OFFSET, key.length);
+        buffer.put(offset + HEADER_SIZE, key);
+        buffer.put(offset + HEADER_SIZE + key.length, value);
+        buffer.putInt(offset + CRC_OFFSET, checksum(offset, size));
+        // 最后写入长度，未写完的记录在恢复时会被忽略
+        buffer.putInt(offset + SIZE_OFFSET, size);
+        position += size;
+        return offset;
+    }
+
+    /**
+     * 复制记录（用于压缩）
+     *
+     * @param source 源文件
+     * @param offset 记录在源文件中的起始位置
+     * @return 记录在当前文件中的起始位置；如剩余空间不足，返回 -1
+     */
+    int copy(MmapSegment source, int offset) {
+        int size = source.size(offset);
+        if (size > capacity - position) {
+            return -1;
+        }
+        int target = position;
+        buffer.put(target, source.buffer, offset, size);
+        position += size;
+        return target;
+    }
+
+    /**
+     * 读取值
+     *
+     * @param offset 记录起始位置
+     * @param size   记录长度
+     * @return 值
+     */
+    byte[] readValue(int offset, int size) {
+        int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+        byte[] value = new byte[size - HEADER_SIZE - keyLength];
+        buffer.get(offset + HEADER_SIZE + keyLength, value);
+        return value;
+    }
+
+    /**
+     * 依次读取所有有效记录，并将写入位置定位到最后一条有效记录之后（用于重启后恢复数据）
+     * <p>
+     * 如最后一条有效记录之后是未写完或已损坏的记录，则清零之后的所有数据：
+     * 否则新记录覆盖该位置后，其后的旧记录会在下次恢复时被误认为有效。
+     *
+     * @param visitor 记录访问者
+     */
+    void recover(RecordVisitor visitor) {
+        int end = this.scan(visitor);
+        if (capacity - end >= Integer.BYTES && buffer.getInt(end + SIZE_OFFSET) != 0) {
+            for (int offset = end; offset < capacity; offset += ZEROS.length) {
+                buffer.put(offset, ZEROS, 0, Math.min(ZEROS.length, capacity - offset));
+            }
+        }
+        this.position = end;
+    }
+
+    /**
+     * 依次读取所有有效记录
+     *
+     * @param visitor 记录访问者
+     * @return 最后一条有效记录之后的位置
+     */
+    int scan(RecordVisitor visitor) {
+        int offset = 0;
+        while (capacity - offset >= HEADER_SIZE) {
+            int size = buffer.getInt(offset + SIZE_OFFSET);
+            if (size < HEADER_SIZE || size > capacity - offset) {
+                break;
+            }
+            int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+            if (keyLength < 0 || keyLength > size - HEADER_SIZE) {
+                break;
+            }
+            if (buffer.getInt(offset + CRC_OFFSET) != checksum(offset, size)) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            buffer.get(offset + HEADER_SIZE, key);
+            visitor.visit(offset, size, buffer.get(offset + TYPE_OFFSET), buffer.getLong(offset + EXPIRE_OFFSET), key);
+            offset += size;
+        }
+        return offset;
+    }
+
+    /**
+     * 将已修改的数据刷写到磁盘
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * 解除内存映射
+     * <p>
+     * 调用后不能再读写此文件。
+     */
+    void unmap() {
+        if (unmapped) {
+            return;
+        }
+        unmapped = true;
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable e) {
+            log.warn("mmap segment unmap failed: {}, {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 解除内存映射，然后删除数据文件
+     *
+     * @throws IOException 文件删除异常
+     */
+    void delete() throws IOException {
+        this.unmap();
+        Files.deleteIfExists(path);
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(unsafe);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("mmap segment unmap is not supported, mapped files are released by GC. {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private int size(int offset) {
+        return buffer.getInt(offset + SIZE_OFFSET);
+    }
+
+    private int checksum(int offset, int size) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + TYPE_OFFSET, size - TYPE_OFFSET));
+        return (int) crc.getValue();
+    }
+
+    long getId() {
+        return id;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    long getGarbage() {
+        return garbage;
+    }
+
+    void addGarbage(int size) {
+        this.garbage += size;
+    }
+
+    /**
+     * 记录访问者
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        /**
+         * 访问记录
+         *
+         * @param offset   记录起始位置
+         * @param size     记录长度
+         * @param type     记录类型
+         * @param expireAt 过期时间（0 表示不过期）
+         * @param key      键
+         */
+        void visit(int offset, int size, byte type, long expireAt, byte[] key);
+
+    }
+
+}
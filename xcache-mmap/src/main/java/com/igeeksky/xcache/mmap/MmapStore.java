@@ -0,0 +1,642 @@
+package com.igeeksky.xcache.mmap;
+
+import com.igeeksky.xcache.common.CacheConfigException;
+import com.igeeksky.xcache.common.CacheExecutor;
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.CompletedFutures;
+import com.igeeksky.xcache.core.ExtraStoreConvertor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 文件映射缓存存储
+ * <p>
+ * 缓存数据经编解码及压缩后（{@link ExtraStoreConvertor}，与外部缓存格式一致）追加写入内存映射的数据文件，
+ * 键与数据位置的索引保存在堆内。应用重启时，依次扫描数据文件重建索引，从而恢复缓存数据，避免冷启动。
+ * <p>
+ * 可作为三级缓存中的二级缓存（位于进程内缓存与 Redis 之间），也可单独作为一级缓存使用。
+ * <p>
+ * 写入与删除均为追加记录（删除记录用于重启后屏蔽旧数据）。
+ * 当前数据文件写满后创建新数据文件，并提交后台维护任务（写入线程不会因此阻塞）：<br>
+ * 1. 刷写已写满的数据文件。<br>
+ * 2. 检查已写满的数据文件：失效数据占比达到阈值时，将其中的有效数据分批复制到当前数据文件，然后删除该文件（压缩）。
+ * 每批仅短暂持有写锁，其余时间不影响读写。<br>
+ * 3. 数据文件总大小超出上限时，删除最早的数据文件（其中的有效数据随之被淘汰）。
+ * <p>
+ * 数据写入映射内存后即由操作系统负责刷写磁盘，即使进程异常退出也不会丢失；
+ * 已写满的数据文件会由后台任务主动刷写，操作系统崩溃时仅可能丢失尚未刷写的数据。
+ * <p>
+ * 同一数据目录同时只能由一个缓存实例使用（文件锁）。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class MmapStore<V> implements Store<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(MmapStore.class);
+
+    private static final String LOCK_FILE = "xcache.lock";
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("segment-(\\d{20})\\.data");
+
+    private static final byte[] EMPTY = new byte[0];
+
+    /**
+     * 压缩时每批复制的记录数量
+     */
+    private static final int COMPACT_BATCH = 256;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Lock readLock = lock.readLock();
+
+    private final Lock writeLock = lock.writeLock();
+
+    // 后台维护任务持有此锁（先于 writeLock 获取），清空与关闭也需持有此锁，以保证维护期间数据文件不会被删除
+    private final ReentrantLock maintainLock = new ReentrantLock();
+
+    private final Executor maintainExecutor = CacheExecutor.PLATFORM.getExecutor();
+
+    // 以下字段需持有 writeLock 才能修改
+    private final Map<String, Location> index = new HashMap<>();
+
+    private final ArrayDeque<MmapSegment> segments = new ArrayDeque<>();
+
+    // 已写满但尚未刷写的数据文件
+    private final List<MmapSegment> unforced = new ArrayList<>();
+
+    private MmapSegment active;
+
+    private long nextId = 1;
+
+    private boolean maintainScheduled;
+
+    private boolean closed;
+
+    private final String name;
+
+    private final Path dir;
+
+    private final int segmentSize;
+
+    private final long maxDisk;
+
+    private final double compactThreshold;
+
+    private final Charset charset;
+
+    private final ExtraStoreConvertor<V> convertor;
+
+    private final boolean enableRandomTtl;
+
+    private final long expireAfterWrite;
+
+    private final long expireAfterWriteMin;
+
+    // 持有文件锁直至关闭或进程退出
+    private final FileLock fileLock;
+
+    public MmapStore(MmapConfig<V> config) {
+        this.name = config.getName();
+        this.dir = config.getDir();
+        this.segmentSize = config.getSegmentSize();
+        this.maxDisk = config.getMaxDisk();
+        this.compactThreshold = config.getCompactThreshold();
+        this.charset = config.getCharset();
+        this.expireAfterWrite = config.getExpireAfterWrite();
+        this.expireAfterWriteMin = expireAfterWrite * 4 / 5;
+        this.enableRandomTtl = config.isEnableRandomTtl() && (expireAfterWrite - expireAfterWriteMin) > 1;
+        this.convertor = new ExtraStoreConvertor<>(config.isEnableNullValue(), config.isEnableCompressValue(),
+                config.isEnableWriteTime(), config.getValueCodec(), config.getValueCompressor());
+
+        try {
+            Files.createDirectories(dir);
+            this.fileLock = this.lockDir();
+            this.recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cache:[" + name + "], mmap store open failed. dir: " + dir, e);
+        }
+    }
+
+    private FileLock lockDir() throws IOException {
+        FileChannel channel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        try {
+            FileLock fileLock = channel.tryLock();
+            if (fileLock != null) {
+                return fileLock;
+            }
+        } catch (OverlappingFileLockException ignored) {
+        }
+        channel.close();
+        throw new CacheConfigException("Cache:[" + name + "], mmap dir is already in use: " + dir);
+    }
+
+    /**
+     * 按序号依次扫描数据文件，重建索引
+     */
+    private void recover() throws IOException {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                Matcher matcher = SEGMENT_FILE.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    files.put(Long.parseLong(matcher.group(1)), path);
+                }
+            }
+        }
+        for (Map.Entry<Long, Path> entry : files.entrySet()) {
+            MmapSegment segment = MmapSegment.open(entry.getKey(), entry.getValue(), segmentSize);
+            segment.recover((offset, size, type, expireAt, key) -> this.replay(segment, offset, size, type, expireAt, key));
+            segments.addLast(segment);
+            nextId = entry.getKey() + 1;
+        }
+        if (segments.isEmpty()) {
+            segments.addLast(this.createSegment());
+        }
+        this.active = segments.peekLast();
+        this.evict();
+        if (!files.isEmpty()) {
+            log.info("Cache:[{}], mmap store recovered. segments: {}, keys: {}", name, segments.size(), index.size());
+        }
+    }
+
+    private void replay(MmapSegment segment, int offset, int size, byte type, long expireAt, byte[] key) {
+        String storeKey = new String(key, charset);
+        if (type == MmapSegment.TYPE_PUT) {
+            this.updateIndex(storeKey, new Location(segment, offset, size, expireAt));
+        } else {
+            this.removeIndex(storeKey);
+            segment.addGarbage(size);
+        }
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        byte[] storeValue = null;
+        readLock.lock();
+        try {
+            this.checkOpen();
+            Location location = index.get(key);
+            if (location != null && !location.isExpired(System.currentTimeMillis())) {
+                storeValue = location.segment.readValue(location.offset, location.size);
+            }
+        } finally {
+            readLock.unlock();
+        }
+        return this.convertor.fromExtraStoreValue(storeValue);
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        try {
+            return CompletedFutures.of(this.getCacheValue(key));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        Map<String, CacheValue<V>> result = HashMap.newHashMap(keys.size());
+        for (String key : keys) {
+            CacheValue<V> cacheValue = this.getCacheValue(key);
+            if (cacheValue != null) {
+                result.put(key, cacheValue);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        try {
+            return CompletableFuture.completedFuture(this.getAllCacheValues(keys));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void put(String key, V value) {
+        long ttl = this.ttl();
+        byte[] storeValue = this.convertor.toExtraStoreValue(value, ttl);
+        if (storeValue == null) {
+            this.remove(key);
+            return;
+        }
+        byte[] keyBytes = key.getBytes(charset);
+        if ((long) MmapSegment.HEADER_SIZE + keyBytes.length + storeValue.length > segmentSize) {
+            // 超出单个数据文件的大小，无法保存
+            this.remove(key);
+            return;
+        }
+        long expireAt = (ttl > 0) ? System.currentTimeMillis() + ttl : 0;
+        writeLock.lock();
+        try {
+            this.checkOpen();
+            this.updateIndex(key, this.append(MmapSegment.TYPE_PUT, expireAt, keyBytes, storeValue));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        try {
+            this.put(key, value);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        keyValues.forEach(this::put);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        try {
+            this.putAll(keyValues);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        writeLock.lock();
+        try {
+            this.checkOpen();
+            if (this.removeIndex(key)) {
+                this.appendTombstone(key.getBytes(charset));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        try {
+            this.remove(key);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        keys.forEach(this::remove);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        try {
+            this.removeAll(keys);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        maintainLock.lock();
+        writeLock.lock();
+        try {
+            this.checkOpen();
+            for (MmapSegment segment : segments) {
+                this.deleteSegment(segment);
+            }
+            segments.clear();
+            unforced.clear();
+            index.clear();
+            active = this.createSegment();
+            segments.addLast(active);
+        } finally {
+            writeLock.unlock();
+            maintainLock.unlock();
+        }
+    }
+
+    /**
+     * 键值对数量
+     *
+     * @return 键值对数量（包含已过期但尚未清理的键值对）
+     */
+    public long size() {
+        readLock.lock();
+        try {
+            return index.size();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 将当前数据文件中已修改的数据刷写到磁盘
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            this.checkOpen();
+            active.force();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 关闭：等待正在执行的维护任务完成，刷写数据文件，解除内存映射并释放文件锁
+     * <p>
+     * 关闭后调用读写方法将抛出 {@link IllegalStateException}；数据文件保留，下次启动时恢复。
+     */
+    @Override
+    public void close() {
+        maintainLock.lock();
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            for (MmapSegment segment : segments) {
+                segment.force();
+                segment.unmap();
+            }
+            segments.clear();
+            unforced.clear();
+            index.clear();
+            fileLock.channel().close();
+        } catch (IOException e) {
+            log.warn("Cache:[{}], mmap store release file lock failed. {}", name, e.getMessage());
+        } finally {
+            writeLock.unlock();
+            maintainLock.unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Cache:[" + name + "], mmap store is closed.");
+        }
+    }
+
+    private Location append(byte type, long expireAt, byte[] key, byte[] value) {
+        int offset = active.append(type, expireAt, key, value);
+        if (offset < 0) {
+            this.roll();
+            offset = active.append(type, expireAt, key, value);
+        }
+        return new Location(active, offset, MmapSegment.HEADER_SIZE + key.length + value.length, expireAt);
+    }
+
+    private void appendTombstone(byte[] key) {
+        Location tombstone = this.append(MmapSegment.TYPE_DELETE, 0, key, EMPTY);
+        tombstone.segment.addGarbage(tombstone.size);
+    }
+
+    private void updateIndex(String key, Location location) {
+        Location old = index.put(key, location);
+        if (old != null) {
+            old.segment.addGarbage(old.size);
+        }
+    }
+
+    private boolean removeIndex(String key) {
+        Location old = index.remove(key);
+        if (old != null) {
+            old.segment.addGarbage(old.size);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 当前数据文件已写满：创建新数据文件，并提交后台维护任务
+     */
+    private void roll() {
+        unforced.add(active);
+        active = this.createSegment();
+        segments.addLast(active);
+        if (!maintainScheduled) {
+            maintainScheduled = true;
+            maintainExecutor.execute(this::maintain);
+        }
+    }
+
+    /**
+     * 后台维护：刷写已写满的数据文件，然后压缩与淘汰
+     * <p>
+     * 压缩过程中复制数据可能再次创建数据文件并提交维护任务，该任务会在本次维护完成后执行。
+     */
+    private void maintain() {
+        maintainLock.lock();
+        try {
+            List<MmapSegment> full;
+            writeLock.lock();
+            try {
+                maintainScheduled = false;
+                if (closed) {
+                    return;
+                }
+                full = new ArrayList<>(unforced);
+                unforced.clear();
+            } finally {
+                writeLock.unlock();
+            }
+            // 已写满的数据文件不再修改，且持有 maintainLock 期间不会被删除，因此无需持有 writeLock
+            for (MmapSegment segment : full) {
+                segment.force();
+            }
+            for (MmapSegment segment : this.compactCandidates()) {
+                this.compact(segment);
+            }
+            writeLock.lock();
+            try {
+                this.evict();
+            } finally {
+                writeLock.unlock();
+            }
+        } catch (Throwable e) {
+            log.error("Cache:[{}], mmap store maintain has error. {}", name, e.getMessage(), e);
+        } finally {
+            maintainLock.unlock();
+        }
+    }
+
+    private List<MmapSegment> compactCandidates() {
+        readLock.lock();
+        try {
+            List<MmapSegment> candidates = new ArrayList<>();
+            for (MmapSegment segment : segments) {
+                if (segment != active && segment.getGarbage() >= compactThreshold * segment.getPosition()) {
+                    candidates.add(segment);
+                }
+            }
+            return candidates;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * 压缩：读取数据文件中的记录（无需持有锁），分批将有效数据复制到当前数据文件，最后删除该文件
+     *
+     * @param segment 已写满的数据文件
+     */
+    private void compact(MmapSegment segment) {
+        List<Record> batch = new ArrayList<>(COMPACT_BATCH);
+        segment.scan((offset, size, type, expireAt, key) -> {
+            batch.add(new Record(offset, size, type, expireAt, key));
+            if (batch.size() >= COMPACT_BATCH) {
+                this.compact(segment, batch);
+                batch.clear();
+            }
+        });
+        writeLock.lock();
+        try {
+            this.compact(segment, batch);
+            segments.remove(segment);
+            this.deleteSegment(segment);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void compact(MmapSegment segment, List<Record> records) {
+        long now = System.currentTimeMillis();
+        writeLock.lock();
+        try {
+            // 最早的数据文件之前没有任何数据，其中的删除记录可以丢弃
+            boolean oldest = (segment == segments.peekFirst());
+            for (Record record : records) {
+                String storeKey = new String(record.key, charset);
+                if (record.type == MmapSegment.TYPE_PUT) {
+                    Location location = index.get(storeKey);
+                    if (location == null || location.segment != segment || location.offset != record.offset) {
+                        continue;
+                    }
+                    if (location.isExpired(now)) {
+                        this.removeIndex(storeKey);
+                        if (!oldest) {
+                            this.appendTombstone(record.key);
+                        }
+                        continue;
+                    }
+                    int target = active.copy(segment, record.offset);
+                    if (target < 0) {
+                        this.roll();
+                        target = active.copy(segment, record.offset);
+                    }
+                    index.put(storeKey, new Location(active, target, record.size, record.expireAt));
+                } else if (!oldest && !index.containsKey(storeKey)) {
+                    this.appendTombstone(record.key);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 数据文件总大小超出上限，删除最早的数据文件
+     */
+    private void evict() {
+        while ((long) segments.size() * segmentSize > maxDisk && segments.size() > 1) {
+            MmapSegment segment = segments.pollFirst();
+            unforced.remove(segment);
+            segment.scan((offset, size, type, expireAt, key) -> {
+                if (type == MmapSegment.TYPE_PUT) {
+                    String storeKey = new String(key, charset);
+                    Location location = index.get(storeKey);
+                    if (location != null && location.segment == segment && location.offset == offset) {
+                        index.remove(storeKey);
+                    }
+                }
+            });
+            this.deleteSegment(segment);
+        }
+    }
+
+    private MmapSegment createSegment() {
+        long id = nextId++;
+        Path path = dir.resolve(String.format("segment-%020d.data", id));
+        try {
+            return MmapSegment.open(id, path, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cache:[" + name + "], mmap segment create failed: " + path, e);
+        }
+    }
+
+    private void deleteSegment(MmapSegment segment) {
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            log.warn("Cache:[{}], mmap segment delete failed: {}", name, segment.getId(), e);
+        }
+    }
+
+    private long ttl() {
+        if (enableRandomTtl) {
+            return ThreadLocalRandom.current().nextLong(expireAfterWriteMin, expireAfterWrite);
+        }
+        return expireAfterWrite;
+    }
+
+    /**
+     * 压缩时读取的记录
+     *
+     * @param offset   记录起始位置
+     * @param size     记录长度
+     * @param type     记录类型
+     * @param expireAt 过期时间（0 表示不过期）
+     * @param key      键
+     */
+    private record Record(int offset, int size, byte type, long expireAt, byte[] key) {
+    }
+
+    /**
+     * 记录位置
+     *
+     * @param segment  数据文件
+     * @param offset   记录起始位置
+     * @param size     记录长度
+     * @param expireAt 过期时间（0 表示不过期）
+     */
+    private record Location(MmapSegment segment, int offset, int size, long expireAt) {
+
+        boolean isExpired(long now) {
+            return expireAt > 0 && expireAt <= now;
+        }
+
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.igeeksky.xcache.mmap;
+
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+
+/**
+ * 文件映射缓存提供者
+ * <p>
+ * 使用文件映射缓存时，必须配置 {@code value-codec}；可通过 {@code params} 设置数据目录等参数（详见 {@link MmapConfig}）。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class MmapStoreProvider implements StoreProvider {
+
+    @Override
+    public <V> Store<V> getStore(StoreConfig<V> storeConfig) {
+        return new MmapStore<>(new MmapConfig<>(storeConfig));
+    }
+
+}
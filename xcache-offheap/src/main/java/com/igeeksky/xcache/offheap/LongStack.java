@@ -0,0 +1,50 @@
+package com.igeeksky.xcache.offheap;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * long 栈
+ * <p>
+ * 用于记录空闲内存块及空闲内存页，0 表示空值，因此不能压入 0。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+final class LongStack {
+
+    private long[] elements = new long[16];
+
+    private int size;
+
+    void push(long element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size << 1);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * 弹出栈顶元素
+     *
+     * @return 栈顶元素，如栈为空，返回 0
+     */
+    long pop() {
+        return (size == 0) ? 0 : elements[--size];
+    }
+
+    void removeIf(LongPredicate filter) {
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(elements[i])) {
+                elements[j++] = elements[i];
+            }
+        }
+        size = j;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+}
@@ -0,0 +1,185 @@
+package com.igeeksky.xcache.offheap;
+
+import com.igeeksky.xcache.common.CacheConfigException;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xtool.core.lang.codec.Codec;
+import com.igeeksky.xtool.core.lang.compress.Compressor;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+
+/**
+ * 堆外缓存配置项
+ * <p>
+ * 除通用配置项外，还可通过 {@code params} 设置以下非标参数：<br>
+ * {@code max-memory}：堆外内存最大容量（单位：字节，默认值：268435456，即 256 MiB）<br>
+ * {@code segments}：分段数量（2 的幂，默认值：16）<br>
+ * {@code page-size}：内存页大小（单位：字节，2 的幂，默认值：1048576，即 1 MiB；单个键值对不能超过此大小）<br>
+ * {@code enable-admission}：容量已满时，是否根据访问频率决定新数据能否淘汰旧数据（默认值：true）
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class OffHeapConfig<V> {
+
+    static final String MAX_MEMORY = "max-memory";
+    static final String SEGMENTS = "segments";
+    static final String PAGE_SIZE = "page-size";
+    static final String ENABLE_ADMISSION = "enable-admission";
+
+    private static final long DEFAULT_MAX_MEMORY = 256L * 1024 * 1024;
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int DEFAULT_PAGE_SIZE = 1024 * 1024;
+    private static final int MIN_PAGE_SIZE = 4 * 1024;
+
+    private final String name;
+
+    private final Charset charset;
+
+    private final long maximumSize;
+
+    private final long expireAfterWrite;
+
+    private final long expireAfterAccess;
+
+    private final boolean enableRandomTtl;
+
+    private final boolean enableNullValue;
+
+    private final boolean enableCompressValue;
+
+    private final boolean enableWriteTime;
+
+    private final Codec<V> valueCodec;
+
+    private final Compressor valueCompressor;
+
+    private final long maxMemory;
+
+    private final int segments;
+
+    private final int pageSize;
+
+    private final boolean enableAdmission;
+
+    public OffHeapConfig(StoreConfig<V> storeConfig) {
+        this.name = storeConfig.getName();
+        this.charset = storeConfig.getCharset();
+        this.maximumSize = storeConfig.getMaximumSize();
+        this.expireAfterWrite = storeConfig.getExpireAfterWrite();
+        this.expireAfterAccess = storeConfig.getExpireAfterAccess();
+        this.enableRandomTtl = storeConfig.isEnableRandomTtl();
+        this.enableNullValue = storeConfig.isEnableNullValue();
+        this.enableCompressValue = storeConfig.isEnableCompressValue();
+        this.enableWriteTime = storeConfig.isEnableWriteTime();
+        this.valueCodec = storeConfig.getValueCodec();
+        this.valueCompressor = storeConfig.getValueCompressor();
+        if (this.valueCodec == null) {
+            throw new CacheConfigException("Cache:[" + name + "], offheap store requires value-codec.");
+        }
+
+        Map<String, Object> params = storeConfig.getParams();
+        this.maxMemory = getLong(params, MAX_MEMORY, DEFAULT_MAX_MEMORY);
+        this.segments = (int) getLong(params, SEGMENTS, DEFAULT_SEGMENTS);
+        this.pageSize = (int) getLong(params, PAGE_SIZE, DEFAULT_PAGE_SIZE);
+        this.enableAdmission = getBoolean(params, ENABLE_ADMISSION, true);
+
+        if (Integer.bitCount(segments) != 1) {
+            throw new CacheConfigException("Cache:[" + name + "], offheap segments must be a power of 2.");
+        }
+        if (pageSize < MIN_PAGE_SIZE || Integer.bitCount(pageSize) != 1) {
+            throw new CacheConfigException("Cache:[" + name + "], offheap page-size must be a power of 2 and >= "
+                    + MIN_PAGE_SIZE);
+        }
+        if (maxMemory < (long) pageSize * segments) {
+            throw new CacheConfigException("Cache:[" + name + "], offheap max-memory must be >= page-size * segments.");
+        }
+    }
+
+    private long getLong(Map<String, Object> params, String key, long defaultValue) {
+        Object value = (params != null) ? params.get(key) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new CacheConfigException("Cache:[" + name + "], offheap param:[" + key + "] is invalid: " + value);
+        }
+    }
+
+    private static boolean getBoolean(Map<String, Object> params, String key, boolean defaultValue) {
+        Object value = (params != null) ? params.get(key) : null;
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        return Boolean.parseBoolean(value.toString().trim());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public long getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    public boolean isEnableRandomTtl() {
+        return enableRandomTtl;
+    }
+
+    public boolean isEnableNullValue() {
+        return enableNullValue;
+    }
+
+    public boolean isEnableCompressValue() {
+        return enableCompressValue;
+    }
+
+    public boolean isEnableWriteTime() {
+        return enableWriteTime;
+    }
+
+    public Codec<V> getValueCodec() {
+        return valueCodec;
+    }
+
+    public Compressor getValueCompressor() {
+        return valueCompressor;
+    }
+
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isEnableAdmission() {
+        return enableAdmission;
+    }
+
+}
@@ -0,0 +1,615 @@
+package com.igeeksky.xcache.offheap;
+
+import com.igeeksky.xcache.core.store.FrequencySketch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 堆外缓存分段
+ * <p>
+ * 键值对保存在堆外内存页中：内存页首次使用时按规格切分为固定大小的内存块，每个键值对占用一个能容纳它的最小内存块。<br>
+ * 索引为开放寻址哈希表，仅保存内存块句柄与哈希值（两个基本类型数组），不会为每个键值对创建堆内对象。<br>
+ * 淘汰顺序为 LRU，前驱与后继句柄保存在内存块头部。
+ * <p>
+ * 如某规格已无空闲内存块，且已无可用的内存页，则先回收其它规格的空页（已无数据的内存页）；
+ * 如无空页，则优先淘汰 LRU 尾部附近的同规格数据；
+ * 如无同规格数据，则清空 LRU 尾部数据所在的内存页，并将其改为所需规格，以避免内存长期被其它规格占用。
+ * <p>
+ * 内存块格式：{@code [4 字节哈希值][4 字节规格][4 字节键长度][4 字节值长度][8 字节写入过期时间][8 字节过期时间]
+ * [8 字节前驱][8 字节后继][键][值]}
+ * <p>
+ * 所有操作均需持有分段锁。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+final class OffHeapSegment {
+
+    private static final int HASH = 0;
+    private static final int SIZE_CLASS = 4;
+    private static final int KEY_LENGTH = 8;
+    private static final int VALUE_LENGTH = 12;
+    private static final int WRITE_EXPIRE = 16;
+    private static final int EXPIRE = 24;
+    private static final int PREV = 32;
+    private static final int NEXT = 40;
+
+    /**
+     * 内存块头部长度
+     */
+    static final int HEADER_LENGTH = 48;
+
+    /**
+     * 从 LRU 尾部查找同规格内存块的最大数量
+     */
+    private static final int VICTIM_SCAN = 8;
+
+    private static final int INITIAL_TABLE_SIZE = 64;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final int pageSize;
+
+    private final int[] chunkSizes;
+
+    private final long maxEntries;
+
+    private final long expireAfterAccess;
+
+    private final Charset charset;
+
+    private final FrequencySketch sketch;
+
+    private final ByteBuffer[] pages;
+
+    // 内存页的规格（-1 表示未分配）
+    private final int[] pageClasses;
+
+    // 内存页已使用的内存块数量（为 0 表示空页，分配时可回收并改为其它规格）
+    private final int[] pageLives;
+
+    // 已创建的内存页数量
+    private int pageCount;
+
+    // 已回收的内存页（页序号 + 1）
+    private final LongStack freePages = new LongStack();
+
+    // 各规格的空闲内存块
+    private final LongStack[] freeChunks;
+
+    private long[] table;
+
+    private int[] hashes;
+
+    private int mask;
+
+    private int size;
+
+    // LRU 头部（最近访问）
+    private long head;
+
+    // LRU 尾部（最久未访问）
+    private long tail;
+
+    /**
+     * 堆外缓存分段
+     *
+     * @param maxPages          最大内存页数量
+     * @param pageSize          内存页大小
+     * @param chunkSizes        内存块规格（升序，最后一个等于内存页大小）
+     * @param maxEntries        最大键值对数量
+     * @param expireAfterAccess 访问后存活时长（毫秒，小于等于 0 表示不启用）
+     * @param charset           字符集（用于还原被淘汰的键）
+     * @param sketch            访问频率估算（为空表示不启用准入过滤）
+     */
+    OffHeapSegment(int maxPages, int pageSize, int[] chunkSizes, long maxEntries, long expireAfterAccess,
+                   Charset charset, FrequencySketch sketch) {
+        this.pageSize = pageSize;
+        this.chunkSizes = chunkSizes;
+        this.maxEntries = maxEntries;
+        this.expireAfterAccess = expireAfterAccess;
+        this.charset = charset;
+        this.sketch = sketch;
+        this.pages = new ByteBuffer[maxPages];
+        this.pageClasses = new int[maxPages];
+        this.pageLives = new int[maxPages];
+        Arrays.fill(this.pageClasses, -1);
+        this.freeChunks = new LongStack[chunkSizes.length];
+        for (int i = 0; i < chunkSizes.length; i++) {
+            this.freeChunks[i] = new LongStack();
+        }
+        this.table = new long[INITIAL_TABLE_SIZE];
+        this.hashes = new int[INITIAL_TABLE_SIZE];
+        this.mask = INITIAL_TABLE_SIZE - 1;
+    }
+
+    /**
+     * 读取值
+     *
+     * @param hash 键的哈希值
+     * @param key  键
+     * @param now  当前时间
+     * @return 值，如不存在或已过期，返回空
+     */
+    byte[] get(int hash, byte[] key, long now) {
+        lock.lock();
+        try {
+            int slot = this.find(hash, key);
+            if (slot < 0) {
+                return null;
+            }
+            long handle = table[slot];
+            ByteBuffer page = this.pageOf(handle);
+            int offset = offsetOf(handle);
+            if (isExpired(page, offset, now)) {
+                this.removeSlot(slot);
+                return null;
+            }
+            if (expireAfterAccess > 0) {
+                page.putLong(offset + EXPIRE, this.expireAt(page.getLong(offset + WRITE_EXPIRE), now));
+            }
+            this.moveToHead(handle);
+            byte[] value = new byte[page.getInt(offset + VALUE_LENGTH)];
+            page.get(offset + HEADER_LENGTH + key.length, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 写入键值对
+     * <p>
+     * 如键值对超过内存页大小，或容量已满且新键的访问频率不高于被淘汰的键，则不写入（同时删除该键的旧值）。
+     *
+     * @param keyString   键（用于准入判断）
+     * @param hash        键的哈希值
+     * @param key         键
+     * @param value       值
+     * @param writeExpire 写入过期时间（0 表示永不过期）
+     * @param now         当前时间
+     * @return {@code true} – 已写入；{@code false} – 未写入
+     */
+    boolean put(String keyString, int hash, byte[] key, byte[] value, long writeExpire, long now) {
+        int sizeClass = this.sizeClassOf(HEADER_LENGTH + key.length + value.length);
+        lock.lock();
+        try {
+            int slot = this.find(hash, key);
+            if (slot >= 0) {
+                long handle = table[slot];
+                if (sizeClass >= 0 && this.classOf(handle) == sizeClass) {
+                    this.write(handle, hash, sizeClass, key, value, writeExpire, now);
+                    this.moveToHead(handle);
+                    return true;
+                }
+                this.removeSlot(slot);
+            }
+            if (sizeClass < 0) {
+                return false;
+            }
+            if (size >= maxEntries && !this.evict(keyString, now)) {
+                return false;
+            }
+            long handle = this.allocate(sizeClass, keyString, now);
+            if (handle == 0) {
+                return false;
+            }
+            this.write(handle, hash, sizeClass, key, value, writeExpire, now);
+            this.insert(hash, handle);
+            this.linkHead(handle);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除键值对
+     *
+     * @param hash 键的哈希值
+     * @param key  键
+     */
+    void remove(int hash, byte[] key) {
+        lock.lock();
+        try {
+            int slot = this.find(hash, key);
+            if (slot >= 0) {
+                this.removeSlot(slot);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空分段（保留已创建的内存页，以便复用）
+     */
+    void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(table, 0L);
+            size = 0;
+            head = 0;
+            tail = 0;
+            for (LongStack stack : freeChunks) {
+                stack.clear();
+            }
+            freePages.clear();
+            for (int i = 0; i < pageCount; i++) {
+                pageClasses[i] = -1;
+                pageLives[i] = 0;
+                freePages.push(i + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 键值对数量
+     *
+     * @return 键值对数量（包含已过期但尚未清理的键值对）
+     */
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 键值对数量已达上限：淘汰一个键值对
+     *
+     * @param keyString 新键
+     * @param now       当前时间
+     * @return {@code true} – 已淘汰；{@code false} – 新键未获准入
+     */
+    private boolean evict(String keyString, long now) {
+        long victim = tail;
+        if (victim == 0) {
+            return false;
+        }
+        if (!this.isExpired(victim, now) && !this.admit(keyString, victim)) {
+            return false;
+        }
+        this.removeSlot(this.slotOf(victim));
+        return true;
+    }
+
+    /**
+     * 分配内存块：优先使用空闲内存块，其次创建新内存页，最后淘汰旧数据
+     *
+     * @param sizeClass 内存块规格
+     * @param keyString 新键
+     * @param now       当前时间
+     * @return 内存块句柄，如无法分配，返回 0
+     */
+    private long allocate(int sizeClass, String keyString, long now) {
+        long handle = this.takeChunk(sizeClass);
+        if (handle != 0 || tail == 0) {
+            return handle;
+        }
+        long victim = this.selectVictim(sizeClass, now);
+        if (!this.isExpired(victim, now) && !this.admit(keyString, victim)) {
+            return 0;
+        }
+        int pageIndex = pageIndexOf(victim);
+        if (pageClasses[pageIndex] == sizeClass) {
+            this.removeSlot(this.slotOf(victim));
+        } else {
+            // 无同规格的可淘汰数据：清空被淘汰数据所在的内存页，并改为所需规格
+            this.evictPage(pageIndex);
+        }
+        return this.takeChunk(sizeClass);
+    }
+
+    private void evictPage(int pageIndex) {
+        ByteBuffer page = pages[pageIndex];
+        int chunkSize = chunkSizes[pageClasses[pageIndex]];
+        for (int offset = 0; offset + chunkSize <= pageSize; offset += chunkSize) {
+            if (page.getInt(offset + KEY_LENGTH) >= 0) {
+                this.removeSlot(this.slotOf(handleOf(pageIndex, offset)));
+            }
+        }
+        this.reclaimPage(pageIndex);
+    }
+
+    private long takeChunk(int sizeClass) {
+        long handle = freeChunks[sizeClass].pop();
+        if (handle == 0 && this.newPage(sizeClass)) {
+            handle = freeChunks[sizeClass].pop();
+        }
+        if (handle != 0) {
+            pageLives[pageIndexOf(handle)]++;
+        }
+        return handle;
+    }
+
+    /**
+     * 从 LRU 尾部选择被淘汰的键值对：优先选择已过期或同规格的内存块
+     */
+    private long selectVictim(int sizeClass, long now) {
+        long handle = tail;
+        for (int i = 0; i < VICTIM_SCAN && handle != 0; i++) {
+            if (this.isExpired(handle, now) || this.classOf(handle) == sizeClass) {
+                return handle;
+            }
+            handle = this.pageOf(handle).getLong(offsetOf(handle) + PREV);
+        }
+        return tail;
+    }
+
+    /**
+     * 准入判断：新键的估算访问频率高于被淘汰的键才准入
+     */
+    private boolean admit(String keyString, long victim) {
+        if (sketch == null) {
+            return true;
+        }
+        return sketch.frequency(keyString) > sketch.frequency(this.readKey(victim));
+    }
+
+    private boolean newPage(int sizeClass) {
+        int pageIndex = (int) freePages.pop() - 1;
+        if (pageIndex < 0) {
+            if (pageCount < pages.length) {
+                pageIndex = pageCount++;
+                pages[pageIndex] = ByteBuffer.allocateDirect(pageSize);
+            } else if (this.reclaimEmptyPage()) {
+                pageIndex = (int) freePages.pop() - 1;
+            } else {
+                return false;
+            }
+        }
+        pageClasses[pageIndex] = sizeClass;
+        pageLives[pageIndex] = 0;
+        int chunkSize = chunkSizes[sizeClass];
+        LongStack stack = freeChunks[sizeClass];
+        ByteBuffer page = pages[pageIndex];
+        // 逆序压栈，使低地址的内存块先被使用；键长度为 -1 表示空闲内存块
+        for (int offset = (pageSize / chunkSize - 1) * chunkSize; offset >= 0; offset -= chunkSize) {
+            page.putInt(offset + KEY_LENGTH, -1);
+            stack.push(handleOf(pageIndex, offset));
+        }
+        return true;
+    }
+
+    /**
+     * 内存页已全部创建：回收一个空页
+     * <p>
+     * 仅当所需规格已无空闲内存块时调用，因此被回收的空页必为其它规格。
+     * 空页仅在此时按需回收，避免同一内存页因反复写入删除而频繁切分与回收。
+     *
+     * @return {@code true} – 已回收；{@code false} – 无空页
+     */
+    private boolean reclaimEmptyPage() {
+        for (int i = 0; i < pageCount; i++) {
+            if (pageClasses[i] >= 0 && pageLives[i] == 0) {
+                this.reclaimPage(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reclaimPage(int pageIndex) {
+        int sizeClass = pageClasses[pageIndex];
+        freeChunks[sizeClass].removeIf(handle -> pageIndexOf(handle) == pageIndex);
+        pageClasses[pageIndex] = -1;
+        freePages.push(pageIndex + 1);
+    }
+
+    private void write(long handle, int hash, int sizeClass, byte[] key, byte[] value, long writeExpire, long now) {
+        ByteBuffer page = this.pageOf(handle);
+        int offset = offsetOf(handle);
+        page.putInt(offset + HASH, hash);
+        page.putInt(offset + SIZE_CLASS, sizeClass);
+        page.putInt(offset + KEY_LENGTH, key.length);
+        page.putInt(offset + VALUE_LENGTH, value.length);
+        page.putLong(offset + WRITE_EXPIRE, writeExpire);
+        page.putLong(offset + EXPIRE, this.expireAt(writeExpire, now));
+        page.put(offset + HEADER_LENGTH, key);
+        page.put(offset + HEADER_LENGTH + key.length, value);
+    }
+
+    private long expireAt(long writeExpire, long now) {
+        if (expireAfterAccess <= 0) {
+            return writeExpire;
+        }
+        long accessExpire = now + expireAfterAccess;
+        return (writeExpire > 0) ? Math.min(writeExpire, accessExpire) : accessExpire;
+    }
+
+    private boolean isExpired(long handle, long now) {
+        return isExpired(this.pageOf(handle), offsetOf(handle), now);
+    }
+
+    private static boolean isExpired(ByteBuffer page, int offset, long now) {
+        long expire = page.getLong(offset + EXPIRE);
+        return expire > 0 && expire <= now;
+    }
+
+    private String readKey(long handle) {
+        ByteBuffer page = this.pageOf(handle);
+        int offset = offsetOf(handle);
+        byte[] key = new byte[page.getInt(offset + KEY_LENGTH)];
+        page.get(offset + HEADER_LENGTH, key);
+        return new String(key, charset);
+    }
+
+    private boolean keyEquals(long handle, byte[] key) {
+        ByteBuffer page = this.pageOf(handle);
+        int offset = offsetOf(handle);
+        if (page.getInt(offset + KEY_LENGTH) != key.length) {
+            return false;
+        }
+        int start = offset + HEADER_LENGTH;
+        for (int i = 0; i < key.length; i++) {
+            if (page.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int sizeClassOf(int length) {
+        if (length > pageSize) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(chunkSizes, length);
+        return (index >= 0) ? index : -(index + 1);
+    }
+
+    private int classOf(long handle) {
+        return pageClasses[pageIndexOf(handle)];
+    }
+
+    // ---------------------------- 哈希索引 ---------------------------- //
+
+    private int find(int hash, byte[] key) {
+        for (int i = hash & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (hashes[i] == hash && this.keyEquals(table[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int slotOf(long handle) {
+        int hash = this.pageOf(handle).getInt(offsetOf(handle) + HASH);
+        for (int i = hash & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == handle) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("offheap index is corrupted.");
+    }
+
+    private void insert(int hash, long handle) {
+        if ((size + 1) > (table.length >>> 2) * 3) {
+            this.resize();
+        }
+        int i = hash & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = handle;
+        hashes[i] = hash;
+        size++;
+    }
+
+    private void resize() {
+        long[] oldTable = table;
+        int[] oldHashes = hashes;
+        int capacity = oldTable.length << 1;
+        table = new long[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        for (int j = 0; j < oldTable.length; j++) {
+            if (oldTable[j] != 0) {
+                int i = oldHashes[j] & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = oldTable[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+    }
+
+    /**
+     * 删除索引槽对应的键值对，并释放内存块
+     */
+    private void removeSlot(int slot) {
+        long handle = table[slot];
+        this.unlink(handle);
+        int pageIndex = pageIndexOf(handle);
+        pageLives[pageIndex]--;
+        pages[pageIndex].putInt(offsetOf(handle) + KEY_LENGTH, -1);
+        freeChunks[pageClasses[pageIndex]].push(handle);
+
+        // 向后移位删除：将后续槽中的元素前移，保持线性探测链连续
+        int i = slot;
+        int j = slot;
+        table[i] = 0;
+        while (true) {
+            j = (j + 1) & mask;
+            if (table[j] == 0) {
+                break;
+            }
+            int k = hashes[j] & mask;
+            boolean inRange = (i <= j) ? (i < k && k <= j) : (i < k || k <= j);
+            if (!inRange) {
+                table[i] = table[j];
+                hashes[i] = hashes[j];
+                table[j] = 0;
+                i = j;
+            }
+        }
+        size--;
+    }
+
+    // ---------------------------- LRU 链表 ---------------------------- //
+
+    private void linkHead(long handle) {
+        ByteBuffer page = this.pageOf(handle);
+        int offset = offsetOf(handle);
+        page.putLong(offset + PREV, 0L);
+        page.putLong(offset + NEXT, head);
+        if (head != 0) {
+            this.pageOf(head).putLong(offsetOf(head) + PREV, handle);
+        }
+        head = handle;
+        if (tail == 0) {
+            tail = handle;
+        }
+    }
+
+    private void unlink(long handle) {
+        ByteBuffer page = this.pageOf(handle);
+        int offset = offsetOf(handle);
+        long prev = page.getLong(offset + PREV);
+        long next = page.getLong(offset + NEXT);
+        if (prev != 0) {
+            this.pageOf(prev).putLong(offsetOf(prev) + NEXT, next);
+        } else {
+            head = next;
+        }
+        if (next != 0) {
+            this.pageOf(next).putLong(offsetOf(next) + PREV, prev);
+        } else {
+            tail = prev;
+        }
+    }
+
+    private void moveToHead(long handle) {
+        if (head != handle) {
+            this.unlink(handle);
+            this.linkHead(handle);
+        }
+    }
+
+    // ---------------------------- 内存块句柄 ---------------------------- //
+
+    private ByteBuffer pageOf(long handle) {
+        return pages[pageIndexOf(handle)];
+    }
+
+    private static long handleOf(int pageIndex, int offset) {
+        return ((long) (pageIndex + 1) << 32) | offset;
+    }
+
+    private static int pageIndexOf(long handle) {
+        return (int) (handle >>> 32) - 1;
+    }
+
+    private static int offsetOf(long handle) {
+        return (int) handle;
+    }
+
+}
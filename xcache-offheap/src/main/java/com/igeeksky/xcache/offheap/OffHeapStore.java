@@ -0,0 +1,248 @@
+package com.igeeksky.xcache.offheap;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.CompletedFutures;
+import com.igeeksky.xcache.core.ExtraStoreConvertor;
+import com.igeeksky.xcache.core.store.FrequencySketch;
+
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 堆外缓存存储
+ * <p>
+ * 缓存值经编解码及压缩后保存在堆外内存（{@link java.nio.ByteBuffer#allocateDirect(int)}），
+ * 因此不会因缓存数据量增长而增加堆内存占用与 GC 停顿。
+ * <p>
+ * 存储格式与外部缓存一致（{@link ExtraStoreConvertor}），可作为一级或二级缓存使用。
+ * <p>
+ * 数据按键的哈希值分散到多个分段，每个分段独立加锁，并独立执行 LRU 淘汰；
+ * 如启用准入过滤（类似 TinyLFU），容量已满时仅当新键的估算访问频率高于被淘汰的键才写入。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class OffHeapStore<V> implements Store<V> {
+
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    private final OffHeapSegment[] segments;
+
+    private final int segmentShift;
+
+    private final Charset charset;
+
+    private final FrequencySketch sketch;
+
+    private final ExtraStoreConvertor<V> convertor;
+
+    private final boolean enableRandomTtl;
+
+    private final long expireAfterWrite;
+
+    private final long expireAfterWriteMin;
+
+    public OffHeapStore(OffHeapConfig<V> config) {
+        this.charset = config.getCharset();
+        this.expireAfterWrite = config.getExpireAfterWrite();
+        this.expireAfterWriteMin = expireAfterWrite * 4 / 5;
+        this.enableRandomTtl = config.isEnableRandomTtl() && (expireAfterWrite - expireAfterWriteMin) > 1;
+        this.convertor = new ExtraStoreConvertor<>(config.isEnableNullValue(), config.isEnableCompressValue(),
+                config.isEnableWriteTime(), config.getValueCodec(), config.getValueCompressor());
+
+        long maximumSize = config.getMaximumSize();
+        this.sketch = config.isEnableAdmission() ? new FrequencySketch(maximumSize > 0 ? maximumSize :
+                config.getMaxMemory() / MIN_CHUNK_SIZE) : null;
+
+        int count = config.getSegments();
+        int pageSize = config.getPageSize();
+        int maxPages = (int) Math.max(1, config.getMaxMemory() / count / pageSize);
+        long maxEntries = (maximumSize > 0) ? Math.max(1, (maximumSize + count - 1) / count) : Long.MAX_VALUE;
+        int[] chunkSizes = chunkSizes(pageSize);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        this.segments = new OffHeapSegment[count];
+        for (int i = 0; i < count; i++) {
+            this.segments[i] = new OffHeapSegment(maxPages, pageSize, chunkSizes, maxEntries,
+                    config.getExpireAfterAccess(), charset, sketch);
+        }
+    }
+
+    /**
+     * 内存块规格：从 64 字节开始按 1.5 倍递增（8 字节对齐），最大规格等于内存页大小
+     *
+     * @param pageSize 内存页大小
+     * @return 内存块规格（升序）
+     */
+    private static int[] chunkSizes(int pageSize) {
+        int[] sizes = new int[64];
+        int count = 0;
+        long size = MIN_CHUNK_SIZE;
+        while (size < pageSize) {
+            sizes[count++] = (int) size;
+            size = ((size * 3 / 2) + 7) & ~7L;
+        }
+        sizes[count++] = pageSize;
+        int[] result = new int[count];
+        System.arraycopy(sizes, 0, result, 0, count);
+        return result;
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        int hash = hash(key);
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        byte[] storeValue = this.segmentFor(hash).get(hash, key.getBytes(charset), System.currentTimeMillis());
+        return this.convertor.fromExtraStoreValue(storeValue);
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        try {
+            return CompletedFutures.of(this.getCacheValue(key));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        Map<String, CacheValue<V>> result = HashMap.newHashMap(keys.size());
+        for (String key : keys) {
+            CacheValue<V> cacheValue = this.getCacheValue(key);
+            if (cacheValue != null) {
+                result.put(key, cacheValue);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        try {
+            return CompletableFuture.completedFuture(this.getAllCacheValues(keys));
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void put(String key, V value) {
+        long ttl = this.ttl();
+        byte[] storeValue = this.convertor.toExtraStoreValue(value, ttl);
+        if (storeValue == null) {
+            this.remove(key);
+            return;
+        }
+        int hash = hash(key);
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        long now = System.currentTimeMillis();
+        long writeExpire = (ttl > 0) ? now + ttl : 0;
+        this.segmentFor(hash).put(key, hash, key.getBytes(charset), storeValue, writeExpire, now);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        try {
+            this.put(key, value);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        keyValues.forEach(this::put);
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        try {
+            this.putAll(keyValues);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void remove(String key) {
+        int hash = hash(key);
+        this.segmentFor(hash).remove(hash, key.getBytes(charset));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        try {
+            this.remove(key);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        keys.forEach(this::remove);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        try {
+            this.removeAll(keys);
+            return CompletedFutures.ofNull();
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (OffHeapSegment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * 键值对数量
+     *
+     * @return 键值对数量（包含已过期但尚未清理的键值对）
+     */
+    public long size() {
+        long size = 0;
+        for (OffHeapSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private long ttl() {
+        if (enableRandomTtl) {
+            return ThreadLocalRandom.current().nextLong(expireAfterWriteMin, expireAfterWrite);
+        }
+        return expireAfterWrite;
+    }
+
+    private OffHeapSegment segmentFor(int hash) {
+        // 分段序号取哈希值的高位，分段内的索引取哈希值的低位
+        return (segmentShift == 32) ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        h = ((h >>> 16) ^ h) * 0x45d9f3b;
+        return (h >>> 16) ^ h;
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.igeeksky.xcache.offheap;
+
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+
+/**
+ * 堆外缓存提供者
+ * <p>
+ * 使用堆外缓存时，必须配置 {@code value-codec}；可通过 {@code params} 设置堆外内存容量等参数（详见 {@link OffHeapConfig}）。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class OffHeapStoreProvider implements StoreProvider {
+
+    @Override
+    public <V> Store<V> getStore(StoreConfig<V> storeConfig) {
+        return new OffHeapStore<>(new OffHeapConfig<>(storeConfig));
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.igeeksky.xcache.redis.bloom;
+
+import com.igeeksky.xcache.extension.bloom.AbstractBloomContainsPredicate;
+import com.igeeksky.xcache.extension.bloom.BloomConfig;
+import com.igeeksky.xcache.extension.bloom.KeysLoader;
+import com.igeeksky.xredis.common.RedisOperatorProxy;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Redis 布隆过滤器断言
+ * <p>
+ * 位图存储于 Redis，多个应用实例共享同一过滤器，读写均通过脚本执行（每次判断仅一次网络往返）。
+ * <p>
+ * 重建时先获取重建锁（同一时刻仅一个实例重建），将数据源的键分批写入临时位图，
+ * 多个批次异步发送（同一连接上自动流水线执行），完成后再原子替换当前位图。
+ * 重建完成后，重建锁改为完成标记并保留一个重建周期（未设置重建周期时为重建锁的最小存续时间），
+ * 在此期间其它实例的重建任务直接跳过，从而使所有实例在每个周期内仅重建一次。
+ * <p>
+ * 所有 key 使用相同的哈希标签，因此支持集群模式。
+ *
+ * @param <K> 键类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class RedisBloomContainsPredicate<K> extends AbstractBloomContainsPredicate<K> {
+
+    // Redis 位图的最大长度
+    private static final long MAX_BITS = 1L << 32;
+
+    // 每个批次的键数量
+    private static final int BATCH_SIZE = 1000;
+
+    // 同时发送的最大批次数量
+    private static final int MAX_IN_FLIGHT = 16;
+
+    // 重建锁的最小存续时间（单位：毫秒）
+    private static final long MIN_LEASE_TIME = 600000;
+
+    private final RedisOperatorProxy operator;
+
+    private final byte[][] bitsKey;
+
+    private final byte[][] putKeys;
+
+    private final byte[][] startKeys;
+
+    private final byte[][] buildKey;
+
+    private final byte[][] finishKeys;
+
+    private final byte[] sid;
+
+    private final byte[] leaseTime;
+
+    // 重建完成标记的存续时间（单位：毫秒）
+    private final byte[] builtTtl;
+
+    // getHasher 为父类的 final 方法，仅读取父类字段；后台构建任务延迟到首次调用时启动，不会读取未初始化的字段
+    @SuppressWarnings("this-escape")
+    public RedisBloomContainsPredicate(BloomConfig<K> config, RedisOperatorProxy operator) {
+        super(config);
+        if (operator.isCompatible()) {
+            throw new UnsupportedOperationException("RedisBloomContainsPredicate doesn't support Redis-Compatible DB.");
+        }
+        if (this.getHasher().getNumBits() > MAX_BITS) {
+            throw new IllegalArgumentException("ContainsPredicate:[" + config.getName() + "], bloom filter too large: "
+                    + this.getHasher().getNumBits() + " bits, redis bitmap supports up to " + MAX_BITS + " bits");
+        }
+        this.operator = operator;
+
+        StringCodec codec = StringCodec.getInstance(config.getCharset());
+        String prefix = "bloom:{" + config.getName() + "}";
+        byte[] bits = codec.encode(prefix);
+        byte[] building = codec.encode(prefix + ":building");
+        byte[] lock = codec.encode(prefix + ":lock");
+        this.bitsKey = new byte[][]{bits};
+        this.putKeys = new byte[][]{bits, building};
+        this.startKeys = new byte[][]{lock, building};
+        this.buildKey = new byte[][]{building};
+        this.finishKeys = new byte[][]{lock, building, bits};
+        this.sid = codec.encode(UUID.randomUUID().toString());
+        this.leaseTime = codec.encode(Long.toString(Math.max(MIN_LEASE_TIME, config.getRebuildPeriod())));
+        long period = config.getRebuildPeriod();
+        this.builtTtl = codec.encode(Long.toString(period > 0 ? period : MIN_LEASE_TIME));
+    }
+
+    @Override
+    protected boolean mightContain(long[] offsets) {
+        Boolean result = this.operator.evalsha(RedisBloomScript.CONTAINS, this.bitsKey, toArgs(offsets));
+        return result == null || result;
+    }
+
+    @Override
+    protected void doPut(long[] offsets) {
+        this.operator.evalsha(RedisBloomScript.PUT, this.putKeys, toArgs(offsets));
+    }
+
+    @Override
+    protected long doRebuild(KeysLoader<K> keysLoader) {
+        Boolean started = this.operator.evalsha(RedisBloomScript.START, this.startKeys, new byte[][]{sid, leaseTime});
+        if (started == null || !started) {
+            return -1;
+        }
+        boolean finished = false;
+        try {
+            long count = this.build(keysLoader);
+            Boolean replaced = this.operator.evalsha(RedisBloomScript.FINISH, this.finishKeys, new byte[][]{sid, builtTtl});
+            finished = true;
+            if (replaced == null || !replaced) {
+                throw new IllegalStateException("rebuild lock expired before finishing, leaseTime: "
+                        + new String(leaseTime, StandardCharsets.US_ASCII) + "ms");
+            }
+            return count;
+        } finally {
+            if (!finished) {
+                this.operator.evalsha(RedisBloomScript.ABORT, this.startKeys, new byte[][]{sid});
+            }
+        }
+    }
+
+    private long build(KeysLoader<K> keysLoader) {
+        int numHashes = this.getHasher().getNumHashes();
+        ArrayDeque<CompletableFuture<?>> inFlight = new ArrayDeque<>(MAX_IN_FLIGHT);
+        List<byte[]> batch = new ArrayList<>(BATCH_SIZE * numHashes);
+        long[] count = new long[1];
+        keysLoader.loadAll(key -> {
+            for (long offset : this.offsets(key)) {
+                batch.add(toArg(offset));
+            }
+            count[0]++;
+            if (batch.size() >= BATCH_SIZE * numHashes) {
+                this.send(inFlight, batch);
+            }
+        });
+        if (!batch.isEmpty()) {
+            this.send(inFlight, batch);
+        }
+        for (CompletableFuture<?> future : inFlight) {
+            future.join();
+        }
+        return count[0];
+    }
+
+    private void send(ArrayDeque<CompletableFuture<?>> inFlight, List<byte[]> batch) {
+        if (inFlight.size() >= MAX_IN_FLIGHT) {
+            inFlight.poll().join();
+        }
+        byte[][] args = batch.toArray(new byte[0][]);
+        batch.clear();
+        inFlight.add(this.operator.evalshaAsync(RedisBloomScript.BUILD, this.buildKey, args).toCompletableFuture());
+    }
+
+    private static byte[][] toArgs(long[] offsets) {
+        byte[][] args = new byte[offsets.length][];
+        for (int i = 0; i < offsets.length; i++) {
+            args[i] = toArg(offsets[i]);
+        }
+        return args;
+    }
+
+    private static byte[] toArg(long offset) {
+        return Long.toString(offset).getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.igeeksky.xcache.redis.bloom;
+
+import com.igeeksky.xredis.common.RedisScript;
+import com.igeeksky.xredis.common.ResultType;
+
+/**
+ * Redis 布隆过滤器脚本
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public final class RedisBloomScript {
+
+    /**
+     * 私有构造方法，禁止实例化
+     */
+    private RedisBloomScript() {
+    }
+
+    /**
+     * 判断指定位置是否均为 1
+     * <p>
+     * KEYS[1] 位图 <p>
+     * ARGV[1...n] 位置
+     * <p>
+     * {@code Returns:} 位图不存在（尚未构建完成）或指定位置均为 1，返回 true；否则返回 false。
+     */
+    public static final RedisScript CONTAINS = new RedisScript(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+                    "    return 1; " +
+                    "end; " +
+                    "for i = 1, #ARGV do " +
+                    "    if redis.call('GETBIT', KEYS[1], ARGV[i]) == 0 then " +
+                    "        return 0; " +
+                    "    end; " +
+                    "end; " +
+                    "return 1;"
+            , ResultType.BOOLEAN);
+
+    /**
+     * 添加键：将指定位置设为 1
+     * <p>
+     * 仅写入已存在的位图：当前位图不存在表示尚未构建完成，写入会导致其它键被误判为不存在。
+     * <p>
+     * KEYS[1] 当前位图 <p>
+     * KEYS[2] 正在构建的位图 <p>
+     * ARGV[1...n] 位置
+     * <p>
+     * {@code Returns:} 写入的位图数量。
+     */
+    public static final RedisScript PUT = new RedisScript(
+            "local count = 0; " +
+                    "for k = 2, 1, -1 do " +
+                    "    if redis.call('EXISTS', KEYS[k]) == 1 then " +
+                    "        for i = 1, #ARGV do " +
+                    "            redis.call('SETBIT', KEYS[k], ARGV[i], 1); " +
+                    "        end; " +
+                    "        count = count + 1; " +
+                    "    end; " +
+                    "end; " +
+                    "return count;"
+            , ResultType.INTEGER);
+
+    /**
+     * 开始重建：获取重建锁，并创建空的位图
+     * <p>
+     * KEYS[1] 重建锁 <p>
+     * KEYS[2] 正在构建的位图 <p>
+     * ARGV[1] sid <p>
+     * ARGV[2] 锁存续时间 单位：毫秒
+     * <p>
+     * {@code Returns:} 获取锁成功返回 true，否则返回 false。
+     */
+    public static final RedisScript START = new RedisScript(
+            "if not redis.call('SET', KEYS[1], ARGV[1], 'NX', 'PX', ARGV[2]) then " +
+                    "    return 0; " +
+                    "end; " +
+                    "redis.call('DEL', KEYS[2]); " +
+                    "redis.call('SETBIT', KEYS[2], 0, 0); " +
+                    "return 1;"
+            , ResultType.BOOLEAN);
+
+    /**
+     * 批量写入正在构建的位图
+     * <p>
+     * KEYS[1] 正在构建的位图 <p>
+     * ARGV[1...n] 位置
+     * <p>
+     * {@code Returns:} 写入的位置数量。
+     */
+    public static final RedisScript BUILD = new RedisScript(
+            "for i = 1, #ARGV do " +
+                    "    redis.call('SETBIT', KEYS[1], ARGV[i], 1); " +
+                    "end; " +
+                    "return #ARGV;"
+            , ResultType.INTEGER);
+
+    /**
+     * 完成重建：正在构建的位图替换当前位图，并将重建锁改为完成标记
+     * <p>
+     * 仍持有重建锁才替换，避免锁过期后被其它实例重建时，使用未构建完成的位图替换当前位图。
+     * <p>
+     * 完成标记在存续时间内阻止其它实例获取重建锁（{@link #START} 返回 false），
+     * 避免多个实例的重建任务在同一周期内先后重建。
+     * <p>
+     * KEYS[1] 重建锁 <p>
+     * KEYS[2] 正在构建的位图 <p>
+     * KEYS[3] 当前位图 <p>
+     * ARGV[1] sid <p>
+     * ARGV[2] 完成标记的存续时间 单位：毫秒
+     * <p>
+     * {@code Returns:} 替换成功返回 true，否则返回 false。
+     */
+    public static final RedisScript FINISH = new RedisScript(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then " +
+                    "    return 0; " +
+                    "end; " +
+                    "redis.call('RENAME', KEYS[2], KEYS[3]); " +
+                    "redis.call('SET', KEYS[1], 'built', 'PX', ARGV[2]); " +
+                    "return 1;"
+            , ResultType.BOOLEAN);
+
+    /**
+     * 放弃重建：删除正在构建的位图，并释放重建锁
+     * <p>
+     * KEYS[1] 重建锁 <p>
+     * KEYS[2] 正在构建的位图 <p>
+     * ARGV[1] sid
+     * <p>
+     * {@code Returns:} 释放成功返回 true，否则返回 false。
+     */
+    public static final RedisScript ABORT = new RedisScript(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then " +
+                    "    return 0; " +
+                    "end; " +
+                    "redis.call('DEL', KEYS[2]); " +
+                    "redis.call('DEL', KEYS[1]); " +
+                    "return 1;"
+            , ResultType.BOOLEAN);
+
+}
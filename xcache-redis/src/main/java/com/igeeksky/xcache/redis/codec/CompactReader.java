@@ -0,0 +1,135 @@
+package com.igeeksky.xcache.redis.codec;
+
+import java.util.function.Consumer;
+
+/**
+ * 紧凑二进制编码读取器
+ * <p>
+ * 与 {@link CompactWriter} 对应，按写入顺序依次读取。
+ * <p>
+ * 数据截断或格式错误（如变长整数超出范围、长度为负数）时抛出 {@link IllegalArgumentException}。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class CompactReader {
+
+    private final byte[] buf;
+
+    private int position;
+
+    public CompactReader(byte[] buf) {
+        this.buf = buf;
+    }
+
+    public int readByte() {
+        checkRemaining(1);
+        return buf[position++] & 0xFF;
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            // 第 5 个字节仅剩 4 位有效数据，且不能再有后续字节
+            if (shift == 28 && b > 0x0F) {
+                break;
+            }
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at position: " + position);
+    }
+
+    public long readVarLong() {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            // 第 10 个字节仅剩 1 位有效数据，且不能再有后续字节
+            if (shift == 63 && b > 0x01) {
+                break;
+            }
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varlong at position: " + position);
+    }
+
+    /**
+     * 读取可能为空的字节数组
+     *
+     * @return 字节数组（可能为空）
+     */
+    public byte[] readBytes() {
+        int prefix = readVarInt();
+        if (prefix == 0) {
+            return null;
+        }
+        int length = prefix - 1;
+        checkRemaining(length);
+        byte[] bytes = new byte[length];
+        System.arraycopy(buf, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    /**
+     * 读取键列表（前缀省略编码）
+     *
+     * @param consumer 键消费者
+     * @return 键数量
+     */
+    public int readKeys(Consumer<byte[]> consumer) {
+        int count = readVarInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Malformed key count: " + count + " at position: " + position);
+        }
+        byte[] prev = null;
+        for (int i = 0; i < count; i++) {
+            int shared = readVarInt();
+            int suffix = readVarInt();
+            if (shared < 0 || (shared > 0 && (prev == null || shared > prev.length))) {
+                throw new IllegalArgumentException("Malformed key list at position: " + position);
+            }
+            checkRemaining(suffix);
+            byte[] key = new byte[shared + suffix];
+            if (shared > 0) {
+                System.arraycopy(prev, 0, key, 0, shared);
+            }
+            System.arraycopy(buf, position, key, shared, suffix);
+            position += suffix;
+            consumer.accept(key);
+            prev = key;
+        }
+        return count;
+    }
+
+    /**
+     * 是否还有未读取的数据
+     *
+     * @return {@code boolean} – 是否还有未读取的数据
+     */
+    public boolean hasRemaining() {
+        return position < buf.length;
+    }
+
+    /**
+     * 未读取的字节数
+     *
+     * @return {@code int} – 未读取的字节数
+     */
+    public int remaining() {
+        return buf.length - position;
+    }
+
+    private void checkRemaining(int length) {
+        if (length < 0 || position + length > buf.length) {
+            throw new IllegalArgumentException("Unexpected end of data, position: " + position + ", required: " + length);
+        }
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.igeeksky.xcache.redis.codec;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 紧凑二进制编码写入器
+ * <p>
+ * 整数使用变长编码（varint，每字节 7 位有效数据）；
+ * 字节数组以 {@code 长度 + 1} 作为前缀（0 表示 {@code null}）；
+ * 键列表使用前缀省略编码：每个键仅写入与前一个键的共同前缀长度及剩余部分。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class CompactWriter {
+
+    private byte[] buf;
+
+    private int size;
+
+    public CompactWriter(int initialCapacity) {
+        this.buf = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public CompactWriter writeByte(int value) {
+        ensureCapacity(1);
+        buf[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * 写入非负整数（varint）
+     *
+     * @param value 非负整数
+     * @return 当前写入器
+     */
+    public CompactWriter writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buf[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buf[size++] = (byte) value;
+        return this;
+    }
+
+    /**
+     * 写入长整数（zigzag + varint，负数同样紧凑）
+     *
+     * @param value 长整数
+     * @return 当前写入器
+     */
+    public CompactWriter writeVarLong(long value) {
+        ensureCapacity(10);
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            buf[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buf[size++] = (byte) zigzag;
+        return this;
+    }
+
+    /**
+     * 写入可能为空的字节数组
+     *
+     * @param bytes 字节数组（可以为空）
+     * @return 当前写入器
+     */
+    public CompactWriter writeBytes(byte[] bytes) {
+        if (bytes == null) {
+            return writeVarInt(0);
+        }
+        writeVarInt(bytes.length + 1);
+        return writeRaw(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 写入键列表（前缀省略编码）
+     * <p>
+     * 键列表先按字节序排序，使相同前缀的键相邻，以省略更多的重复字节。
+     *
+     * @param keys 键列表（会被排序）
+     * @return 当前写入器
+     */
+    public CompactWriter writeKeys(List<byte[]> keys) {
+        keys.sort(Arrays::compareUnsigned);
+        writeVarInt(keys.size());
+        byte[] prev = null;
+        for (byte[] key : keys) {
+            int shared = (prev == null) ? 0 : sharedPrefixLength(prev, key);
+            writeVarInt(shared);
+            writeVarInt(key.length - shared);
+            writeRaw(key, shared, key.length - shared);
+            prev = key;
+        }
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, size);
+    }
+
+    private CompactWriter writeRaw(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buf, size, length);
+        size += length;
+        return this;
+    }
+
+    private void ensureCapacity(int extra) {
+        int required = size + extra;
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(required, buf.length << 1));
+        }
+    }
+
+    private static int sharedPrefixLength(byte[] a, byte[] b) {
+        int mismatch = Arrays.mismatch(a, b);
+        return (mismatch < 0) ? a.length : mismatch;
+    }
+
+}
@@ -2,54 +2,84 @@ package com.igeeksky.xcache.redis.metrics;
 
 import com.igeeksky.xcache.extension.metrics.CacheMetrics;
 import com.igeeksky.xcache.extension.metrics.CacheMetricsMessage;
+import com.igeeksky.xcache.extension.metrics.HotKey;
+import com.igeeksky.xcache.redis.codec.CompactReader;
+import com.igeeksky.xcache.redis.codec.CompactWriter;
 import com.igeeksky.xredis.common.stream.StreamCodec;
 import com.igeeksky.xtool.core.lang.ArrayUtils;
 import com.igeeksky.xtool.core.lang.Assert;
-import com.igeeksky.xtool.core.lang.ByteArray;
 import com.igeeksky.xtool.core.lang.codec.Codec;
 import com.igeeksky.xtool.core.lang.codec.StringCodec;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 /**
  * 缓存统计消息编解码
  * <p>
- * 字段名和字段值分别编解码，转换成键值对形式存入 map
+ * 支持两种格式：
  * <p>
- * 主要用于适配 RedisStream 数据结构，便于在可视化界面查看
+ * 1、键值对格式（默认）：字段名和字段值分别编解码，转换成键值对形式存入 map，主要用于适配 RedisStream 数据结构，便于在可视化界面查看。
+ * 热点键逐个存入 map：字段名为 {@code hotKey:} 前缀加缓存键，字段值为每秒读取次数。<br>
+ * 2、紧凑二进制格式（{@code compact = true}）：所有字段按固定顺序写入单个字段 {@code msg}，
+ * 计数使用变长编码，热点键使用前缀省略编码。
+ * <p>
+ * 解码时自动识别格式。
  *
  * @author Patrick.Lau
  * @since 1.0.0 2024/7/22
  */
 public class RedisCacheMetricsCodec implements StreamCodec<byte[], byte[], CacheMetricsMessage> {
 
+    private static final String HOT_KEY_PREFIX = "hotKey:";
+
+    /**
+     * 紧凑二进制格式版本号
+     */
+    private static final int COMPACT_VERSION = 1;
+
     private final StringCodec stringCodec;
     private final Codec<CacheMetrics> metricsCodec;
+    private final boolean compact;
 
-    private final ByteArray name;
-    private final ByteArray group;
-    private final ByteArray hitLoads;
-    private final ByteArray missLoads;
-    private final ByteArray noop;
-    private final ByteArray first;
-    private final ByteArray second;
-    private final ByteArray third;
+    private final byte[] name;
+    private final byte[] group;
+    private final byte[] hitLoads;
+    private final byte[] missLoads;
+    private final byte[] noop;
+    private final byte[] first;
+    private final byte[] second;
+    private final byte[] third;
+    private final byte[] hotKeyPrefix;
+    private final byte[] msg;
 
     public RedisCacheMetricsCodec(Codec<CacheMetrics> metricsCodec, StringCodec stringCodec) {
+        this(metricsCodec, stringCodec, false);
+    }
+
+    /**
+     * 创建缓存统计消息编解码
+     *
+     * @param metricsCodec 缓存指标编解码器（键值对格式）
+     * @param stringCodec  字符串编解码器
+     * @param compact      是否使用紧凑二进制格式编码
+     */
+    public RedisCacheMetricsCodec(Codec<CacheMetrics> metricsCodec, StringCodec stringCodec, boolean compact) {
         Assert.notNull(stringCodec, "StringCodec must not be null");
         Assert.notNull(metricsCodec, "metricsCodec must not be null");
 
         this.metricsCodec = metricsCodec;
         this.stringCodec = stringCodec;
-        this.name = ByteArray.wrap(this.stringCodec.encode("name"));
-        this.group = ByteArray.wrap(this.stringCodec.encode("group"));
-        this.hitLoads = ByteArray.wrap(this.stringCodec.encode("hitLoads"));
-        this.missLoads = ByteArray.wrap(this.stringCodec.encode("missLoads"));
-        this.noop = ByteArray.wrap(this.stringCodec.encode("noop"));
-        this.first = ByteArray.wrap(this.stringCodec.encode("first"));
-        this.second = ByteArray.wrap(this.stringCodec.encode("second"));
-        this.third = ByteArray.wrap(this.stringCodec.encode("third"));
+        this.compact = compact;
+        this.name = this.stringCodec.encode("name");
+        this.group = this.stringCodec.encode("group");
+        this.hitLoads = this.stringCodec.encode("hitLoads");
+        this.missLoads = this.stringCodec.encode("missLoads");
+        this.noop = this.stringCodec.encode("noop");
+        this.first = this.stringCodec.encode("first");
+        this.second = this.stringCodec.encode("second");
+        this.third = this.stringCodec.encode("third");
+        this.hotKeyPrefix = this.stringCodec.encode(HOT_KEY_PREFIX);
+        this.msg = this.stringCodec.encode("msg");
     }
 
     /**
@@ -79,66 +109,203 @@ public class RedisCacheMetricsCodec implements StreamCodec<byte[], byte[], Cache
      * @return 键值对形式的消息体
      */
     public Map<byte[], byte[]> encodeMsg(CacheMetricsMessage message) {
+        if (compact) {
+            return Map.of(msg, encodeCompact(message));
+        }
         Map<byte[], byte[]> body = new HashMap<>();
-        body.put(this.name.getValue(), stringCodec.encode(message.getName()));
-        body.put(this.group.getValue(), stringCodec.encode(message.getGroup()));
-        body.put(this.hitLoads.getValue(), stringCodec.encode(String.valueOf(message.getHitLoads())));
-        body.put(this.missLoads.getValue(), stringCodec.encode(String.valueOf(message.getMissLoads())));
+        body.put(this.name, stringCodec.encode(message.getName()));
+        body.put(this.group, stringCodec.encode(message.getGroup()));
+        body.put(this.hitLoads, stringCodec.encode(String.valueOf(message.getHitLoads())));
+        body.put(this.missLoads, stringCodec.encode(String.valueOf(message.getMissLoads())));
         if (message.getNoop() != null) {
-            body.put(this.noop.getValue(), metricsCodec.encode(message.getNoop()));
+            body.put(this.noop, metricsCodec.encode(message.getNoop()));
         }
         if (message.getFirst() != null) {
-            body.put(this.first.getValue(), metricsCodec.encode(message.getFirst()));
+            body.put(this.first, metricsCodec.encode(message.getFirst()));
         }
         if (message.getSecond() != null) {
-            body.put(this.second.getValue(), metricsCodec.encode(message.getSecond()));
+            body.put(this.second, metricsCodec.encode(message.getSecond()));
         }
         if (message.getThird() != null) {
-            body.put(this.third.getValue(), metricsCodec.encode(message.getThird()));
+            body.put(this.third, metricsCodec.encode(message.getThird()));
+        }
+        List<HotKey> hotKeys = message.getHotKeys();
+        if (hotKeys != null) {
+            for (HotKey hotKey : hotKeys) {
+                body.put(stringCodec.encode(HOT_KEY_PREFIX + hotKey.getKey()),
+                        stringCodec.encode(String.valueOf(hotKey.getQps())));
+            }
         }
         return body;
     }
 
     @Override
     public CacheMetricsMessage decodeMsg(Map<byte[], byte[]> body) {
+        CacheMetricsMessage message = new CacheMetricsMessage();
+        List<HotKey> hotKeys = new ArrayList<>();
+        for (Map.Entry<byte[], byte[]> entry : body.entrySet()) {
+            byte[] field = entry.getKey();
+            byte[] value = entry.getValue();
+            if (ArrayUtils.isEmpty(value)) {
+                continue;
+            }
+            if (Arrays.equals(msg, field)) {
+                return decodeCompact(value);
+            }
+            if (Arrays.equals(name, field)) {
+                message.setName(stringCodec.decode(value));
+            } else if (Arrays.equals(group, field)) {
+                message.setGroup(stringCodec.decode(value));
+            } else if (Arrays.equals(hitLoads, field)) {
+                message.setHitLoads(Long.parseLong(stringCodec.decode(value)));
+            } else if (Arrays.equals(missLoads, field)) {
+                message.setMissLoads(Long.parseLong(stringCodec.decode(value)));
+            } else if (Arrays.equals(noop, field)) {
+                message.setNoop(this.metricsCodec.decode(value));
+            } else if (Arrays.equals(first, field)) {
+                message.setFirst(this.metricsCodec.decode(value));
+            } else if (Arrays.equals(second, field)) {
+                message.setSecond(this.metricsCodec.decode(value));
+            } else if (Arrays.equals(third, field)) {
+                message.setThird(this.metricsCodec.decode(value));
+            } else if (startsWith(field, hotKeyPrefix)) {
+                int length = hotKeyPrefix.length;
+                String key = stringCodec.decode(field, length, field.length - length);
+                hotKeys.add(new HotKey(key, Long.parseLong(stringCodec.decode(value))));
+            }
+        }
+        setHotKeys(message, hotKeys);
+        return message;
+    }
 
-        Map<ByteArray, byte[]> temp = HashMap.newHashMap(body.size());
-        body.forEach((k, v) -> temp.put(ByteArray.wrap(k), v));
+    private byte[] encodeCompact(CacheMetricsMessage message) {
+        CompactWriter writer = new CompactWriter(256);
+        writer.writeByte(COMPACT_VERSION)
+                .writeBytes(encodeNullable(message.getName()))
+                .writeBytes(encodeNullable(message.getGroup()))
+                .writeVarLong(message.getHitLoads())
+                .writeVarLong(message.getMissLoads());
 
-        CacheMetricsMessage message = new CacheMetricsMessage();
-        byte[] nameBytes = temp.get(name);
-        if (ArrayUtils.isNotEmpty(nameBytes)) {
-            message.setName(stringCodec.decode(nameBytes));
+        // 各级缓存指标是否存在的位图：bit0 noop，bit1 first，bit2 second，bit3 third
+        CacheMetrics[] levels = {message.getNoop(), message.getFirst(), message.getSecond(), message.getThird()};
+        int presence = 0;
+        for (int i = 0; i < levels.length; i++) {
+            if (levels[i] != null) {
+                presence |= 1 << i;
+            }
+        }
+        writer.writeByte(presence);
+        for (CacheMetrics metrics : levels) {
+            if (metrics != null) {
+                writer.writeVarLong(metrics.getHits())
+                        .writeVarLong(metrics.getMisses())
+                        .writeVarLong(metrics.getPuts())
+                        .writeVarLong(metrics.getRemovals())
+                        .writeVarLong(metrics.getClears())
+                        .writeVarLong(metrics.getHedges())
+                        .writeVarLong(metrics.getHedgeWins());
+            }
+        }
+
+        List<HotKey> hotKeys = message.getHotKeys();
+        if (hotKeys == null || hotKeys.isEmpty()) {
+            return writer.writeVarInt(0).toByteArray();
         }
-        byte[] groupBytes = temp.get(group);
-        if (ArrayUtils.isNotEmpty(groupBytes)) {
-            message.setGroup(stringCodec.decode(groupBytes));
+        // 热点键保持原顺序（不排序），仅与前一个键比较共同前缀，每个键之后紧跟其读取次数
+        writer.writeVarInt(hotKeys.size());
+        byte[] prev = null;
+        for (HotKey hotKey : hotKeys) {
+            byte[] key = stringCodec.encode(hotKey.getKey());
+            int shared = (prev == null) ? 0 : sharedPrefixLength(prev, key);
+            writer.writeVarInt(shared)
+                    .writeBytes(Arrays.copyOfRange(key, shared, key.length))
+                    .writeVarLong(hotKey.getQps());
+            prev = key;
         }
-        byte[] hitLoadsBytes = temp.get(hitLoads);
-        if (ArrayUtils.isNotEmpty(hitLoadsBytes)) {
-            message.setHitLoads(Long.parseLong(stringCodec.decode(hitLoadsBytes)));
+        return writer.toByteArray();
+    }
+
+    private CacheMetricsMessage decodeCompact(byte[] value) {
+        CompactReader reader = new CompactReader(value);
+        int version = reader.readByte();
+        if (version != COMPACT_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact metrics message version: " + version);
         }
-        byte[] missLoadsBytes = temp.get(missLoads);
-        if (ArrayUtils.isNotEmpty(missLoadsBytes)) {
-            message.setMissLoads(Long.parseLong(stringCodec.decode(missLoadsBytes)));
+        CacheMetricsMessage message = new CacheMetricsMessage();
+        message.setName(decodeNullable(reader.readBytes()));
+        message.setGroup(decodeNullable(reader.readBytes()));
+        message.setHitLoads(reader.readVarLong());
+        message.setMissLoads(reader.readVarLong());
+
+        int presence = reader.readByte();
+        if ((presence & 1) != 0) {
+            message.setNoop(readMetrics(reader));
         }
-        byte[] noopBytes = temp.get(noop);
-        if (ArrayUtils.isNotEmpty(noopBytes)) {
-            message.setNoop(this.metricsCodec.decode(noopBytes));
+        if ((presence & 1 << 1) != 0) {
+            message.setFirst(readMetrics(reader));
         }
-        byte[] firstBytes = temp.get(first);
-        if (ArrayUtils.isNotEmpty(firstBytes)) {
-            message.setFirst(this.metricsCodec.decode(firstBytes));
+        if ((presence & 1 << 2) != 0) {
+            message.setSecond(readMetrics(reader));
         }
-        byte[] secondBytes = temp.get(second);
-        if (ArrayUtils.isNotEmpty(secondBytes)) {
-            message.setSecond(this.metricsCodec.decode(secondBytes));
+        if ((presence & 1 << 3) != 0) {
+            message.setThird(readMetrics(reader));
         }
-        byte[] thirdBytes = temp.get(third);
-        if (ArrayUtils.isNotEmpty(thirdBytes)) {
-            message.setThird(this.metricsCodec.decode(thirdBytes));
+
+        int count = reader.readVarInt();
+        List<HotKey> hotKeys = new ArrayList<>(count);
+        byte[] prev = null;
+        for (int i = 0; i < count; i++) {
+            int shared = reader.readVarInt();
+            byte[] suffix = reader.readBytes();
+            if (suffix == null || (shared > 0 && (prev == null || shared > prev.length))) {
+                throw new IllegalArgumentException("Malformed compact metrics message: hot key " + i);
+            }
+            byte[] key = new byte[shared + suffix.length];
+            if (shared > 0) {
+                System.arraycopy(prev, 0, key, 0, shared);
+            }
+            System.arraycopy(suffix, 0, key, shared, suffix.length);
+            hotKeys.add(new HotKey(stringCodec.decode(key), reader.readVarLong()));
+            prev = key;
         }
+        setHotKeys(message, hotKeys);
         return message;
     }
 
-}
\ No newline at end of file
+    private static CacheMetrics readMetrics(CompactReader reader) {
+        CacheMetrics metrics = new CacheMetrics();
+        metrics.setHits(reader.readVarLong());
+        metrics.setMisses(reader.readVarLong());
+        metrics.setPuts(reader.readVarLong());
+        metrics.setRemovals(reader.readVarLong());
+        metrics.setClears(reader.readVarLong());
+        metrics.setHedges(reader.readVarLong());
+        metrics.setHedgeWins(reader.readVarLong());
+        return metrics;
+    }
+
+    private static void setHotKeys(CacheMetricsMessage message, List<HotKey> hotKeys) {
+        if (!hotKeys.isEmpty()) {
+            hotKeys.sort(Comparator.comparingLong(HotKey::getQps).reversed());
+            message.setHotKeys(hotKeys);
+        }
+    }
+
+    private byte[] encodeNullable(String value) {
+        return (value != null) ? stringCodec.encode(value) : null;
+    }
+
+    private String decodeNullable(byte[] value) {
+        return (value != null) ? stringCodec.decode(value) : null;
+    }
+
+    private static boolean startsWith(byte[] field, byte[] prefix) {
+        return field.length >= prefix.length && Arrays.equals(field, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private static int sharedPrefixLength(byte[] a, byte[] b) {
+        int mismatch = Arrays.mismatch(a, b);
+        return (mismatch < 0) ? Math.min(a.length, b.length) : mismatch;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.igeeksky.xcache.redis.store;
 
 
+import com.igeeksky.xcache.common.CacheExecutor;
 import com.igeeksky.xcache.common.CacheValue;
 import com.igeeksky.xcache.common.Store;
 import com.igeeksky.xredis.common.RedisHelper;
@@ -9,7 +10,10 @@ import com.igeeksky.xredis.common.RedisOperationException;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Redis 缓存存储
@@ -23,13 +27,28 @@ public abstract class AbstractRedisStore<V> implements Store<V> {
 
     private final long timeout;
 
+    // 解码执行器（为空表示由 Redis 客户端的 I/O 线程直接解码）
+    private final Executor decodeExecutor;
+
     /**
      * 创建 RedisStore
      *
      * @param timeout 同步操作超时（毫秒）
      */
     public AbstractRedisStore(long timeout) {
+        this(timeout, CacheExecutor.INLINE);
+    }
+
+    /**
+     * 创建 RedisStore
+     *
+     * @param timeout        同步操作超时（毫秒）
+     * @param decodeExecutor 解码执行方式
+     */
+    public AbstractRedisStore(long timeout, CacheExecutor decodeExecutor) {
         this.timeout = timeout;
+        this.decodeExecutor = (decodeExecutor == null || decodeExecutor == CacheExecutor.INLINE)
+                ? null : decodeExecutor.getExecutor();
     }
 
     @Override
@@ -62,6 +81,24 @@ public abstract class AbstractRedisStore<V> implements Store<V> {
         RedisHelper.get(this.removeAllAsync(keys), timeout, TimeUnit.MILLISECONDS, true, true);
     }
 
+    /**
+     * 解码（解压及反序列化）
+     * <p>
+     * 如配置了解码执行器，则切换到解码执行器执行，以避免阻塞 Redis 客户端的 I/O 线程；否则直接执行。
+     *
+     * @param future  Redis 读取结果
+     * @param decoder 解码函数
+     * @param <T>     原始数据类型
+     * @param <R>     解码结果类型
+     * @return 解码结果
+     */
+    protected <T, R> CompletableFuture<R> decode(CompletableFuture<T> future, Function<? super T, ? extends R> decoder) {
+        if (this.decodeExecutor == null) {
+            return future.thenApply(decoder);
+        }
+        return future.thenApplyAsync(decoder, this.decodeExecutor);
+    }
+
     protected static Void checkResult(String result) {
         if (!Objects.equals(OK, result)) {
             throw new RedisOperationException(String.format("redis [%s] error", "asyncPutAll"));
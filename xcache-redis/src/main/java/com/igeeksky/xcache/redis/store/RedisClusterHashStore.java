@@ -39,7 +39,7 @@ public class RedisClusterHashStore<V> extends AbstractRedisStore<V> {
     private final RedisHashStoreHelper<V> hashStoreHelper;
 
     public RedisClusterHashStore(RedisOperatorProxy operator, RedisStoreConfig<V> config) {
-        super(operator.getTimeout());
+        super(operator.getTimeout(), config.getDecodeExecutor());
         this.operator = operator;
         boolean enableRandomTtl = config.isEnableRandomTtl();
         this.expireAfterWrite = config.getExpireAfterWrite();
@@ -54,42 +54,42 @@ public class RedisClusterHashStore<V> extends AbstractRedisStore<V> {
         }
         StringCodec stringCodec = StringCodec.getInstance(config.getCharset());
         this.convertor = new ExtraStoreConvertor<>(config.isEnableNullValue(), config.isEnableCompressValue(),
-                config.getValueCodec(), config.getValueCompressor());
+                config.isEnableWriteTime(), config.getValueCodec(), config.getValueCompressor());
         this.clusterHelper = new RedisClusterHelper(config.getDataSlotSize(), hashKey, stringCodec);
         this.hashStoreHelper = new RedisHashStoreHelper<>(stringCodec, this.convertor::fromExtraStoreValue);
     }
 
     @Override
     public CompletableFuture<CacheValue<V>> getCacheValueAsync(String field) {
-        return CompletableFuture.completedFuture(field)
-                .thenApply(this.hashStoreHelper::toStoreField)
-                .thenCompose(storeField -> {
-                    byte[] storeKey = this.clusterHelper.selectSlot(storeField);
-                    return this.operator.hgetAsync(storeKey, storeField);
-                }).thenApply(this.convertor::fromExtraStoreValue);
+        return this.decode(CompletableFuture.completedFuture(field)
+                        .thenApply(this.hashStoreHelper::toStoreField)
+                        .thenCompose(storeField -> {
+                            byte[] storeKey = this.clusterHelper.selectSlot(storeField);
+                            return this.operator.hgetAsync(storeKey, storeField);
+                        }),
+                this.convertor::fromExtraStoreValue);
     }
 
     @Override
     public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> fields) {
-        return CompletableFuture.completedFuture(fields)
-                .thenApply(this::toKeyFields)
-                .thenCompose(this.operator::hmgetAsync)
-                .thenApply(this.hashStoreHelper::toResult);
+        return this.decode(CompletableFuture.completedFuture(fields)
+                        .thenApply(this::toKeyFields)
+                        .thenCompose(this.operator::hmgetAsync),
+                this.hashStoreHelper::toResult);
     }
 
     @Override
     public CompletableFuture<Void> putAsync(String field, V value) {
         return CompletableFuture.completedFuture(KeyValue.create(field, value))
-                .thenApply(fieldValue -> fieldValue.map(this.hashStoreHelper::toStoreField, this.convertor::toExtraStoreValue))
                 .thenCompose(fieldValue -> {
-                    byte[] storeField = fieldValue.getKey();
-                    byte[] storeValue = fieldValue.getValue();
+                    long ttl = this.ttl();
+                    byte[] storeField = this.hashStoreHelper.toStoreField(fieldValue.getKey());
+                    byte[] storeValue = this.convertor.toExtraStoreValue(fieldValue.getValue(), ttl);
                     byte[] storeKey = this.clusterHelper.selectSlot(storeField);
                     if (storeValue == null) {
                         return this.operator.hdelAsync(storeKey, storeField).thenApply(ignore -> null);
                     }
-                    if (this.expireAfterWrite > 0) {
-                        long ttl = (this.enableRandomTtl) ? randomTtl() : expireAfterWrite;
+                    if (ttl > 0) {
                         return this.operator.hpsetAsync(storeKey, ttl, storeField, storeValue).thenApply(ignore -> null);
                     }
                     return this.operator.hsetAsync(storeKey, storeField, storeValue).thenApply(ignore -> null);
@@ -114,11 +114,12 @@ public class RedisClusterHashStore<V> extends AbstractRedisStore<V> {
         fieldValues.forEach((field, value) -> {
             byte[] storeField = this.hashStoreHelper.toStoreField(field);
             byte[] storeKey = this.clusterHelper.selectSlot(storeField);
-            byte[] storeValue = this.convertor.toExtraStoreValue(value);
+            long ttl = randomTtl();
+            byte[] storeValue = this.convertor.toExtraStoreValue(value, ttl);
             if (storeValue == null) {
                 removeKeyFields.computeIfAbsent(storeKey, k -> new ArrayList<>()).add(storeField);
             } else {
-                ExpiryKeyValue<byte[], byte[]> fieldValue = ExpiryKeyValue.create(storeField, storeValue, randomTtl());
+                ExpiryKeyValue<byte[], byte[]> fieldValue = ExpiryKeyValue.create(storeField, storeValue, ttl);
                 expiryKeysFieldsValues.computeIfAbsent(storeKey, k -> new ArrayList<>()).add(fieldValue);
             }
         });
@@ -135,7 +136,7 @@ public class RedisClusterHashStore<V> extends AbstractRedisStore<V> {
         fieldValues.forEach((field, value) -> {
             byte[] storeField = this.hashStoreHelper.toStoreField(field);
             byte[] storeKey = this.clusterHelper.selectSlot(storeField);
-            byte[] storeValue = this.convertor.toExtraStoreValue(value);
+            byte[] storeValue = this.convertor.toExtraStoreValue(value, expireAfterWrite);
             if (storeValue == null) {
                 removeKeyFields.computeIfAbsent(storeKey, k -> new ArrayList<>()).add(storeField);
             } else {
@@ -207,6 +208,18 @@ public class RedisClusterHashStore<V> extends AbstractRedisStore<V> {
         return keyFields;
     }
 
+    /**
+     * 单个键值写入时的存活时间
+     *
+     * @return 存活时间，0 表示永不过期
+     */
+    private long ttl() {
+        if (this.expireAfterWrite <= 0) {
+            return 0;
+        }
+        return (this.enableRandomTtl) ? randomTtl() : expireAfterWrite;
+    }
+
     /**
      * 随机存活时间
      *
@@ -35,7 +35,7 @@ public class RedisHashStore<V> extends AbstractRedisStore<V> {
     private final RedisHashStoreHelper<V> hashStoreHelper;
 
     public RedisHashStore(RedisOperatorProxy redisOperator, RedisStoreConfig<V> config) {
-        super(redisOperator.getTimeout());
+        super(redisOperator.getTimeout(), config.getDecodeExecutor());
         this.redisOperator = redisOperator;
         boolean enableRandomTtl = config.isEnableRandomTtl();
         this.expireAfterWrite = config.getExpireAfterWrite();
@@ -50,39 +50,37 @@ public class RedisHashStore<V> extends AbstractRedisStore<V> {
             this.hashKey = stringCodec.encode(config.getName());
         }
         this.convertor = new ExtraStoreConvertor<>(config.isEnableNullValue(), config.isEnableCompressValue(),
-                config.getValueCodec(), config.getValueCompressor());
+                config.isEnableWriteTime(), config.getValueCodec(), config.getValueCompressor());
         this.hashStoreHelper = new RedisHashStoreHelper<>(stringCodec, this.convertor::fromExtraStoreValue);
     }
 
     @Override
     public CompletableFuture<CacheValue<V>> getCacheValueAsync(String field) {
-        return CompletableFuture.completedFuture(field)
-                .thenApply(this.hashStoreHelper::toStoreField)
-                .thenCompose(storeField -> this.redisOperator.hgetAsync(this.hashKey, storeField))
-                .thenApply(this.convertor::fromExtraStoreValue);
+        return this.decode(CompletableFuture.completedFuture(field)
+                        .thenApply(this.hashStoreHelper::toStoreField)
+                        .thenCompose(storeField -> this.redisOperator.hgetAsync(this.hashKey, storeField)),
+                this.convertor::fromExtraStoreValue);
     }
 
     @Override
     public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> fields) {
-        return CompletableFuture.completedFuture(fields)
-                .thenApply(this::toStoreFields)
-                .thenCompose(storeFields -> this.redisOperator.hmgetAsync(this.hashKey, storeFields))
-                .thenApply(this.hashStoreHelper::toResult);
+        return this.decode(CompletableFuture.completedFuture(fields)
+                        .thenApply(this::toStoreFields)
+                        .thenCompose(storeFields -> this.redisOperator.hmgetAsync(this.hashKey, storeFields)),
+                this.hashStoreHelper::toResult);
     }
 
     @Override
     public CompletableFuture<Void> putAsync(String field, V value) {
         return CompletableFuture.completedFuture(KeyValue.create(field, value))
-                .thenApply(fieldValue -> fieldValue.map(this.hashStoreHelper::toStoreField,
-                        this.convertor::toExtraStoreValue))
                 .thenCompose(fieldValue -> {
-                    byte[] storeField = fieldValue.getKey();
-                    byte[] storeValue = fieldValue.getValue();
+                    long ttl = this.ttl();
+                    byte[] storeField = this.hashStoreHelper.toStoreField(fieldValue.getKey());
+                    byte[] storeValue = this.convertor.toExtraStoreValue(fieldValue.getValue(), ttl);
                     if (storeValue == null) {
                         return this.redisOperator.hdelAsync(hashKey, storeField).thenApply(ignore -> null);
                     }
-                    if (this.expireAfterWrite > 0) {
-                        long ttl = (this.enableRandomTtl) ? randomTtl() : expireAfterWrite;
+                    if (ttl > 0) {
                         return this.redisOperator.hpsetAsync(hashKey, ttl, storeField, storeValue)
                                 .thenApply(ignore -> null);
                     }
@@ -105,12 +103,13 @@ public class RedisHashStore<V> extends AbstractRedisStore<V> {
         List<byte[]> removeFields = new ArrayList<>();
         List<ExpiryKeyValue<byte[], byte[]>> storeFieldValues = new ArrayList<>();
         fieldValues.forEach((field, value) -> {
+            long ttl = randomTtl();
             byte[] storeField = this.hashStoreHelper.toStoreField(field);
-            byte[] storeValue = this.convertor.toExtraStoreValue(value);
+            byte[] storeValue = this.convertor.toExtraStoreValue(value, ttl);
             if (storeValue == null) {
                 removeFields.add(storeField);
             } else {
-                storeFieldValues.add(ExpiryKeyValue.create(storeField, storeValue, randomTtl()));
+                storeFieldValues.add(ExpiryKeyValue.create(storeField, storeValue, ttl));
             }
         });
         if (!removeFields.isEmpty()) {
@@ -125,7 +124,7 @@ public class RedisHashStore<V> extends AbstractRedisStore<V> {
         List<KeyValue<byte[], byte[]>> storeFieldValues = new ArrayList<>();
         fieldValues.forEach((field, value) -> {
             byte[] storeField = this.hashStoreHelper.toStoreField(field);
-            byte[] storeValue = this.convertor.toExtraStoreValue(value);
+            byte[] storeValue = this.convertor.toExtraStoreValue(value, expireAfterWrite);
             if (storeValue == null) {
                 removeFields.add(storeField);
             } else {
@@ -186,6 +185,18 @@ public class RedisHashStore<V> extends AbstractRedisStore<V> {
         return storeFields;
     }
 
+    /**
+     * 单个键值写入时的存活时间
+     *
+     * @return 存活时间，0 表示永不过期
+     */
+    private long ttl() {
+        if (this.expireAfterWrite <= 0) {
+            return 0;
+        }
+        return (this.enableRandomTtl) ? randomTtl() : expireAfterWrite;
+    }
+
     /**
      * 生成随机存活时间
      *
@@ -1,5 +1,6 @@
 package com.igeeksky.xcache.redis.store;
 
+import com.igeeksky.xcache.common.CacheExecutor;
 import com.igeeksky.xcache.core.store.StoreConfig;
 import com.igeeksky.xcache.props.RedisType;
 import com.igeeksky.xtool.core.lang.codec.Codec;
@@ -33,10 +34,14 @@ public class RedisStoreConfig<V> {
 
     private final boolean enableCompressValue;
 
+    private final boolean enableWriteTime;
+
     private final Codec<V> valueCodec;
 
     private final Compressor valueCompressor;
 
+    private final CacheExecutor decodeExecutor;
+
     public RedisStoreConfig(StoreConfig<V> storeConfig) {
         this.name = storeConfig.getName();
         this.group = storeConfig.getGroup();
@@ -47,9 +52,11 @@ public class RedisStoreConfig<V> {
         this.enableRandomTtl = storeConfig.isEnableRandomTtl();
         this.enableNullValue = storeConfig.isEnableNullValue();
         this.enableCompressValue = storeConfig.isEnableCompressValue();
+        this.enableWriteTime = storeConfig.isEnableWriteTime();
         this.valueCodec = storeConfig.getValueCodec();
         this.valueCompressor = storeConfig.getValueCompressor();
         this.dataSlotSize = storeConfig.getDataSlotSize();
+        this.decodeExecutor = storeConfig.getDecodeExecutor();
     }
 
     public String getName() {
@@ -88,6 +95,10 @@ public class RedisStoreConfig<V> {
         return enableCompressValue;
     }
 
+    public boolean isEnableWriteTime() {
+        return enableWriteTime;
+    }
+
     public Compressor getValueCompressor() {
         return valueCompressor;
     }
@@ -100,4 +111,8 @@ public class RedisStoreConfig<V> {
         return dataSlotSize;
     }
 
+    public CacheExecutor getDecodeExecutor() {
+        return decodeExecutor;
+    }
+
 }
@@ -33,7 +33,7 @@ public class RedisStringStore<V> extends AbstractRedisStore<V> {
     private final ExtraStoreConvertor<V> convertor;
 
     public RedisStringStore(RedisOperatorProxy operator, RedisStoreConfig<V> config) {
-        super(operator.getTimeout());
+        super(operator.getTimeout(), config.getDecodeExecutor());
         this.operator = operator;
         boolean enableRandomTtl = config.isEnableRandomTtl();
         this.expireAfterWrite = config.getExpireAfterWrite();
@@ -42,23 +42,23 @@ public class RedisStringStore<V> extends AbstractRedisStore<V> {
         this.cacheKeyPrefix = new CacheKeyPrefix(config.getGroup(), config.getName(),
                 config.isEnableGroupPrefix(), StringCodec.getInstance(config.getCharset()));
         this.convertor = new ExtraStoreConvertor<>(config.isEnableNullValue(), config.isEnableCompressValue(),
-                config.getValueCodec(), config.getValueCompressor());
+                config.isEnableWriteTime(), config.getValueCodec(), config.getValueCompressor());
     }
 
     @Override
     public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
-        return CompletableFuture.completedFuture(key)
-                .thenApply(this::toStoreKey)
-                .thenCompose(this.operator::getAsync)
-                .thenApply(this.convertor::fromExtraStoreValue);
+        return this.decode(CompletableFuture.completedFuture(key)
+                        .thenApply(this::toStoreKey)
+                        .thenCompose(this.operator::getAsync),
+                this.convertor::fromExtraStoreValue);
     }
 
     @Override
     public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
-        return CompletableFuture.completedFuture(keys)
-                .thenApply(this::toStoreKeys)
-                .thenCompose(this.operator::mgetAsync)
-                .thenApply(keyValues -> {
+        return this.decode(CompletableFuture.completedFuture(keys)
+                        .thenApply(this::toStoreKeys)
+                        .thenCompose(this.operator::mgetAsync),
+                keyValues -> {
                     Map<String, CacheValue<V>> result = HashMap.newHashMap(keyValues.size());
                     for (KeyValue<byte[], byte[]> kv : keyValues) {
                         if (kv != null && kv.hasValue()) {
@@ -75,15 +75,14 @@ public class RedisStringStore<V> extends AbstractRedisStore<V> {
     @Override
     public CompletableFuture<Void> putAsync(String key, V value) {
         return CompletableFuture.completedFuture(KeyValue.create(key, value))
-                .thenApply(kv -> kv.map(this::toStoreKey, this.convertor::toExtraStoreValue))
                 .thenCompose(kv -> {
-                    byte[] storeKey = kv.getKey();
-                    byte[] storeValue = kv.getValue();
+                    long ttl = this.ttl();
+                    byte[] storeKey = this.toStoreKey(kv.getKey());
+                    byte[] storeValue = this.convertor.toExtraStoreValue(kv.getValue(), ttl);
                     if (storeValue == null) {
                         return this.operator.delAsync(storeKey).thenApply(ignored -> null);
                     }
-                    if (this.expireAfterWrite > 0) {
-                        long ttl = (this.enableRandomTtl) ? randomTtl() : expireAfterWrite;
+                    if (ttl > 0) {
                         return this.operator.psetexAsync(storeKey, ttl, storeValue)
                                 .thenApply(status -> checkResult(status, key, value));
                     }
@@ -107,11 +106,12 @@ public class RedisStringStore<V> extends AbstractRedisStore<V> {
         List<byte[]> removeKeys = new ArrayList<>();
         List<ExpiryKeyValue<byte[], byte[]>> putKeyValues = new ArrayList<>(keyValues.size());
         keyValues.forEach((k, v) -> {
-            byte[] storeValue = this.convertor.toExtraStoreValue(v);
+            long ttl = this.randomTtl();
+            byte[] storeValue = this.convertor.toExtraStoreValue(v, ttl);
             if (storeValue == null) {
                 removeKeys.add(toStoreKey(k));
             } else {
-                putKeyValues.add(new ExpiryKeyValue<>(toStoreKey(k), storeValue, this.randomTtl()));
+                putKeyValues.add(new ExpiryKeyValue<>(toStoreKey(k), storeValue, ttl));
             }
         });
         if (!removeKeys.isEmpty()) {
@@ -124,7 +124,7 @@ public class RedisStringStore<V> extends AbstractRedisStore<V> {
         List<byte[]> removeKeys = new ArrayList<>();
         List<KeyValue<byte[], byte[]>> putKeyValues = new ArrayList<>(keyValues.size());
         keyValues.forEach((k, v) -> {
-            byte[] storeValue = this.convertor.toExtraStoreValue(v);
+            byte[] storeValue = this.convertor.toExtraStoreValue(v, expireAfterWrite);
             if (storeValue == null) {
                 removeKeys.add(toStoreKey(k));
             } else {
@@ -193,6 +193,18 @@ public class RedisStringStore<V> extends AbstractRedisStore<V> {
         return this.cacheKeyPrefix.removePrefix(storeKey);
     }
 
+    /**
+     * 单个键值写入时的存活时间
+     *
+     * @return 存活时间，0 表示永不过期
+     */
+    private long ttl() {
+        if (this.expireAfterWrite <= 0) {
+            return 0;
+        }
+        return (this.enableRandomTtl) ? randomTtl() : expireAfterWrite;
+    }
+
     /**
      * 生成随机存活时间
      *
@@ -0,0 +1,184 @@
+package com.igeeksky.xcache.redis.sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Redis 客户端缓存（RESP3 {@code CLIENT TRACKING}）连接抽象类
+ * <p>
+ * 管理各前缀的订阅，并将失效通知分发给匹配的监听器；实现类仅需负责开启及关闭 {@code CLIENT TRACKING}。
+ * <p>
+ * Redis 不允许同一连接订阅相互重叠的前缀（如 {@code user:} 与 {@code user:vip:}），因此仅向 Redis 订阅最短的前缀：
+ * 新前缀已被更短的前缀覆盖时无需订阅；新前缀覆盖了已订阅的前缀时，关闭后以合并后的前缀重新开启。
+ * 收到失效通知后，依然按各自的前缀分发给所有匹配的监听器。
+ * <p>
+ * 订阅与重新订阅互斥执行，避免二者交错导致 Redis 端的订阅前缀与本地记录不一致。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public abstract class AbstractRedisClientTracking implements RedisClientTracking {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractRedisClientTracking.class);
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized void subscribe(String prefix, Charset charset, Consumer<List<byte[]>> listener) {
+        Subscription subscription = new Subscription(prefix, charset, listener);
+        if (subscriptions.put(prefix, subscription) != null) {
+            // 前缀已订阅（重复创建同名缓存），仅替换监听器
+            return;
+        }
+        if (this.isCovered(subscription)) {
+            // 已被更短的前缀覆盖，Redis 已推送该前缀的失效通知
+            return;
+        }
+        if (!this.coversOthers(subscription)) {
+            this.enableTracking(List.of(subscription.prefixBytes));
+            return;
+        }
+        // 新前缀覆盖了已订阅的前缀：关闭后以合并后的前缀重新开启
+        this.disableTracking();
+        this.enableTracking(this.prefixes(subscriptions.values()));
+        // 关闭期间的失效通知已丢失，清空其它本地缓存
+        for (Subscription other : subscriptions.values()) {
+            if (other != subscription) {
+                other.accept(null);
+            }
+        }
+    }
+
+    /**
+     * 连接重建后重新订阅（无订阅时直接返回）
+     * <p>
+     * 实现类需在连接重建后调用此方法；此方法会阻塞等待订阅完成，因此不能在连接的 IO 线程中调用。
+     */
+    protected synchronized void resubscribe() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        this.enableTracking(this.prefixes(subscriptions.values()));
+        // 断连期间的失效通知已丢失，清空本地缓存
+        subscriptions.values().forEach(subscription -> subscription.accept(null));
+    }
+
+    /**
+     * 分发失效通知
+     *
+     * @param redisKeys 失效的 Redis 键（含前缀）；为 {@code null} 表示所有键均已失效（如执行 {@code FLUSHDB}）
+     */
+    protected void invalidate(List<byte[]> redisKeys) {
+        if (redisKeys == null) {
+            subscriptions.values().forEach(subscription -> subscription.accept(null));
+            return;
+        }
+
+        for (Subscription subscription : subscriptions.values()) {
+            List<byte[]> matched = null;
+            for (byte[] redisKey : redisKeys) {
+                if (subscription.matches(redisKey)) {
+                    if (matched == null) {
+                        matched = new ArrayList<>(redisKeys.size());
+                    }
+                    matched.add(redisKey);
+                }
+            }
+            if (matched != null) {
+                subscription.accept(matched);
+            }
+        }
+    }
+
+    /**
+     * 以广播模式开启 {@code CLIENT TRACKING}，订阅指定前缀（同步执行）
+     *
+     * @param prefixes 编码后的键前缀（相互之间不重叠）
+     */
+    protected abstract void enableTracking(List<byte[]> prefixes);
+
+    /**
+     * 关闭 {@code CLIENT TRACKING}（同步执行）
+     */
+    protected abstract void disableTracking();
+
+    /**
+     * 是否有其它更短的已订阅前缀覆盖此前缀
+     */
+    private boolean isCovered(Subscription subscription) {
+        for (Subscription other : subscriptions.values()) {
+            if (other.prefixBytes.length < subscription.prefixBytes.length && other.matches(subscription.prefixBytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 此前缀是否覆盖其它更长的已订阅前缀
+     */
+    private boolean coversOthers(Subscription subscription) {
+        for (Subscription other : subscriptions.values()) {
+            if (other.prefixBytes.length > subscription.prefixBytes.length && subscription.matches(other.prefixBytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 仅订阅未被其它前缀覆盖的前缀
+     */
+    private List<byte[]> prefixes(Collection<Subscription> candidates) {
+        return candidates.stream()
+                .filter(subscription -> !this.isCovered(subscription))
+                .map(subscription -> subscription.prefixBytes)
+                .toList();
+    }
+
+    private static final class Subscription {
+
+        private final String prefix;
+
+        private final byte[] prefixBytes;
+
+        private final Consumer<List<byte[]>> listener;
+
+        private Subscription(String prefix, Charset charset, Consumer<List<byte[]>> listener) {
+            this.prefix = prefix;
+            this.prefixBytes = prefix.getBytes(charset);
+            this.listener = listener;
+        }
+
+        private boolean matches(byte[] redisKey) {
+            int length = prefixBytes.length;
+            if (redisKey.length < length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (redisKey[i] != prefixBytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void accept(List<byte[]> redisKeys) {
+            try {
+                listener.accept(redisKeys);
+            } catch (Throwable e) {
+                log.error("RedisClientTracking: prefix [{}] invalidate error: {}", prefix, e.getMessage(), e);
+            }
+        }
+
+    }
+
+}
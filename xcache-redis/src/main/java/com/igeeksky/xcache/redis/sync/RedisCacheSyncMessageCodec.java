@@ -1,46 +1,80 @@
 package com.igeeksky.xcache.redis.sync;
 
 import com.igeeksky.xcache.extension.sync.CacheSyncMessage;
+import com.igeeksky.xcache.redis.codec.CompactReader;
+import com.igeeksky.xcache.redis.codec.CompactWriter;
 import com.igeeksky.xredis.common.stream.StreamCodec;
 import com.igeeksky.xtool.core.collection.CollectionUtils;
 import com.igeeksky.xtool.core.lang.ArrayUtils;
 import com.igeeksky.xtool.core.lang.Assert;
-import com.igeeksky.xtool.core.lang.ByteArray;
 import com.igeeksky.xtool.core.lang.codec.Codec;
 import com.igeeksky.xtool.core.lang.codec.StringCodec;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 
 /**
  * 缓存数据同步广播消息编解码
  * <p>
- * 字段名和字段值分别编解码，转换成键值对形式存入 map
+ * 支持两种格式：
  * <p>
- * 适配 RedisStream 数据结构，便于在可视化界面查看
+ * 1、键值对格式（默认）：字段名和字段值分别编解码，转换成键值对形式存入 map，便于在可视化界面查看；<br>
+ * 2、紧凑二进制格式（{@code compact = true}）：所有字段按固定顺序写入单个字段 {@code msg}，
+ * 整数使用变长编码，键列表使用前缀省略编码，可显著减少 Stream 内存占用及解码开销。
+ * <p>
+ * 更新消息携带的新值：键值对格式逐个存入 map，字段名为 {@code value:} 前缀加缓存键，字段值为序列化后的值；
+ * 紧凑二进制格式追加在键列表之后，其后依次追加发布者序号及写入时间（旧版本解码时忽略尾部数据）。
+ * <p>
+ * 解码时自动识别格式，因此可以先升级所有节点，再启用紧凑格式。
  *
  * @author Patrick.Lau
  * @since 1.0.0 2024/7/22
  */
 public class RedisCacheSyncMessageCodec implements StreamCodec<byte[], byte[], CacheSyncMessage> {
 
+    /**
+     * 紧凑二进制格式版本号
+     */
+    private static final int COMPACT_VERSION = 1;
+
+    private static final String VALUE_PREFIX = "value:";
+
     private final StringCodec stringCodec;
     private final Codec<Set<String>> setCodec;
+    private final boolean compact;
 
-    private final ByteArray sid;
-    private final ByteArray type;
-    private final ByteArray keys;
+    private final byte[] sid;
+    private final byte[] type;
+    private final byte[] seq;
+    private final byte[] time;
+    private final byte[] keys;
+    private final byte[] msg;
+    private final byte[] valuePrefix;
 
     public RedisCacheSyncMessageCodec(Codec<Set<String>> setCodec, StringCodec stringCodec) {
+        this(setCodec, stringCodec, false);
+    }
+
+    /**
+     * 创建缓存数据同步广播消息编解码
+     *
+     * @param setCodec    键集合编解码器（键值对格式）
+     * @param stringCodec 字符串编解码器
+     * @param compact     是否使用紧凑二进制格式编码
+     */
+    public RedisCacheSyncMessageCodec(Codec<Set<String>> setCodec, StringCodec stringCodec, boolean compact) {
         Assert.notNull(setCodec, "setCodec must not be null");
         Assert.notNull(stringCodec, "stringCodec must not be null");
 
         this.setCodec = setCodec;
         this.stringCodec = stringCodec;
-        this.sid = ByteArray.wrap(stringCodec.encode("sid"));
-        this.type = ByteArray.wrap(stringCodec.encode("type"));
-        this.keys = ByteArray.wrap(stringCodec.encode("keys"));
+        this.compact = compact;
+        this.sid = stringCodec.encode("sid");
+        this.type = stringCodec.encode("type");
+        this.seq = stringCodec.encode("seq");
+        this.time = stringCodec.encode("time");
+        this.keys = stringCodec.encode("keys");
+        this.msg = stringCodec.encode("msg");
+        this.valuePrefix = stringCodec.encode(VALUE_PREFIX);
     }
 
     /**
@@ -64,35 +98,154 @@ public class RedisCacheSyncMessageCodec implements StreamCodec<byte[], byte[], C
     }
 
     public Map<byte[], byte[]> encodeMsg(CacheSyncMessage message) {
-        Map<byte[], byte[]> body = HashMap.newHashMap(4);
-        body.put(sid.getValue(), stringCodec.encode(message.getSid()));
-        body.put(type.getValue(), stringCodec.encode(Integer.toString(message.getType())));
+        if (compact) {
+            return Map.of(msg, encodeCompact(message));
+        }
+        Map<byte[], byte[]> body = HashMap.newHashMap(5);
+        body.put(sid, stringCodec.encode(message.getSid()));
+        body.put(type, stringCodec.encode(Integer.toString(message.getType())));
+        if (message.getSeq() > 0) {
+            body.put(seq, stringCodec.encode(Long.toString(message.getSeq())));
+        }
+        if (message.getTime() > 0) {
+            body.put(time, stringCodec.encode(Long.toString(message.getTime())));
+        }
         Set<String> keys = message.getKeys();
         if (CollectionUtils.isNotEmpty(keys)) {
-            body.put(this.keys.getValue(), setCodec.encode(keys));
+            body.put(this.keys, setCodec.encode(keys));
+        }
+        Map<String, byte[]> values = message.getValues();
+        if (values != null) {
+            values.forEach((key, value) -> body.put(stringCodec.encode(VALUE_PREFIX + key), value));
         }
         return body;
     }
 
     public CacheSyncMessage decodeMsg(Map<byte[], byte[]> body) {
-        Map<ByteArray, byte[]> temp = HashMap.newHashMap(body.size());
-        body.forEach((k, v) -> temp.put(ByteArray.wrap(k), v));
+        CacheSyncMessage message = new CacheSyncMessage();
+        Map<String, byte[]> values = null;
+        for (Map.Entry<byte[], byte[]> entry : body.entrySet()) {
+            byte[] field = entry.getKey();
+            byte[] value = entry.getValue();
+            if (ArrayUtils.isEmpty(value)) {
+                continue;
+            }
+            if (Arrays.equals(msg, field)) {
+                return decodeCompact(value);
+            }
+            if (Arrays.equals(sid, field)) {
+                message.setSid(stringCodec.decode(value));
+            } else if (Arrays.equals(type, field)) {
+                message.setType(Integer.parseInt(stringCodec.decode(value)));
+            } else if (Arrays.equals(seq, field)) {
+                message.setSeq(Long.parseLong(stringCodec.decode(value)));
+            } else if (Arrays.equals(time, field)) {
+                message.setTime(Long.parseLong(stringCodec.decode(value)));
+            } else if (Arrays.equals(keys, field)) {
+                message.setKeys(setCodec.decode(value));
+            } else if (startsWith(field, valuePrefix)) {
+                if (values == null) {
+                    values = new HashMap<>();
+                }
+                int length = valuePrefix.length;
+                values.put(stringCodec.decode(field, length, field.length - length), value);
+            }
+        }
+        message.setValues(values);
+        return message;
+    }
 
+    private byte[] encodeCompact(CacheSyncMessage message) {
+        Set<String> keys = message.getKeys();
+        int size = (keys != null) ? keys.size() : 0;
+        CompactWriter writer = new CompactWriter(64 + size * 16);
+        writer.writeByte(COMPACT_VERSION)
+                .writeVarInt(message.getType())
+                .writeBytes(message.getSid() != null ? stringCodec.encode(message.getSid()) : null);
+        if (keys == null) {
+            writer.writeVarInt(0);
+        } else {
+            List<byte[]> keyBytes = new ArrayList<>(size);
+            for (String key : keys) {
+                keyBytes.add(stringCodec.encode(key));
+            }
+            // 标记键集合存在（与 null 区分）
+            writer.writeVarInt(1);
+            writer.writeKeys(keyBytes);
+        }
+        // 更新消息的新值：可选，追加在键列表之后；如有序号或写入时间，则须写入值数量（可为 0）以定位其后的字段
+        Map<String, byte[]> values = message.getValues();
+        boolean hasValues = values != null && !values.isEmpty();
+        boolean hasTime = message.getTime() > 0;
+        if (hasValues || message.getSeq() > 0 || hasTime) {
+            writer.writeVarInt(hasValues ? values.size() : 0);
+            if (hasValues) {
+                values.forEach((key, value) -> writer.writeBytes(stringCodec.encode(key)).writeBytes(value));
+            }
+        }
+        // 发布者序号：可选；如有写入时间，则须写入序号（可为 0）以定位写入时间
+        if (message.getSeq() > 0 || hasTime) {
+            writer.writeVarLong(message.getSeq());
+        }
+        // 写入时间：可选，追加在最后
+        if (hasTime) {
+            writer.writeVarLong(message.getTime());
+        }
+        return writer.toByteArray();
+    }
+
+    private CacheSyncMessage decodeCompact(byte[] value) {
+        CompactReader reader = new CompactReader(value);
+        int version = reader.readByte();
+        if (version != COMPACT_VERSION) {
+            throw new IllegalArgumentException("Unsupported compact sync message version: " + version);
+        }
         CacheSyncMessage message = new CacheSyncMessage();
-        byte[] sidBytes = temp.get(sid);
-        if (ArrayUtils.isNotEmpty(sidBytes)) {
+        message.setType(reader.readVarInt());
+        byte[] sidBytes = reader.readBytes();
+        if (sidBytes != null) {
             message.setSid(stringCodec.decode(sidBytes));
         }
-        byte[] typeBytes = temp.get(type);
-        if (ArrayUtils.isNotEmpty(typeBytes)) {
-            message.setType(Integer.parseInt(stringCodec.decode(typeBytes)));
-        }
-        byte[] keysBytes = temp.get(keys);
-        if (ArrayUtils.isNotEmpty(keysBytes)) {
-            Set<String> keys = setCodec.decode(keysBytes);
+        if (reader.readVarInt() != 0) {
+            Set<String> keys = new HashSet<>();
+            reader.readKeys(key -> keys.add(stringCodec.decode(key)));
             message.setKeys(keys);
         }
+        if (reader.hasRemaining()) {
+            int count = reader.readVarInt();
+            if (count > 0) {
+                message.setValues(readValues(reader, count));
+            }
+        }
+        if (reader.hasRemaining()) {
+            message.setSeq(reader.readVarLong());
+        }
+        if (reader.hasRemaining()) {
+            message.setTime(reader.readVarLong());
+        }
         return message;
     }
 
-}
\ No newline at end of file
+    private Map<String, byte[]> readValues(CompactReader reader, int count) {
+        // 每个键值对至少需要 2 个字节（键和值的长度前缀），先校验数量再分配空间，避免错误数据导致内存溢出
+        if (count > reader.remaining() / 2) {
+            throw new IllegalArgumentException("Malformed compact sync message: value count " + count +
+                    " exceeds remaining " + reader.remaining() + " bytes");
+        }
+        Map<String, byte[]> values = HashMap.newHashMap(count);
+        for (int i = 0; i < count; i++) {
+            byte[] key = reader.readBytes();
+            byte[] value = reader.readBytes();
+            if (key == null || value == null) {
+                throw new IllegalArgumentException("Malformed compact sync message: value " + i);
+            }
+            values.put(stringCodec.decode(key), value);
+        }
+        return values;
+    }
+
+    private static boolean startsWith(byte[] field, byte[] prefix) {
+        return field.length >= prefix.length && Arrays.equals(field, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+}
@@ -19,6 +19,7 @@ import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Redis 缓存数据同步工厂类
@@ -35,6 +36,8 @@ public class RedisCacheSyncProvider implements CacheSyncProvider {
     private final CodecProvider codecProvider;
     private final StreamOperator<byte[], byte[]> operator;
     private final StreamContainer<byte[], byte[]> container;
+    private final ScheduledExecutorService scheduler;
+    private final boolean compact;
 
     /**
      * 创建 Redis 缓存数据同步工厂类
@@ -46,12 +49,46 @@ public class RedisCacheSyncProvider implements CacheSyncProvider {
     public RedisCacheSyncProvider(StreamOperator<byte[], byte[]> operator,
                                   StreamContainer<byte[], byte[]> container,
                                   CodecProvider codecProvider) {
+        this(operator, container, codecProvider, null);
+    }
+
+    /**
+     * 创建 Redis 缓存数据同步工厂类
+     *
+     * @param operator      Redis 流信息操作
+     * @param container     Redis 流信息接收
+     * @param codecProvider 编解码器工厂
+     * @param scheduler     调度器（用于合并发送同步消息，为空则不合并）
+     */
+    public RedisCacheSyncProvider(StreamOperator<byte[], byte[]> operator,
+                                  StreamContainer<byte[], byte[]> container,
+                                  CodecProvider codecProvider,
+                                  ScheduledExecutorService scheduler) {
+        this(operator, container, codecProvider, scheduler, false);
+    }
+
+    /**
+     * 创建 Redis 缓存数据同步工厂类
+     *
+     * @param operator      Redis 流信息操作
+     * @param container     Redis 流信息接收
+     * @param codecProvider 编解码器工厂
+     * @param scheduler     调度器（用于合并发送同步消息，为空则不合并）
+     * @param compact       是否使用紧凑二进制格式编码同步消息
+     */
+    public RedisCacheSyncProvider(StreamOperator<byte[], byte[]> operator,
+                                  StreamContainer<byte[], byte[]> container,
+                                  CodecProvider codecProvider,
+                                  ScheduledExecutorService scheduler,
+                                  boolean compact) {
         Assert.notNull(operator, "RedisOperator must not be null");
         Assert.notNull(container, "StreamContainer must not be null");
         Assert.notNull(codecProvider, "CodecProvider must not be null");
         this.operator = operator;
         this.container = container;
         this.codecProvider = codecProvider;
+        this.scheduler = scheduler;
+        this.compact = compact;
     }
 
     /**
@@ -99,7 +136,7 @@ public class RedisCacheSyncProvider implements CacheSyncProvider {
         byte[] stream = codec.encodeKey(config.getChannel());
         StreamPublisher<byte[], byte[], CacheSyncMessage> publisher =
                 new StreamPublisher<>(stream, options, this.operator, codec);
-        return new CacheSyncMonitorImpl(config, publisher::publish);
+        return new CacheSyncMonitorImpl(config, publisher::publish, this.scheduler);
     }
 
     /**
@@ -111,7 +148,7 @@ public class RedisCacheSyncProvider implements CacheSyncProvider {
         return messageCodecs.computeIfAbsent(charset, charset1 -> {
             StringCodec stringCodec = StringCodec.getInstance(charset1);
             Codec<Set<String>> setCodec = codecProvider.getSetCodec(charset1, String.class);
-            return new RedisCacheSyncMessageCodec(setCodec, stringCodec);
+            return new RedisCacheSyncMessageCodec(setCodec, stringCodec, compact);
         });
     }
 
@@ -0,0 +1,39 @@
+package com.igeeksky.xcache.redis.sync;
+
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Redis 客户端缓存（RESP3 {@code CLIENT TRACKING}）连接
+ * <p>
+ * 使用广播模式（{@code BCAST PREFIX}）订阅指定前缀的键的失效通知：
+ * 任意客户端修改（写入、删除、过期、逐出）匹配前缀的键后，Redis 主动推送 {@code invalidate} 消息。
+ * <p>
+ * 实现类需使用独立的 RESP3 连接，且在连接重建后重新开启 {@code CLIENT TRACKING}；
+ * 因断连期间的失效通知无法补发，连接重建后需以 {@code null} 通知所有监听器。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public interface RedisClientTracking {
+
+    /**
+     * 订阅指定前缀的键的失效通知
+     *
+     * @param prefix   键前缀
+     * @param charset  字符集（用于前缀编码）
+     * @param listener 失效通知监听器，参数为失效的 Redis 键（含前缀）；
+     *                 参数为 {@code null} 表示所有键均已失效（如执行 {@code FLUSHDB}，或连接重建）
+     */
+    void subscribe(String prefix, Charset charset, Consumer<List<byte[]>> listener);
+
+    /**
+     * 关闭连接
+     *
+     * @return {@code CompletableFuture<Void>} – 关闭结果
+     */
+    CompletableFuture<Void> closeAsync();
+
+}
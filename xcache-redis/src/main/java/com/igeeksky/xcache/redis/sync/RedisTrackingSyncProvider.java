@@ -0,0 +1,107 @@
+package com.igeeksky.xcache.redis.sync;
+
+import com.igeeksky.xcache.common.CacheConfigException;
+import com.igeeksky.xcache.extension.sync.*;
+import com.igeeksky.xcache.props.RedisType;
+import com.igeeksky.xtool.core.lang.Assert;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 基于 Redis 客户端缓存（RESP3 {@code CLIENT TRACKING}）的缓存数据同步工厂类
+ * <p>
+ * 与 {@link RedisCacheSyncProvider} 不同，此实现无需在每次写操作后发送 Stream 消息，也无需各节点轮询读取 Stream：
+ * 二级缓存（Redis String）中的键被修改后，由 Redis 主动推送失效通知，各节点据此删除本地缓存的对应数据。
+ * <p>
+ * <b>注意：</b><br>
+ * 1、使用广播模式订阅缓存键前缀，前缀由通道名称（即数据同步配置的 group、name 及 enableGroupPrefix）计算得出，
+ * 须与 Redis 存储的前缀配置一致。<br>
+ * 2、仅适用于 Redis String 类型的存储；Hash 类型存储的失效通知无法对应到具体的缓存键，注册时抛出异常。<br>
+ * 3、本节点的写操作也会收到失效通知，写入本地缓存的数据会随之删除，下次读取时从 Redis 回填：
+ * 写操作使用的是共享的数据连接，而非接收失效通知的连接，因此无法使用 {@code NOLOOP} 选项过滤。
+ * 写多读少的缓存不宜使用此实现。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class RedisTrackingSyncProvider implements CacheSyncProvider {
+
+    private final RedisClientTracking tracking;
+
+    /**
+     * 创建基于 Redis 客户端缓存的缓存数据同步工厂类
+     *
+     * @param tracking Redis 客户端缓存连接
+     */
+    public RedisTrackingSyncProvider(RedisClientTracking tracking) {
+        Assert.notNull(tracking, "RedisClientTracking must not be null");
+        this.tracking = tracking;
+    }
+
+    /**
+     * 订阅通道对应的缓存键前缀的失效通知
+     * <p>
+     * 通道名称为 {@link SyncConfig#CHANNEL_PREFIX} 与缓存键前缀（不含末尾的 {@code ":"}）的拼接，
+     * 与 Redis 存储的键前缀规则一致，因此可直接由通道名称计算键前缀。
+     *
+     * @param channel  通道名称
+     * @param charset  字符集
+     * @param listener 消息监听器
+     * @param <V>      缓存值类型
+     */
+    @Override
+    public <V> void register(String channel, Charset charset, SyncMessageListener<V> listener) {
+        if (channel == null || !channel.startsWith(SyncConfig.CHANNEL_PREFIX)) {
+            throw new IllegalArgumentException("RedisTrackingSyncProvider: channel must start with ["
+                    + SyncConfig.CHANNEL_PREFIX + "], actual: " + channel);
+        }
+        String prefix = channel.substring(SyncConfig.CHANNEL_PREFIX.length()) + ":";
+        StringCodec stringCodec = StringCodec.getInstance(charset);
+        int prefixLength = stringCodec.encode(prefix).length;
+
+        this.tracking.subscribe(prefix, charset, redisKeys -> {
+            if (redisKeys == null) {
+                listener.onMessage(new CacheSyncMessage(null, CacheSyncMessage.TYPE_CLEAR));
+                return;
+            }
+            Set<String> keys = HashSet.newHashSet(redisKeys.size());
+            for (byte[] redisKey : redisKeys) {
+                keys.add(stringCodec.decode(redisKey, prefixLength, redisKey.length - prefixLength));
+            }
+            listener.onMessage(new CacheSyncMessage(null, CacheSyncMessage.TYPE_REMOVE, keys));
+        });
+    }
+
+    /**
+     * 校验二级缓存类型后，订阅通道对应的缓存键前缀的失效通知
+     *
+     * @param config   缓存数据同步配置
+     * @param listener 消息监听器
+     * @param <V>      缓存值类型
+     * @throws CacheConfigException 二级缓存为 Redis Hash 类型
+     */
+    @Override
+    public <V> void register(SyncConfig<V> config, SyncMessageListener<V> listener) {
+        if (RedisType.HASH == config.getRedisType()) {
+            throw new CacheConfigException("Cache:[" + config.getName() + "], cache-sync: "
+                    + "RedisTrackingSyncProvider doesn't support HASH second-store, redis-type must be STRING.");
+        }
+        this.register(config.getChannel(), config.getCharset(), listener);
+    }
+
+    /**
+     * 失效通知由 Redis 主动推送，写操作后无需发送消息
+     *
+     * @param config 缓存数据同步配置
+     * @param <V>    缓存值类型
+     * @return {@link NoOpCacheSyncMonitor}
+     */
+    @Override
+    public <V> CacheSyncMonitor getMonitor(SyncConfig<V> config) {
+        return NoOpCacheSyncMonitor.getInstance();
+    }
+
+}
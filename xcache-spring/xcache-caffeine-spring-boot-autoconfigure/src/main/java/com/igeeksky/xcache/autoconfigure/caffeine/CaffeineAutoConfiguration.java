@@ -15,6 +15,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Role;
 
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Caffeine 自动配置
@@ -33,17 +34,19 @@ public class CaffeineAutoConfiguration {
      *
      * @param expiryProviders  自定义 ExpiryProvider
      * @param weigherProviders 自定义 WeigherProvider
+     * @param schedulers       调度器（用于定时保存快照）
      * @return {@link StoreProviderRegister} – StoreProvider 注册器
      */
     @Bean
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
     StoreProviderRegister caffeineStoreRegister(ObjectProvider<CaffeineExpiryRegister> expiryProviders,
-                                                ObjectProvider<CaffeineWeigherRegister> weigherProviders) {
+                                                ObjectProvider<CaffeineWeigherRegister> weigherProviders,
+                                                ObjectProvider<ScheduledExecutorService> schedulers) {
         List<CaffeineExpiryRegister> expiryList = expiryProviders.orderedStream().toList();
         List<CaffeineWeigherRegister> weigherList = weigherProviders.orderedStream().toList();
         StoreProviderRegister register = new StoreProviderRegister();
         register.put(CacheConstants.CAFFEINE_STORE, SingletonSupplier.of(() ->
-                new CaffeineStoreProvider(expiryList, weigherList))
+                new CaffeineStoreProvider(expiryList, weigherList, schedulers.getIfAvailable()))
         );
         return register;
     }
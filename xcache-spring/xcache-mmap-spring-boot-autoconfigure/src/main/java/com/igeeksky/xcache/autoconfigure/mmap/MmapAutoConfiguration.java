@@ -0,0 +1,39 @@
+package com.igeeksky.xcache.autoconfigure.mmap;
+
+import com.igeeksky.xcache.autoconfigure.CacheAutoConfiguration;
+import com.igeeksky.xcache.autoconfigure.register.StoreProviderRegister;
+import com.igeeksky.xcache.core.SingletonSupplier;
+import com.igeeksky.xcache.mmap.MmapStoreProvider;
+import com.igeeksky.xcache.props.CacheConstants;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * 文件映射缓存自动配置
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+@Configuration(proxyBeanMethods = false)
+@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+@AutoConfigureBefore(CacheAutoConfiguration.class)
+@SuppressWarnings("unused")
+public class MmapAutoConfiguration {
+
+    /**
+     * 注册 MmapStoreProvider（ID: mmap）
+     *
+     * @return {@link StoreProviderRegister} – StoreProvider 注册器
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    StoreProviderRegister mmapStoreRegister() {
+        StoreProviderRegister register = new StoreProviderRegister();
+        register.put(CacheConstants.MMAP_STORE, SingletonSupplier.of(MmapStoreProvider::new));
+        return register;
+    }
+
+}
@@ -21,6 +21,7 @@ import com.igeeksky.xcache.redis.metrics.RedisMetricsConfig;
 import com.igeeksky.xcache.redis.refresh.RedisCacheRefreshProvider;
 import com.igeeksky.xcache.redis.store.RedisStoreProvider;
 import com.igeeksky.xcache.redis.sync.RedisCacheSyncProvider;
+import com.igeeksky.xcache.redis.sync.RedisTrackingSyncProvider;
 import com.igeeksky.xredis.common.stream.StreamOperator;
 import com.igeeksky.xredis.common.stream.container.StreamContainer;
 import com.igeeksky.xredis.lettuce.LettuceClusterFactory;
@@ -112,7 +113,8 @@ public class LettuceCacheAutoConfiguration {
                 ClientOptions options = ClientOptionsHelper.clientOptions(sentinelConfig.getId(),
                         sentinel.getClientOptions(), customizers);
                 LettuceSentinelFactory factory = new LettuceSentinelFactory(sentinelConfig, options, clientResources.get());
-                register.put(sentinelConfig.getId(), new LettuceHolder(sentinelConfig, lettuceConfig, factory, scheduler));
+                LettuceHolder holder = new LettuceHolder(sentinelConfig, lettuceConfig, factory, clientResources.get(), scheduler);
+                register.put(sentinelConfig.getId(), holder);
                 continue;
             }
             LettuceCluster cluster = lettuceConfig.getCluster();
@@ -121,7 +123,8 @@ public class LettuceCacheAutoConfiguration {
                 ClusterClientOptions options = ClientOptionsHelper.clusterClientOptions(config.getId(),
                         cluster.getClientOptions(), customizers);
                 LettuceClusterFactory factory = new LettuceClusterFactory(config, options, clientResources.get());
-                register.put(config.getId(), new LettuceHolder(config, lettuceConfig, factory, scheduler));
+                LettuceHolder holder = new LettuceHolder(config, lettuceConfig, factory, clientResources.get(), scheduler);
+                register.put(config.getId(), holder);
                 continue;
             }
             LettuceStandalone standalone = lettuceConfig.getStandalone();
@@ -130,7 +133,8 @@ public class LettuceCacheAutoConfiguration {
                 ClientOptions options = ClientOptionsHelper.clientOptions(config.getId(),
                         standalone.getClientOptions(), customizers);
                 LettuceStandaloneFactory factory = new LettuceStandaloneFactory(config, options, clientResources.get());
-                register.put(config.getId(), new LettuceHolder(config, lettuceConfig, factory, scheduler));
+                LettuceHolder holder = new LettuceHolder(config, lettuceConfig, factory, clientResources.get(), scheduler);
+                register.put(config.getId(), holder);
                 continue;
             }
             throw new CacheConfigException("xcache.redis.lettuce:[" + id + "] init error." + lettuceConfig);
@@ -149,9 +153,11 @@ public class LettuceCacheAutoConfiguration {
     @Bean
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
     CacheSyncProviderRegister lettuceSyncProviderRegister(LettuceRegister lettuceRegister,
+                                                          ScheduledExecutorService scheduler,
                                                           ObjectProvider<CodecProviderRegister> providers) {
         CacheSyncProviderRegister register = new CacheSyncProviderRegister();
-        lettuceRegister.getAll().forEach((id, holder) -> register.put(id, createSyncProvider(holder, providers)));
+        lettuceRegister.getAll()
+                .forEach((id, holder) -> register.put(id, createSyncProvider(holder, scheduler, providers)));
         return register;
     }
 
@@ -190,15 +196,21 @@ public class LettuceCacheAutoConfiguration {
     }
 
     private static SingletonSupplier<CacheSyncProvider> createSyncProvider(LettuceHolder holder,
+                                                                           ScheduledExecutorService scheduler,
                                                                            ObjectProvider<CodecProviderRegister> providers) {
+        if (holder.getSyncOptions().isTracking()) {
+            SingletonSupplier<LettuceClientTracking> trackingSupplier = holder.getClientTrackingSupplier();
+            return SingletonSupplier.of(() -> new RedisTrackingSyncProvider(trackingSupplier.get()));
+        }
         String codec = holder.getSyncOptions().getCodec();
+        boolean compact = holder.getSyncOptions().isCompact();
         SingletonSupplier<StreamOperator<byte[], byte[]>> operatorSupplier = holder.getStreamOperatorSupplier();
         SingletonSupplier<StreamContainer<byte[], byte[]>> containerSupplier = holder.getStreamContainerSupplier();
         return SingletonSupplier.of(() -> {
             CodecProvider codecProvider = getCodecProvider(codec, providers);
             StreamOperator<byte[], byte[]> streamOperator = operatorSupplier.get();
             StreamContainer<byte[], byte[]> streamContainer = containerSupplier.get();
-            return new RedisCacheSyncProvider(streamOperator, streamContainer, codecProvider);
+            return new RedisCacheSyncProvider(streamOperator, streamContainer, codecProvider, scheduler, compact);
         });
     }
 
@@ -247,7 +259,7 @@ public class LettuceCacheAutoConfiguration {
         CodecProvider codecProvider = getCodecProvider(options.getCodec(), providers);
         if (codecProvider != null) {
             Codec<CacheMetrics> statCodec = codecProvider.getCodec(config);
-            return new RedisCacheMetricsCodec(statCodec, StringCodec.getInstance(charset));
+            return new RedisCacheMetricsCodec(statCodec, StringCodec.getInstance(charset), options.isCompact());
         }
         return null;
     }
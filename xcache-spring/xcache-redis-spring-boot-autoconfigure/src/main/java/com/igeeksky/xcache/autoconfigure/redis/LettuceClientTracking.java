@@ -0,0 +1,95 @@
+package com.igeeksky.xcache.autoconfigure.redis;
+
+import com.igeeksky.xcache.redis.sync.AbstractRedisClientTracking;
+import io.lettuce.core.*;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.resource.ClientResources;
+
+import java.net.SocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 基于 Lettuce 的 Redis 客户端缓存（RESP3 {@code CLIENT TRACKING}）连接
+ * <p>
+ * 使用独立的 RESP3 连接，以广播模式订阅键前缀；连接重建后重新订阅所有前缀，并通知所有监听器清空本地缓存。
+ * <p>
+ * 重新订阅由 Lettuce 的事件线程池执行，不阻塞连接的 IO 线程，并与订阅操作互斥，见 {@link AbstractRedisClientTracking}。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class LettuceClientTracking extends AbstractRedisClientTracking {
+
+    private static final String INVALIDATE = "invalidate";
+
+    private final RedisClient client;
+
+    private final StatefulRedisConnection<byte[], byte[]> connection;
+
+    /**
+     * 创建 Redis 客户端缓存连接
+     *
+     * @param redisURI  Redis 连接地址
+     * @param resources Lettuce 客户端资源
+     */
+    public LettuceClientTracking(RedisURI redisURI, ClientResources resources) {
+        this.client = RedisClient.create(resources, redisURI);
+        this.client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP3).build());
+        this.client.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> handler, SocketAddress address) {
+                resources.eventExecutorGroup().execute(LettuceClientTracking.this::resubscribe);
+            }
+        });
+        this.connection = this.client.connect(ByteArrayCodec.INSTANCE);
+        this.connection.addListener(this::onPushMessage);
+    }
+
+    /**
+     * 各前缀的字符集可能不同，因此以 ISO-8859-1 传递编码后的字节（逐字节对应，不改变前缀内容）。
+     */
+    @Override
+    protected void enableTracking(List<byte[]> prefixes) {
+        String[] args = prefixes.stream()
+                .map(prefix -> new String(prefix, StandardCharsets.ISO_8859_1))
+                .toArray(String[]::new);
+        TrackingArgs trackingArgs = TrackingArgs.Builder.enabled().bcast().prefixes(StandardCharsets.ISO_8859_1, args);
+        this.connection.sync().clientTracking(trackingArgs);
+    }
+
+    @Override
+    protected void disableTracking() {
+        this.connection.sync().clientTracking(TrackingArgs.Builder.enabled(false));
+    }
+
+    private void onPushMessage(PushMessage message) {
+        if (!INVALIDATE.equals(message.getType())) {
+            return;
+        }
+        List<Object> content = message.getContent(ByteArrayCodec.INSTANCE::decodeKey);
+        Object keys = (content.size() > 1) ? content.get(1) : null;
+
+        // keys 为空：FLUSHDB 或 FLUSHALL
+        if (!(keys instanceof List<?> redisKeys)) {
+            this.invalidate(null);
+            return;
+        }
+        List<byte[]> invalidated = new ArrayList<>(redisKeys.size());
+        for (Object key : redisKeys) {
+            invalidated.add((byte[]) key);
+        }
+        this.invalidate(invalidated);
+    }
+
+    @Override
+    public CompletableFuture<Void> closeAsync() {
+        return this.connection.closeAsync().thenCompose(ignored -> this.client.shutdownAsync());
+    }
+
+}
@@ -1,5 +1,6 @@
 package com.igeeksky.xcache.autoconfigure.redis;
 
+import com.igeeksky.xcache.common.CacheConfigException;
 import com.igeeksky.xcache.core.SingletonSupplier;
 import com.igeeksky.xredis.common.stream.StreamOperator;
 import com.igeeksky.xredis.common.stream.container.ReadOptions;
@@ -10,7 +11,10 @@ import com.igeeksky.xredis.lettuce.api.RedisOperator;
 import com.igeeksky.xredis.lettuce.api.RedisOperatorFactory;
 import com.igeeksky.xredis.lettuce.config.LettuceGenericConfig;
 import com.igeeksky.xtool.core.concurrent.Futures;
+import com.igeeksky.xtool.core.lang.StringUtils;
+import io.lettuce.core.RedisURI;
 import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.resource.ClientResources;
 
 import java.util.ArrayList;
 import java.util.concurrent.Future;
@@ -49,8 +53,10 @@ public class LettuceHolder {
 
     private final SingletonSupplier<StreamContainer<byte[], byte[]>> streamContainerSupplier;
 
-    public LettuceHolder(LettuceGenericConfig genericConfig, LettuceConfig lettuceConfig,
-                         RedisOperatorFactory factory, ScheduledExecutorService scheduler) {
+    private final SingletonSupplier<LettuceClientTracking> clientTrackingSupplier;
+
+    public LettuceHolder(LettuceGenericConfig genericConfig, LettuceConfig lettuceConfig, RedisOperatorFactory factory,
+                         ClientResources clientResources, ScheduledExecutorService scheduler) {
         this.factory = factory;
         this.shutdownTimeout = genericConfig.getShutdownTimeout();
         this.metricsOptions = (lettuceConfig.getMetrics() != null) ? lettuceConfig.getMetrics() : new RedisMetricsOptions();
@@ -75,6 +81,14 @@ public class LettuceHolder {
             ReadOptions readOptions = ReadOptions.from(block, streamOptions.getCount());
             return factory.streamContainer(CODEC, scheduler, streamOptions.getPeriod(), readOptions);
         });
+        this.clientTrackingSupplier = SingletonSupplier.of(() -> {
+            String trackingUri = StringUtils.trimToNull(syncOptions.getTrackingUri());
+            if (trackingUri == null) {
+                throw new CacheConfigException("xcache.redis.lettuce:[" + lettuceConfig.getId() +
+                        "], sync.tracking-uri must not be null or empty when sync.tracking is true");
+            }
+            return new LettuceClientTracking(RedisURI.create(trackingUri), clientResources);
+        });
     }
 
     public RedisOperatorFactory getFactory() {
@@ -105,14 +119,22 @@ public class LettuceHolder {
         return streamContainerSupplier;
     }
 
+    public SingletonSupplier<LettuceClientTracking> getClientTrackingSupplier() {
+        return clientTrackingSupplier;
+    }
+
     public void shutdown() {
         if (shutdownState.compareAndSet(false, true)) {
-            ArrayList<Future<?>> futures = new ArrayList<>(3);
+            ArrayList<Future<?>> futures = new ArrayList<>(4);
             RedisOperator<byte[], byte[]> redisOperator = redisOperatorSupplier.getIfPresent();
             StreamContainer<byte[], byte[]> container = streamContainerSupplier.getIfPresent();
+            LettuceClientTracking clientTracking = clientTrackingSupplier.getIfPresent();
             if (container != null) {
                 futures.add(container.shutdownAsync());
             }
+            if (clientTracking != null) {
+                futures.add(clientTracking.closeAsync());
+            }
             if (redisOperator != null) {
                 futures.add(redisOperator.closeAsync());
             }
@@ -52,6 +52,16 @@ public class RedisMetricsOptions {
      */
     private String codec = CacheConstants.JACKSON_CODEC;
 
+    /**
+     * 是否使用紧凑二进制格式编码统计消息
+     * <p>
+     * 默认值：false
+     * <p>
+     * 如为 true，统计消息编码为单个二进制字段 {@code msg}，计数使用变长编码（不再使用 codec 编码各级缓存指标）；
+     * 消费者须使用 {@code RedisCacheMetricsCodec} 解码（自动识别格式）。
+     */
+    private boolean compact = false;
+
     public long getPeriod() {
         return period;
     }
@@ -92,6 +102,14 @@ public class RedisMetricsOptions {
         this.codec = codec;
     }
 
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
     @Override
     public String toString() {
         return SimpleJSON.toJSONString(this);
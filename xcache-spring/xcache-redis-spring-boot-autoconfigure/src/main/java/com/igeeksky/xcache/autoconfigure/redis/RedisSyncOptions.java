@@ -1,10 +1,11 @@
 package com.igeeksky.xcache.autoconfigure.redis;
 
 import com.igeeksky.xcache.redis.sync.RedisCacheSyncProvider;
+import com.igeeksky.xcache.redis.sync.RedisTrackingSyncProvider;
 import com.igeeksky.xtool.core.json.SimpleJSON;
 
 /**
- * {@link RedisCacheSyncProvider} 配置项
+ * {@link RedisCacheSyncProvider} 及 {@link RedisTrackingSyncProvider} 配置项
  *
  * @author Patrick.Lau
  * @since 1.0.0
@@ -16,6 +17,21 @@ public class RedisSyncOptions {
      */
     private String codec = "jackson";
 
+    /**
+     * 是否使用 Redis 客户端缓存（CLIENT TRACKING）作为数据同步通道
+     */
+    private boolean tracking = false;
+
+    /**
+     * Redis 客户端缓存连接地址
+     */
+    private String trackingUri;
+
+    /**
+     * 是否使用紧凑二进制格式编码同步消息
+     */
+    private boolean compact = false;
+
     /**
      * 数据同步编解码器 ID
      * <p>
@@ -38,6 +54,79 @@ public class RedisSyncOptions {
         this.codec = codec;
     }
 
+    /**
+     * 是否使用 Redis 客户端缓存（CLIENT TRACKING）作为数据同步通道
+     * <p>
+     * 默认值：false
+     * <p>
+     * false：使用 {@link RedisCacheSyncProvider}，写操作后发送消息到 Redis Stream，各节点读取 Stream 并删除本地缓存数据。
+     * <p>
+     * true：使用 {@link RedisTrackingSyncProvider}，由 Redis 主动推送键失效通知，写操作后无需发送消息。
+     * 需 Redis 6.0 及以上版本，且二级缓存须为 Redis String 类型存储（不支持集群模式）。
+     *
+     * @return {@code boolean} – 是否使用 Redis 客户端缓存作为数据同步通道
+     */
+    public boolean isTracking() {
+        return tracking;
+    }
+
+    /**
+     * 是否使用 Redis 客户端缓存（CLIENT TRACKING）作为数据同步通道
+     *
+     * @param tracking 是否使用 Redis 客户端缓存作为数据同步通道
+     */
+    public void setTracking(boolean tracking) {
+        this.tracking = tracking;
+    }
+
+    /**
+     * Redis 客户端缓存连接地址
+     * <p>
+     * 使用 Lettuce RedisURI 格式，如：{@code redis://password@127.0.0.1:6379/0}；
+     * 须与 Redis 存储连接同一 Redis 节点（哨兵模式可使用 {@code redis-sentinel://} 格式）。
+     * <p>
+     * 如 {@code tracking} 为 true，则此配置不能为空。
+     *
+     * @return {@code String} – Redis 客户端缓存连接地址
+     */
+    public String getTrackingUri() {
+        return trackingUri;
+    }
+
+    /**
+     * Redis 客户端缓存连接地址
+     *
+     * @param trackingUri Redis 客户端缓存连接地址
+     */
+    public void setTrackingUri(String trackingUri) {
+        this.trackingUri = trackingUri;
+    }
+
+    /**
+     * 是否使用紧凑二进制格式编码同步消息
+     * <p>
+     * 默认值：false
+     * <p>
+     * false：消息字段分别存入 Redis Stream，便于在可视化界面查看。<br>
+     * true：消息编码为单个二进制字段，键列表使用前缀省略编码，消息体积更小。
+     * <p>
+     * 接收消息时自动识别格式，因此可逐个节点切换。
+     *
+     * @return {@code boolean} – 是否使用紧凑二进制格式编码同步消息
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * 是否使用紧凑二进制格式编码同步消息
+     *
+     * @param compact 是否使用紧凑二进制格式编码同步消息
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+    }
+
     @Override
     public String toString() {
         return SimpleJSON.toJSONString(this);
@@ -44,7 +44,7 @@ public class CacheAutoConfiguration {
         }
     }
 
-    @Bean("xcacheManager")
+    @Bean(name = "xcacheManager", destroyMethod = "shutdown")
     @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
     @ConditionalOnMissingBean(CacheManager.class)
     CacheManager cacheManager(ObjectProvider<CacheLoaderRegister> loaderRegisters,
@@ -12,6 +12,8 @@ import java.util.function.Supplier;
 
 /**
  * 用于向 ComponentManager 注册 CacheLoader
+ * <p>
+ * 亦可注册 {@link com.igeeksky.xcache.common.AsyncCacheLoader}，缓存的异步方法将直接组合其异步回源结果。
  *
  * @author Patrick.Lau
  * @since 0.0.4 2023-10-02
@@ -0,0 +1,127 @@
+package com.igeeksky.xcache.caffeine;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * Caffeine 快照测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class CaffeineSnapshotTest {
+
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+
+    private final CaffeineStoreProvider provider = new CaffeineStoreProvider(Collections.emptyList(),
+            Collections.emptyList(), scheduler);
+
+    private Path dir;
+
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scheduler.setRemoveOnCancelPolicy(true);
+        dir = Files.createTempDirectory("xcache-snapshot");
+        file = dir.resolve("test.snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        scheduler.shutdownNow();
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    private Store<String> store(long expireAfterWrite, long expireAfterAccess, long period) {
+        StoreConfig<String> config = StoreConfig.builder(String.class)
+                .name("snapshot-test")
+                .group("test")
+                .charset(StandardCharsets.UTF_8)
+                .maximumSize(100)
+                .expireAfterWrite(expireAfterWrite)
+                .expireAfterAccess(expireAfterAccess)
+                .valueCodec(StringCodec.getInstance(StandardCharsets.UTF_8))
+                .params(Map.of(CaffeineConfig.SNAPSHOT_FILE, file.toString(),
+                        CaffeineConfig.SNAPSHOT_PERIOD, period))
+                .build();
+        return provider.getStore(config);
+    }
+
+    private static String value(Store<String> store, String key) {
+        CacheValue<String> cacheValue = store.getCacheValue(key);
+        return (cacheValue != null) ? cacheValue.getValue() : null;
+    }
+
+    /**
+     * 加载快照后按剩余存活时长过期，而不是重新计时
+     */
+    @Test
+    void restoresRemainingTtl() throws InterruptedException {
+        Store<String> store = store(1000, 0, 0);
+        store.put("a", "1");
+        store.put("b", "2");
+        Thread.sleep(600);
+        store.close();
+
+        Store<String> reloaded = store(1000, 0, 0);
+        Assertions.assertEquals("1", value(reloaded, "a"));
+        Assertions.assertEquals("2", value(reloaded, "b"));
+
+        // 写入后已超过 1000 毫秒；如重新计时，则加载后 1000 毫秒内不会过期
+        Thread.sleep(600);
+        Assertions.assertNull(reloaded.getCacheValue("a"));
+        Assertions.assertNull(reloaded.getCacheValue("b"));
+        reloaded.close();
+    }
+
+    /**
+     * 同时设置写入与访问过期：无法恢复剩余存活时长，不加载有过期时间的键值对
+     */
+    @Test
+    void skipsEntriesWithoutVariableExpiry() {
+        Store<String> store = store(60_000, 30_000, 0);
+        store.put("a", "1");
+        store.close();
+        Assertions.assertTrue(Files.exists(file));
+
+        Store<String> reloaded = store(60_000, 30_000, 0);
+        Assertions.assertNull(reloaded.getCacheValue("a"));
+        reloaded.close();
+    }
+
+    /**
+     * 关闭存储：取消定时保存任务，并保存快照
+     */
+    @Test
+    void closeCancelsScheduledSave() {
+        Store<String> store = store(60_000, 0, 60_000);
+        Assertions.assertEquals(1, scheduler.getQueue().size());
+
+        store.put("a", "1");
+        store.close();
+        store.close();
+        Assertions.assertTrue(scheduler.getQueue().isEmpty());
+        Assertions.assertTrue(Files.exists(file));
+
+        Store<String> reloaded = store(60_000, 0, 60_000);
+        Assertions.assertEquals("1", value(reloaded, "a"));
+        reloaded.close();
+    }
+
+}
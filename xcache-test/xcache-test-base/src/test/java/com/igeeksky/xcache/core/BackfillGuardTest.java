@@ -0,0 +1,240 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+import com.igeeksky.xcache.props.Template;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 回填守卫测试
+ * <p>
+ * 读取者获取快照并读到二级缓存的旧值之后，写入者才完成二级缓存与一级缓存的写入：读取者须放弃回填，不能用旧值覆盖一级缓存的新值。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class BackfillGuardTest {
+
+    private final BackfillGuard guard = new BackfillGuard();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 快照之后有写入或清空操作：视为过期，其它键不受影响
+     */
+    @Test
+    void staleAfterInvalidate() {
+        long snapshot = guard.snapshot();
+        Assertions.assertFalse(guard.isStale("a", snapshot));
+
+        guard.invalidate("a");
+        Assertions.assertTrue(guard.isStale("a", snapshot));
+        Assertions.assertFalse(guard.isStale("a", guard.snapshot()));
+
+        long second = guard.snapshot();
+        guard.invalidateAll(Set.of("b"));
+        Assertions.assertTrue(guard.isStale("b", second));
+        Assertions.assertFalse(guard.isStale("a", second));
+
+        long third = guard.snapshot();
+        guard.invalidateAll();
+        Assertions.assertTrue(guard.isStale("a", third));
+        Assertions.assertTrue(guard.isStale("c", third));
+    }
+
+    /**
+     * 快照之后有写入操作：不回填
+     */
+    @Test
+    void backfillSkipsStaleKeys() {
+        MapStore<String> store = new MapStore<>();
+        long snapshot = guard.snapshot();
+        guard.invalidate("a");
+
+        guard.backfill(store, "a", "old", snapshot);
+        guard.backfillAsync(store, "a", "old", snapshot).join();
+        Map<String, String> keyValues = new HashMap<>(Map.of("a", "old", "b", "1"));
+        guard.backfillAllAsync(store, keyValues, snapshot).join();
+
+        Assertions.assertNull(store.data.get("a"));
+        Assertions.assertEquals("1", store.data.get("b").getValue());
+    }
+
+    /**
+     * 回填期间有写入操作：回填后再次检查，删除刚回填的值
+     */
+    @Test
+    void backfillRemovesValueWrittenDuringCheck() {
+        MapStore<String> store = new MapStore<>() {
+            @Override
+            public void put(String key, String value) {
+                super.put(key, value);
+                guard.invalidate(key);
+            }
+        };
+        guard.backfill(store, "a", "old", guard.snapshot());
+
+        Assertions.assertNull(store.data.get("a"));
+        Assertions.assertEquals("remove:a", store.calls.getLast());
+    }
+
+    /**
+     * 同步写入：读取者在写入者记录之后获取快照，并在二级缓存写入之前读到旧值，写入完成后才回填
+     */
+    @Test
+    void putBeforeBackfill() throws Exception {
+        BlockingStore second = new BlockingStore();
+        second.data.put("a", CacheValue.create("old"));
+        Cache<String, String> cache = createCache(second);
+
+        Future<?> writer = executor.submit(() -> cache.put("a", "new"));
+        Assertions.assertTrue(second.writeEntered.await(5, TimeUnit.SECONDS));
+
+        Future<String> reader = read(cache, second);
+        second.writeRelease.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+
+        second.readRelease.countDown();
+        Assertions.assertEquals("old", reader.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("new", cache.get("a"));
+    }
+
+    /**
+     * 异步写入：二级缓存写入完成之后、写入一级缓存之前再次记录
+     */
+    @Test
+    void putAsyncBeforeBackfill() throws Exception {
+        BlockingStore second = new BlockingStore();
+        second.data.put("a", CacheValue.create("old"));
+        Cache<String, String> cache = createCache(second);
+
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        second.gate = gate;
+        CompletableFuture<Void> writer = cache.putAsync("a", "new");
+
+        Future<String> reader = read(cache, second);
+        gate.complete(null);
+        writer.get(5, TimeUnit.SECONDS);
+
+        second.readRelease.countDown();
+        Assertions.assertEquals("old", reader.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("new", cache.get("a"));
+    }
+
+    /**
+     * 同步删除：读取者读到的旧值不能在删除完成之后回填
+     */
+    @Test
+    void removeBeforeBackfill() throws Exception {
+        BlockingStore second = new BlockingStore();
+        second.data.put("a", CacheValue.create("old"));
+        Cache<String, String> cache = createCache(second);
+
+        Future<?> writer = executor.submit(() -> cache.remove("a"));
+        Assertions.assertTrue(second.writeEntered.await(5, TimeUnit.SECONDS));
+
+        Future<String> reader = read(cache, second);
+        second.writeRelease.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+
+        second.readRelease.countDown();
+        Assertions.assertEquals("old", reader.get(5, TimeUnit.SECONDS));
+        Assertions.assertNull(cache.get("a"));
+    }
+
+    /**
+     * 在另一线程读取缓存，并等待其读到二级缓存的值（尚未回填）
+     */
+    private Future<String> read(Cache<String, String> cache, BlockingStore second) throws InterruptedException {
+        Future<String> reader = executor.submit(() -> cache.get("a"));
+        Assertions.assertTrue(second.readEntered.await(5, TimeUnit.SECONDS));
+        return reader;
+    }
+
+    private static Cache<String, String> createCache(BlockingStore second) {
+        Template template = LocalCacheHelper.template();
+        template.getSecond().setProvider("map");
+
+        ComponentManager componentManager = LocalCacheHelper.componentManager();
+        componentManager.addStoreProvider("map", () -> new StoreProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <V> Store<V> getStore(StoreConfig<V> config) {
+                return (Store<V>) second;
+            }
+        });
+
+        return LocalCacheHelper.cacheManager(template, componentManager)
+                .getOrCreateCache("backfill", String.class, String.class);
+    }
+
+    /**
+     * 可控制调用时序的存储：同步写入与删除在 writeRelease 之后才执行；同步读取返回之前等待 readRelease
+     */
+    private static final class BlockingStore extends MapStore<Object> {
+
+        private final CountDownLatch writeEntered = new CountDownLatch(1);
+
+        private final CountDownLatch writeRelease = new CountDownLatch(1);
+
+        private final CountDownLatch readEntered = new CountDownLatch(1);
+
+        private final CountDownLatch readRelease = new CountDownLatch(1);
+
+        @Override
+        public CacheValue<Object> getCacheValue(String key) {
+            CacheValue<Object> cacheValue = super.getCacheValue(key);
+            readEntered.countDown();
+            await(readRelease);
+            return cacheValue;
+        }
+
+        @Override
+        public void put(String key, Object value) {
+            writeEntered.countDown();
+            await(writeRelease);
+            super.put(key, value);
+        }
+
+        @Override
+        public void remove(String key) {
+            writeEntered.countDown();
+            await(writeRelease);
+            super.remove(key);
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                if (!latch.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("latch timeout");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
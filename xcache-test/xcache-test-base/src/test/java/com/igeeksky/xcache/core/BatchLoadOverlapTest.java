@@ -0,0 +1,135 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 并发批量回源的键去重测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class BatchLoadOverlapTest {
+
+    private Cache<String, String> cache;
+
+    private final List<Set<String>> loadedKeys = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /**
+     * 首次调用阻塞直至 release，用于构造“正在回源”的状态
+     */
+    private final CacheLoader<String, String> loader = new CacheLoader<>() {
+        @Override
+        public String load(String key) {
+            return loadAll(Set.of(key)).get(key);
+        }
+
+        @Override
+        public Map<String, String> loadAll(Set<? extends String> keys) {
+            loadedKeys.add(new TreeSet<>(keys));
+            if (loadedKeys.size() == 1) {
+                entered.countDown();
+                await(release);
+            }
+            Map<String, String> map = HashMap.newHashMap(keys.size());
+            for (String key : keys) {
+                map.put(key, "v-" + key);
+            }
+            return map;
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        cache = LocalCacheHelper.newCache("batch-overlap", LocalCacheHelper.template());
+    }
+
+    /**
+     * 同步批量回源：与进行中的批量回源重叠的键不再重复回源，而是等待其结果
+     */
+    @Test
+    void overlappingBatchesLoadEachKeyOnce() throws Exception {
+        CompletableFuture<Map<String, String>> first = CompletableFuture.supplyAsync(() ->
+                cache.getAllOrLoad(Set.of("a", "b", "c"), loader));
+        Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Map<String, String>> second = CompletableFuture.supplyAsync(() ->
+                cache.getAllOrLoad(Set.of("b", "c", "d"), loader));
+
+        // 第二个批量请求仅回源未被占用的键 d，随后等待 b、c 的回源结果
+        waitLoads(2);
+        Assertions.assertEquals(Set.of("d"), loadedKeys.get(1));
+        Assertions.assertFalse(second.isDone());
+
+        release.countDown();
+        Assertions.assertEquals(Map.of("a", "v-a", "b", "v-b", "c", "v-c"), first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Map.of("b", "v-b", "c", "v-c", "d", "v-d"), second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, loadedKeys.size());
+    }
+
+    /**
+     * 异步批量回源：完全被进行中的回源覆盖时，不调用回源函数
+     */
+    @Test
+    void fullyCoveredAsyncBatchDoesNotLoad() throws Exception {
+        CompletableFuture<Map<String, String>> first = CompletableFuture.supplyAsync(() ->
+                cache.getAllOrLoad(Set.of("a", "b", "c"), loader));
+        Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Map<String, String>> second = cache.getAllOrLoadAsync(Set.of("a", "c"), loader);
+        Assertions.assertFalse(second.isDone());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(Map.of("a", "v-a", "c", "v-c"), second.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, loadedKeys.size());
+    }
+
+    /**
+     * 批量回源等待进行中的单键异步回源
+     */
+    @Test
+    void batchWaitsForSingleKeyLoad() throws Exception {
+        CompletableFuture<String> single = CompletableFuture.supplyAsync(() -> cache.getOrLoadAsync("x", loader))
+                .thenCompose(f -> f);
+        Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Map<String, String>> batch = cache.getAllOrLoadAsync(Set.of("x", "y"), loader);
+        waitLoads(2);
+        Assertions.assertEquals(Set.of("y"), loadedKeys.get(1));
+
+        release.countDown();
+        Assertions.assertEquals("v-x", single.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Map.of("x", "v-x", "y", "v-y"), batch.get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitLoads(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loadedKeys.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertEquals(expected, loadedKeys.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+import com.igeeksky.xcache.props.Template;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 两级缓存熔断恢复测试
+ * <p>
+ * 二级缓存为多个实例共享：熔断恢复时仅处理本实例的一级缓存与被跳过写入的键，不能清空二级缓存。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class CircuitBreakerCacheTest {
+
+    private static final long OPEN_DURATION = 50;
+
+    private final MapStore<Object> second = new MapStore<>();
+
+    private Cache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        Template template = LocalCacheHelper.template();
+        template.getSecond().setProvider("map");
+        template.setBreakerFailureRate(0.5);
+        template.setBreakerMinCalls(1);
+        template.setBreakerOpenDuration(OPEN_DURATION);
+
+        ComponentManager componentManager = LocalCacheHelper.componentManager();
+        componentManager.addStoreProvider("map", () -> new StoreProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <V> Store<V> getStore(StoreConfig<V> config) {
+                return (Store<V>) second;
+            }
+        });
+
+        cache = LocalCacheHelper.cacheManager(template, componentManager)
+                .getOrCreateCache("breaker", String.class, String.class);
+    }
+
+    private void trip() {
+        second.failure = new IllegalStateException("store failed");
+        Assertions.assertThrows(IllegalStateException.class, () -> cache.get("x"));
+        second.failure = null;
+    }
+
+    private void probe() throws InterruptedException {
+        TimeUnit.MILLISECONDS.sleep(OPEN_DURATION + 10);
+        for (int i = 0; i < 3; i++) {
+            cache.get("probe" + i);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * 熔断期间被跳过写入的键：恢复时删除二级缓存中的旧值
+     */
+    @Test
+    void recoverRemovesSkippedKeys() throws Exception {
+        second.data.put("a", CacheValue.create("old"));
+        trip();
+        cache.put("a", "new");
+        Assertions.assertEquals("new", cache.get("a"));
+
+        probe();
+        waitFor(() -> cache.get("a") == null);
+        Assertions.assertTrue(second.calls.contains("removeAll:[a]"));
+        Assertions.assertFalse(second.data.containsKey("a"));
+    }
+
+    /**
+     * 熔断期间跳过了清空操作：恢复时仅清空一级缓存，不清空共享的二级缓存
+     */
+    @Test
+    void recoverAllKeepsSharedStore() throws Exception {
+        cache.put("a", "1");
+        second.data.put("b", CacheValue.create("2"));
+        trip();
+        cache.clear();
+        cache.put("c", "3");
+        Assertions.assertEquals("3", cache.get("c"));
+
+        probe();
+        waitFor(() -> cache.get("c") == null);
+        Assertions.assertTrue(second.calls("clear").isEmpty());
+        Assertions.assertEquals("2", second.data.get("b").getValue());
+        Assertions.assertEquals("2", cache.get("b"));
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheLoader;
+import com.igeeksky.xcache.common.StampedCacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+import com.igeeksky.xcache.props.Template;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 提前过期（XFetch）后台回源测试
+ * <p>
+ * 一级缓存为 {@link MapStore}，直接存入带过期时间的缓存值：过期时间已过，则无论随机数如何均判定为提前过期。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class EarlyExpiryTest {
+
+    private final MapStore<Object> store = new MapStore<>();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CacheLoader<String, String> loader = key -> {
+        loads.incrementAndGet();
+        try {
+            Assertions.assertTrue(release.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "new";
+    };
+
+    private Cache<String, String> createCache(double beta) {
+        return createCache(beta, 0);
+    }
+
+    private Cache<String, String> createCache(double beta, long staleAfterWrite) {
+        Template template = LocalCacheHelper.template();
+        template.getFirst().setProvider("map");
+        template.setEarlyExpiryBeta(beta);
+        template.setStaleAfterWrite(staleAfterWrite);
+
+        ComponentManager componentManager = LocalCacheHelper.componentManager();
+        componentManager.addStoreProvider("map", () -> new StoreProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <V> Store<V> getStore(StoreConfig<V> config) {
+                return (Store<V>) store;
+            }
+        });
+        return LocalCacheHelper.cacheManager(template, componentManager)
+                .getOrCreateCache("early-expiry", String.class, String.class);
+    }
+
+    /**
+     * 回源一次，以记录回源耗时（耗时为 0 时不判定提前过期）
+     */
+    private void warmUp(Cache<String, String> cache) throws InterruptedException {
+        Assertions.assertEquals("warm", cache.getOrLoad("warm", key -> {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "warm";
+        }));
+        // 回源结果写入缓存后才记录耗时
+        Thread.sleep(20);
+    }
+
+    private void putStamped(String key, long expireTime) {
+        long now = System.currentTimeMillis();
+        store.data.put(key, StampedCacheValue.create("old", now - 1000, expireTime));
+    }
+
+    /**
+     * 即将过期（此处为已过期）：返回旧值，仅发起一次后台回源，回源完成后读取到新值
+     */
+    @Test
+    void nearExpiryReloadsOnce() throws Exception {
+        Cache<String, String> cache = createCache(1.0);
+        warmUp(cache);
+        putStamped("a", System.currentTimeMillis() - 1);
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("old", cache.getOrLoad("a", loader));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loads.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        while (!"new".equals(cache.get("a")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertEquals("new", cache.get("a"));
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    /**
+     * beta 为 0：不判定提前过期（启用软过期，但缓存值尚未达到软过期时间）
+     */
+    @Test
+    void zeroBetaDisablesEarlyExpiry() throws Exception {
+        Cache<String, String> cache = createCache(0, TimeUnit.HOURS.toMillis(1));
+        warmUp(cache);
+        putStamped("a", System.currentTimeMillis() - 1);
+
+        assertNoReload(cache);
+    }
+
+    /**
+     * 尚无回源耗时记录：不判定提前过期
+     */
+    @Test
+    void noLoadTimeDisablesEarlyExpiry() throws Exception {
+        Cache<String, String> cache = createCache(1.0);
+        putStamped("a", System.currentTimeMillis() - 1);
+
+        assertNoReload(cache);
+    }
+
+    /**
+     * 缓存值无过期时间：不判定提前过期
+     */
+    @Test
+    void valueWithoutExpireTimeIsNotRefreshed() throws Exception {
+        Cache<String, String> cache = createCache(1.0);
+        warmUp(cache);
+        putStamped("a", 0);
+
+        assertNoReload(cache);
+    }
+
+    private void assertNoReload(Cache<String, String> cache) throws InterruptedException {
+        release.countDown();
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("old", cache.getOrLoad("a", loader));
+        }
+        Thread.sleep(50);
+        Assertions.assertEquals(0, loads.get());
+        Assertions.assertEquals("old", cache.get("a"));
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.StampedCacheValue;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 外部缓存键值转换器测试（写入时间头部）
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class ExtraStoreConvertorTest {
+
+    private final StringCodec codec = StringCodec.getInstance(StandardCharsets.UTF_8);
+
+    private final ExtraStoreConvertor<String> stamped = new ExtraStoreConvertor<>(true, false, true, codec, null);
+
+    private final ExtraStoreConvertor<String> plain = new ExtraStoreConvertor<>(true, false, false, codec, null);
+
+    @Test
+    void stampedRoundTrip() {
+        long before = System.currentTimeMillis();
+        CacheValue<String> cacheValue = stamped.fromExtraStoreValue(stamped.toExtraStoreValue("v", 1000));
+
+        StampedCacheValue<String> value = asStamped(cacheValue);
+        Assertions.assertEquals("v", value.getValue());
+        Assertions.assertTrue(value.getWriteTime() >= before);
+        Assertions.assertEquals(value.getWriteTime() + 1000, value.getExpireTime());
+    }
+
+    @Test
+    void stampedNullValue() {
+        CacheValue<String> cacheValue = stamped.fromExtraStoreValue(stamped.toExtraStoreValue(null, 0));
+
+        StampedCacheValue<String> value = asStamped(cacheValue);
+        Assertions.assertNull(value.getValue());
+        Assertions.assertEquals(0, value.getExpireTime());
+    }
+
+    /**
+     * 未附加头部的旧值：按普通值读取
+     */
+    @Test
+    void readsPlainValue() {
+        CacheValue<String> cacheValue = stamped.fromExtraStoreValue(plain.toExtraStoreValue("v"));
+
+        Assertions.assertFalse(cacheValue instanceof StampedCacheValue);
+        Assertions.assertEquals("v", cacheValue.getValue());
+    }
+
+    /**
+     * 以 0xFE 开头但不含完整魔数的普通值，不会被误判为附加了头部
+     */
+    @Test
+    void singleMarkByteIsNotHeader() {
+        byte[] bytes = new byte[32];
+        bytes[0] = (byte) 0xFE;
+        CacheValue<String> cacheValue = stamped.fromExtraStoreValue(bytes);
+
+        Assertions.assertFalse(cacheValue instanceof StampedCacheValue);
+        Assertions.assertEquals(32, cacheValue.getValue().length());
+    }
+
+    /**
+     * 未启用写入时间的节点，依然能识别并去除头部（滚动升级）
+     */
+    @Test
+    void disabledReaderStripsHeader() {
+        CacheValue<String> cacheValue = plain.fromExtraStoreValue(stamped.toExtraStoreValue("v", 1000));
+
+        Assertions.assertFalse(cacheValue instanceof StampedCacheValue);
+        Assertions.assertEquals("v", cacheValue.getValue());
+    }
+
+    /**
+     * 版本未知的头部（由更新的版本写入）：视为未命中
+     */
+    @Test
+    void unknownVersionIsMiss() {
+        byte[] bytes = stamped.toExtraStoreValue("v", 1000);
+        bytes[4] = 2;
+
+        Assertions.assertNull(stamped.fromExtraStoreValue(bytes));
+        Assertions.assertNull(plain.fromExtraStoreValue(bytes));
+    }
+
+    private static StampedCacheValue<String> asStamped(CacheValue<String> cacheValue) {
+        Assertions.assertTrue(cacheValue instanceof StampedCacheValue);
+        return (StampedCacheValue<String>) cacheValue;
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.extension.metrics.NoOpCacheMetricsMonitor;
+import com.igeeksky.xcache.props.StoreLevel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对冲读取策略测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class HedgePolicyTest {
+
+    private static HedgePolicy policy(long hedgeDelay, double hedgePercentile) {
+        return new HedgePolicy(StoreLevel.SECOND, NoOpCacheMetricsMonitor.getInstance(), hedgeDelay, hedgePercentile);
+    }
+
+    private static <T> CompletableFuture<T> completeAfter(T value, long millis) {
+        return CompletableFuture.supplyAsync(() -> value,
+                CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * 原始读取在延迟阈值内返回：不发起对冲读取
+     */
+    @Test
+    void fastPrimaryIsNotHedged() throws Exception {
+        HedgePolicy policy = policy(1000, 0);
+        CompletableFuture<String> hedge = new CompletableFuture<>();
+
+        CompletableFuture<String> result = policy.read(() -> completeAfter("primary", 1), () -> hedge, v -> true);
+
+        Assertions.assertEquals("primary", result.get(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        Assertions.assertFalse(hedge.isDone());
+    }
+
+    /**
+     * 原始读取超过延迟阈值：对冲读取胜出，原始读取被取消
+     */
+    @Test
+    void slowPrimaryIsHedged() throws Exception {
+        HedgePolicy policy = policy(5, 0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = policy.read(() -> primary, () -> completeAfter("hedge", 1), v -> true);
+
+        Assertions.assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+        // 结果完成后才取消原始读取
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!primary.isDone() && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assertions.assertTrue(primary.isCancelled());
+    }
+
+    /**
+     * 对冲读取失败：等待并采用原始读取的结果
+     */
+    @Test
+    void failedHedgeFallsBackToPrimary() throws Exception {
+        HedgePolicy policy = policy(5, 0);
+        CompletableFuture<String> primary = new CompletableFuture<>();
+
+        CompletableFuture<String> result = policy.read(() -> primary,
+                () -> CompletableFuture.failedFuture(new IllegalStateException("hedge failed")), v -> true);
+
+        Thread.sleep(50);
+        Assertions.assertFalse(result.isDone());
+        primary.complete("primary");
+        Assertions.assertEquals("primary", result.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 被取消的原始读取计入耗时采样，否则采样只含快速返回的读取，百分位阈值永远无法超过固定阈值
+     */
+    @Test
+    void cancelledPrimariesAreSampled() throws Exception {
+        HedgePolicy policy = policy(1, 90);
+        Assertions.assertEquals(TimeUnit.MILLISECONDS.toNanos(1), policy.delayNanos());
+
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < 256; i++) {
+            CompletableFuture<String> primary = new CompletableFuture<>();
+            results.add(policy.read(() -> primary, () -> completeAfter("hedge", 20), v -> true));
+        }
+        for (CompletableFuture<String> result : results) {
+            Assertions.assertEquals("hedge", result.get(5, TimeUnit.SECONDS));
+        }
+        // 结果完成后才取消原始读取并记录采样
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (policy.delayNanos() < TimeUnit.MILLISECONDS.toNanos(20) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        Assertions.assertTrue(policy.delayNanos() >= TimeUnit.MILLISECONDS.toNanos(20),
+                "delay: " + policy.delayNanos());
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+import com.igeeksky.xcache.extension.metrics.CacheMetricsMessage;
+import com.igeeksky.xcache.extension.metrics.CacheMetricsMonitor;
+import com.igeeksky.xcache.extension.metrics.HotKey;
+import com.igeeksky.xcache.extension.sync.CacheSyncMessage;
+import com.igeeksky.xcache.extension.sync.SyncConfig;
+import com.igeeksky.xcache.extension.sync.SyncMessageListener;
+import com.igeeksky.xcache.props.StoreLevel;
+import com.igeeksky.xcache.props.Template;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热点键探测测试
+ * <p>
+ * 统计窗口为 50 毫秒，阈值为每秒 200 次：窗口内读取 100 次的键为热点键，读取 1 次的键不是热点键。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class HotKeyDetectorTest {
+
+    private static final long WINDOW = 50;
+
+    private static final CacheValue<String> VALUE = CacheValue.create("1");
+
+    private final BackfillGuard guard = new BackfillGuard();
+
+    private final HotKeyRecorder recorder = new HotKeyRecorder();
+
+    private HotKeyDetector<String> detector(long pinTtl) {
+        CacheConfig<String, String> config = CacheConfig.builder(String.class, String.class)
+                .sid("local")
+                .name("hot-key-test")
+                .group("test")
+                .charset(StandardCharsets.UTF_8)
+                .hotKeyThreshold(200L)
+                .hotKeyPinTtl(pinTtl)
+                .hotKeyCapacity(16)
+                .build();
+        return new HotKeyDetector<>(config, guard, recorder, WINDOW);
+    }
+
+    private static void read(HotKeyDetector<String> detector, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            detector.record(key, VALUE, detector.snapshot());
+        }
+    }
+
+    /**
+     * 统计窗口结束后再次读取：计算热点键并保存到短期缓存
+     */
+    private static void nextWindow(HotKeyDetector<String> detector, String key) throws InterruptedException {
+        Thread.sleep(WINDOW + 10);
+        read(detector, key, 1);
+    }
+
+    /**
+     * 读取次数达到阈值：输出热点键并保存到短期缓存；未达到阈值的键不保存
+     */
+    @Test
+    void hotKeyIsReportedAndPinned() throws Exception {
+        HotKeyDetector<String> detector = detector(60_000);
+        read(detector, "hot", 100);
+        read(detector, "cold", 1);
+        Assertions.assertNull(detector.getPinned("hot"));
+
+        nextWindow(detector, "hot");
+        read(detector, "cold", 1);
+
+        Assertions.assertEquals(1, recorder.reported.size());
+        HotKey hotKey = recorder.reported.getFirst();
+        Assertions.assertEquals("hot", hotKey.getKey());
+        Assertions.assertTrue(hotKey.getQps() >= 200);
+        Assertions.assertSame(VALUE, detector.getPinned("hot"));
+        Assertions.assertNull(detector.getPinned("cold"));
+    }
+
+    /**
+     * 读取次数未达到阈值：不输出热点键，不保存到短期缓存
+     */
+    @Test
+    void belowThresholdIsIgnored() throws Exception {
+        HotKeyDetector<String> detector = detector(60_000);
+        read(detector, "a", 2);
+
+        nextWindow(detector, "a");
+        Assertions.assertTrue(recorder.reported.isEmpty());
+        Assertions.assertNull(detector.getPinned("a"));
+    }
+
+    /**
+     * 批量读取同样计入统计：超出单个缓冲区容量的记录不会丢失
+     */
+    @Test
+    void recordAllCountsEveryKey() throws Exception {
+        HotKeyDetector<String> detector = detector(60_000);
+        Set<String> keys = Set.of("a", "b");
+        for (int i = 0; i < 100; i++) {
+            detector.recordAll(keys, null, detector.snapshot());
+        }
+
+        nextWindow(detector, "a");
+        Assertions.assertEquals(Set.of("a", "b"),
+                Set.copyOf(recorder.reported.stream().map(HotKey::getKey).toList()));
+    }
+
+    /**
+     * 多个线程同时读取：各线程的读取记录汇总后依然能探测到热点键
+     */
+    @Test
+    void concurrentReadsAreAggregated() throws Exception {
+        HotKeyDetector<String> detector = detector(60_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new CopyOnWriteArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int id = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        read(detector, "hot", 1);
+                        read(detector, "cold-" + id + "-" + i, 1);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        nextWindow(detector, "hot");
+        Assertions.assertEquals(List.of("hot"), recorder.reported.stream().map(HotKey::getKey).toList());
+        Assertions.assertNotNull(detector.getPinned("hot"));
+    }
+
+    /**
+     * 本地写入：短期缓存的值立即失效
+     */
+    @Test
+    void localWriteInvalidatesPin() throws Exception {
+        HotKeyDetector<String> detector = detector(60_000);
+        read(detector, "hot", 100);
+        nextWindow(detector, "hot");
+        Assertions.assertNotNull(detector.getPinned("hot"));
+
+        detector.invalidate("hot");
+        Assertions.assertNull(detector.getPinned("hot"));
+
+        // 读取缓存之后、保存之前有写入操作：不保存读取到的旧值
+        long snapshot = detector.snapshot();
+        detector.invalidateAll(Set.of("hot"));
+        detector.record("hot", VALUE, snapshot);
+        Assertions.assertNull(detector.getPinned("hot"));
+    }
+
+    /**
+     * 接收到缓存同步消息：短期缓存的值失效
+     */
+    @Test
+    void syncMessageInvalidatesPin() throws Exception {
+        HotKeyDetector<String> detector = detector(60_000);
+        read(detector, "hot", 100);
+        nextWindow(detector, "hot");
+        Assertions.assertNotNull(detector.getPinned("hot"));
+
+        SyncMessageListener<String> listener = new SyncMessageListener<>(
+                SyncConfig.builder(guard.wrap(new MapStore<String>()), guard.wrap(new MapStore<String>()))
+                        .sid("local")
+                        .name("hot-key-test")
+                        .group("test")
+                        .charset(StandardCharsets.UTF_8)
+                        .first(true)
+                        .build());
+        listener.onMessage(new CacheSyncMessage("remote", CacheSyncMessage.TYPE_REMOVE, "hot"));
+        Assertions.assertNull(detector.getPinned("hot"));
+    }
+
+    /**
+     * 短期缓存的存活时间结束：值失效
+     */
+    @Test
+    void pinExpiresAfterTtl() throws Exception {
+        HotKeyDetector<String> detector = detector(20);
+        read(detector, "hot", 100);
+        nextWindow(detector, "hot");
+        Assertions.assertNotNull(detector.getPinned("hot"));
+
+        Thread.sleep(30);
+        Assertions.assertNull(detector.getPinned("hot"));
+    }
+
+    /**
+     * 缓存读取热点键：存活时间内不再访问缓存存储，写入后立即读取到新值
+     */
+    @Test
+    void cacheServesPinnedValue() throws Exception {
+        MapStore<Object> store = new MapStore<>();
+        Template template = LocalCacheHelper.template();
+        template.getFirst().setProvider("map");
+        template.setHotKeyThreshold(100L);
+
+        ComponentManager componentManager = LocalCacheHelper.componentManager();
+        componentManager.addStoreProvider("map", () -> new StoreProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <V> Store<V> getStore(StoreConfig<V> config) {
+                return (Store<V>) store;
+            }
+        });
+        Cache<String, String> cache = LocalCacheHelper.cacheManager(template, componentManager)
+                .getOrCreateCache("hot-key", String.class, String.class);
+
+        cache.put("a", "1");
+        for (int i = 0; i < 300; i++) {
+            Assertions.assertEquals("1", cache.get("a"));
+        }
+        // 默认统计窗口为 1 秒
+        Thread.sleep(1100);
+        Assertions.assertEquals("1", cache.get("a"));
+
+        int reads = store.calls("get:a").size();
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertEquals("1", cache.get("a"));
+        }
+        Assertions.assertEquals(reads, store.calls("get:a").size());
+
+        cache.put("a", "2");
+        Assertions.assertEquals("2", cache.get("a"));
+    }
+
+    /**
+     * 记录输出的热点键
+     */
+    private static final class HotKeyRecorder implements CacheMetricsMonitor {
+
+        private final List<HotKey> reported = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void recordHotKeys(List<HotKey> hotKeys) {
+            reported.addAll(hotKeys);
+        }
+
+        @Override
+        public void incHits(StoreLevel level, long times) {
+        }
+
+        @Override
+        public void incMisses(StoreLevel level, long times) {
+        }
+
+        @Override
+        public void incPuts(StoreLevel level, long times) {
+        }
+
+        @Override
+        public void incHitLoads(long times) {
+        }
+
+        @Override
+        public void incMissLoads(long times) {
+        }
+
+        @Override
+        public void incRemovals(StoreLevel level, long times) {
+        }
+
+        @Override
+        public void incClears(StoreLevel level) {
+        }
+
+        @Override
+        public void setCounter(StoreLevel level) {
+        }
+
+        @Override
+        public CacheMetricsMessage collect() {
+            return null;
+        }
+
+    }
+
+}
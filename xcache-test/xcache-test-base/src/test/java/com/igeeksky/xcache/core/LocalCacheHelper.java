@@ -0,0 +1,78 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.caffeine.CaffeineStoreProvider;
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.extension.jackson.JacksonCodecProvider;
+import com.igeeksky.xcache.props.CacheConstants;
+import com.igeeksky.xcache.props.PropsUtil;
+import com.igeeksky.xcache.props.Template;
+
+import java.util.Collections;
+
+/**
+ * 测试辅助类：创建仅依赖本地组件（无 Redis）的缓存
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+final class LocalCacheHelper {
+
+    private LocalCacheHelper() {
+    }
+
+    /**
+     * 仅有一级缓存（Caffeine）的模板，已关闭统计与数据同步
+     *
+     * @return 模板
+     */
+    static Template template() {
+        Template template = PropsUtil.defaultTemplate(CacheConstants.DEFAULT_TEMPLATE_ID);
+        template.setCacheMetrics(CacheConstants.NONE);
+        template.getCacheSync().setProvider(CacheConstants.NONE);
+        template.getSecond().setProvider(CacheConstants.NONE);
+        template.getThird().setProvider(CacheConstants.NONE);
+        return template;
+    }
+
+    /**
+     * 注册了 Jackson 编解码与 Caffeine 缓存的组件管理器
+     *
+     * @return 组件管理器
+     */
+    static ComponentManager componentManager() {
+        ComponentManager componentManager = new ComponentManager();
+        componentManager.addCodecProvider(CacheConstants.JACKSON_CODEC, JacksonCodecProvider::getInstance);
+        componentManager.addStoreProvider(CacheConstants.CAFFEINE_STORE, SingletonSupplier.of(() ->
+                new CaffeineStoreProvider(Collections.emptyList(), Collections.emptyList())
+        ));
+        return componentManager;
+    }
+
+    /**
+     * 创建缓存管理器
+     *
+     * @param template         模板
+     * @param componentManager 组件管理器
+     * @return 缓存管理器
+     */
+    static CacheManagerImpl cacheManager(Template template, ComponentManager componentManager) {
+        CacheManagerConfig managerConfig = CacheManagerConfig.builder()
+                .group("test")
+                .componentManager(componentManager)
+                .template(template)
+                .build();
+        return new CacheManagerImpl(managerConfig);
+    }
+
+    /**
+     * 使用指定模板创建值类型为 String 的缓存
+     *
+     * @param name     缓存名称
+     * @param template 模板
+     * @return 缓存
+     */
+    static Cache<String, String> newCache(String name, Template template) {
+        return cacheManager(template, componentManager()).getOrCreateCache(name, String.class, String.class);
+    }
+
+}
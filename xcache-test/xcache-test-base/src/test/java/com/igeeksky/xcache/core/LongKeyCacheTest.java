@@ -0,0 +1,198 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheLoader;
+import com.igeeksky.xcache.common.LongKeyCache;
+import com.igeeksky.xcache.extension.codec.CodecConfig;
+import com.igeeksky.xcache.extension.jackson.JacksonCodecProvider;
+import com.igeeksky.xcache.props.Template;
+import com.igeeksky.xtool.core.lang.codec.KeyCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 原始 long 类型键的缓存测试
+ * <p>
+ * 键编码结果与 {@link Long#toString(long)} 一致时直接读取缓存（不调用键编解码器），否则使用通用缓存对象；
+ * 两种方式的结果均须与通用缓存对象一致。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class LongKeyCacheTest {
+
+    private static final long[] STORED = {0L, 1L, -7L, Long.MIN_VALUE, Long.MAX_VALUE};
+
+    private static final long[] MISSING = {2L, -8L};
+
+    private final AtomicInteger encodes = new AtomicInteger();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final CacheLoader<Long, String> loader = key -> {
+        loads.incrementAndGet();
+        return "load-" + key;
+    };
+
+    /**
+     * 创建缓存管理器
+     *
+     * @param hex 键编码是否使用十六进制（与 Long.toString 不一致）
+     * @return 缓存管理器
+     */
+    private CacheManagerImpl cacheManager(boolean hex) {
+        Template template = LocalCacheHelper.template();
+        template.setKeyCodec("counting");
+
+        ComponentManager componentManager = LocalCacheHelper.componentManager();
+        componentManager.addCodecProvider("counting", () -> new CountingCodecProvider(hex));
+        componentManager.addCacheLoader("ids", () -> loader);
+        return LocalCacheHelper.cacheManager(template, componentManager);
+    }
+
+    private LongKeyCache<String> createCache(boolean hex) {
+        LongKeyCache<String> cache = cacheManager(hex).getOrCreateLongKeyCache("ids", String.class);
+        for (long key : STORED) {
+            cache.put(key, "v" + key);
+        }
+        encodes.set(0);
+        return cache;
+    }
+
+    /**
+     * 键编码结果为十进制：读取时不调用键编解码器，结果与通用缓存对象一致
+     */
+    @Test
+    void decimalCodecUsesFastPath() throws Exception {
+        LongKeyCache<String> cache = createCache(false);
+        readAll(cache);
+        Assertions.assertEquals(0, encodes.get());
+        assertSameAsBoxed(cache);
+    }
+
+    /**
+     * 键编码结果不是十进制：使用通用缓存对象读取，结果依然一致
+     */
+    @Test
+    void otherCodecFallsBack() throws Exception {
+        LongKeyCache<String> cache = createCache(true);
+        readAll(cache);
+        Assertions.assertTrue(encodes.get() > 0);
+        assertSameAsBoxed(cache);
+    }
+
+    /**
+     * 通过原始 long 类型键的各读取方法读取缓存（已缓存的键）
+     */
+    private static void readAll(LongKeyCache<String> cache) throws Exception {
+        for (long key : STORED) {
+            cache.get(key);
+            cache.getCacheValue(key);
+            cache.getOrLoad(key);
+            cache.getAsync(key).get(5, TimeUnit.SECONDS);
+        }
+        cache.getAll(STORED);
+        cache.getAllOrLoad(STORED);
+    }
+
+    private static void assertSameAsBoxed(LongKeyCache<String> cache) throws Exception {
+        Cache<Long, String> boxed = cache.asCache();
+        for (long key : STORED) {
+            Assertions.assertEquals("v" + key, cache.get(key));
+            Assertions.assertEquals(boxed.get(key), cache.get(key));
+            Assertions.assertEquals(boxed.getCacheValue(key).getValue(), cache.getCacheValue(key).getValue());
+            Assertions.assertEquals(boxed.get(key), cache.getAsync(key).get(5, TimeUnit.SECONDS));
+        }
+        for (long key : MISSING) {
+            Assertions.assertNull(cache.get(key));
+            Assertions.assertNull(cache.getCacheValue(key));
+            Assertions.assertNull(cache.getAsync(key).get(5, TimeUnit.SECONDS));
+        }
+
+        long[] keys = {1L, -7L, Long.MIN_VALUE, 2L, -8L, 1L};
+        Map<Long, String> values = cache.getAll(keys);
+        Assertions.assertEquals(Map.of(1L, "v1", -7L, "v-7", Long.MIN_VALUE, "v" + Long.MIN_VALUE), values);
+        Assertions.assertEquals(boxed.getAll(Set.of(1L, -7L, Long.MIN_VALUE, 2L, -8L)), values);
+        Assertions.assertTrue(cache.getAll(new long[0]).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.getAll(null));
+    }
+
+    /**
+     * 回源：已缓存的键不回源，未缓存的键（包括负数）回源并写入缓存
+     */
+    @Test
+    void getOrLoadMatchesBoxed() {
+        for (boolean hex : new boolean[]{false, true}) {
+            loads.set(0);
+            LongKeyCache<String> cache = createCache(hex);
+            Cache<Long, String> boxed = cache.asCache();
+
+            Assertions.assertEquals("v-7", cache.getOrLoad(-7L));
+            Assertions.assertEquals(0, loads.get());
+
+            Assertions.assertEquals("load--8", cache.getOrLoad(-8L));
+            Assertions.assertEquals(1, loads.get());
+            Assertions.assertEquals("load--8", boxed.get(-8L));
+
+            Map<Long, String> values = cache.getAllOrLoad(new long[]{1L, 2L, -8L, -9L});
+            Assertions.assertEquals(Map.of(1L, "v1", 2L, "load-2", -8L, "load--8", -9L, "load--9"), values);
+            Assertions.assertEquals(3, loads.get());
+            Assertions.assertEquals(values, boxed.getAllOrLoad(Set.of(1L, 2L, -8L, -9L)));
+            Assertions.assertEquals(3, loads.get());
+        }
+    }
+
+    /**
+     * 同名缓存：返回同一实例，且与通用缓存对象共享数据
+     */
+    @Test
+    void cacheManagerReusesInstance() {
+        CacheManagerImpl cacheManager = cacheManager(false);
+        LongKeyCache<String> cache = cacheManager.getOrCreateLongKeyCache("ids", String.class);
+        Assertions.assertSame(cache, cacheManager.getOrCreateLongKeyCache(" ids ", String.class));
+        Assertions.assertSame(cacheManager.getOrCreateCache("ids", Long.class, String.class), cache.asCache());
+        Assertions.assertEquals("ids", cache.getName());
+        Assertions.assertEquals(String.class, cache.getValueType());
+
+        cache.asCache().put(5L, "five");
+        Assertions.assertEquals("five", cache.get(5L));
+        cache.remove(5L);
+        Assertions.assertNull(cache.asCache().get(5L));
+    }
+
+    /**
+     * 记录键编码次数的编解码器提供者（值编解码使用 Jackson）
+     */
+    private final class CountingCodecProvider extends JacksonCodecProvider {
+
+        private final boolean hex;
+
+        private CountingCodecProvider(boolean hex) {
+            this.hex = hex;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K> KeyCodec<K> doGetKeyCodec(CodecConfig<K> config) {
+            return (KeyCodec<K>) new KeyCodec<Long>() {
+                @Override
+                public String encode(Long key) {
+                    encodes.incrementAndGet();
+                    return hex ? Long.toHexString(key) : Long.toString(key);
+                }
+
+                @Override
+                public Long decode(String key) {
+                    return hex ? Long.parseUnsignedLong(key, 16) : Long.parseLong(key);
+                }
+            };
+        }
+
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.props.Template;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 软过期后台回源测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class RevalidateTest {
+
+    /**
+     * 软过期：返回旧值，并由 decodeExecutor 对应的线程池（INLINE 时为 PLATFORM）后台回源
+     */
+    @Test
+    void staleValueRevalidatesInBackground() throws Exception {
+        Template template = LocalCacheHelper.template();
+        template.setStaleAfterWrite(1L);
+        Cache<String, String> cache = LocalCacheHelper.newCache("revalidate", template);
+
+        cache.put("a", "old");
+        Thread.sleep(10);
+
+        CompletableFuture<String> loaderThread = new CompletableFuture<>();
+        String value = cache.getOrLoad("a", key -> {
+            loaderThread.complete(Thread.currentThread().getName());
+            return "new";
+        });
+
+        Assertions.assertEquals("old", value);
+        String threadName = loaderThread.get(5, TimeUnit.SECONDS);
+        Assertions.assertTrue(threadName.startsWith("xcache-callback-"), threadName);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"new".equals(cache.get("a")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertEquals("new", cache.get("a"));
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.CacheLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * getOrLoadAsync 并发回源合并测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class SingleFlightLoadTest {
+
+    private Cache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = LocalCacheHelper.newCache("single-flight", LocalCacheHelper.template());
+    }
+
+    /**
+     * 同一键的并发异步回源仅调用一次 cacheLoader，所有调用者得到相同结果
+     */
+    @Test
+    void sameKeyLoadsOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheLoader<String, String> loader = key -> {
+            loads.incrementAndGet();
+            entered.countDown();
+            try {
+                Assertions.assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v-" + key;
+        };
+
+        // 首个调用者在回源函数中阻塞
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.getOrLoadAsync("a", loader))
+                .thenCompose(f -> f);
+        Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            followers.add(cache.getOrLoadAsync("a", loader));
+        }
+        for (CompletableFuture<String> follower : followers) {
+            Assertions.assertFalse(follower.isDone());
+        }
+
+        release.countDown();
+        Assertions.assertEquals("v-a", first.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> follower : followers) {
+            Assertions.assertEquals("v-a", follower.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals("v-a", cache.get("a"));
+    }
+
+    /**
+     * 调用者取消自己的 future，不影响其它等待同一回源结果的调用者
+     */
+    @Test
+    void cancelDoesNotAffectOthers() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CacheLoader<String, String> loader = key -> {
+            entered.countDown();
+            try {
+                Assertions.assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "v-" + key;
+        };
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.getOrLoadAsync("b", loader))
+                .thenCompose(f -> f);
+        Assertions.assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> cancelled = cache.getOrLoadAsync("b", loader);
+        CompletableFuture<String> other = cache.getOrLoadAsync("b", loader);
+        cancelled.cancel(true);
+
+        release.countDown();
+        Assertions.assertEquals("v-b", first.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("v-b", other.get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 回源失败后移除进行中的任务，后续请求可重新回源
+     */
+    @Test
+    void failureIsNotCached() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CacheLoader<String, String> loader = key -> {
+            if (loads.incrementAndGet() == 1) {
+                throw new IllegalStateException("load failed");
+            }
+            return "v-" + key;
+        };
+
+        CompletableFuture<String> failed = cache.getOrLoadAsync("c", loader);
+        Assertions.assertTrue(failed.isCompletedExceptionally());
+
+        Assertions.assertEquals("v-c", cache.getOrLoadAsync("c", loader).get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.igeeksky.xcache.core;
+
+import com.igeeksky.xcache.common.Cache;
+import com.igeeksky.xcache.common.Store;
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xcache.core.store.StoreProvider;
+import com.igeeksky.xcache.props.Template;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存写回模式测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class WriteBehindCacheTest {
+
+    private final MapStore<Object> second = new MapStore<>();
+
+    private CacheManagerImpl cacheManager;
+
+    private Cache<String, String> cache;
+
+    private void createCache(long period) {
+        Template template = LocalCacheHelper.template();
+        template.getSecond().setProvider("map");
+        template.setWriteBehindCapacity(100);
+        template.setWriteBehindPeriod(period);
+
+        ComponentManager componentManager = LocalCacheHelper.componentManager();
+        componentManager.addStoreProvider("map", () -> new StoreProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <V> Store<V> getStore(StoreConfig<V> config) {
+                return (Store<V>) second;
+            }
+        });
+
+        cacheManager = LocalCacheHelper.cacheManager(template, componentManager);
+        cache = cacheManager.getOrCreateCache("write-behind", String.class, String.class);
+    }
+
+    /**
+     * 关闭缓存管理器时，写入写回缓冲区中尚未写入的操作
+     */
+    @Test
+    void shutdownDrainsBuffer() {
+        createCache(60_000L);
+        cache.put("a", "1");
+        cache.remove("b");
+        Assertions.assertTrue(second.calls.isEmpty());
+        Assertions.assertEquals("1", cache.get("a"));
+
+        cacheManager.shutdown();
+
+        Assertions.assertEquals("1", second.data.get("a").getValue());
+        Assertions.assertTrue(second.calls.contains("removeAll:[b]"));
+    }
+
+    /**
+     * 多次重试依然写入失败：删除一级缓存中未能持久化的值，并尝试删除二级缓存中的旧值
+     */
+    @Test
+    void failedFlushInvalidates() throws Exception {
+        createCache(20L);
+        second.failure = new IllegalStateException("store failed");
+        cache.put("a", "1");
+        Assertions.assertEquals("1", cache.get("a"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!second.calls.contains("removeAll:[a]") && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertTrue(second.calls.contains("removeAll:[a]"));
+
+        second.failure = null;
+        Assertions.assertNull(cache.get("a"));
+    }
+
+}
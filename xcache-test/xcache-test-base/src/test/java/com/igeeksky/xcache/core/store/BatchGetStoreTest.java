@@ -0,0 +1,103 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合并查询存储测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class BatchGetStoreTest {
+
+    private MapStore<String> store;
+
+    @BeforeEach
+    void setUp() {
+        store = new MapStore<>();
+        store.data.put("a", CacheValue.create("1"));
+        store.data.put("b", CacheValue.create("2"));
+    }
+
+    /**
+     * 时间窗口内的单键查询合并为一次批量查询，重复键仅查询一次
+     */
+    @Test
+    void mergesWithinWindow() throws Exception {
+        BatchGetStore<String> batchStore = new BatchGetStore<>(store, 100, 20_000);
+        CompletableFuture<CacheValue<String>> a1 = batchStore.getCacheValueAsync("a");
+        CompletableFuture<CacheValue<String>> a2 = batchStore.getCacheValueAsync("a");
+        CompletableFuture<CacheValue<String>> b = batchStore.getCacheValueAsync("b");
+        CompletableFuture<CacheValue<String>> c = batchStore.getCacheValueAsync("c");
+
+        Assertions.assertEquals("1", a1.get(5, TimeUnit.SECONDS).getValue());
+        Assertions.assertEquals("1", a2.get(5, TimeUnit.SECONDS).getValue());
+        Assertions.assertEquals("2", b.get(5, TimeUnit.SECONDS).getValue());
+        Assertions.assertNull(c.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(List.of("getAll:[a, b, c]"), store.calls("getAll"));
+    }
+
+    /**
+     * 批次键数量达到阈值时立即执行，无需等待时间窗口结束
+     */
+    @Test
+    void dispatchesWhenFull() throws Exception {
+        BatchGetStore<String> batchStore = new BatchGetStore<>(store, 2, TimeUnit.SECONDS.toMicros(60));
+        CompletableFuture<CacheValue<String>> a = batchStore.getCacheValueAsync("a");
+        CompletableFuture<CacheValue<String>> b = batchStore.getCacheValueAsync("b");
+
+        Assertions.assertEquals("1", a.get(5, TimeUnit.SECONDS).getValue());
+        Assertions.assertEquals("2", b.get(5, TimeUnit.SECONDS).getValue());
+        Assertions.assertEquals(List.of("getAll:[a, b]"), store.calls("getAll"));
+    }
+
+    /**
+     * 每个调用者得到独立的 future：首个调用者取消查询，不影响同一批次的其它调用者
+     */
+    @Test
+    void cancelDoesNotAffectOthers() throws Exception {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        store.gate = gate;
+        BatchGetStore<String> batchStore = new BatchGetStore<>(store, 100, 1_000);
+
+        CompletableFuture<CacheValue<String>> first = batchStore.getCacheValueAsync("a");
+        CompletableFuture<CacheValue<String>> second = batchStore.getCacheValueAsync("a");
+        CompletableFuture<CacheValue<String>> other = batchStore.getCacheValueAsync("b");
+
+        first.cancel(true);
+        // 调用者自行完成 future，同样不影响其它调用者
+        other.complete(CacheValue.create("x"));
+        gate.complete(null);
+
+        Assertions.assertThrows(CancellationException.class, first::join);
+        Assertions.assertEquals("1", second.get(5, TimeUnit.SECONDS).getValue());
+        Assertions.assertEquals("2", batchStore.getCacheValueAsync("b").get(5, TimeUnit.SECONDS).getValue());
+    }
+
+    /**
+     * 批量查询失败，同一批次的所有调用者均得到异常
+     */
+    @Test
+    void failurePropagatesToAllCallers() {
+        store.failure = new IllegalStateException("store failed");
+        BatchGetStore<String> batchStore = new BatchGetStore<>(store, 100, 1_000);
+
+        CompletableFuture<CacheValue<String>> a = batchStore.getCacheValueAsync("a");
+        CompletableFuture<CacheValue<String>> b = batchStore.getCacheValueAsync("b");
+
+        ExecutionException ea = Assertions.assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS));
+        ExecutionException eb = Assertions.assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalStateException.class, ea.getCause());
+        Assertions.assertInstanceOf(IllegalStateException.class, eb.getCause());
+    }
+
+}
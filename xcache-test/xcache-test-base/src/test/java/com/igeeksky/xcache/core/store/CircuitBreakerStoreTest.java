@@ -0,0 +1,179 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.props.StoreLevel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 熔断存储测试
+ * <p>
+ * 失败率阈值为 0.5，最小调用次数为 4，熔断持续时间为 50 毫秒。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class CircuitBreakerStoreTest {
+
+    private static final long OPEN_DURATION = 50;
+
+    private final MapStore<String> store = new MapStore<>();
+
+    private final CompletableFuture<Recovery> recovered = new CompletableFuture<>();
+
+    private final CircuitBreakerStore<String> breaker = new CircuitBreakerStore<>("breaker-test", store,
+            StoreLevel.SECOND, 0.5, 0, OPEN_DURATION, 4,
+            (level, keys, all) -> recovered.complete(new Recovery(level, keys, all)));
+
+    private record Recovery(StoreLevel level, Set<String> keys, boolean all) {
+    }
+
+    private void fail(int times) {
+        store.failure = new IllegalStateException("store failed");
+        for (int i = 0; i < times; i++) {
+            Assertions.assertThrows(IllegalStateException.class, () -> breaker.getCacheValue("x"));
+        }
+        store.failure = null;
+    }
+
+    private void trip() throws InterruptedException {
+        fail(4);
+        Assertions.assertFalse(breaker.isClosed());
+        TimeUnit.MILLISECONDS.sleep(OPEN_DURATION + 10);
+    }
+
+    private int calls() {
+        return store.calls.size();
+    }
+
+    /**
+     * 调用次数未达到最小调用次数：不计算失败率，不熔断
+     */
+    @Test
+    void staysClosedBelowMinCalls() {
+        fail(3);
+        Assertions.assertTrue(breaker.isClosed());
+    }
+
+    /**
+     * 熔断期间：读取视为未命中，写入跳过，均不调用被代理的存储
+     */
+    @Test
+    void openShortCircuits() {
+        store.data.put("a", CacheValue.create("1"));
+        fail(4);
+        Assertions.assertFalse(breaker.isClosed());
+
+        int calls = calls();
+        Assertions.assertNull(breaker.getCacheValue("a"));
+        Assertions.assertNull(breaker.getCacheValueAsync("a").join());
+        Assertions.assertTrue(breaker.getAllCacheValues(Set.of("a")).isEmpty());
+        breaker.put("b", "2");
+        breaker.remove("a");
+        Assertions.assertEquals(calls, calls());
+        Assertions.assertEquals("1", store.data.get("a").getValue());
+    }
+
+    /**
+     * 熔断持续时间结束后进入半开状态：探测调用均成功则关闭，并通知被跳过写入的键
+     */
+    @Test
+    void halfOpenClosesAfterProbes() throws Exception {
+        fail(4);
+        breaker.put("b", "2");
+        breaker.removeAll(Set.of("c"));
+        TimeUnit.MILLISECONDS.sleep(OPEN_DURATION + 10);
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertNull(breaker.getCacheValue("a"));
+        }
+        Assertions.assertTrue(breaker.isClosed());
+
+        Recovery recovery = recovered.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals(StoreLevel.SECOND, recovery.level());
+        Assertions.assertEquals(Set.of("b", "c"), recovery.keys());
+        Assertions.assertFalse(recovery.all());
+    }
+
+    /**
+     * 半开状态仅允许有限的探测调用，其余调用依然按熔断处理
+     */
+    @Test
+    void halfOpenLimitsProbes() throws Exception {
+        trip();
+        store.gate = new CompletableFuture<>();
+        for (int i = 0; i < 3; i++) {
+            breaker.getCacheValueAsync("a");
+        }
+        int calls = calls();
+        Assertions.assertNull(breaker.getCacheValue("a"));
+        Assertions.assertEquals(calls, calls());
+        Assertions.assertFalse(breaker.isClosed());
+
+        store.gate.complete(null);
+        Assertions.assertTrue(breaker.isClosed());
+    }
+
+    /**
+     * 探测调用失败：再次熔断，且重新计算熔断持续时间
+     */
+    @Test
+    void probeFailureReopens() throws Exception {
+        trip();
+        fail(1);
+        Assertions.assertFalse(breaker.isClosed());
+
+        int calls = calls();
+        Assertions.assertNull(breaker.getCacheValue("a"));
+        Assertions.assertEquals(calls, calls());
+
+        TimeUnit.MILLISECONDS.sleep(OPEN_DURATION + 10);
+        for (int i = 0; i < 3; i++) {
+            breaker.getCacheValue("a");
+        }
+        Assertions.assertTrue(breaker.isClosed());
+    }
+
+    /**
+     * 熔断之前发出、半开状态才完成的调用：结果不计入探测调用
+     */
+    @Test
+    void staleCallIgnoredInHalfOpen() throws Exception {
+        store.gate = new CompletableFuture<>();
+        CompletableFuture<CacheValue<String>> stale = breaker.getCacheValueAsync("a");
+        trip();
+
+        // 半开状态：第一个探测调用成功
+        breaker.getCacheValue("a");
+        // 熔断之前发出的调用此时失败
+        store.failure = new IllegalStateException("store failed");
+        store.gate.complete(null);
+        Assertions.assertTrue(stale.isCompletedExceptionally());
+        store.failure = null;
+
+        breaker.getCacheValue("a");
+        breaker.getCacheValue("a");
+        Assertions.assertTrue(breaker.isClosed());
+    }
+
+    /**
+     * 熔断期间跳过清空操作：恢复时通知需清空缓存
+     */
+    @Test
+    void skippedClearRecoversAll() throws Exception {
+        fail(4);
+        breaker.clear();
+        Assertions.assertTrue(store.calls("clear").isEmpty());
+        TimeUnit.MILLISECONDS.sleep(OPEN_DURATION + 10);
+
+        for (int i = 0; i < 3; i++) {
+            breaker.getCacheValue("a");
+        }
+        Assertions.assertTrue(recovered.get(5, TimeUnit.SECONDS).all());
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.igeeksky.xcache.core.store;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 访问频率估算测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class FrequencySketchTest {
+
+    /**
+     * 每次增加后返回估算频率，最大值为 15
+     */
+    @Test
+    void incrementUntilSaturated() {
+        FrequencySketch sketch = new FrequencySketch(1024);
+        Assertions.assertEquals(0, sketch.frequency("a"));
+        for (int i = 1; i <= 15; i++) {
+            Assertions.assertEquals(i, sketch.increment("a"));
+        }
+        Assertions.assertEquals(15, sketch.increment("a"));
+        Assertions.assertEquals(15, sketch.frequency("a"));
+    }
+
+    /**
+     * 累计增加次数达到采样数量后，所有计数器减半
+     */
+    @Test
+    void resetHalvesCounters() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("hot");
+        }
+        // 采样数量为 640，其余增加由不同的键产生（哈希冲突可能使估算频率略微增加）
+        int before = sketch.frequency("hot");
+        int after = before;
+        for (int i = 0; after >= before && i < 10_000; i++) {
+            before = after;
+            sketch.increment("key-" + i);
+            after = sketch.frequency("hot");
+        }
+        Assertions.assertTrue(before >= 8);
+        Assertions.assertEquals(before >>> 1, after);
+    }
+
+    /**
+     * 多线程并发增加同一个键：无锁增加不丢失计数
+     */
+    @Test
+    void concurrentIncrements() throws Exception {
+        FrequencySketch sketch = new FrequencySketch(1 << 20);
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                // 每个线程增加 1 次，合计 8 次，不超过最大值 15
+                sketch.increment("a");
+            }));
+        }
+        start.countDown();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        Assertions.assertEquals(threads, sketch.frequency("a"));
+    }
+
+}
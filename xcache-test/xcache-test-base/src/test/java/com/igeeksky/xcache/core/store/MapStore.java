@@ -0,0 +1,155 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.common.Store;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 测试辅助类：基于 Map 的存储
+ * <p>
+ * 记录每次调用，可模拟调用失败，以及通过 {@link #gate} 延迟异步调用的完成时间。
+ * 与单连接的 Redis 客户端相同，异步调用按发起顺序执行。
+ *
+ * @param <V> 缓存值类型
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+public class MapStore<V> implements Store<V> {
+
+    public final Map<String, CacheValue<V>> data = new ConcurrentHashMap<>();
+
+    /**
+     * 调用记录，如：{@code "getAll:[a, b]"}、{@code "putAll:{a=1}"}、{@code "remove:a"}
+     */
+    public final List<String> calls = new CopyOnWriteArrayList<>();
+
+    /**
+     * 非空时，所有调用均抛出此异常（异步调用则返回失败的 future）
+     */
+    public volatile RuntimeException failure;
+
+    /**
+     * 异步调用在 gate 完成后才执行
+     */
+    public volatile CompletableFuture<Void> gate = CompletableFuture.completedFuture(null);
+
+    /**
+     * 最后一次发起的异步调用
+     */
+    private CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+    public List<String> calls(String prefix) {
+        return calls.stream().filter(call -> call.startsWith(prefix)).toList();
+    }
+
+    private <T> T call(String record, Supplier<T> action) {
+        calls.add(record);
+        RuntimeException e = failure;
+        if (e != null) {
+            throw e;
+        }
+        return action.get();
+    }
+
+    private synchronized <T> CompletableFuture<T> callAsync(String record, Supplier<T> action) {
+        CompletableFuture<T> future = gate.thenCombine(tail, (g, t) -> t).thenApply(ignored -> call(record, action));
+        tail = future.handle((value, t) -> null);
+        return future;
+    }
+
+    @Override
+    public CacheValue<V> getCacheValue(String key) {
+        return call("get:" + key, () -> data.get(key));
+    }
+
+    @Override
+    public CompletableFuture<CacheValue<V>> getCacheValueAsync(String key) {
+        return callAsync("get:" + key, () -> data.get(key));
+    }
+
+    @Override
+    public Map<String, CacheValue<V>> getAllCacheValues(Set<? extends String> keys) {
+        return call("getAll:" + new TreeSet<>(keys), () -> getAll(keys));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, CacheValue<V>>> getAllCacheValuesAsync(Set<? extends String> keys) {
+        return callAsync("getAll:" + new TreeSet<>(keys), () -> getAll(keys));
+    }
+
+    private Map<String, CacheValue<V>> getAll(Set<? extends String> keys) {
+        Map<String, CacheValue<V>> result = HashMap.newHashMap(keys.size());
+        for (String key : keys) {
+            CacheValue<V> cacheValue = data.get(key);
+            if (cacheValue != null) {
+                result.put(key, cacheValue);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void put(String key, V value) {
+        call("put:" + key + "=" + value, () -> doPut(key, value));
+    }
+
+    @Override
+    public CompletableFuture<Void> putAsync(String key, V value) {
+        return callAsync("put:" + key + "=" + value, () -> doPut(key, value));
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends V> keyValues) {
+        call("putAll:" + new TreeMap<>(keyValues), () -> doPutAll(keyValues));
+    }
+
+    @Override
+    public CompletableFuture<Void> putAllAsync(Map<? extends String, ? extends V> keyValues) {
+        return callAsync("putAll:" + new TreeMap<>(keyValues), () -> doPutAll(keyValues));
+    }
+
+    private Void doPut(String key, V value) {
+        data.put(key, CacheValue.create(value));
+        return null;
+    }
+
+    private Void doPutAll(Map<? extends String, ? extends V> keyValues) {
+        keyValues.forEach((key, value) -> data.put(key, CacheValue.create(value)));
+        return null;
+    }
+
+    @Override
+    public void remove(String key) {
+        call("remove:" + key, () -> data.remove(key));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAsync(String key) {
+        return callAsync("remove:" + key, () -> data.remove(key)).thenApply(ignored -> null);
+    }
+
+    @Override
+    public void removeAll(Set<? extends String> keys) {
+        call("removeAll:" + new TreeSet<>(keys), () -> data.keySet().removeAll(keys));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAllAsync(Set<? extends String> keys) {
+        return callAsync("removeAll:" + new TreeSet<>(keys), () -> data.keySet().removeAll(keys))
+                .thenApply(ignored -> null);
+    }
+
+    @Override
+    public void clear() {
+        call("clear", () -> {
+            data.clear();
+            return null;
+        });
+    }
+
+}
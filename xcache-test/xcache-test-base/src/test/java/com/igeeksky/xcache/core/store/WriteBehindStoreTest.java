@@ -0,0 +1,250 @@
+package com.igeeksky.xcache.core.store;
+
+import com.igeeksky.xcache.common.CacheValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 写回存储测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class WriteBehindStoreTest {
+
+    private MapStore<String> store;
+
+    private final List<Map<String, String>> flushedPuts = new CopyOnWriteArrayList<>();
+
+    private final List<Set<String>> flushedRemoves = new CopyOnWriteArrayList<>();
+
+    private final List<Set<String>> failed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        store = new MapStore<>();
+    }
+
+    private WriteBehindStore<String> writeBehind(int capacity, int batchSize, long period, boolean enableNullValue) {
+        return new WriteBehindStore<>("test", store, capacity, batchSize, period, enableNullValue,
+                (putKeyValues, removeKeys) -> {
+                    if (!putKeyValues.isEmpty()) {
+                        flushedPuts.add(putKeyValues);
+                    }
+                    if (!removeKeys.isEmpty()) {
+                        flushedRemoves.add(removeKeys);
+                    }
+                },
+                failed::add);
+    }
+
+    /**
+     * 同一个键仅保留最后一次操作，时间窗口内的操作合并为一次批量写入
+     */
+    @Test
+    void coalescesWithinPeriod() {
+        WriteBehindStore<String> writeBehind = writeBehind(1000, 100, 60_000, true);
+        writeBehind.put("a", "1");
+        writeBehind.remove("a");
+        writeBehind.put("a", "2");
+        writeBehind.put("b", "3");
+        writeBehind.remove("c");
+
+        Assertions.assertTrue(store.calls.isEmpty());
+        writeBehind.flushAll().join();
+
+        Assertions.assertEquals(List.of("putAll:{a=2, b=3}", "removeAll:[c]"), store.calls);
+        Assertions.assertEquals("2", store.data.get("a").getValue());
+        Assertions.assertEquals(List.of(Map.of("a", "2", "b", "3")), flushedPuts);
+        Assertions.assertEquals(List.of(Set.of("c")), flushedRemoves);
+    }
+
+    /**
+     * 待写入的键数量达到 batchSize 立即写入；未达到则在 period 后写入
+     */
+    @Test
+    void flushesBySizeAndPeriod() throws Exception {
+        WriteBehindStore<String> writeBehind = writeBehind(1000, 2, 20, true);
+        writeBehind.put("a", "1");
+        writeBehind.put("b", "2");
+        Assertions.assertEquals(List.of("putAll:{a=1, b=2}"), store.calls);
+
+        writeBehind.put("c", "3");
+        Assertions.assertEquals(1, store.calls.size());
+        waitFor(() -> store.calls.size() == 2);
+        Assertions.assertEquals("putAll:{c=3}", store.calls.get(1));
+    }
+
+    /**
+     * 缓冲区已满：异步写入新的键需等待批量写入完成后才记入缓冲区；覆盖已缓冲的键无需等待
+     */
+    @Test
+    void asyncPutWaitsWhenFull() throws Exception {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        store.gate = gate;
+        WriteBehindStore<String> writeBehind = writeBehind(2, 100, 60_000, true);
+
+        writeBehind.putAsync("a", "1");
+        CompletableFuture<Void> full = writeBehind.putAsync("b", "2");
+        Assertions.assertFalse(full.isDone());
+
+        // 覆盖已缓冲的键
+        writeBehind.putAsync("a", "3");
+        Assertions.assertEquals("3", writeBehind.getCacheValue("a").getValue());
+
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> writeBehind.putAsync("c", "4"));
+        Thread.sleep(50);
+        Assertions.assertFalse(blocked.isDone());
+        Assertions.assertNull(writeBehind.getCacheValue("c"));
+
+        gate.complete(null);
+        blocked.get(5, TimeUnit.SECONDS);
+        Assertions.assertEquals("4", writeBehind.getCacheValue("c").getValue());
+        writeBehind.flushAll().join();
+        Assertions.assertEquals("3", store.data.get("a").getValue());
+        Assertions.assertEquals("4", store.data.get("c").getValue());
+    }
+
+    /**
+     * 批量写入之后的操作，由下一批次写入，最终结果为最后一次操作
+     */
+    @Test
+    void laterOperationWins() {
+        CompletableFuture<Void> gate = new CompletableFuture<>();
+        store.gate = gate;
+        WriteBehindStore<String> writeBehind = writeBehind(1000, 100, 60_000, true);
+
+        writeBehind.put("a", "1");
+        CompletableFuture<Void> first = writeBehind.flushAll();
+        writeBehind.put("a", "2");
+        Assertions.assertEquals("2", writeBehind.getCacheValue("a").getValue());
+
+        CompletableFuture<Void> second = writeBehind.flushAll();
+        gate.complete(null);
+        first.join();
+        second.join();
+
+        Assertions.assertEquals(List.of("putAll:{a=1}", "putAll:{a=2}"), store.calls);
+        Assertions.assertEquals("2", store.data.get("a").getValue());
+        Assertions.assertEquals("2", writeBehind.getCacheValue("a").getValue());
+    }
+
+    /**
+     * 读取缓冲区中尚未写入的操作：空值是否视为命中取决于被代理的存储是否允许缓存空值
+     */
+    @Test
+    void readsBufferedValues() {
+        WriteBehindStore<String> nullable = writeBehind(1000, 100, 60_000, true);
+        nullable.put("a", "1");
+        nullable.put("n", null);
+        nullable.remove("r");
+
+        Assertions.assertEquals("1", nullable.getCacheValue("a").getValue());
+        CacheValue<String> nullValue = nullable.getCacheValue("n");
+        Assertions.assertNotNull(nullValue);
+        Assertions.assertNull(nullValue.getValue());
+        Assertions.assertNull(nullable.getCacheValue("r"));
+
+        Map<String, CacheValue<String>> all = nullable.getAllCacheValues(Set.of("a", "n", "r"));
+        Assertions.assertEquals(Set.of("a", "n"), all.keySet());
+        Assertions.assertTrue(store.calls.isEmpty());
+
+        WriteBehindStore<String> nonNullable = writeBehind(1000, 100, 60_000, false);
+        nonNullable.put("n", null);
+        Assertions.assertNull(nonNullable.getCacheValue("n"));
+        Assertions.assertTrue(nonNullable.getAllCacheValues(Set.of("n")).isEmpty());
+    }
+
+    /**
+     * 批量写入失败后重试，恢复后写入成功并通知监听器
+     */
+    @Test
+    void retriesFailedFlush() {
+        store.failure = new IllegalStateException("store failed");
+        WriteBehindStore<String> writeBehind = writeBehind(1000, 100, 20, true);
+        writeBehind.put("a", "1");
+
+        CompletableFuture<Void> future = writeBehind.flushAll();
+        store.failure = null;
+        future.join();
+
+        Assertions.assertEquals("1", store.data.get("a").getValue());
+        Assertions.assertTrue(store.calls.size() >= 2);
+        Assertions.assertEquals(List.of(Map.of("a", "1")), flushedPuts);
+        Assertions.assertTrue(failed.isEmpty());
+    }
+
+    /**
+     * 多次重试依然失败：放弃写入，移出缓冲区，并通知调用者使这些键失效
+     */
+    @Test
+    void givesUpAfterMaxAttempts() {
+        store.failure = new IllegalStateException("store failed");
+        WriteBehindStore<String> writeBehind = writeBehind(1000, 100, 5, true);
+        writeBehind.put("a", "1");
+        writeBehind.put("b", "2");
+
+        writeBehind.flushAll().join();
+
+        Assertions.assertEquals(WriteBehindStore.MAX_ATTEMPTS, store.calls("putAll").size());
+        Assertions.assertEquals(List.of(Set.of("a", "b")), failed);
+        Assertions.assertTrue(flushedPuts.isEmpty());
+        store.failure = null;
+        Assertions.assertNull(writeBehind.getCacheValue("a"));
+    }
+
+    /**
+     * 重试期间被后续操作覆盖的键，不再重试旧值
+     */
+    @Test
+    void supersededKeysAreNotRetried() throws Exception {
+        store.failure = new IllegalStateException("store failed");
+        WriteBehindStore<String> writeBehind = writeBehind(1000, 100, 200, true);
+        writeBehind.put("a", "1");
+        writeBehind.put("b", "1");
+
+        CompletableFuture<Void> future = writeBehind.flushAll();
+        waitFor(() -> store.calls.size() == 1);
+        writeBehind.put("a", "2");
+        store.failure = null;
+        future.join();
+        writeBehind.flushAll().join();
+
+        Assertions.assertEquals("2", store.data.get("a").getValue());
+        Assertions.assertEquals(List.of("putAll:{a=1, b=1}"), store.calls("putAll:{a=1"));
+        Assertions.assertTrue(store.calls.contains("putAll:{b=1}"));
+        Assertions.assertTrue(failed.isEmpty());
+    }
+
+    /**
+     * 关闭：写入缓冲区中的全部操作，之后的操作直接写入被代理的存储
+     */
+    @Test
+    void closeDrainsBuffer() {
+        WriteBehindStore<String> writeBehind = writeBehind(1000, 100, 60_000, true);
+        writeBehind.put("a", "1");
+        writeBehind.remove("b");
+
+        writeBehind.closeAsync().join();
+        Assertions.assertEquals(List.of("putAll:{a=1}", "removeAll:[b]"), store.calls);
+
+        writeBehind.put("c", "3");
+        Assertions.assertEquals("put:c=3", store.calls.get(2));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(2);
+        }
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.igeeksky.xcache.extension.bloom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地布隆过滤器断言测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class LocalBloomContainsPredicateTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private LocalBloomContainsPredicate<String> predicate() {
+        BloomConfig<String> config = BloomConfig.<String>builder(consumer -> {
+                    loads.incrementAndGet();
+                    List.of("a", "b", "c").forEach(consumer);
+                })
+                .name("bloom-test")
+                .expectedInsertions(1000)
+                .falsePositiveProbability(0.001)
+                .executor(tasks::add)
+                .build();
+        return new LocalBloomContainsPredicate<>(config);
+    }
+
+    /**
+     * 构造时不启动构建任务，首次调用时使用配置的执行器构建一次
+     */
+    @Test
+    void buildsOnConfiguredExecutor() {
+        LocalBloomContainsPredicate<String> predicate = predicate();
+        Assertions.assertTrue(tasks.isEmpty());
+
+        // 构建完成之前总是返回 true
+        Assertions.assertTrue(predicate.test("x"));
+        Assertions.assertEquals(1, tasks.size());
+        Assertions.assertEquals(0, loads.get());
+
+        predicate.test("y");
+        predicate.start();
+        Assertions.assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertTrue(predicate.test("a"));
+        Assertions.assertTrue(predicate.test("c"));
+        Assertions.assertFalse(predicate.test("x"));
+
+        predicate.put("x");
+        Assertions.assertTrue(predicate.test("x"));
+    }
+
+    /**
+     * 停止后不再启动构建任务
+     */
+    @Test
+    void shutdownBeforeStart() {
+        LocalBloomContainsPredicate<String> predicate = predicate();
+        predicate.shutdown();
+        Assertions.assertTrue(predicate.test("x"));
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.igeeksky.xcache.extension.sync;
+
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * 缓存数据同步监视器测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class CacheSyncMonitorImplTest {
+
+    private final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+
+    private final List<CacheSyncMessage> published = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private CacheSyncMonitorImpl monitor(long batchDelay) {
+        SyncConfig<String> config = SyncConfig.builder(new MapStore<String>(), new MapStore<String>())
+                .sid("local")
+                .name("sync-test")
+                .group("test")
+                .charset(StandardCharsets.UTF_8)
+                .first(true)
+                .batchDelay(batchDelay)
+                .batchSize(100)
+                .updateMaxSize(1024)
+                .valueCodec(StringCodec.getInstance(StandardCharsets.UTF_8))
+                .build();
+        return new CacheSyncMonitorImpl(config, published::add, scheduler);
+    }
+
+    /**
+     * 关闭前立即发送缓冲中的失效键，无需等待延迟发送任务
+     */
+    @Test
+    void flushSendsBufferedKeys() {
+        CacheSyncMonitorImpl monitor = monitor(60_000);
+        monitor.afterRemove("a");
+        monitor.afterPutAll(Set.of("b", "c"));
+        Assertions.assertTrue(published.isEmpty());
+
+        monitor.flush();
+        Assertions.assertEquals(1, published.size());
+        CacheSyncMessage message = published.getFirst();
+        Assertions.assertEquals(CacheSyncMessage.TYPE_REMOVE, message.getType());
+        Assertions.assertEquals(Set.of("a", "b", "c"), message.getKeys());
+
+        // 缓冲为空：不发送空消息
+        monitor.flush();
+        Assertions.assertEquals(1, published.size());
+    }
+
+    /**
+     * 更新消息携带写入时间（不早于本地缓存的写入时间）
+     */
+    @Test
+    void updateCarriesWriteTime() {
+        CacheSyncMonitorImpl monitor = monitor(0);
+        long before = System.currentTimeMillis();
+        monitor.afterPut("a", "1");
+        monitor.afterPutAll(Map.of("b", "2"));
+
+        Assertions.assertEquals(2, published.size());
+        for (CacheSyncMessage message : published) {
+            Assertions.assertEquals(CacheSyncMessage.TYPE_UPDATE, message.getType());
+            Assertions.assertTrue(message.getTime() >= before);
+            Assertions.assertTrue(message.getTime() <= System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * 缓冲中的失效键不因其后的更新消息而丢弃：并发的删除操作可能晚于写入操作
+     */
+    @Test
+    void updateKeepsBufferedRemove() {
+        CacheSyncMonitorImpl monitor = monitor(60_000);
+        monitor.afterRemove("a");
+        monitor.afterPut("a", "1");
+        Assertions.assertEquals(1, published.size());
+        Assertions.assertEquals(CacheSyncMessage.TYPE_UPDATE, published.getFirst().getType());
+
+        monitor.flush();
+        Assertions.assertEquals(2, published.size());
+        CacheSyncMessage message = published.get(1);
+        Assertions.assertEquals(CacheSyncMessage.TYPE_REMOVE, message.getType());
+        Assertions.assertEquals(Set.of("a"), message.getKeys());
+    }
+
+}
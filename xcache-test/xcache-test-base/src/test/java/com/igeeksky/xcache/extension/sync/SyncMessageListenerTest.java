@@ -0,0 +1,180 @@
+package com.igeeksky.xcache.extension.sync;
+
+import com.igeeksky.xcache.common.StampedCacheValue;
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 缓存数据同步消息监听器测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class SyncMessageListenerTest {
+
+    private final MapStore<String> first = new MapStore<>();
+
+    private final MapStore<String> second = new MapStore<>();
+
+    private final SyncMessageListener<String> listener = new SyncMessageListener<>(
+            SyncConfig.builder(first, second)
+                    .sid("local")
+                    .name("sync-test")
+                    .group("test")
+                    .charset(StandardCharsets.UTF_8)
+                    .first(true)
+                    .second(true)
+                    .updateMaxSize(1024)
+                    .valueCodec(StringCodec.getInstance(StandardCharsets.UTF_8))
+                    .build());
+
+    private static CacheSyncMessage update(String key, String value, long time) {
+        return new CacheSyncMessage("remote", Map.of(key, value.getBytes(StandardCharsets.UTF_8)), time);
+    }
+
+    private static CacheSyncMessage remove(String sid, String key, long seq) {
+        CacheSyncMessage message = new CacheSyncMessage(sid, CacheSyncMessage.TYPE_REMOVE, key);
+        message.setSeq(seq);
+        return message;
+    }
+
+    /**
+     * 依次接收消息，返回清空本地缓存的次数
+     */
+    private int clears(CacheSyncMessage... messages) {
+        for (CacheSyncMessage message : messages) {
+            listener.onMessage(message);
+        }
+        Assertions.assertEquals(first.calls("clear").size(), second.calls("clear").size());
+        return first.calls("clear").size();
+    }
+
+    private String value(String key) {
+        return first.data.containsKey(key) ? first.data.get(key).getValue() : null;
+    }
+
+    /**
+     * 本地值的写入时间晚于消息的写入时间：删除本地值，而不是用旧值覆盖
+     */
+    @Test
+    void newerLocalValueIsEvicted() {
+        first.data.put("a", StampedCacheValue.create("new", 2000));
+        listener.onMessage(update("a", "old", 1000));
+
+        Assertions.assertNull(value("a"));
+        Assertions.assertTrue(first.calls.contains("remove:a"));
+        Assertions.assertTrue(second.calls.contains("removeAll:[a]"));
+    }
+
+    /**
+     * 本地值的写入时间早于消息的写入时间：写入新值
+     */
+    @Test
+    void olderLocalValueIsOverwritten() {
+        first.data.put("a", StampedCacheValue.create("old", 1000));
+        first.data.put("b", StampedCacheValue.create("old", 1000));
+        listener.onMessage(update("a", "new", 2000));
+
+        Assertions.assertEquals("new", value("a"));
+        Assertions.assertEquals("old", value("b"));
+    }
+
+    /**
+     * 消息未携带写入时间（旧版本发布者）：不读取本地值，直接写入新值
+     */
+    @Test
+    void unknownTimeOverwrites() {
+        first.data.put("a", StampedCacheValue.create("local", Long.MAX_VALUE));
+        listener.onMessage(update("a", "remote", 0));
+
+        Assertions.assertEquals("remote", value("a"));
+        Assertions.assertTrue(first.calls("getAll").isEmpty());
+    }
+
+    /**
+     * 序号连续：未丢失消息
+     */
+    @Test
+    void consecutiveSeqHasNoGap() {
+        Assertions.assertEquals(0, clears(remove("remote", "a", 5), remove("remote", "b", 6),
+                remove("remote", "c", 7)));
+        Assertions.assertEquals(0, listener.getGaps());
+        Assertions.assertEquals(3, first.calls("removeAll").size());
+    }
+
+    /**
+     * 序号不连续：清空本地缓存后依然执行该消息，并以新序号继续检测
+     */
+    @Test
+    void skippedSeqClearsStores() {
+        Assertions.assertEquals(1, clears(remove("remote", "a", 1), remove("remote", "b", 3)));
+        Assertions.assertEquals(1, listener.getGaps());
+        Assertions.assertEquals("removeAll:[b]", first.calls.getLast());
+
+        Assertions.assertEquals(1, clears(remove("remote", "c", 4)));
+        Assertions.assertEquals(1, listener.getGaps());
+    }
+
+    /**
+     * 重复或更旧的序号（如重试）：不视为丢失，且不回退已记录的序号
+     */
+    @Test
+    void duplicateSeqDoesNotRewind() {
+        Assertions.assertEquals(0, clears(remove("remote", "a", 5), remove("remote", "a", 5),
+                remove("remote", "b", 3)));
+        // 如回退至 3，则 6 会被误判为丢失
+        Assertions.assertEquals(0, clears(remove("remote", "c", 6)));
+        Assertions.assertEquals(0, listener.getGaps());
+    }
+
+    /**
+     * 序号为 1：发布者重启后重新计数，不视为丢失，并以 1 作为新的起点
+     */
+    @Test
+    void seqOneResetsPublisher() {
+        Assertions.assertEquals(0, clears(remove("remote", "a", 8), remove("remote", "b", 1),
+                remove("remote", "c", 2)));
+        Assertions.assertEquals(0, listener.getGaps());
+
+        // 重置后从 1 开始检测
+        Assertions.assertEquals(1, clears(remove("remote", "d", 4)));
+    }
+
+    /**
+     * 各发布者的序号独立检测
+     */
+    @Test
+    void publishersAreTrackedSeparately() {
+        Assertions.assertEquals(0, clears(remove("remote", "a", 1), remove("other", "b", 10),
+                remove("remote", "c", 2), remove("other", "d", 11)));
+        Assertions.assertEquals(0, listener.getGaps());
+    }
+
+    /**
+     * 序号为 0（旧版本发布者）或发布者 ID 为空：不检测
+     */
+    @Test
+    void missingSeqOrSidIsIgnored() {
+        Assertions.assertEquals(0, clears(remove("remote", "a", 0), remove("remote", "b", 5),
+                remove("remote", "c", 0), remove(null, "d", 9), remove(null, "e", 20)));
+        Assertions.assertEquals(0, listener.getGaps());
+        Assertions.assertEquals(0, clears(remove("remote", "f", 6)));
+    }
+
+    /**
+     * 本节点发布的消息：直接忽略，不影响序号检测
+     */
+    @Test
+    void ownMessagesAreIgnored() {
+        Assertions.assertEquals(0, clears(remove("local", "a", 1), remove("local", "b", 9)));
+        Assertions.assertTrue(first.calls.isEmpty());
+        Assertions.assertTrue(second.calls.isEmpty());
+        Assertions.assertEquals(0, listener.getGaps());
+    }
+
+}
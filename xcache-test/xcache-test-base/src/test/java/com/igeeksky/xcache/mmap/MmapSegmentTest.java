@@ -0,0 +1,146 @@
+package com.igeeksky.xcache.mmap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 数据文件测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class MmapSegmentTest {
+
+    private static final int CAPACITY = 64 * 1024;
+
+    private Path dir;
+
+    private Path path;
+
+    private final List<MmapSegment> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("xcache-mmap-segment");
+        path = dir.resolve("segment-00000000000000000001.data");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (MmapSegment segment : opened) {
+            segment.unmap();
+        }
+        MmapStoreTest.deleteDir(dir);
+    }
+
+    private MmapSegment open() throws IOException {
+        MmapSegment segment = MmapSegment.open(1, path, CAPACITY);
+        opened.add(segment);
+        return segment;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> recover(MmapSegment segment) {
+        List<String> records = new ArrayList<>();
+        segment.recover((offset, size, type, expireAt, key) -> {
+            String k = new String(key, StandardCharsets.UTF_8);
+            String v = new String(segment.readValue(offset, size), StandardCharsets.UTF_8);
+            records.add((type == MmapSegment.TYPE_PUT ? "put:" : "delete:") + k + "=" + v);
+        });
+        return records;
+    }
+
+    private void overwrite(int position, byte[] data) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(data), position);
+        }
+    }
+
+    /**
+     * 重新打开数据文件：恢复所有记录（包括删除记录），写入位置定位到最后一条记录之后
+     */
+    @Test
+    void recoversRecordsAndTombstones() throws IOException {
+        MmapSegment segment = open();
+        segment.append(MmapSegment.TYPE_PUT, 0, bytes("a"), bytes("1"));
+        segment.append(MmapSegment.TYPE_PUT, 0, bytes("b"), bytes("2"));
+        segment.append(MmapSegment.TYPE_DELETE, 0, bytes("a"), new byte[0]);
+        int position = segment.getPosition();
+        segment.force();
+
+        MmapSegment reopened = open();
+        Assertions.assertEquals(List.of("put:a=1", "put:b=2", "delete:a="), recover(reopened));
+        Assertions.assertEquals(position, reopened.getPosition());
+    }
+
+    /**
+     * 校验码不匹配（数据损坏）：从该记录开始视为文件末尾，新记录覆盖损坏的记录
+     */
+    @Test
+    void rejectsChecksumMismatch() throws IOException {
+        MmapSegment segment = open();
+        segment.append(MmapSegment.TYPE_PUT, 0, bytes("a"), bytes("1"));
+        int second = segment.append(MmapSegment.TYPE_PUT, 0, bytes("b"), bytes("2"));
+        segment.append(MmapSegment.TYPE_PUT, 0, bytes("c"), bytes("3"));
+        segment.force();
+
+        // 修改第二条记录的值，校验码不再匹配
+        overwrite(second + MmapSegment.HEADER_SIZE + 1, bytes("X"));
+
+        MmapSegment reopened = open();
+        Assertions.assertEquals(List.of("put:a=1"), recover(reopened));
+        Assertions.assertEquals(second, reopened.getPosition());
+
+        Assertions.assertEquals(second, reopened.append(MmapSegment.TYPE_PUT, 0, bytes("d"), bytes("4")));
+        Assertions.assertEquals(List.of("put:a=1", "put:d=4"), recover(open()));
+    }
+
+    /**
+     * 进程崩溃时未写完的记录（已写入长度，但记录体不完整）：恢复时忽略
+     */
+    @Test
+    void ignoresPartialRecord() throws IOException {
+        MmapSegment segment = open();
+        segment.append(MmapSegment.TYPE_PUT, 0, bytes("a"), bytes("1"));
+        int end = segment.getPosition();
+        segment.force();
+
+        // 仅写入长度字段，校验码与记录体均为空
+        overwrite(end, ByteBuffer.allocate(4).putInt(0, 64).array());
+
+        MmapSegment reopened = open();
+        Assertions.assertEquals(List.of("put:a=1"), recover(reopened));
+        Assertions.assertEquals(end, reopened.getPosition());
+    }
+
+    /**
+     * 删除数据文件：先解除内存映射，再删除文件
+     */
+    @Test
+    void deleteUnmapsFile() throws IOException {
+        MmapSegment segment = open();
+        segment.append(MmapSegment.TYPE_PUT, 0, bytes("a"), bytes("1"));
+
+        boolean procMaps = MmapStoreTest.canCheckMapped();
+        Assertions.assertEquals(procMaps, MmapStoreTest.isMapped(path));
+        segment.delete();
+        Assertions.assertFalse(Files.exists(path));
+        Assertions.assertFalse(MmapStoreTest.isMapped(path));
+    }
+
+}
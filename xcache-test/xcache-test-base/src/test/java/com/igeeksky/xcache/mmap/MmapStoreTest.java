@@ -0,0 +1,199 @@
+package com.igeeksky.xcache.mmap;
+
+import com.igeeksky.xcache.common.CacheValue;
+import com.igeeksky.xcache.core.store.StoreConfig;
+import com.igeeksky.xtool.core.lang.codec.StringCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+/**
+ * 文件映射缓存存储测试
+ * <p>
+ * 数据文件大小为 64 KB，每个值约 1 KB，写入约 60 个键值对后创建新数据文件。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class MmapStoreTest {
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+
+    private static final Path PROC_MAPS = Path.of("/proc/self/maps");
+
+    private static final String VALUE = "v".repeat(1000);
+
+    private Path dir;
+
+    private final List<MmapStore<String>> stores = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("xcache-mmap-store");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        stores.forEach(MmapStore::close);
+        deleteDir(dir);
+    }
+
+    private MmapStore<String> open(long maxDisk) {
+        StoreConfig<String> config = StoreConfig.builder(String.class)
+                .name("mmap-test")
+                .group("test")
+                .charset(StandardCharsets.UTF_8)
+                .enableNullValue(true)
+                .valueCodec(StringCodec.getInstance(StandardCharsets.UTF_8))
+                .params(Map.of(MmapConfig.DIR, dir.toString(), MmapConfig.SEGMENT_SIZE, SEGMENT_SIZE,
+                        MmapConfig.MAX_DISK, maxDisk, MmapConfig.COMPACT_THRESHOLD, 0.5))
+                .build();
+        MmapStore<String> store = new MmapStore<>(new MmapConfig<>(config));
+        stores.add(store);
+        return store;
+    }
+
+    private static String value(MmapStore<String> store, String key) {
+        CacheValue<String> cacheValue = store.getCacheValue(key);
+        return (cacheValue != null) ? cacheValue.getValue() : null;
+    }
+
+    /**
+     * 重启后恢复数据：其它数据文件中的删除记录屏蔽旧数据
+     */
+    @Test
+    void recoversWithTombstones() {
+        MmapStore<String> store = open(100L * SEGMENT_SIZE);
+        store.put("a", "1");
+        store.put("b", "2");
+        for (int i = 0; i < 100; i++) {
+            store.put("k" + i, VALUE);
+        }
+        // 删除记录与 b 的数据位于不同的数据文件
+        store.remove("b");
+        store.put("a", "3");
+        store.close();
+
+        MmapStore<String> reopened = open(100L * SEGMENT_SIZE);
+        Assertions.assertEquals("3", value(reopened, "a"));
+        Assertions.assertNull(reopened.getCacheValue("b"));
+        Assertions.assertEquals(VALUE, value(reopened, "k99"));
+        Assertions.assertEquals(101, reopened.size());
+    }
+
+    /**
+     * 关闭后读写抛出异常，数据目录可被重新打开
+     */
+    @Test
+    void closedStoreRejectsOperations() {
+        MmapStore<String> store = open(100L * SEGMENT_SIZE);
+        store.put("a", "1");
+        store.close();
+        store.close();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> store.getCacheValue("a"));
+        Assertions.assertThrows(IllegalStateException.class, () -> store.put("a", "2"));
+        Assertions.assertEquals("1", value(open(100L * SEGMENT_SIZE), "a"));
+    }
+
+    /**
+     * 失效数据占比达到阈值的数据文件由后台任务压缩：有效数据保留，旧文件删除并解除内存映射
+     */
+    @Test
+    void compactsInBackground() throws Exception {
+        MmapStore<String> store = open(100L * SEGMENT_SIZE);
+        Path first = dir.resolve("segment-00000000000000000001.data");
+        for (int i = 0; i < 60; i++) {
+            store.put("k" + i, VALUE);
+        }
+        store.put("keep", "1");
+        // 覆盖第一个数据文件中的数据，直至创建新数据文件
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 60; i++) {
+                store.put("k" + i, VALUE + round);
+            }
+        }
+
+        waitFor(() -> !Files.exists(first));
+        Assertions.assertFalse(isMapped(first));
+        Assertions.assertEquals("1", value(store, "keep"));
+        Assertions.assertEquals(VALUE + 2, value(store, "k0"));
+        Assertions.assertEquals(61, store.size());
+    }
+
+    /**
+     * 数据文件总大小超出上限：后台任务删除最早的数据文件，其中的有效数据随之淘汰
+     */
+    @Test
+    void evictsOldestSegment() throws Exception {
+        MmapStore<String> store = open(2L * SEGMENT_SIZE);
+        for (int i = 0; i < 200; i++) {
+            store.put("k" + i, VALUE);
+        }
+
+        waitFor(() -> segmentFiles() <= 2);
+        Assertions.assertNull(store.getCacheValue("k0"));
+        Assertions.assertEquals(VALUE, value(store, "k199"));
+        Assertions.assertTrue(store.size() < 200);
+    }
+
+    private long segmentFiles() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).count();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertTrue(condition.getAsBoolean());
+    }
+
+    /**
+     * 能否检查文件是否已映射（仅 Linux）
+     */
+    static boolean canCheckMapped() {
+        return Files.isReadable(PROC_MAPS);
+    }
+
+    /**
+     * 文件是否已映射到当前进程（仅 Linux，其它系统始终返回 false）
+     */
+    static boolean isMapped(Path path) {
+        if (!canCheckMapped()) {
+            return false;
+        }
+        try (Stream<String> lines = Files.lines(PROC_MAPS)) {
+            String file = path.toAbsolutePath().toString();
+            return lines.anyMatch(line -> line.contains(file));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void deleteDir(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.igeeksky.xcache.offheap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 堆外缓存分段测试
+ * <p>
+ * 分段共 2 个内存页，每页 1024 字节；小值占用 64 字节的内存块（每页 16 个），大值占用整个内存页。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class OffHeapSegmentTest {
+
+    private static final int PAGE_SIZE = 1024;
+
+    private static final int CHUNKS_PER_PAGE = PAGE_SIZE / 64;
+
+    private static final byte[] SMALL = new byte[8];
+
+    private static final byte[] LARGE = new byte[900];
+
+    private final OffHeapSegment segment = new OffHeapSegment(2, PAGE_SIZE, new int[]{64, 256, PAGE_SIZE},
+            Long.MAX_VALUE, 0, StandardCharsets.UTF_8, null);
+
+    private boolean put(String key, byte[] value) {
+        return segment.put(key, key.hashCode(), bytes(key), value, 0, System.currentTimeMillis());
+    }
+
+    private byte[] get(String key) {
+        return segment.get(key.hashCode(), bytes(key), System.currentTimeMillis());
+    }
+
+    private void remove(String key) {
+        segment.remove(key.hashCode(), bytes(key));
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void fillSmall() {
+        for (int i = 0; i < 2 * CHUNKS_PER_PAGE; i++) {
+            Assertions.assertTrue(put("s" + i, SMALL));
+        }
+        Assertions.assertEquals(2 * CHUNKS_PER_PAGE, segment.size());
+    }
+
+    /**
+     * 分段清空后（内存页仍为小规格），写入大值：回收空页并改为所需规格
+     */
+    @Test
+    void emptiedPagesAreReused() {
+        fillSmall();
+        for (int i = 0; i < 2 * CHUNKS_PER_PAGE; i++) {
+            remove("s" + i);
+        }
+        Assertions.assertEquals(0, segment.size());
+
+        Assertions.assertTrue(put("large1", LARGE));
+        Assertions.assertTrue(put("large2", LARGE));
+        Assertions.assertArrayEquals(LARGE, get("large1"));
+        Assertions.assertArrayEquals(LARGE, get("large2"));
+    }
+
+    /**
+     * 仅回收空页：仍有数据的内存页保持原规格，其数据不受影响
+     */
+    @Test
+    void onlyEmptyPagesAreReclaimed() {
+        fillSmall();
+        // 第一页保留 s0，第二页全部删除
+        for (int i = 1; i < 2 * CHUNKS_PER_PAGE; i++) {
+            remove("s" + i);
+        }
+
+        Assertions.assertTrue(put("large", LARGE));
+        Assertions.assertArrayEquals(LARGE, get("large"));
+        Assertions.assertArrayEquals(SMALL, get("s0"));
+        Assertions.assertEquals(2, segment.size());
+
+        // 第一页剩余的小规格内存块依然可用
+        for (int i = 1; i < CHUNKS_PER_PAGE; i++) {
+            Assertions.assertTrue(put("t" + i, SMALL));
+        }
+        Assertions.assertEquals(CHUNKS_PER_PAGE + 1, segment.size());
+        Assertions.assertArrayEquals(LARGE, get("large"));
+    }
+
+    /**
+     * 无空页且无同规格数据：清空 LRU 尾部数据所在的内存页，并改为所需规格
+     */
+    @Test
+    void evictsAcrossSizeClasses() {
+        fillSmall();
+
+        Assertions.assertTrue(put("large", LARGE));
+        Assertions.assertArrayEquals(LARGE, get("large"));
+        // 第一页的数据（最久未访问）被淘汰，第二页的数据保留
+        Assertions.assertNull(get("s0"));
+        Assertions.assertArrayEquals(SMALL, get("s" + CHUNKS_PER_PAGE));
+        Assertions.assertEquals(CHUNKS_PER_PAGE + 1, segment.size());
+    }
+
+    /**
+     * 不同规格交替写入与删除：内存页反复回收与复用，数据始终正确
+     */
+    @Test
+    void sizeClassChurn() {
+        for (int round = 0; round < 50; round++) {
+            fillSmall();
+            for (int i = 0; i < 2 * CHUNKS_PER_PAGE; i++) {
+                Assertions.assertArrayEquals(SMALL, get("s" + i));
+                remove("s" + i);
+            }
+            Assertions.assertTrue(put("large1", LARGE), "round: " + round);
+            Assertions.assertTrue(put("large2", LARGE), "round: " + round);
+            Assertions.assertArrayEquals(LARGE, get("large1"));
+            Assertions.assertArrayEquals(LARGE, get("large2"));
+            remove("large1");
+            remove("large2");
+            Assertions.assertEquals(0, segment.size());
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.igeeksky.xcache.redis.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 紧凑二进制编码测试
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class CompactCodecTest {
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<byte[]> keys) {
+        return keys.stream().map(key -> new String(key, StandardCharsets.UTF_8)).toList();
+    }
+
+    /**
+     * 整数：边界值编码后可还原，且小整数仅占用一个字节
+     */
+    @Test
+    void varIntRoundTrip() {
+        int[] ints = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE};
+        long[] longs = {0, 1, -1, 63, -64, 64, -65, Long.MAX_VALUE, Long.MIN_VALUE};
+        CompactWriter writer = new CompactWriter(0);
+        for (int value : ints) {
+            writer.writeVarInt(value);
+        }
+        for (long value : longs) {
+            writer.writeVarLong(value);
+        }
+        writer.writeByte(0xFF);
+
+        CompactReader reader = new CompactReader(writer.toByteArray());
+        for (int value : ints) {
+            Assertions.assertEquals(value, reader.readVarInt());
+        }
+        for (long value : longs) {
+            Assertions.assertEquals(value, reader.readVarLong());
+        }
+        Assertions.assertEquals(0xFF, reader.readByte());
+        Assertions.assertFalse(reader.hasRemaining());
+
+        Assertions.assertEquals(1, new CompactWriter(0).writeVarInt(127).toByteArray().length);
+        Assertions.assertEquals(1, new CompactWriter(0).writeVarLong(-64).toByteArray().length);
+    }
+
+    /**
+     * 字节数组：区分 null 与空数组，写入超出初始容量时自动扩容
+     */
+    @Test
+    void bytesRoundTrip() {
+        byte[] large = new byte[1000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) i;
+        }
+        byte[] bytes = new CompactWriter(1)
+                .writeBytes(null)
+                .writeBytes(new byte[0])
+                .writeBytes(bytes("value"))
+                .writeBytes(large)
+                .toByteArray();
+
+        CompactReader reader = new CompactReader(bytes);
+        Assertions.assertNull(reader.readBytes());
+        Assertions.assertArrayEquals(new byte[0], reader.readBytes());
+        Assertions.assertArrayEquals(bytes("value"), reader.readBytes());
+        Assertions.assertArrayEquals(large, reader.readBytes());
+        Assertions.assertFalse(reader.hasRemaining());
+    }
+
+    /**
+     * 键列表：按字节序排序后省略共同前缀，读取结果与排序后的键列表一致
+     */
+    @Test
+    void keysRoundTrip() {
+        List<byte[]> keys = new ArrayList<>(List.of(bytes("user:2"), bytes("user:10"), bytes(""),
+                bytes("user:1"), bytes("user:1"), bytes("order:1"), new byte[]{(byte) 0xFF, 1}));
+        byte[] encoded = new CompactWriter(16).writeKeys(keys).writeVarInt(7).toByteArray();
+
+        List<byte[]> decoded = new ArrayList<>();
+        CompactReader reader = new CompactReader(encoded);
+        Assertions.assertEquals(7, reader.readKeys(decoded::add));
+        Assertions.assertEquals(7, reader.readVarInt());
+        Assertions.assertFalse(reader.hasRemaining());
+
+        Assertions.assertEquals(List.of("", "order:1", "user:1", "user:1", "user:10", "user:2"),
+                strings(decoded.subList(0, 6)));
+        // 按无符号字节序排序：0xFF 排在最后
+        Assertions.assertArrayEquals(new byte[]{(byte) 0xFF, 1}, decoded.get(6));
+        // 共同前缀已省略：编码长度小于原始键的总长度
+        int total = keys.stream().mapToInt(key -> key.length).sum();
+        Assertions.assertTrue(encoded.length < total);
+    }
+
+    @Test
+    void emptyKeys() {
+        byte[] encoded = new CompactWriter(0).writeKeys(new ArrayList<>()).toByteArray();
+        Assertions.assertEquals(0, new CompactReader(encoded).readKeys(key -> Assertions.fail("unexpected key")));
+    }
+
+    /**
+     * 数据截断：抛出 IllegalArgumentException
+     */
+    @Test
+    void truncatedInput() {
+        byte[] varInt = new CompactWriter(0).writeVarInt(Integer.MAX_VALUE).toByteArray();
+        assertMalformed(() -> new CompactReader(Arrays.copyOf(varInt, 2)).readVarInt());
+
+        byte[] value = new CompactWriter(0).writeBytes(bytes("value")).toByteArray();
+        assertMalformed(() -> new CompactReader(Arrays.copyOf(value, value.length - 1)).readBytes());
+
+        byte[] keys = new CompactWriter(0).writeKeys(new ArrayList<>(List.of(bytes("a:1"), bytes("a:2")))).toByteArray();
+        assertMalformed(() -> new CompactReader(Arrays.copyOf(keys, keys.length - 1)).readKeys(key -> {
+        }));
+
+        assertMalformed(() -> new CompactReader(new byte[0]).readByte());
+    }
+
+    /**
+     * 未读取的字节数：随读取递减，读取完毕后为 0
+     */
+    @Test
+    void remaining() {
+        byte[] encoded = new CompactWriter(0).writeVarInt(300).writeBytes(bytes("ab")).toByteArray();
+        CompactReader reader = new CompactReader(encoded);
+        Assertions.assertEquals(encoded.length, reader.remaining());
+
+        Assertions.assertEquals(300, reader.readVarInt());
+        Assertions.assertEquals(3, reader.remaining());
+
+        reader.readBytes();
+        Assertions.assertEquals(0, reader.remaining());
+        Assertions.assertFalse(reader.hasRemaining());
+    }
+
+    /**
+     * 格式错误：抛出 IllegalArgumentException，而不是返回错误的数据
+     */
+    @Test
+    void malformedInput() {
+        // varint 超过 5 个字节
+        assertMalformed(() -> new CompactReader(new byte[]{-1, -1, -1, -1, -1, 1}).readVarInt());
+        // varint 第 5 个字节超出 int 范围
+        assertMalformed(() -> new CompactReader(new byte[]{-1, -1, -1, -1, 0x7F}).readVarInt());
+        // varlong 超过 10 个字节
+        assertMalformed(() -> new CompactReader(new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 1}).readVarLong());
+
+        // 字节数组长度为负数
+        byte[] negativeLength = new CompactWriter(0).writeVarInt(-5).toByteArray();
+        assertMalformed(() -> new CompactReader(negativeLength).readBytes());
+
+        // 键数量为负数
+        byte[] negativeCount = new CompactWriter(0).writeVarInt(-1).toByteArray();
+        assertMalformed(() -> new CompactReader(negativeCount).readKeys(key -> {
+        }));
+
+        // 第一个键的共同前缀长度大于 0
+        byte[] noPrevious = new CompactWriter(0).writeVarInt(1).writeVarInt(1).writeVarInt(0).toByteArray();
+        assertMalformed(() -> new CompactReader(noPrevious).readKeys(key -> {
+        }));
+
+        // 共同前缀长度超出前一个键的长度
+        byte[] tooLong = new CompactWriter(0).writeVarInt(2)
+                .writeVarInt(0).writeBytes(bytes("a")).writeVarInt(2).writeVarInt(0).toByteArray();
+        assertMalformed(() -> new CompactReader(tooLong).readKeys(key -> {
+        }));
+
+        // 共同前缀长度为负数
+        byte[] negativeShared = new CompactWriter(0).writeVarInt(2)
+                .writeVarInt(0).writeBytes(bytes("a")).writeVarInt(-1).writeVarInt(2).toByteArray();
+        assertMalformed(() -> new CompactReader(negativeShared).readKeys(key -> {
+        }));
+    }
+
+    private static void assertMalformed(Runnable action) {
+        Assertions.assertThrows(IllegalArgumentException.class, action::run);
+    }
+
+}
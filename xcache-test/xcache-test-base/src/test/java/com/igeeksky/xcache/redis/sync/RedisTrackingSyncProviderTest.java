@@ -0,0 +1,198 @@
+package com.igeeksky.xcache.redis.sync;
+
+import com.igeeksky.xcache.common.CacheConfigException;
+import com.igeeksky.xcache.core.store.MapStore;
+import com.igeeksky.xcache.extension.sync.CacheSyncMessage;
+import com.igeeksky.xcache.extension.sync.SyncConfig;
+import com.igeeksky.xcache.extension.sync.SyncMessageListener;
+import com.igeeksky.xcache.props.RedisType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 基于 Redis 客户端缓存的缓存数据同步测试
+ * <p>
+ * 使用记录调用的 {@link RedisClientTracking} 实现代替 Redis 连接。
+ *
+ * @author Patrick.Lau
+ * @since 1.0.3 2026/10/18
+ */
+class RedisTrackingSyncProviderTest {
+
+    private final FakeTracking tracking = new FakeTracking();
+
+    private final RedisTrackingSyncProvider provider = new RedisTrackingSyncProvider(tracking);
+
+    private static SyncConfig<String> config(boolean enableGroupPrefix, RedisType redisType) {
+        return SyncConfig.builder(new MapStore<String>(), new MapStore<String>())
+                .sid("local")
+                .name("user")
+                .group("shop")
+                .charset(StandardCharsets.UTF_8)
+                .enableGroupPrefix(enableGroupPrefix)
+                .redisType(redisType)
+                .first(true)
+                .build();
+    }
+
+    /**
+     * 由通道名称计算键前缀，失效通知中的键去除前缀后转换为同步消息
+     */
+    @Test
+    void registerDerivesPrefixFromChannel() {
+        SyncConfig<String> config = config(true, RedisType.STRING);
+        RecordingListener listener = new RecordingListener(config);
+        provider.register(config, listener);
+        Assertions.assertEquals(List.of(List.of("shop:user:")), tracking.enabled);
+
+        tracking.invalidate(List.of(bytes("shop:user:1"), bytes("shop:user:a:b")));
+        CacheSyncMessage removal = listener.messages.getLast();
+        Assertions.assertEquals(CacheSyncMessage.TYPE_REMOVE, removal.getType());
+        Assertions.assertEquals(Set.of("1", "a:b"), removal.getKeys());
+
+        tracking.invalidate(null);
+        Assertions.assertEquals(CacheSyncMessage.TYPE_CLEAR, listener.messages.getLast().getType());
+
+        SyncConfig<String> noGroup = config(false, RedisType.STRING);
+        provider.register(noGroup, new RecordingListener(noGroup));
+        Assertions.assertEquals(List.of("user:"), tracking.enabled.getLast());
+    }
+
+    /**
+     * 通道名称不以同步通道前缀开头：抛出异常
+     */
+    @Test
+    void registerRejectsUnknownChannel() {
+        SyncConfig<String> config = config(true, RedisType.STRING);
+        RecordingListener listener = new RecordingListener(config);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> provider.register("shop:user", StandardCharsets.UTF_8, listener));
+        Assertions.assertTrue(tracking.enabled.isEmpty());
+    }
+
+    /**
+     * 二级缓存为 Redis Hash 类型：注册时抛出异常，不订阅
+     */
+    @Test
+    void registerRejectsHashStore() {
+        SyncConfig<String> config = config(true, RedisType.HASH);
+        RecordingListener listener = new RecordingListener(config);
+        Assertions.assertThrows(CacheConfigException.class, () -> provider.register(config, listener));
+        Assertions.assertTrue(tracking.enabled.isEmpty());
+    }
+
+    /**
+     * 前缀重叠：已被覆盖的前缀无需订阅；覆盖已订阅前缀时关闭后以合并后的前缀重新开启，并清空被合并的本地缓存
+     */
+    @Test
+    void overlappingPrefixesAreMerged() {
+        List<List<byte[]>> a = new CopyOnWriteArrayList<>();
+        List<List<byte[]>> ab = new CopyOnWriteArrayList<>();
+        List<List<byte[]>> x = new CopyOnWriteArrayList<>();
+        List<List<byte[]>> xy = new CopyOnWriteArrayList<>();
+
+        tracking.subscribe("a:", StandardCharsets.UTF_8, a::add);
+        tracking.subscribe("a:b:", StandardCharsets.UTF_8, ab::add);
+        Assertions.assertEquals(List.of(List.of("a:")), tracking.enabled);
+
+        tracking.subscribe("x:y:", StandardCharsets.UTF_8, xy::add);
+        Assertions.assertEquals(List.of("x:y:"), tracking.enabled.getLast());
+        Assertions.assertEquals(0, tracking.disabled);
+
+        tracking.subscribe("x:", StandardCharsets.UTF_8, x::add);
+        Assertions.assertEquals(1, tracking.disabled);
+        Assertions.assertEquals(Set.of("a:", "x:"), Set.copyOf(tracking.enabled.getLast()));
+        // 关闭期间的失效通知已丢失：其它前缀的监听器收到 null，新前缀的监听器不通知
+        for (List<List<byte[]>> received : List.of(a, ab, xy)) {
+            Assertions.assertEquals(1, received.size());
+            Assertions.assertNull(received.getFirst());
+            received.clear();
+        }
+        Assertions.assertTrue(x.isEmpty());
+
+        // 失效通知依然按各自的前缀分发
+        tracking.invalidate(List.of(bytes("a:b:1"), bytes("a:2")));
+        Assertions.assertEquals(List.of("a:b:1", "a:2"), strings(a.getFirst()));
+        Assertions.assertEquals(List.of("a:b:1"), strings(ab.getFirst()));
+        Assertions.assertTrue(x.isEmpty());
+    }
+
+    /**
+     * 连接重建：以合并后的前缀重新订阅，并通知所有监听器清空本地缓存
+     */
+    @Test
+    void resubscribeRestoresMergedPrefixes() {
+        List<List<byte[]>> received = new CopyOnWriteArrayList<>();
+        tracking.resubscribe();
+        Assertions.assertTrue(tracking.enabled.isEmpty());
+
+        tracking.subscribe("a:", StandardCharsets.UTF_8, received::add);
+        tracking.subscribe("a:b:", StandardCharsets.UTF_8, received::add);
+        tracking.subscribe("c:", StandardCharsets.UTF_8, received::add);
+
+        tracking.resubscribe();
+        Assertions.assertEquals(Set.of("a:", "c:"), Set.copyOf(tracking.enabled.getLast()));
+        Assertions.assertEquals(3, received.size());
+        received.forEach(Assertions::assertNull);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(List<byte[]> values) {
+        return values.stream().map(value -> new String(value, StandardCharsets.UTF_8)).toList();
+    }
+
+    /**
+     * 记录开启及关闭 {@code CLIENT TRACKING} 的调用
+     */
+    private static final class FakeTracking extends AbstractRedisClientTracking {
+
+        private final List<List<String>> enabled = new ArrayList<>();
+
+        private int disabled;
+
+        @Override
+        protected void enableTracking(List<byte[]> prefixes) {
+            enabled.add(strings(prefixes));
+        }
+
+        @Override
+        protected void disableTracking() {
+            disabled++;
+        }
+
+        @Override
+        public CompletableFuture<Void> closeAsync() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+    }
+
+    /**
+     * 记录收到的同步消息
+     */
+    private static final class RecordingListener extends SyncMessageListener<String> {
+
+        private final List<CacheSyncMessage> messages = new CopyOnWriteArrayList<>();
+
+        private RecordingListener(SyncConfig<String> config) {
+            super(config);
+        }
+
+        @Override
+        public void onMessage(CacheSyncMessage message) {
+            messages.add(message);
+        }
+
+    }
+
+}